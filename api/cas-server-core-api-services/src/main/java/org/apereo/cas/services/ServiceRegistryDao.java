@@ -1,6 +1,8 @@
 package org.apereo.cas.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Registry of all RegisteredServices.
@@ -19,6 +21,16 @@ public interface ServiceRegistryDao {
      */
     RegisteredService save(RegisteredService registeredService);
 
+    /**
+     * Persist the given services in the data store, as a single unit of work where the data store supports it.
+     *
+     * @param registeredServices the services to persist.
+     * @return the updated services, in the same order.
+     */
+    default List<RegisteredService> save(final Collection<RegisteredService> registeredServices) {
+        return registeredServices.stream().map(this::save).collect(Collectors.toList());
+    }
+
     /**
      * Remove the service from the data store.
      *
@@ -4,6 +4,7 @@ import org.apereo.cas.authentication.principal.Service;
 
 import java.util.Collection;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Manages the storage, retrieval, and matching of Services wishing to use CAS
@@ -22,6 +23,16 @@ public interface ServicesManager {
      */
     RegisteredService save(RegisteredService registeredService);
 
+    /**
+     * Register or update the given services with CAS at once.
+     *
+     * @param registeredServices the services to update or add.
+     * @return newly persisted RegisteredService instances
+     */
+    default Collection<RegisteredService> save(final Collection<RegisteredService> registeredServices) {
+        return registeredServices.stream().map(this::save).collect(Collectors.toList());
+    }
+
     /**
      * Delete the entry for this RegisteredService.
      *
@@ -3,6 +3,7 @@ package org.apereo.cas.ticket;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 
 /**
  * Strategy that determines if the ticket is expired. Implementations of the
@@ -40,4 +41,19 @@ public interface ExpirationPolicy extends Serializable {
      * by the implementation.
      */
     Long getTimeToIdle();
+
+    /**
+     * Gets the earliest time at which a ticket in the given state may expire under this policy,
+     * unless it is used again. A ticket may not be expired yet at that time, but it is never expired before it.
+     * By default, the time to live is counted from the last time the ticket was used.
+     *
+     * @param ticketState the ticket state
+     * @return the earliest expiration time
+     */
+    default ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        final Long timeToLive = getTimeToLive();
+        return timeToLive == null || timeToLive <= 0
+                ? ticketState.getLastTimeUsed()
+                : ticketState.getLastTimeUsed().plusSeconds(Math.min(timeToLive, Integer.MAX_VALUE));
+    }
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 import org.apereo.cas.ticket.Ticket;
 
@@ -51,6 +52,18 @@ public interface TicketRegistry {
      */
     int deleteTicket(String ticketId);
 
+    /**
+     * Remove the given tickets from the registry, along with their children,
+     * as {@link #deleteTicket(String)} does. Registries that are able to remove
+     * several tickets at once may override this to do so.
+     *
+     * @param ticketIds the ids of the tickets to delete.
+     * @return the number of tickets deleted including children.
+     */
+    default int deleteTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream().mapToInt(this::deleteTicket).sum();
+    }
+
     /**
      * Delete all tickets from the registry.
      *
@@ -65,6 +78,16 @@ public interface TicketRegistry {
      */
     Collection<Ticket> getTickets();
 
+    /**
+     * Retrieve the tickets in the registry that have expired.
+     * Registries that are able to narrow down expired tickets without loading every ticket should override this.
+     *
+     * @return collection of expired tickets currently stored in the registry.
+     */
+    default Collection<Ticket> getExpiredTickets() {
+        return getTickets().stream().filter(Ticket::isExpired).collect(Collectors.toList());
+    }
+
     /**
      * Update the received ticket.
      *
@@ -0,0 +1,283 @@
+package org.apereo.cas.audit.spi;
+
+import com.codahale.metrics.annotation.Gauge;
+import org.apereo.cas.configuration.model.core.audit.AuditProperties;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link AsynchronousAuditTrailManager} that decouples the caller
+ * from the underlying audit storage. Audit records are placed onto a bounded queue
+ * and are handed off in batches to the delegate manager by a single background worker.
+ * When the queue is full, the configured overflow policy decides whether the caller
+ * blocks, the record is dropped or spilled to disk to be replayed later.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class AsynchronousAuditTrailManager implements DelegatingAuditTrailManager, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsynchronousAuditTrailManager.class);
+
+    private static final String SPILL_FILE_NAME = "cas-audit-spill.log";
+    private static final String REPLAY_FILE_NAME = SPILL_FILE_NAME + ".replay";
+
+    private final DelegatingAuditTrailManager manager;
+    private final BlockingQueue<AuditActionContext> queue;
+    private final AuditProperties.Asynchronous properties;
+    private final File spillFile;
+    private final File replayFile;
+    private final Object spillLock = new Object();
+    private final Thread worker;
+
+    private final AtomicLong recordedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public AsynchronousAuditTrailManager(final DelegatingAuditTrailManager manager,
+                                         final AuditProperties.Asynchronous properties) {
+        this.manager = manager;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.spillFile = new File(properties.getSpillDirectory(), SPILL_FILE_NAME);
+        this.replayFile = new File(properties.getSpillDirectory(), REPLAY_FILE_NAME);
+
+        this.worker = new Thread(this::processQueue, "cas-audit-worker");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void record(final AuditActionContext auditActionContext) {
+        if (!this.running) {
+            LOGGER.debug("Audit worker is stopped; recording audit record synchronously");
+            this.manager.record(auditActionContext);
+            return;
+        }
+
+        switch (this.properties.getOverflowPolicy()) {
+            case DROP:
+                if (!this.queue.offer(auditActionContext)) {
+                    this.droppedCount.incrementAndGet();
+                    LOGGER.debug("Audit queue is full; dropped audit record for [{}]", auditActionContext.getPrincipal());
+                }
+                break;
+            case SPILL:
+                if (!this.queue.offer(auditActionContext)) {
+                    spill(Collections.singletonList(auditActionContext));
+                }
+                break;
+            case BLOCK:
+            default:
+                try {
+                    this.queue.put(auditActionContext);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOGGER.warn("Interrupted while waiting for space in the audit queue; recording audit record synchronously");
+                    this.manager.record(auditActionContext);
+                }
+                break;
+        }
+    }
+
+    @Override
+    public Set<AuditActionContext> get() {
+        return this.manager.get();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.running = false;
+        this.worker.interrupt();
+        this.worker.join(this.properties.getShutdownTimeout());
+        if (!this.queue.isEmpty()) {
+            LOGGER.warn("Audit worker did not drain the queue in time; [{}] audit record(s) are flushed synchronously", this.queue.size());
+            final List<AuditActionContext> remaining = new ArrayList<>(this.queue.size());
+            this.queue.drainTo(remaining);
+            flush(remaining);
+        }
+    }
+
+    /**
+     * Gets the number of audit records waiting in the queue.
+     *
+     * @return the queue size
+     */
+    @Gauge(name = "AUDIT_QUEUE_SIZE_GAUGE", absolute = true)
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets the number of audit records handed off to the delegate manager.
+     *
+     * @return the recorded count
+     */
+    @Gauge(name = "AUDIT_RECORDED_GAUGE", absolute = true)
+    public long getRecordedCount() {
+        return this.recordedCount.get();
+    }
+
+    /**
+     * Gets the number of audit records discarded because the queue was full.
+     *
+     * @return the dropped count
+     */
+    @Gauge(name = "AUDIT_DROPPED_GAUGE", absolute = true)
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Gets the number of audit records spilled to disk.
+     *
+     * @return the spilled count
+     */
+    @Gauge(name = "AUDIT_SPILLED_GAUGE", absolute = true)
+    public long getSpilledCount() {
+        return this.spilledCount.get();
+    }
+
+    /**
+     * Gets the number of audit records the delegate manager failed to record.
+     *
+     * @return the failed count
+     */
+    @Gauge(name = "AUDIT_FAILED_GAUGE", absolute = true)
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    private void processQueue() {
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                final AuditActionContext first = this.queue.poll(this.properties.getFlushInterval(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpilledRecords();
+                    continue;
+                }
+                final List<AuditActionContext> batch = new ArrayList<>(this.properties.getBatchSize());
+                batch.add(first);
+                this.queue.drainTo(batch, this.properties.getBatchSize() - 1);
+                flush(batch);
+            } catch (final InterruptedException e) {
+                LOGGER.debug("Audit worker is interrupted; remaining [{}] record(s) will be flushed", this.queue.size());
+                final List<AuditActionContext> remaining = new ArrayList<>(this.queue.size());
+                this.queue.drainTo(remaining);
+                flush(remaining);
+                return;
+            } catch (final Exception e) {
+                LOGGER.error("Audit worker failed to process audit records: [{}]", e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void flush(final Collection<AuditActionContext> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            BatchingAuditTrailManager.recordBatch(this.manager, batch);
+            this.recordedCount.addAndGet(batch.size());
+        } catch (final Exception e) {
+            LOGGER.error("Failed to record a batch of [{}] audit record(s): [{}]", batch.size(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            if (this.properties.getOverflowPolicy() == AuditProperties.Asynchronous.OverflowPolicies.SPILL) {
+                spill(batch);
+            } else {
+                this.failedCount.addAndGet(batch.size());
+            }
+        }
+    }
+
+    private void spill(final Collection<AuditActionContext> records) {
+        synchronized (this.spillLock) {
+            try {
+                Files.createDirectories(this.spillFile.getParentFile().toPath());
+                try (BufferedWriter writer = Files.newBufferedWriter(this.spillFile.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (final AuditActionContext record : records) {
+                        writer.write(EncodingUtils.encodeBase64(SerializationUtils.serialize(record)));
+                        writer.newLine();
+                    }
+                }
+                this.spilledCount.addAndGet(records.size());
+            } catch (final Exception e) {
+                this.droppedCount.addAndGet(records.size());
+                LOGGER.error("Unable to spill [{}] audit record(s) to [{}]: [{}]", records.size(), this.spillFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replay spilled records. The replay file is only removed once every record in it
+     * has been handed off, so records left behind by an interrupted replay are picked up
+     * by the next one rather than lost. Records that cannot be read back are counted as dropped.
+     */
+    private void replaySpilledRecords() {
+        final List<String> lines;
+        synchronized (this.spillLock) {
+            try {
+                if (!this.replayFile.exists()) {
+                    if (!this.spillFile.exists()) {
+                        return;
+                    }
+                    Files.move(this.spillFile.toPath(), this.replayFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+                lines = Files.readAllLines(this.replayFile.toPath(), StandardCharsets.UTF_8);
+            } catch (final IOException e) {
+                LOGGER.error("Unable to replay spilled audit records from [{}]: [{}]", this.replayFile, e.getMessage());
+                return;
+            }
+        }
+
+        LOGGER.debug("Replaying [{}] spilled audit record(s)", lines.size());
+        final List<AuditActionContext> batch = new ArrayList<>(this.properties.getBatchSize());
+        for (final String line : lines) {
+            try {
+                batch.add(SerializationUtils.deserialize(EncodingUtils.decodeBase64(line)));
+            } catch (final Exception e) {
+                this.droppedCount.incrementAndGet();
+                LOGGER.warn("Unable to read spilled audit record from [{}]; record is dropped: [{}]", this.replayFile, e.getMessage());
+                continue;
+            }
+            if (batch.size() >= this.properties.getBatchSize()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        flush(batch);
+
+        synchronized (this.spillLock) {
+            try {
+                Files.deleteIfExists(this.replayFile.toPath());
+            } catch (final IOException e) {
+                LOGGER.error("Unable to remove replayed audit records in [{}]: [{}]", this.replayFile, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+
+import java.util.Collection;
+
+/**
+ * This is {@link BatchingAuditTrailManager} that is able to
+ * record a number of audit records in one go, typically
+ * in a single round trip to the underlying storage.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public interface BatchingAuditTrailManager extends AuditTrailManager {
+
+    /**
+     * Record the given batch of audit records.
+     *
+     * @param auditActionContexts the audit action contexts
+     */
+    void record(Collection<AuditActionContext> auditActionContexts);
+
+    /**
+     * Record the batch, one record at a time, using the given manager
+     * unless the manager is able to process batches natively.
+     *
+     * @param manager             the manager
+     * @param auditActionContexts the audit action contexts
+     */
+    static void recordBatch(final AuditTrailManager manager, final Collection<AuditActionContext> auditActionContexts) {
+        if (manager instanceof BatchingAuditTrailManager) {
+            BatchingAuditTrailManager.class.cast(manager).record(auditActionContexts);
+        } else {
+            auditActionContexts.forEach(manager::record);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -22,7 +23,7 @@ import java.util.concurrent.TimeUnit;
  * @author Misagh Moayyed
  * @since 5.0.0
  */
-public class DefaultDelegatingAuditTrailManager implements DelegatingAuditTrailManager {
+public class DefaultDelegatingAuditTrailManager implements DelegatingAuditTrailManager, BatchingAuditTrailManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultDelegatingAuditTrailManager.class);
 
@@ -57,6 +58,16 @@ public class DefaultDelegatingAuditTrailManager implements DelegatingAuditTrailM
     @Override
     public void record(final AuditActionContext auditActionContext) {
         this.manager.record(auditActionContext);
+        cacheAndPublish(auditActionContext);
+    }
+
+    @Override
+    public void record(final Collection<AuditActionContext> auditActionContexts) {
+        BatchingAuditTrailManager.recordBatch(this.manager, auditActionContexts);
+        auditActionContexts.forEach(this::cacheAndPublish);
+    }
+
+    private void cacheAndPublish(final AuditActionContext auditActionContext) {
         final String key = new StringBuilder(auditActionContext.getPrincipal())
                 .append("@").append(auditActionContext.getActionPerformed())
                 .append("@").append(auditActionContext.getResourceOperatedUpon())
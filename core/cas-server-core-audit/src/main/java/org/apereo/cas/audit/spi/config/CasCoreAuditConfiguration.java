@@ -3,6 +3,7 @@ package org.apereo.cas.audit.spi.config;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.apereo.cas.audit.spi.AsynchronousAuditTrailManager;
 import org.apereo.cas.audit.spi.CredentialsAsFirstParameterResourceResolver;
 import org.apereo.cas.audit.spi.DefaultDelegatingAuditTrailManager;
 import org.apereo.cas.audit.spi.DelegatingAuditTrailManager;
@@ -72,7 +73,11 @@ public class CasCoreAuditConfiguration {
         mgmr.setUseSingleLine(casProperties.getAudit().isUseSingleLine());
         mgmr.setEntrySeparator(casProperties.getAudit().getSinglelineSeparator());
         mgmr.setAuditFormat(casProperties.getAudit().getAuditFormat());
-        return new DefaultDelegatingAuditTrailManager(mgmr);
+        final DelegatingAuditTrailManager manager = new DefaultDelegatingAuditTrailManager(mgmr);
+        if (casProperties.getAudit().getAsynchronous().isEnabled()) {
+            return new AsynchronousAuditTrailManager(manager, casProperties.getAudit().getAsynchronous());
+        }
+        return manager;
     }
 
     @Bean
@@ -190,6 +195,7 @@ public class CasCoreAuditConfiguration {
         map.put("GRANT_PROXY_TICKET_RESOURCE_RESOLVER", new ServiceResourceResolver());
         map.put("VALIDATE_SERVICE_TICKET_RESOURCE_RESOLVER", this.ticketResourceResolver());
         map.put("SAVE_SERVICE_RESOURCE_RESOLVER", returnValueResourceResolver());
+        map.put("SAVE_SERVICES_RESOURCE_RESOLVER", returnValueResourceResolver());
         map.put("CHANGE_PASSWORD_RESOURCE_RESOLVER", returnValueResourceResolver());
         map.put("TRUSTED_AUTHENTICATION_RESOURCE_RESOLVER", returnValueResourceResolver());
         map.put("ADAPTIVE_RISKY_AUTHENTICATION_RESOURCE_RESOLVER", returnValueResourceResolver());
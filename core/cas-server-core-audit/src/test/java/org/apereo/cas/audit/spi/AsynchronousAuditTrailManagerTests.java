@@ -0,0 +1,118 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditProperties;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.Slf4jLoggingAuditTrailManager;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AsynchronousAuditTrailManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class AsynchronousAuditTrailManagerTests {
+
+    private static final long REPLAY_TIMEOUT = 5000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static AuditActionContext getAuditActionContext(final int index) {
+        return new AuditActionContext("casuser" + index, "TGT-" + index, "TICKET_GRANTING_TICKET_CREATED",
+                "CAS", new Date(), "1.2.3.4", "7.8.9.0");
+    }
+
+    @Test
+    public void verifyRecordsAreFlushedInBatches() throws Exception {
+        final AuditProperties.Asynchronous props = new AuditProperties.Asynchronous();
+        props.setBatchSize(4);
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(
+                new DefaultDelegatingAuditTrailManager(new Slf4jLoggingAuditTrailManager()), props);
+        for (int i = 0; i < 10; i++) {
+            manager.record(getAuditActionContext(i));
+        }
+        manager.destroy();
+        assertEquals(10, manager.get().size());
+        assertEquals(10, manager.getRecordedCount());
+        assertEquals(0, manager.getQueueSize());
+    }
+
+    @Test
+    public void verifyRecordsAreDroppedWhenQueueIsFull() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Slf4jLoggingAuditTrailManager blocking = new Slf4jLoggingAuditTrailManager() {
+            @Override
+            public void record(final AuditActionContext auditActionContext) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.record(auditActionContext);
+            }
+        };
+
+        final AuditProperties.Asynchronous props = new AuditProperties.Asynchronous();
+        props.setQueueCapacity(1);
+        props.setBatchSize(1);
+        props.setOverflowPolicy(AuditProperties.Asynchronous.OverflowPolicies.DROP);
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(
+                new DefaultDelegatingAuditTrailManager(blocking), props);
+
+        for (int i = 0; i < 10; i++) {
+            manager.record(getAuditActionContext(i));
+        }
+        assertTrue(manager.getDroppedCount() >= 8);
+        latch.countDown();
+        manager.destroy();
+        assertEquals(10, manager.getDroppedCount() + manager.getRecordedCount());
+    }
+
+    @Test
+    public void verifyCorruptSpilledRecordsAreDroppedAndReplayContinues() throws Exception {
+        final File directory = this.folder.newFolder();
+        final String record = EncodingUtils.encodeBase64(SerializationUtils.serialize(getAuditActionContext(1)));
+        Files.write(new File(directory, "cas-audit-spill.log").toPath(),
+                Arrays.asList(record, record.substring(0, record.length() / 2), record), StandardCharsets.UTF_8);
+
+        final AuditProperties.Asynchronous props = new AuditProperties.Asynchronous();
+        props.setOverflowPolicy(AuditProperties.Asynchronous.OverflowPolicies.SPILL);
+        props.setSpillDirectory(directory.getAbsolutePath());
+        props.setFlushInterval(50);
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(
+                new DefaultDelegatingAuditTrailManager(new Slf4jLoggingAuditTrailManager()), props);
+        try {
+            waitForRecordedCount(manager, 2);
+            assertEquals(1, manager.getDroppedCount());
+
+            manager.record(getAuditActionContext(2));
+            waitForRecordedCount(manager, 3);
+            assertFalse(new File(directory, "cas-audit-spill.log.replay").exists());
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    private static void waitForRecordedCount(final AsynchronousAuditTrailManager manager, final long count) throws Exception {
+        final long deadline = System.currentTimeMillis() + REPLAY_TIMEOUT;
+        while (manager.getRecordedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, manager.getRecordedCount());
+    }
+}
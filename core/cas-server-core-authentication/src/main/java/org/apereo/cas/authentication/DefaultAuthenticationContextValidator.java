@@ -4,6 +4,7 @@ package org.apereo.cas.authentication;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
+import org.apereo.cas.services.MultifactorAuthenticationProviderRegistry;
 import org.apereo.cas.services.MultifactorAuthenticationProviderBypass;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceMultifactorPolicy;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.OrderComparator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
@@ -112,7 +114,7 @@ public class DefaultAuthenticationContextValidator implements AuthenticationCont
         }
 
         final Collection<MultifactorAuthenticationProvider> satisfiedProviders =
-                getSatisfiedAuthenticationProviders(authentication, providerMap.values());
+                getSatisfiedAuthenticationProviders(authentication, new ArrayList<>(providerMap.values()));
 
         if (satisfiedProviders == null) {
             LOGGER.warn("No satisfied multifactor authentication providers are recorded in the current authentication context.");
@@ -168,7 +170,7 @@ public class DefaultAuthenticationContextValidator implements AuthenticationCont
      */
     private Map<String, MultifactorAuthenticationProvider> getAllMultifactorAuthenticationProvidersFromApplicationContext() {
         try {
-            return this.applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true);
+            return MultifactorAuthenticationProviderRegistry.getProviders(this.applicationContext);
         } catch (final Exception e) {
             LOGGER.warn("Could not locate beans of type [{}] in the application context", MultifactorAuthenticationProvider.class);
         }
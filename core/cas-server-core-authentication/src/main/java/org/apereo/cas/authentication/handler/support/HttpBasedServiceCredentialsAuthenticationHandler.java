@@ -1,5 +1,7 @@
 package org.apereo.cas.authentication.handler.support;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apereo.cas.authentication.AbstractAuthenticationHandler;
 import org.apereo.cas.authentication.Credential;
 import org.apereo.cas.authentication.DefaultHandlerResult;
@@ -13,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import javax.security.auth.login.FailedLoginException;
 import java.net.URL;
 import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to validate the credential presented by communicating with the web
@@ -22,6 +25,12 @@ import java.security.GeneralSecurityException;
  * This class is concerned with ensuring that the protocol is HTTPS and that a
  * response is returned. The SSL handshake that occurs automatically by opening
  * a connection does the heavy process of authenticating.
+ * </p>
+ * <p>
+ * Callback URLs that were recently validated may be cached for a short while,
+ * so that services that frequently ask for proxy-granting tickets do not have
+ * their callback endpoint contacted twice for every request.
+ * </p>
  *
  * @author Scott Battaglia
 
@@ -34,6 +43,9 @@ public class HttpBasedServiceCredentialsAuthenticationHandler extends AbstractAu
     /** Instance of Apache Commons HttpClient. */
     private HttpClient httpClient;
 
+    /** Callback URLs that were recently validated. */
+    private Cache<String, Boolean> validatedCallbackUrls;
+
     /**
      * Instantiates a new Abstract authentication handler.
      *
@@ -55,7 +67,13 @@ public class HttpBasedServiceCredentialsAuthenticationHandler extends AbstractAu
 
         LOGGER.debug("Attempting to authenticate [{}]", httpCredential);
         final URL callbackUrl = httpCredential.getCallbackUrl();
-        if (!this.httpClient.isValidEndPoint(callbackUrl)) {
+        if (this.validatedCallbackUrls != null && this.validatedCallbackUrls.getIfPresent(callbackUrl.toExternalForm()) != null) {
+            LOGGER.debug("Callback url [{}] was recently validated", callbackUrl);
+        } else if (this.httpClient.isValidEndPoint(callbackUrl)) {
+            if (this.validatedCallbackUrls != null) {
+                this.validatedCallbackUrls.put(callbackUrl.toExternalForm(), Boolean.TRUE);
+            }
+        } else {
             throw new FailedLoginException(callbackUrl.toExternalForm() + " sent an unacceptable response status code");
         }
         return new DefaultHandlerResult(this, httpCredential, this.principalFactory.createPrincipal(httpCredential.getId()));
@@ -79,4 +97,17 @@ public class HttpBasedServiceCredentialsAuthenticationHandler extends AbstractAu
         this.httpClient = httpClient;
     }
 
+    /**
+     * Remember callback urls that are successfully validated for the given amount of time,
+     * during which they are not contacted again for validation.
+     *
+     * @param expireAfterWrite how long to remember validated urls, in milliseconds
+     * @param maximumSize      maximum number of urls to remember
+     */
+    public void setValidatedCallbackUrlCache(final long expireAfterWrite, final long maximumSize) {
+        this.validatedCallbackUrls = CacheBuilder.newBuilder()
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
 }
@@ -13,6 +13,7 @@ import org.apereo.cas.authentication.principal.resolvers.ProxyingPrincipalResolv
 import org.apereo.cas.authentication.support.password.PasswordPolicyConfiguration;
 import org.apereo.cas.config.support.authentication.AuthenticationEventExecutionPlanConfigurer;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.authentication.HttpClientProperties;
 import org.apereo.cas.configuration.model.support.generic.AcceptAuthenticationProperties;
 import org.apereo.cas.configuration.model.support.jaas.JaasAuthenticationProperties;
 import org.apereo.cas.configuration.support.Beans;
@@ -47,8 +48,8 @@ public class CasCoreAuthenticationHandlersConfiguration {
     private CasConfigurationProperties casProperties;
     
     @Autowired
-    @Qualifier("supportsTrustStoreSslSocketFactoryHttpClient")
-    private HttpClient supportsTrustStoreSslSocketFactoryHttpClient;
+    @Qualifier("proxyCallbackHttpClient")
+    private HttpClient proxyCallbackHttpClient;
 
     @Autowired(required = false)
     @Qualifier("acceptPasswordPolicyConfiguration")
@@ -91,7 +92,11 @@ public class CasCoreAuthenticationHandlersConfiguration {
     @Bean
     public AuthenticationHandler proxyAuthenticationHandler() {
         final HttpBasedServiceCredentialsAuthenticationHandler h = new HttpBasedServiceCredentialsAuthenticationHandler("", servicesManager);
-        h.setHttpClient(supportsTrustStoreSslSocketFactoryHttpClient);
+        h.setHttpClient(proxyCallbackHttpClient);
+        final HttpClientProperties.ProxyCallback callback = casProperties.getHttpClient().getProxyCallback();
+        if (callback.getValidationCacheExpiration() > 0) {
+            h.setValidatedCallbackUrlCache(callback.getValidationCacheExpiration(), callback.getValidationCacheMaximumSize());
+        }
         h.setPrincipalFactory(proxyPrincipalFactory());
         h.setOrder(Integer.MIN_VALUE);
         return h;
@@ -9,12 +9,17 @@ import org.apereo.cas.authentication.DefaultAuthenticationSystemSupport;
 import org.apereo.cas.authentication.PrincipalElectionStrategy;
 import org.apereo.cas.authentication.RegisteredServiceAuthenticationHandlerResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProperties;
+import org.apereo.cas.services.MultifactorAuthenticationProviderHealthRegistry;
+import org.apereo.cas.services.MultifactorAuthenticationProviderRegistry;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.web.flow.AuthenticationExceptionHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -35,6 +40,9 @@ public class CasCoreAuthenticationSupportConfiguration {
     @Qualifier("servicesManager")
     private ServicesManager servicesManager;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
 
     @Bean
     public AuthenticationExceptionHandler authenticationExceptionHandler() {
@@ -52,6 +60,20 @@ public class CasCoreAuthenticationSupportConfiguration {
         return new DefaultAuthenticationContextValidator(contextAttribute, failureMode, authnAttributeName);
     }
 
+    @ConditionalOnMissingBean(name = MultifactorAuthenticationProviderRegistry.BEAN_NAME)
+    @Bean(name = MultifactorAuthenticationProviderRegistry.BEAN_NAME)
+    public MultifactorAuthenticationProviderRegistry multifactorAuthenticationProviderRegistry() {
+        return new MultifactorAuthenticationProviderRegistry(applicationContext);
+    }
+
+    @ConditionalOnMissingBean(name = MultifactorAuthenticationProviderHealthRegistry.BEAN_NAME)
+    @Bean(name = MultifactorAuthenticationProviderHealthRegistry.BEAN_NAME)
+    public MultifactorAuthenticationProviderHealthRegistry multifactorAuthenticationProviderHealthRegistry() {
+        final MultifactorAuthenticationProperties.Health health = casProperties.getAuthn().getMfa().getHealth();
+        return new MultifactorAuthenticationProviderHealthRegistry(applicationContext,
+                health.getFailureThreshold(), health.getSuccessThreshold(), health.getMaxAge());
+    }
+
     @Bean
     public AuthenticationHandlerResolver registeredServiceAuthenticationHandlerResolver() {
         return new RegisteredServiceAuthenticationHandlerResolver(servicesManager);
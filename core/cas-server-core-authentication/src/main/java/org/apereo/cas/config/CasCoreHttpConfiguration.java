@@ -7,6 +7,7 @@ import org.apereo.cas.authentication.FileTrustStoreSslSocketFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.authentication.HttpClientProperties;
 import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.SimpleHttpClient;
 import org.apereo.cas.util.http.SimpleHttpClientFactoryBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
@@ -69,4 +70,18 @@ public class CasCoreHttpConfiguration {
         c.setSslSocketFactory(trustStoreSslSocketFactory());
         return c.getObject();
     }
+
+    @Bean
+    public HttpClient proxyCallbackHttpClient() throws Exception {
+        final HttpClientProperties.ProxyCallback callback = casProperties.getHttpClient().getProxyCallback();
+        final SimpleHttpClientFactoryBean.DefaultHttpClient c = new SimpleHttpClientFactoryBean.DefaultHttpClient();
+        c.setConnectionTimeout(casProperties.getHttpClient().getConnectionTimeout());
+        c.setReadTimeout(Long.valueOf(casProperties.getHttpClient().getReadTimeout()).intValue());
+        c.setSslSocketFactory(trustStoreSslSocketFactory());
+        c.setThreadsNumber(callback.getThreads());
+        c.setQueueSize(callback.getQueueSize());
+        final SimpleHttpClient client = c.getObject();
+        client.setEndpointValidationTimeout(callback.getTimeout());
+        return client;
+    }
 }
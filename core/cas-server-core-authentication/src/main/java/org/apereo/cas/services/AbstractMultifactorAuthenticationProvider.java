@@ -32,6 +32,8 @@ public abstract class AbstractMultifactorAuthenticationProvider implements Multi
 
     private int order;
 
+    private transient MultifactorAuthenticationProviderHealthRegistry healthRegistry;
+
     @Override
     public String getId() {
         return id;
@@ -55,6 +57,10 @@ public abstract class AbstractMultifactorAuthenticationProvider implements Multi
         this.globalFailureMode = globalFailureMode;
     }
 
+    public void setHealthRegistry(final MultifactorAuthenticationProviderHealthRegistry healthRegistry) {
+        this.healthRegistry = healthRegistry;
+    }
+
     @Override
     public final boolean supports(final Event e,
                                   final Authentication authentication,
@@ -106,7 +112,7 @@ public abstract class AbstractMultifactorAuthenticationProvider implements Multi
         }
 
         if (failureMode != RegisteredServiceMultifactorPolicy.FailureModes.NONE) {
-            if (isAvailable()) {
+            if (isProviderAvailable()) {
                 return true;
             }
             if (failureMode == RegisteredServiceMultifactorPolicy.FailureModes.CLOSED) {
@@ -124,6 +130,19 @@ public abstract class AbstractMultifactorAuthenticationProvider implements Multi
         return true;
     }
 
+    /**
+     * Determine whether the provider is available, using the last known availability
+     * recorded by the {@link MultifactorAuthenticationProviderHealthRegistry}, if one is defined.
+     *
+     * @return the true/false
+     */
+    private boolean isProviderAvailable() {
+        if (this.healthRegistry != null) {
+            return this.healthRegistry.isAvailable(this);
+        }
+        return isAvailable();
+    }
+
     /**
      * Is provider available?
      *
@@ -0,0 +1,214 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.monitor.Monitor;
+import org.apereo.cas.monitor.Status;
+import org.apereo.cas.monitor.StatusCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link MultifactorAuthenticationProviderHealthRegistry} that probes the availability
+ * of multifactor authentication providers on a schedule, so that authentication requests
+ * consult the cached availability instead of contacting the provider.
+ * Availability of a provider only changes after a configurable number of consecutive probes agree.
+ * Providers are never probed on the authentication request thread; a provider whose availability
+ * is unknown or older than the configured maximum age is probed in the background, while the request
+ * proceeds with the last known availability.
+ * The registry is also exposed as a {@link Monitor} to report the availability of all providers.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class MultifactorAuthenticationProviderHealthRegistry implements Monitor<Status> {
+    /**
+     * Bean name of the registry.
+     */
+    public static final String BEAN_NAME = "multifactorAuthenticationProviderHealthRegistry";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultifactorAuthenticationProviderHealthRegistry.class);
+
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_SIZE = 100;
+
+    private final Map<String, ProviderHealth> providers = new ConcurrentHashMap<>();
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final ApplicationContext applicationContext;
+    private final int failureThreshold;
+    private final int successThreshold;
+    private final long maxAge;
+    private final ExecutorService refreshExecutor;
+
+    public MultifactorAuthenticationProviderHealthRegistry(final ApplicationContext applicationContext,
+                                                           final int failureThreshold,
+                                                           final int successThreshold,
+                                                           final long maxAge) {
+        this(applicationContext, failureThreshold, successThreshold, maxAge,
+                new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(REFRESH_QUEUE_SIZE)));
+    }
+
+    public MultifactorAuthenticationProviderHealthRegistry(final ApplicationContext applicationContext,
+                                                           final int failureThreshold,
+                                                           final int successThreshold,
+                                                           final long maxAge,
+                                                           final ExecutorService refreshExecutor) {
+        this.applicationContext = applicationContext;
+        this.refreshExecutor = refreshExecutor;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.successThreshold = Math.max(1, successThreshold);
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Probe all multifactor authentication providers.
+     */
+    @Scheduled(initialDelayString = "${cas.authn.mfa.health.startDelay:PT15S}",
+               fixedDelayString = "${cas.authn.mfa.health.repeatInterval:PT30S}")
+    public void probe() {
+        getProviders().forEach(this::probe);
+    }
+
+    /**
+     * Determine whether the provider is available, based on its last known availability.
+     * Providers whose availability is unknown are assumed available until the background probe completes.
+     *
+     * @param provider the provider
+     * @return true if available
+     */
+    public boolean isAvailable(final AbstractMultifactorAuthenticationProvider provider) {
+        ProviderHealth health = this.providers.get(provider.getId());
+        if (health == null || health.isOlderThan(this.maxAge)) {
+            LOGGER.debug("No recent availability is recorded for [{}]; probing the provider in the background", provider.getId());
+            refresh(provider);
+            health = this.providers.get(provider.getId());
+        }
+        return health == null || health.isAvailable();
+    }
+
+    /**
+     * Stop probing providers in the background.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.refreshExecutor.shutdownNow();
+    }
+
+    private void refresh(final AbstractMultifactorAuthenticationProvider provider) {
+        if (!this.refreshing.add(provider.getId())) {
+            return;
+        }
+        try {
+            this.refreshExecutor.execute(() -> {
+                try {
+                    probe(provider);
+                } finally {
+                    this.refreshing.remove(provider.getId());
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Unable to probe [{}] in the background: [{}]", provider.getId(), e.getMessage());
+            this.refreshing.remove(provider.getId());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return MultifactorAuthenticationProviderHealthRegistry.class.getSimpleName();
+    }
+
+    @Override
+    public Status observe() {
+        if (this.providers.isEmpty()) {
+            return new Status(StatusCode.UNKNOWN, "No multifactor authentication providers are probed");
+        }
+        final boolean allAvailable = this.providers.values().stream().allMatch(ProviderHealth::isAvailable);
+        final String description = this.providers.entrySet().stream()
+                .map(e -> e.getKey() + ": " + (e.getValue().isAvailable() ? "UP" : "DOWN"))
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return new Status(allAvailable ? StatusCode.OK : StatusCode.WARN, description);
+    }
+
+    private ProviderHealth probe(final AbstractMultifactorAuthenticationProvider provider) {
+        boolean available;
+        try {
+            available = provider.isAvailable();
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to determine the availability of [{}]: [{}]", provider.getId(), e.getMessage());
+            available = false;
+        }
+        final boolean result = available;
+        return this.providers.compute(provider.getId(), (id, health) -> {
+            if (health == null) {
+                return new ProviderHealth(result);
+            }
+            health.record(result, this.failureThreshold, this.successThreshold);
+            if (health.isAvailable() != result) {
+                LOGGER.debug("Provider [{}] reported [{}], yet its availability remains unchanged at [{}]",
+                        id, result, health.isAvailable());
+            }
+            return health;
+        });
+    }
+
+    private Collection<AbstractMultifactorAuthenticationProvider> getProviders() {
+        return MultifactorAuthenticationProviderRegistry.getProviders(this.applicationContext)
+                .values()
+                .stream()
+                .filter(AbstractMultifactorAuthenticationProvider.class::isInstance)
+                .map(AbstractMultifactorAuthenticationProvider.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Availability of a single provider, along with the number of consecutive probes
+     * that disagree with it.
+     */
+    private static class ProviderHealth {
+        private boolean available;
+        private int disagreements;
+        private long lastProbeTime;
+
+        ProviderHealth(final boolean available) {
+            this.available = available;
+            this.lastProbeTime = System.currentTimeMillis();
+        }
+
+        synchronized void record(final boolean result, final int failureThreshold, final int successThreshold) {
+            this.lastProbeTime = System.currentTimeMillis();
+            if (result == this.available) {
+                this.disagreements = 0;
+                return;
+            }
+            this.disagreements++;
+            if (this.disagreements >= (this.available ? failureThreshold : successThreshold)) {
+                this.available = result;
+                this.disagreements = 0;
+            }
+        }
+
+        synchronized boolean isAvailable() {
+            return this.available;
+        }
+
+        synchronized boolean isOlderThan(final long maxAge) {
+            return System.currentTimeMillis() - this.lastProbeTime > maxAge;
+        }
+    }
+}
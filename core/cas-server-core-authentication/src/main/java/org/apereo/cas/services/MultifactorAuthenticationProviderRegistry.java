@@ -0,0 +1,128 @@
+package org.apereo.cas.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This is {@link MultifactorAuthenticationProviderRegistry} that keeps an immutable snapshot
+ * of all {@link MultifactorAuthenticationProvider} beans, indexed by bean name and by provider id.
+ * The snapshot is built once the application context is refreshed, so that resolving providers
+ * on each authentication request does not walk the bean factory. Until then, providers
+ * are looked up from the application context directly.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class MultifactorAuthenticationProviderRegistry {
+    /**
+     * Bean name of the registry.
+     */
+    public static final String BEAN_NAME = "multifactorAuthenticationProviderRegistry";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultifactorAuthenticationProviderRegistry.class);
+
+    private final ApplicationContext applicationContext;
+
+    private volatile Snapshot snapshot;
+
+    public MultifactorAuthenticationProviderRegistry(final ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Gets all multifactor authentication providers from the application context,
+     * preferring the snapshot of the registry if one is defined.
+     *
+     * @param applicationContext the application context
+     * @return the providers keyed by bean name
+     */
+    public static Map<String, MultifactorAuthenticationProvider> getProviders(final ApplicationContext applicationContext) {
+        if (applicationContext.containsBean(BEAN_NAME)) {
+            return applicationContext.getBean(BEAN_NAME, MultifactorAuthenticationProviderRegistry.class).getProviders();
+        }
+        return applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true);
+    }
+
+    /**
+     * Find the provider that matches the given provider id from the application context,
+     * preferring the snapshot of the registry if one is defined.
+     *
+     * @param applicationContext the application context
+     * @param providerId         the provider id
+     * @return the provider
+     */
+    public static Optional<MultifactorAuthenticationProvider> findProvider(final ApplicationContext applicationContext,
+                                                                         final String providerId) {
+        if (applicationContext.containsBean(BEAN_NAME)) {
+            return applicationContext.getBean(BEAN_NAME, MultifactorAuthenticationProviderRegistry.class).findProvider(providerId);
+        }
+        return applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true).values()
+                .stream()
+                .filter(p -> p.matches(providerId))
+                .findFirst();
+    }
+
+    /**
+     * Rebuild the snapshot of providers once the application context is refreshed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleContextRefreshedEvent(final ContextRefreshedEvent event) {
+        this.snapshot = new Snapshot(this.applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true));
+        LOGGER.debug("Registered multifactor authentication providers [{}]", this.snapshot.providersById.keySet());
+    }
+
+    /**
+     * Gets all providers, keyed by bean name.
+     *
+     * @return the providers
+     */
+    public Map<String, MultifactorAuthenticationProvider> getProviders() {
+        final Snapshot current = this.snapshot;
+        if (current == null) {
+            return this.applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true);
+        }
+        return current.providers;
+    }
+
+    /**
+     * Find the provider that matches the given provider id.
+     *
+     * @param providerId the provider id
+     * @return the provider
+     */
+    public Optional<MultifactorAuthenticationProvider> findProvider(final String providerId) {
+        final Snapshot current = this.snapshot;
+        if (current != null) {
+            final MultifactorAuthenticationProvider provider = current.providersById.get(providerId);
+            if (provider != null) {
+                return Optional.of(provider);
+            }
+        }
+        return getProviders().values().stream().filter(p -> p.matches(providerId)).findFirst();
+    }
+
+    /**
+     * Immutable view of the providers.
+     */
+    private static class Snapshot {
+        private final Map<String, MultifactorAuthenticationProvider> providers;
+        private final Map<String, MultifactorAuthenticationProvider> providersById;
+
+        Snapshot(final Map<String, MultifactorAuthenticationProvider> providers) {
+            this.providers = Collections.unmodifiableMap(new LinkedHashMap<>(providers));
+            final Map<String, MultifactorAuthenticationProvider> byId = new LinkedHashMap<>(providers.size());
+            providers.values().forEach(p -> byId.putIfAbsent(p.getId(), p));
+            this.providersById = Collections.unmodifiableMap(byId);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.apereo.cas.services;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apereo.cas.monitor.StatusCode;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link MultifactorAuthenticationProviderHealthRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class MultifactorAuthenticationProviderHealthRegistryTests {
+    private TestMultifactorAuthenticationProvider provider;
+    private StaticApplicationContext applicationContext;
+
+    @Before
+    public void setup() {
+        this.provider = new TestMultifactorAuthenticationProvider();
+        this.provider.setId("mfa-test");
+        this.applicationContext = new StaticApplicationContext();
+        this.applicationContext.getBeanFactory().registerSingleton("testProvider", this.provider);
+        this.applicationContext.refresh();
+    }
+
+    @Test
+    public void verifyAvailabilityIsCached() {
+        final MultifactorAuthenticationProviderHealthRegistry registry =
+                new MultifactorAuthenticationProviderHealthRegistry(applicationContext, 2, 1, 60_000,
+                        MoreExecutors.newDirectExecutorService());
+        assertTrue(registry.isAvailable(provider));
+        assertTrue(registry.isAvailable(provider));
+        assertEquals(1, provider.probes.get());
+        assertEquals(StatusCode.OK, registry.observe().getCode());
+    }
+
+    @Test
+    public void verifyAvailabilityChangesAfterConsecutiveProbes() {
+        final MultifactorAuthenticationProviderHealthRegistry registry =
+                new MultifactorAuthenticationProviderHealthRegistry(applicationContext, 2, 1, 60_000,
+                        MoreExecutors.newDirectExecutorService());
+        registry.probe();
+        provider.available.set(false);
+        registry.probe();
+        assertTrue(registry.isAvailable(provider));
+        registry.probe();
+        assertFalse(registry.isAvailable(provider));
+        assertEquals(StatusCode.WARN, registry.observe().getCode());
+
+        provider.available.set(true);
+        registry.probe();
+        assertTrue(registry.isAvailable(provider));
+    }
+
+    @Test
+    public void verifyStaleAvailabilityIsProbed() {
+        final MultifactorAuthenticationProviderHealthRegistry registry =
+                new MultifactorAuthenticationProviderHealthRegistry(applicationContext, 1, 1, -1,
+                        MoreExecutors.newDirectExecutorService());
+        assertTrue(registry.isAvailable(provider));
+        provider.available.set(false);
+        assertFalse(registry.isAvailable(provider));
+        assertEquals(2, provider.probes.get());
+    }
+
+    @Test
+    public void verifyProviderIsNotProbedOnRequestThread() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final MultifactorAuthenticationProviderHealthRegistry registry =
+                new MultifactorAuthenticationProviderHealthRegistry(applicationContext, 1, 1, 60_000, executor);
+        provider.available.set(false);
+        provider.blocked.set(true);
+        try {
+            assertTrue(registry.isAvailable(provider));
+            assertTrue(registry.isAvailable(provider));
+        } finally {
+            provider.blocked.set(false);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(1, provider.probes.get());
+        assertFalse(registry.isAvailable(provider));
+        registry.destroy();
+    }
+
+    private static class TestMultifactorAuthenticationProvider extends AbstractMultifactorAuthenticationProvider {
+        private static final long serialVersionUID = -2227251398591232564L;
+
+        private final AtomicBoolean available = new AtomicBoolean(true);
+        private final AtomicBoolean blocked = new AtomicBoolean();
+        private final AtomicInteger probes = new AtomicInteger();
+
+        @Override
+        protected boolean isAvailable() {
+            while (blocked.get()) {
+                Thread.yield();
+            }
+            probes.incrementAndGet();
+            return available.get();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.apereo.cas.services;
+
+import org.junit.Test;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link MultifactorAuthenticationProviderRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class MultifactorAuthenticationProviderRegistryTests {
+
+    private static TestMultifactorAuthenticationProvider getProvider(final String id) {
+        final TestMultifactorAuthenticationProvider provider = new TestMultifactorAuthenticationProvider();
+        provider.setId(id);
+        return provider;
+    }
+
+    @Test
+    public void verifyProvidersAreSnapshotOnRefresh() {
+        final StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("duoProvider", getProvider("mfa-duo"));
+        final MultifactorAuthenticationProviderRegistry registry = new MultifactorAuthenticationProviderRegistry(applicationContext);
+        applicationContext.getBeanFactory().registerSingleton(MultifactorAuthenticationProviderRegistry.BEAN_NAME, registry);
+        applicationContext.refresh();
+
+        registry.handleContextRefreshedEvent(new ContextRefreshedEvent(applicationContext));
+        final Map<String, MultifactorAuthenticationProvider> providers = registry.getProviders();
+        assertEquals(1, providers.size());
+        assertSame(providers, MultifactorAuthenticationProviderRegistry.getProviders(applicationContext));
+
+        assertTrue(registry.findProvider("mfa-duo").isPresent());
+        assertTrue(MultifactorAuthenticationProviderRegistry.findProvider(applicationContext, "mfa-d.+").isPresent());
+        assertFalse(registry.findProvider("mfa-yubikey").isPresent());
+    }
+
+    @Test
+    public void verifyProvidersAreLocatedBeforeRefresh() {
+        final StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("duoProvider", getProvider("mfa-duo"));
+        applicationContext.refresh();
+        final MultifactorAuthenticationProviderRegistry registry = new MultifactorAuthenticationProviderRegistry(applicationContext);
+        assertEquals(1, registry.getProviders().size());
+        assertTrue(registry.findProvider("mfa-duo").isPresent());
+    }
+
+    private static class TestMultifactorAuthenticationProvider extends AbstractMultifactorAuthenticationProvider {
+        private static final long serialVersionUID = 6317231453612370581L;
+
+        @Override
+        protected boolean isAvailable() {
+            return true;
+        }
+    }
+}
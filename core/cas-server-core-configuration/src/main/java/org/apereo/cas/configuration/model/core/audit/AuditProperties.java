@@ -22,6 +22,8 @@ public class AuditProperties {
 
     private Jdbc jdbc = new Jdbc();
 
+    private Asynchronous asynchronous = new Asynchronous();
+
     private AbstractStringAuditTrailManager.AuditFormats auditFormat =
             AbstractStringAuditTrailManager.AuditFormats.DEFAULT;
 
@@ -35,6 +37,14 @@ public class AuditProperties {
         this.jdbc = jdbc;
     }
 
+    public Asynchronous getAsynchronous() {
+        return asynchronous;
+    }
+
+    public void setAsynchronous(final Asynchronous asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
     public String getAppCode() {
         return appCode;
     }
@@ -129,4 +139,90 @@ public class AuditProperties {
             this.isolationLevelName = isolationLevelName;
         }
     }
+
+    public static class Asynchronous {
+        /**
+         * Policies that decide what happens to an audit record
+         * when the asynchronous queue is full.
+         */
+        public enum OverflowPolicies {
+            /**
+             * Block the caller until space becomes available.
+             */
+            BLOCK,
+            /**
+             * Discard the record.
+             */
+            DROP,
+            /**
+             * Write the record to a spill file on disk and
+             * replay it once the queue has drained.
+             */
+            SPILL
+        }
+
+        private boolean enabled;
+        private int queueCapacity = 8192;
+        private int batchSize = 100;
+        private long flushInterval = 500;
+        private long shutdownTimeout = 5000;
+        private OverflowPolicies overflowPolicy = OverflowPolicies.BLOCK;
+        private String spillDirectory = "/etc/cas/audit";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(final long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public long getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(final long shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+
+        public OverflowPolicies getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(final OverflowPolicies overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public String getSpillDirectory() {
+            return spillDirectory;
+        }
+
+        public void setSpillDirectory(final String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+        }
+    }
 }
@@ -16,7 +16,17 @@ public class HttpClientProperties {
     private String asyncTimeout = "PT5S";
 
     private Truststore truststore = new Truststore();
+
+    private ProxyCallback proxyCallback = new ProxyCallback();
     
+    public ProxyCallback getProxyCallback() {
+        return proxyCallback;
+    }
+
+    public void setProxyCallback(final ProxyCallback proxyCallback) {
+        this.proxyCallback = proxyCallback;
+    }
+
     public long getAsyncTimeout() {
         return Beans.newDuration(this.asyncTimeout).toMillis();
     }
@@ -49,6 +59,54 @@ public class HttpClientProperties {
         this.readTimeout = readTimeout;
     }
 
+    public static class ProxyCallback {
+        private String timeout = "PT0S";
+        private int threads = 50;
+        private int queueSize = 10;
+        private String validationCacheExpiration = "PT0S";
+        private long validationCacheMaximumSize = 1_000;
+
+        public long getTimeout() {
+            return Beans.newDuration(this.timeout).toMillis();
+        }
+
+        public void setTimeout(final String timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(final int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(final int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public long getValidationCacheExpiration() {
+            return Beans.newDuration(this.validationCacheExpiration).toMillis();
+        }
+
+        public void setValidationCacheExpiration(final String validationCacheExpiration) {
+            this.validationCacheExpiration = validationCacheExpiration;
+        }
+
+        public long getValidationCacheMaximumSize() {
+            return validationCacheMaximumSize;
+        }
+
+        public void setValidationCacheMaximumSize(final long validationCacheMaximumSize) {
+            this.validationCacheMaximumSize = validationCacheMaximumSize;
+        }
+    }
+
     public static class Truststore {
         private Resource file;
 
@@ -1,6 +1,7 @@
 package org.apereo.cas.configuration.model.core.authentication;
 
 import org.apereo.cas.configuration.model.support.sms.SmsProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 /**
@@ -16,6 +17,7 @@ public class RiskBasedAuthenticationProperties {
     private GeoLocation geoLocation = new GeoLocation();
     private DateTime dateTime = new DateTime();
     private Response response = new Response();
+    private Profile profile = new Profile();
     
     private double threshold = 0.6;
     private long daysInRecentHistory = 30;
@@ -76,6 +78,35 @@ public class RiskBasedAuthenticationProperties {
         this.dateTime = dateTime;
     }
 
+    public Profile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(final Profile profile) {
+        this.profile = profile;
+    }
+
+    public static class Profile {
+        private long maximumSize = 10_000;
+        private String expireAfterWrite = "PT1H";
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(final long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getExpireAfterWrite() {
+            return Beans.newDuration(expireAfterWrite).getSeconds();
+        }
+
+        public void setExpireAfterWrite(final String expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
     public static class IpAddress {
         private boolean enabled;
 
@@ -2,6 +2,7 @@ package org.apereo.cas.configuration.model.core.events;
 
 import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
 import org.apereo.cas.configuration.model.support.mongo.AbstractMongoClientProperties;
+import org.apereo.cas.configuration.support.Beans;
 
 /**
  * Configuration properties class for events.
@@ -19,6 +20,8 @@ public class EventsProperties {
 
     private Mongodb mongodb = new Mongodb();
 
+    private Memory memory = new Memory();
+
     public Mongodb getMongodb() {
         return mongodb;
     }
@@ -43,6 +46,14 @@ public class EventsProperties {
         this.trackConfigurationModifications = trackConfigurationModifications;
     }
 
+    public Memory getMemory() {
+        return memory;
+    }
+
+    public void setMemory(final Memory memory) {
+        this.memory = memory;
+    }
+
     public Jpa getJpa() {
         return jpa;
     }
@@ -59,4 +70,34 @@ public class EventsProperties {
             setCollection("MongoDbCasEventRepository");
         }
     }
+
+    public static class Memory {
+        private long maxPrincipals = 10_000;
+        private int maxEventsPerPrincipal = 100;
+        private String expireAfterWrite = "PT2H";
+
+        public long getMaxPrincipals() {
+            return maxPrincipals;
+        }
+
+        public void setMaxPrincipals(final long maxPrincipals) {
+            this.maxPrincipals = maxPrincipals;
+        }
+
+        public int getMaxEventsPerPrincipal() {
+            return maxEventsPerPrincipal;
+        }
+
+        public void setMaxEventsPerPrincipal(final int maxEventsPerPrincipal) {
+            this.maxEventsPerPrincipal = maxEventsPerPrincipal;
+        }
+
+        public long getExpireAfterWrite() {
+            return Beans.newDuration(expireAfterWrite).getSeconds();
+        }
+
+        public void setExpireAfterWrite(final String expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
 }
@@ -17,6 +17,10 @@ public class MonitorProperties {
 
     private int freeMemThreshold = 10;
 
+    private String observeTimeout = "PT5S";
+
+    private String cacheExpiration = "PT0S";
+
     private Tgt tgt = new Tgt();
 
     private St st = new St();
@@ -61,6 +65,22 @@ public class MonitorProperties {
         this.freeMemThreshold = freeMemThreshold;
     }
 
+    public long getObserveTimeout() {
+        return Beans.newDuration(observeTimeout).toMillis();
+    }
+
+    public void setObserveTimeout(final String observeTimeout) {
+        this.observeTimeout = observeTimeout;
+    }
+
+    public long getCacheExpiration() {
+        return Beans.newDuration(cacheExpiration).toMillis();
+    }
+
+    public void setCacheExpiration(final String cacheExpiration) {
+        this.cacheExpiration = cacheExpiration;
+    }
+
     public Tgt getTgt() {
         return tgt;
     }
@@ -13,6 +13,9 @@ import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryPrope
 import org.apereo.cas.configuration.support.Beans;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * This is {@link TicketRegistryProperties}.
  *
@@ -50,6 +53,9 @@ public class TicketRegistryProperties {
 
     private InMemory inMemory = new InMemory();
     private Cleaner cleaner = new Cleaner();
+    private Tiered tiered = new Tiered();
+    private Journal journal = new Journal();
+    private Expiration expiration = new Expiration();
 
     public MongoTicketRegistryProperties getMongo() {
         return mongo;
@@ -67,6 +73,30 @@ public class TicketRegistryProperties {
         this.inMemory = inMemory;
     }
 
+    public Tiered getTiered() {
+        return tiered;
+    }
+
+    public void setTiered(final Tiered tiered) {
+        this.tiered = tiered;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public void setJournal(final Journal journal) {
+        this.journal = journal;
+    }
+
+    public Expiration getExpiration() {
+        return expiration;
+    }
+
+    public void setExpiration(final Expiration expiration) {
+        this.expiration = expiration;
+    }
+
     public Cleaner getCleaner() {
         return cleaner;
     }
@@ -144,9 +174,19 @@ public class TicketRegistryProperties {
         private int loadFactor = 1;
         private int concurrency = 20;
 
+        private OffHeap offHeap = new OffHeap();
+
         @NestedConfigurationProperty
         private CryptographyProperties crypto = new CryptographyProperties();
 
+        public OffHeap getOffHeap() {
+            return offHeap;
+        }
+
+        public void setOffHeap(final OffHeap offHeap) {
+            this.offHeap = offHeap;
+        }
+
         public CryptographyProperties getCrypto() {
             return crypto;
         }
@@ -178,15 +218,245 @@ public class TicketRegistryProperties {
         public void setConcurrency(final int concurrency) {
             this.concurrency = concurrency;
         }
+
+        public static class OffHeap {
+            private boolean enabled;
+            private long capacityInMegabytes = 256;
+            private int segments = 16;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(final boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getCapacityInMegabytes() {
+                return capacityInMegabytes;
+            }
+
+            public void setCapacityInMegabytes(final long capacityInMegabytes) {
+                this.capacityInMegabytes = capacityInMegabytes;
+            }
+
+            public int getSegments() {
+                return segments;
+            }
+
+            public void setSegments(final int segments) {
+                this.segments = segments;
+            }
+        }
+    }
+
+    public static class Tiered {
+        private boolean enabled;
+        private List<String> ticketPrefixes = Arrays.asList("TGT");
+        private long maximumSize = 100_000;
+        private String expireAfterAccess = "PT30M";
+        private String revalidateAfter = "PT5S";
+        private boolean writeBehind;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getTicketPrefixes() {
+            return ticketPrefixes;
+        }
+
+        public void setTicketPrefixes(final List<String> ticketPrefixes) {
+            this.ticketPrefixes = ticketPrefixes;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(final long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getExpireAfterAccess() {
+            return Beans.newDuration(expireAfterAccess).toMillis();
+        }
+
+        public void setExpireAfterAccess(final String expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+
+        public long getRevalidateAfter() {
+            return Beans.newDuration(revalidateAfter).toMillis();
+        }
+
+        public void setRevalidateAfter(final String revalidateAfter) {
+            this.revalidateAfter = revalidateAfter;
+        }
+
+        public boolean isWriteBehind() {
+            return writeBehind;
+        }
+
+        public void setWriteBehind(final boolean writeBehind) {
+            this.writeBehind = writeBehind;
+        }
+    }
+
+    public static class Journal {
+        private boolean enabled;
+        private String directory = "/etc/cas/tickets";
+        private int logSizeInMegabytes = 64;
+        private String compactionInterval = "PT5M";
+
+        @NestedConfigurationProperty
+        private CryptographyProperties crypto = new CryptographyProperties();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(final String directory) {
+            this.directory = directory;
+        }
+
+        public int getLogSizeInMegabytes() {
+            return logSizeInMegabytes;
+        }
+
+        public void setLogSizeInMegabytes(final int logSizeInMegabytes) {
+            this.logSizeInMegabytes = logSizeInMegabytes;
+        }
+
+        public long getCompactionInterval() {
+            return Beans.newDuration(compactionInterval).toMillis();
+        }
+
+        public void setCompactionInterval(final String compactionInterval) {
+            this.compactionInterval = compactionInterval;
+        }
+
+        public CryptographyProperties getCrypto() {
+            return crypto;
+        }
+
+        public void setCrypto(final CryptographyProperties crypto) {
+            this.crypto = crypto;
+        }
+    }
+
+    public static class Expiration {
+        private boolean logoutEnabled = true;
+        private int logoutThreads = 2;
+        private int logoutQueueSize = 1000;
+        private String sweepInterval = "PT1M";
+        private String gracePeriod = "PT5M";
+
+        public boolean isLogoutEnabled() {
+            return logoutEnabled;
+        }
+
+        public void setLogoutEnabled(final boolean logoutEnabled) {
+            this.logoutEnabled = logoutEnabled;
+        }
+
+        public int getLogoutThreads() {
+            return logoutThreads;
+        }
+
+        public void setLogoutThreads(final int logoutThreads) {
+            this.logoutThreads = logoutThreads;
+        }
+
+        public int getLogoutQueueSize() {
+            return logoutQueueSize;
+        }
+
+        public void setLogoutQueueSize(final int logoutQueueSize) {
+            this.logoutQueueSize = logoutQueueSize;
+        }
+
+        public long getSweepInterval() {
+            return Beans.newDuration(sweepInterval).toMillis();
+        }
+
+        public void setSweepInterval(final String sweepInterval) {
+            this.sweepInterval = sweepInterval;
+        }
+
+        public long getGracePeriod() {
+            return Beans.newDuration(gracePeriod).toMillis();
+        }
+
+        public void setGracePeriod(final String gracePeriod) {
+            this.gracePeriod = gracePeriod;
+        }
     }
 
     public static class Cleaner {
         private boolean enabled = true;
         private String startDelay = "PT10S";
         private String repeatInterval = "PT1M";
+        private int workers = 4;
+        private int batchSize = 100;
+        private double maximumTicketsPerSecond;
+        private int logoutThreads = 4;
+        private int logoutQueueSize = 1000;
 
         private String appId = "cas-ticket-registry-cleaner";
 
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(final int workers) {
+            this.workers = workers;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public double getMaximumTicketsPerSecond() {
+            return maximumTicketsPerSecond;
+        }
+
+        public void setMaximumTicketsPerSecond(final double maximumTicketsPerSecond) {
+            this.maximumTicketsPerSecond = maximumTicketsPerSecond;
+        }
+
+        public int getLogoutThreads() {
+            return logoutThreads;
+        }
+
+        public void setLogoutThreads(final int logoutThreads) {
+            this.logoutThreads = logoutThreads;
+        }
+
+        public int getLogoutQueueSize() {
+            return logoutQueueSize;
+        }
+
+        public void setLogoutQueueSize(final int logoutQueueSize) {
+            this.logoutQueueSize = logoutQueueSize;
+        }
+
         public String getAppId() {
             return appId;
         }
@@ -9,6 +9,7 @@ package org.apereo.cas.configuration.model.core.web.view;
 
 public class ViewProperties {
     private String defaultRedirectUrl;
+    private boolean streamProtocolResponses;
     
     private Cas2 cas2 = new Cas2();
     private Cas3 cas3 = new Cas3();
@@ -37,6 +38,14 @@ public class ViewProperties {
         this.defaultRedirectUrl = defaultRedirectUrl;
     }
 
+    public boolean isStreamProtocolResponses() {
+        return streamProtocolResponses;
+    }
+
+    public void setStreamProtocolResponses(final boolean streamProtocolResponses) {
+        this.streamProtocolResponses = streamProtocolResponses;
+    }
+
     public static class Cas2 {
         private String success = "protocol/2.0/casServiceValidationSuccess";
         private String failure = "protocol/2.0/casServiceValidationFailure";
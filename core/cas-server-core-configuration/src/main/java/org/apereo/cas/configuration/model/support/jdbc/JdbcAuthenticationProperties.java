@@ -4,10 +4,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.model.core.authentication.PasswordEncoderProperties;
 import org.apereo.cas.configuration.model.core.authentication.PrincipalTransformationProperties;
 import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This is {@link JdbcAuthenticationProperties}.
@@ -60,6 +63,10 @@ public class JdbcAuthenticationProperties {
         private String fieldExpired;
         private String fieldDisabled;
         private List principalAttributeList = new ArrayList();
+        private boolean reuseQueryAttributes;
+        private int fetchSize = -1;
+        private String queryTimeout = "PT0S";
+        private Map<String, String> dataSourceProperties = new HashMap<>();
 
         @NestedConfigurationProperty
         private PrincipalTransformationProperties principalTransformation =
@@ -72,6 +79,38 @@ public class JdbcAuthenticationProperties {
 
         private int order = Integer.MAX_VALUE;
 
+        public boolean isReuseQueryAttributes() {
+            return reuseQueryAttributes;
+        }
+
+        public void setReuseQueryAttributes(final boolean reuseQueryAttributes) {
+            this.reuseQueryAttributes = reuseQueryAttributes;
+        }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(final int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public long getQueryTimeout() {
+            return Beans.newDuration(queryTimeout).getSeconds();
+        }
+
+        public void setQueryTimeout(final String queryTimeout) {
+            this.queryTimeout = queryTimeout;
+        }
+
+        public Map<String, String> getDataSourceProperties() {
+            return dataSourceProperties;
+        }
+
+        public void setDataSourceProperties(final Map<String, String> dataSourceProperties) {
+            this.dataSourceProperties = dataSourceProperties;
+        }
+
         public List getPrincipalAttributeList() {
             return principalAttributeList;
         }
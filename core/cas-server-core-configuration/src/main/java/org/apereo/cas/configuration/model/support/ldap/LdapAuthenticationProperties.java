@@ -3,6 +3,7 @@ package org.apereo.cas.configuration.model.support.ldap;
 import org.apereo.cas.configuration.model.core.authentication.PasswordEncoderProperties;
 import org.apereo.cas.configuration.model.core.authentication.PasswordPolicyProperties;
 import org.apereo.cas.configuration.model.core.authentication.PrincipalTransformationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.util.ArrayList;
@@ -35,6 +36,10 @@ public class LdapAuthenticationProperties extends AbstractLdapAuthenticationProp
 
     private boolean allowMissingPrincipalAttributeValue = true;
 
+    private boolean reuseAuthenticatedEntryAttributes;
+
+    private CredentialCache credentialCache = new CredentialCache();
+
     private Integer order;
     
     public Integer getOrder() {
@@ -116,4 +121,50 @@ public class LdapAuthenticationProperties extends AbstractLdapAuthenticationProp
     public void setAllowMissingPrincipalAttributeValue(final boolean allowMissingPrincipalAttributeValue) {
         this.allowMissingPrincipalAttributeValue = allowMissingPrincipalAttributeValue;
     }
+
+    public boolean isReuseAuthenticatedEntryAttributes() {
+        return reuseAuthenticatedEntryAttributes;
+    }
+
+    public void setReuseAuthenticatedEntryAttributes(final boolean reuseAuthenticatedEntryAttributes) {
+        this.reuseAuthenticatedEntryAttributes = reuseAuthenticatedEntryAttributes;
+    }
+
+    public CredentialCache getCredentialCache() {
+        return credentialCache;
+    }
+
+    public void setCredentialCache(final CredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    public static class CredentialCache {
+        private boolean enabled;
+        private String expireAfterWrite = "PT30S";
+        private long maximumSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getExpireAfterWrite() {
+            return Beans.newDuration(expireAfterWrite).toMillis();
+        }
+
+        public void setExpireAfterWrite(final String expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(final long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
 }
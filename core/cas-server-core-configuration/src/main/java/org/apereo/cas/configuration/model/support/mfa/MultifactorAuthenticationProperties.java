@@ -45,6 +45,7 @@ public class MultifactorAuthenticationProperties implements Serializable {
     private GAuth gauth = new GAuth();
     private List<Duo> duo = new ArrayList<>();
     private Authy authy = new Authy();
+    private Health health = new Health();
 
     public U2F getU2f() {
         return u2f;
@@ -190,6 +191,14 @@ public class MultifactorAuthenticationProperties implements Serializable {
         this.globalProviderId = globalProviderId;
     }
 
+    public Health getHealth() {
+        return health;
+    }
+
+    public void setHealth(final Health health) {
+        this.health = health;
+    }
+
     public YubiKey getYubikey() {
         return yubikey;
     }
@@ -198,6 +207,55 @@ public class MultifactorAuthenticationProperties implements Serializable {
         this.yubikey = yubikey;
     }
 
+    public static class Health implements Serializable {
+        private static final long serialVersionUID = 3171470462390815428L;
+        private String startDelay = "PT15S";
+        private String repeatInterval = "PT30S";
+        private String maxAge = "PT2M";
+        private int failureThreshold = 2;
+        private int successThreshold = 1;
+
+        public long getStartDelay() {
+            return Beans.newDuration(startDelay).toMillis();
+        }
+
+        public void setStartDelay(final String startDelay) {
+            this.startDelay = startDelay;
+        }
+
+        public long getRepeatInterval() {
+            return Beans.newDuration(repeatInterval).toMillis();
+        }
+
+        public void setRepeatInterval(final String repeatInterval) {
+            this.repeatInterval = repeatInterval;
+        }
+
+        public long getMaxAge() {
+            return Beans.newDuration(maxAge).toMillis();
+        }
+
+        public void setMaxAge(final String maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(final int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public int getSuccessThreshold() {
+            return successThreshold;
+        }
+
+        public void setSuccessThreshold(final int successThreshold) {
+            this.successThreshold = successThreshold;
+        }
+    }
+
     public abstract static class BaseProvider implements Serializable {
         private static final long serialVersionUID = -2690281104343633871L;
         private int rank;
@@ -732,6 +790,10 @@ public class MultifactorAuthenticationProperties implements Serializable {
 
         private TimeUnit timeUnit = TimeUnit.DAYS;
 
+        private String principalCacheExpiration = "PT10S";
+
+        private long principalCacheMaximumSize = 10_000;
+
         private Rest rest = new Rest();
 
         private Jpa jpa = new Jpa();
@@ -780,6 +842,22 @@ public class MultifactorAuthenticationProperties implements Serializable {
             this.timeUnit = timeUnit;
         }
 
+        public long getPrincipalCacheExpiration() {
+            return Beans.newDuration(principalCacheExpiration).toMillis();
+        }
+
+        public void setPrincipalCacheExpiration(final String principalCacheExpiration) {
+            this.principalCacheExpiration = principalCacheExpiration;
+        }
+
+        public long getPrincipalCacheMaximumSize() {
+            return principalCacheMaximumSize;
+        }
+
+        public void setPrincipalCacheMaximumSize(final long principalCacheMaximumSize) {
+            this.principalCacheMaximumSize = principalCacheMaximumSize;
+        }
+
         public String getAuthenticationContextAttribute() {
             return authenticationContextAttribute;
         }
@@ -1,6 +1,8 @@
 package org.apereo.cas.configuration.model.support.oauth;
 
+import org.apereo.cas.configuration.model.core.util.CryptographyProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 /**
  * This is {@link OAuthProperties}.
@@ -63,6 +65,15 @@ public class OAuthProperties {
         private String maxTimeToLiveInSeconds = "PT28800S";
         private String timeToKillInSeconds = "PT7200S";
         private boolean releaseProtocolAttributes = true;
+        private Jwt jwt = new Jwt();
+
+        public Jwt getJwt() {
+            return jwt;
+        }
+
+        public void setJwt(final Jwt jwt) {
+            this.jwt = jwt;
+        }
 
         public boolean isReleaseProtocolAttributes() {
             return releaseProtocolAttributes;
@@ -89,6 +100,47 @@ public class OAuthProperties {
         }
     }
 
+    public static class Jwt {
+        private boolean enabled;
+        private boolean encryptionEnabled = true;
+        private String revocationCacheTimeToLiveInSeconds = "PT10S";
+
+        @NestedConfigurationProperty
+        private CryptographyProperties crypto = new CryptographyProperties();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isEncryptionEnabled() {
+            return encryptionEnabled;
+        }
+
+        public void setEncryptionEnabled(final boolean encryptionEnabled) {
+            this.encryptionEnabled = encryptionEnabled;
+        }
+
+        public CryptographyProperties getCrypto() {
+            return crypto;
+        }
+
+        public void setCrypto(final CryptographyProperties crypto) {
+            this.crypto = crypto;
+        }
+
+        public long getRevocationCacheTimeToLiveInSeconds() {
+            return Beans.newDuration(revocationCacheTimeToLiveInSeconds).getSeconds();
+        }
+
+        public void setRevocationCacheTimeToLiveInSeconds(final String revocationCacheTimeToLiveInSeconds) {
+            this.revocationCacheTimeToLiveInSeconds = revocationCacheTimeToLiveInSeconds;
+        }
+    }
+
     public static class RefreshToken {
         private String timeToKillInSeconds = "P14D";
 
@@ -17,6 +17,7 @@ import java.util.Map;
 public class OidcProperties {
 
     private int jwksCacheInMinutes = 60;
+    private long jwksCacheMaximumSize = 1000;
     private String issuer = "http://localhost:8080/cas/oidc";
     private int skew = 5;
     private Resource jwksFile = new FileSystemResource("/etc/cas/keystore.jwks");
@@ -47,6 +48,14 @@ public class OidcProperties {
         this.jwksCacheInMinutes = jwksCacheInMinutes;
     }
 
+    public long getJwksCacheMaximumSize() {
+        return jwksCacheMaximumSize;
+    }
+
+    public void setJwksCacheMaximumSize(final long jwksCacheMaximumSize) {
+        this.jwksCacheMaximumSize = jwksCacheMaximumSize;
+    }
+
     public List<String> getSubjectTypes() {
         return subjectTypes;
     }
@@ -36,6 +36,13 @@ public class RedisTicketRegistryProperties {
      */
     private int timeout;
 
+    /**
+     * Keep a copy of each ticket-granting ticket for the expiration grace period past its expiration,
+     * so that logout notifications can be sent once redis expires the ticket.
+     * Requires redis to publish keyspace notifications for expired keys.
+     */
+    private boolean keepExpiredTicketGrantingTickets;
+
     private Pool pool;
 
     @NestedConfigurationProperty
@@ -89,6 +96,14 @@ public class RedisTicketRegistryProperties {
         return this.timeout;
     }
 
+    public boolean isKeepExpiredTicketGrantingTickets() {
+        return this.keepExpiredTicketGrantingTickets;
+    }
+
+    public void setKeepExpiredTicketGrantingTickets(final boolean keepExpiredTicketGrantingTickets) {
+        this.keepExpiredTicketGrantingTickets = keepExpiredTicketGrantingTickets;
+    }
+
     public Pool getPool() {
         return this.pool;
     }
@@ -2,6 +2,7 @@ package org.apereo.cas.configuration.model.support.x509;
 
 import org.apereo.cas.configuration.model.core.authentication.PersonDirPrincipalResolverProperties;
 import org.apereo.cas.configuration.model.support.ldap.AbstractLdapProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.util.ArrayList;
@@ -90,6 +91,8 @@ public class X509Properties {
     private PersonDirPrincipalResolverProperties principal = new PersonDirPrincipalResolverProperties();
     
     private Ldap ldap = new Ldap();
+
+    private CrlIndex crlIndex = new CrlIndex();
     
     /**
      * The compiled pattern supplied by the deployer.
@@ -375,6 +378,71 @@ public class X509Properties {
         this.crlExpiredPolicy = crlExpiredPolicy;
     }
 
+    public CrlIndex getCrlIndex() {
+        return crlIndex;
+    }
+
+    public void setCrlIndex(final CrlIndex crlIndex) {
+        this.crlIndex = crlIndex;
+    }
+
+    public static class CrlIndex {
+        private boolean enabled;
+        private String refreshAhead = "PT5M";
+        private String refreshInterval = "PT1H";
+        private String retryInterval = "PT1M";
+        private String storageDirectory;
+        private List<String> prefetchUrls = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getRefreshAhead() {
+            return Beans.newDuration(refreshAhead).toMillis();
+        }
+
+        public void setRefreshAhead(final String refreshAhead) {
+            this.refreshAhead = refreshAhead;
+        }
+
+        public long getRefreshInterval() {
+            return Beans.newDuration(refreshInterval).toMillis();
+        }
+
+        public void setRefreshInterval(final String refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public long getRetryInterval() {
+            return Beans.newDuration(retryInterval).toMillis();
+        }
+
+        public void setRetryInterval(final String retryInterval) {
+            this.retryInterval = retryInterval;
+        }
+
+        public String getStorageDirectory() {
+            return storageDirectory;
+        }
+
+        public void setStorageDirectory(final String storageDirectory) {
+            this.storageDirectory = storageDirectory;
+        }
+
+        public List<String> getPrefetchUrls() {
+            return prefetchUrls;
+        }
+
+        public void setPrefetchUrls(final List<String> prefetchUrls) {
+            this.prefetchUrls = prefetchUrls;
+        }
+    }
+
     public static class Ldap extends AbstractLdapProperties {
         private String baseDn;
         private String searchFilter;
@@ -69,6 +69,8 @@ public class WebflowProperties extends CryptographyProperties {
         private int maxConversations = 5;
         private boolean compress;
         private boolean storage;
+        private boolean hybrid;
+        private int hybridMaxStates = 10;
         private Resource hzLocation = new ClassPathResource("hazelcast.xml");
 
         public long getLockTimeout() {
@@ -103,6 +105,22 @@ public class WebflowProperties extends CryptographyProperties {
             this.storage = storage;
         }
 
+        public boolean isHybrid() {
+            return hybrid;
+        }
+
+        public void setHybrid(final boolean hybrid) {
+            this.hybrid = hybrid;
+        }
+
+        public int getHybridMaxStates() {
+            return hybridMaxStates;
+        }
+
+        public void setHybridMaxStates(final int hybridMaxStates) {
+            this.hybridMaxStates = hybridMaxStates;
+        }
+
         public Resource getHzLocation() {
             return hzLocation;
         }
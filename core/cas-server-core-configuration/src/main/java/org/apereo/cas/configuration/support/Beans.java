@@ -593,7 +593,7 @@ public final class Beans {
     public static ConnectionPool newLdaptiveBlockingConnectionPool(final AbstractLdapProperties l) {
         final DefaultConnectionFactory bindCf = newLdaptiveConnectionFactory(l);
         final PoolConfig pc = newLdaptivePoolConfig(l);
-        final BlockingConnectionPool cp = new BlockingConnectionPool(pc, bindCf);
+        final BlockingConnectionPool cp = new InstrumentedBlockingConnectionPool(pc, bindCf);
 
         cp.setBlockWaitTime(newDuration(l.getBlockWaitTime()));
         cp.setPoolConfig(pc);
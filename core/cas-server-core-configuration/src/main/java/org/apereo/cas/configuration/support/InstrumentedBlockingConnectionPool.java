@@ -0,0 +1,41 @@
+package org.apereo.cas.configuration.support;
+
+import org.ldaptive.Connection;
+import org.ldaptive.DefaultConnectionFactory;
+import org.ldaptive.pool.BlockingConnectionPool;
+import org.ldaptive.pool.PoolConfig;
+import org.ldaptive.pool.PoolException;
+
+import java.util.function.LongConsumer;
+
+/**
+ * This is {@link InstrumentedBlockingConnectionPool} that measures
+ * how long callers wait to obtain a connection from the pool, and hands
+ * the wait time, in nanoseconds, over to a configurable recorder.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class InstrumentedBlockingConnectionPool extends BlockingConnectionPool {
+
+    private volatile LongConsumer waitTimeRecorder = waitTime -> {
+    };
+
+    public InstrumentedBlockingConnectionPool(final PoolConfig pc, final DefaultConnectionFactory cf) {
+        super(pc, cf);
+    }
+
+    @Override
+    public Connection getConnection() throws PoolException {
+        final long startTime = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            this.waitTimeRecorder.accept(System.nanoTime() - startTime);
+        }
+    }
+
+    public void setWaitTimeRecorder(final LongConsumer waitTimeRecorder) {
+        this.waitTimeRecorder = waitTimeRecorder;
+    }
+}
@@ -1,26 +1,89 @@
 package org.apereo.cas.monitor;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * Simple health check monitor that reports the overall health as the greatest reported
  * {@link StatusCode} of an arbitrary number of individual checks.
+ * Individual checks are observed in parallel, and a check that does not report
+ * within the configured timeout is reported as {@link StatusCode#WARN} and interrupted.
+ * A check is never observed again while its previous observation is still running,
+ * so a hung check holds at most one thread.
+ * The overall health may be cached for a configurable amount of time, during which
+ * no checks are observed; once it expires, a single caller refreshes it while
+ * concurrent callers wait for that result.
  *
  * @author Marvin S. Addison
  * @since 3.5.0
  */
 public class HealthCheckMonitor implements Monitor<HealthStatus> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HealthCheckMonitor.class);
+
     /**
      * Individual monitors that comprise health check.
      */
     private final Set<Monitor> monitors;
 
+    private final long timeout;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Current observation of each monitor, keyed by monitor name.
+     */
+    private final Map<String, Future<Status>> observations = new ConcurrentHashMap<>();
+
+    /**
+     * Names of monitors whose observation is still running, including those that were cancelled yet did not stop.
+     */
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    private final Supplier<HealthStatus> healthStatus;
+
     public HealthCheckMonitor(final Set<Monitor> monitors) {
+        this(monitors, 0, 0);
+    }
+
+    /**
+     * Instantiates a new health check monitor.
+     *
+     * @param monitors        the monitors
+     * @param timeout         how long to wait for each monitor, in milliseconds; zero or less waits indefinitely.
+     * @param cacheExpiration how long to cache the overall health, in milliseconds; zero or less disables caching.
+     */
+    public HealthCheckMonitor(final Set<Monitor> monitors, final long timeout, final long cacheExpiration) {
         this.monitors = monitors;
+        this.timeout = timeout;
+        final int threads = Math.max(1, monitors.size());
+        this.executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(threads), r -> {
+            final Thread thread = new Thread(r, HealthCheckMonitor.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.healthStatus = cacheExpiration > 0
+                ? Suppliers.memoizeWithExpiration(this::observeMonitors, cacheExpiration, TimeUnit.MILLISECONDS)
+                : this::observeMonitors;
     }
 
     @Override
@@ -30,14 +93,81 @@ public class HealthCheckMonitor implements Monitor<HealthStatus> {
 
     @Override
     public HealthStatus observe() {
-        final Map<String, Status> results = this.monitors.stream()
-                .collect(Collectors.toMap(Monitor::getName, HealthCheckMonitor::getResultOf, (v1, v2) -> {
+        return this.healthStatus.get();
+    }
+
+    /**
+     * Shutdown the threads that observe monitors.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    private HealthStatus observeMonitors() {
+        final long deadline = System.currentTimeMillis() + this.timeout;
+        final Map<String, Future<Status>> futures = this.monitors.stream()
+                .collect(Collectors.toMap(Monitor::getName, this::submit, (v1, v2) -> {
                     throw new IllegalStateException(String.format("Duplicate key %s", v1));
                 }, LinkedHashMap::new));
 
+        final Map<String, Status> results = new LinkedHashMap<>(futures.size());
+        futures.forEach((name, future) -> results.put(name, getResultOf(name, future, deadline)));
         return new HealthStatus(getWorstStatusFrom(results), results);
     }
 
+    /**
+     * Start observing the monitor, unless its previous observation is still running,
+     * in which case that observation is returned instead.
+     *
+     * @param monitor the monitor
+     * @return the observation
+     */
+    private Future<Status> submit(final Monitor monitor) {
+        final String name = monitor.getName();
+        try {
+            return this.observations.compute(name, (key, current) -> {
+                if (current != null && (!current.isDone() || this.running.contains(key))) {
+                    LOGGER.debug("Monitor [{}] is still running its previous observation", key);
+                    return current;
+                }
+                return this.executor.submit(() -> {
+                    this.running.add(key);
+                    try {
+                        return getResultOf(monitor);
+                    } finally {
+                        this.running.remove(key);
+                    }
+                });
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Monitor [{}] could not be observed: [{}]", name, e.getMessage());
+            return CompletableFuture.completedFuture(new Status(StatusCode.ERROR, e.getClass().getSimpleName() + ": " + e.getMessage()));
+        }
+    }
+
+    private Status getResultOf(final String name, final Future<Status> future, final long deadline) {
+        try {
+            if (this.timeout <= 0) {
+                return future.get();
+            }
+            return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            LOGGER.warn("Monitor [{}] did not report its status within [{}] ms", name, this.timeout);
+            future.cancel(true);
+            this.executor.purge();
+            return new Status(StatusCode.WARN, "Timed out after " + this.timeout + " ms");
+        } catch (final CancellationException e) {
+            LOGGER.warn("Monitor [{}] has not yet stopped after its previous observation timed out", name);
+            return new Status(StatusCode.WARN, "Previous observation timed out and is still running");
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Status(StatusCode.ERROR, e.getClass().getSimpleName() + ": " + e.getMessage());
+        } catch (final ExecutionException e) {
+            return new Status(StatusCode.ERROR, e.getCause().getClass().getSimpleName() + ": " + e.getCause().getMessage());
+        }
+    }
+
     private static StatusCode getWorstStatusFrom(final Map<String, Status> results) {
         return results.values().stream()
                 .map(Status::getCode)
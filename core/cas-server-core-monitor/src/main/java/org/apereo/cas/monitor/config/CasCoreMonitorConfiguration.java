@@ -58,6 +58,8 @@ public class CasCoreMonitorConfiguration {
             monitors.add(bean);
         }
 
-        return new HealthCheckMonitor(monitors);
+        return new HealthCheckMonitor(monitors,
+                casProperties.getMonitor().getObserveTimeout(),
+                casProperties.getMonitor().getCacheExpiration());
     }
 }
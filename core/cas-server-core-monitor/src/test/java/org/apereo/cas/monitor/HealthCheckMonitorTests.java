@@ -6,6 +6,9 @@ import org.junit.Test;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.*;
@@ -56,6 +59,106 @@ public class HealthCheckMonitorTests {
         assertEquals(StatusCode.ERROR, monitor.observe().getCode());
     }
 
+    @Test
+    public void verifySlowMonitorTimesOut() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final Monitor slow = new Monitor() {
+            @Override
+            public String getName() {
+                return "Slow";
+            }
+
+            @Override
+            public Status observe() {
+                try {
+                    Thread.sleep(5_000);
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+                return Status.OK;
+            }
+        };
+        final Set<Monitor> monitors = new HashSet<>(asList(slow, new MemoryMonitor(0)));
+        final HealthCheckMonitor monitor = new HealthCheckMonitor(monitors, 100, 0);
+        try {
+            final HealthStatus status = monitor.observe();
+            assertEquals(StatusCode.WARN, status.getCode());
+            assertEquals(StatusCode.WARN, status.getDetails().get("Slow").getCode());
+            assertEquals(StatusCode.OK, status.getDetails().get(MemoryMonitor.class.getSimpleName()).getCode());
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    @Test
+    public void verifyHungMonitorIsNotObservedAgain() throws Exception {
+        final AtomicInteger observations = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final Monitor hung = new Monitor() {
+            @Override
+            public String getName() {
+                return "Hung";
+            }
+
+            @Override
+            public Status observe() {
+                observations.incrementAndGet();
+                boolean done = false;
+                while (!done) {
+                    try {
+                        done = release.await(5, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        done = release.getCount() == 0;
+                    }
+                }
+                return Status.OK;
+            }
+        };
+        final HealthCheckMonitor monitor = new HealthCheckMonitor(Collections.singleton(hung), 100, 0);
+        try {
+            assertEquals(StatusCode.WARN, monitor.observe().getCode());
+            assertEquals(StatusCode.WARN, monitor.observe().getCode());
+            assertEquals(StatusCode.WARN, monitor.observe().getCode());
+            assertEquals(1, observations.get());
+
+            release.countDown();
+            final long deadline = System.currentTimeMillis() + 5_000;
+            while (monitor.observe().getCode() != StatusCode.OK && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(StatusCode.OK, monitor.observe().getCode());
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    @Test
+    public void verifyObservationIsCached() throws Exception {
+        final AtomicInteger observations = new AtomicInteger();
+        final Monitor counting = new Monitor() {
+            @Override
+            public String getName() {
+                return "Counting";
+            }
+
+            @Override
+            public Status observe() {
+                observations.incrementAndGet();
+                return Status.OK;
+            }
+        };
+        final HealthCheckMonitor monitor = new HealthCheckMonitor(Collections.singleton(counting), 1_000, 60_000);
+        try {
+            assertEquals(StatusCode.OK, monitor.observe().getCode());
+            assertEquals(StatusCode.OK, monitor.observe().getCode());
+            assertEquals(1, observations.get());
+        } finally {
+            monitor.destroy();
+        }
+    }
+
     private static SessionMonitor newSessionMonitor() {
         return new SessionMonitor(new DefaultTicketRegistry(), 0, 0);
     }
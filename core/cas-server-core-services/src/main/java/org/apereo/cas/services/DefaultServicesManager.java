@@ -17,6 +17,7 @@ import javax.annotation.PostConstruct;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -110,6 +111,22 @@ public class DefaultServicesManager implements ServicesManager, Serializable {
         return r;
     }
 
+    /**
+     * {@inheritDoc}
+     * Services are persisted by the DAO at once, and the ordered view of services is rebuilt once
+     * rather than after every service.
+     */
+    @Audit(action = "SAVE_SERVICE", actionResolverName = "SAVE_SERVICE_ACTION_RESOLVER",
+            resourceResolverName = "SAVE_SERVICES_RESOURCE_RESOLVER")
+    @Override
+    public synchronized Collection<RegisteredService> save(final Collection<RegisteredService> registeredServices) {
+        final List<RegisteredService> saved = this.serviceRegistryDao.save(registeredServices);
+        saved.forEach(r -> this.services.put(r.getId(), r));
+        this.orderedServices = new ConcurrentSkipListSet<>(this.services.values());
+        saved.forEach(r -> publishEvent(new CasRegisteredServiceSavedEvent(this, r)));
+        return saved;
+    }
+
     /**
      * Load services that are provided by the DAO.
      */
@@ -9,8 +9,10 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import javax.security.auth.login.FailedLoginException;
+import java.net.URL;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Scott Battaglia
@@ -80,4 +82,34 @@ public class HttpBasedServiceCredentialsAuthenticationHandlerTests {
 
         this.authenticationHandler.authenticate(RegisteredServiceTestUtils.getHttpBasedServiceCredentials("https://www.ja-sig.org"));
     }
+
+    @Test
+    public void verifyValidatedCallbackUrlIsCached() throws Exception {
+        final HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.isValidEndPoint(any(URL.class))).thenReturn(true);
+        this.authenticationHandler.setHttpClient(httpClient);
+        this.authenticationHandler.setValidatedCallbackUrlCache(60_000, 10);
+
+        assertNotNull(this.authenticationHandler.authenticate(RegisteredServiceTestUtils.getHttpBasedServiceCredentials()));
+        assertNotNull(this.authenticationHandler.authenticate(RegisteredServiceTestUtils.getHttpBasedServiceCredentials()));
+        verify(httpClient, times(1)).isValidEndPoint(any(URL.class));
+    }
+
+    @Test
+    public void verifyRejectedCallbackUrlIsNotCached() throws Exception {
+        final HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.isValidEndPoint(any(URL.class))).thenReturn(false);
+        this.authenticationHandler.setHttpClient(httpClient);
+        this.authenticationHandler.setValidatedCallbackUrlCache(60_000, 10);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                this.authenticationHandler.authenticate(RegisteredServiceTestUtils.getHttpBasedServiceCredentials());
+                fail("Callback url should have been rejected");
+            } catch (final FailedLoginException e) {
+                assertNotNull(e.getMessage());
+            }
+        }
+        verify(httpClient, times(2)).isValidEndPoint(any(URL.class));
+    }
 }
@@ -1,5 +1,6 @@
 package org.apereo.cas.config;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.authentication.PseudoPlatformTransactionManager;
@@ -29,10 +30,14 @@ import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandler;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.ExpiredTicketListener;
+import org.apereo.cas.ticket.registry.JournaledTicketRegistryPostProcessor;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
+import org.apereo.cas.ticket.registry.OffHeapTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
+import org.apereo.cas.ticket.registry.TieredTicketRegistryPostProcessor;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
@@ -50,6 +55,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -81,6 +87,7 @@ import java.util.Map;
 public class CasCoreTicketsConfiguration implements TransactionManagementConfigurer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CasCoreTicketsConfiguration.class);
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
 
     @Autowired
     private CasConfigurationProperties casProperties;
@@ -99,9 +106,12 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
     private TicketRegistry ticketRegistry;
 
     @Autowired
-    @Qualifier("supportsTrustStoreSslSocketFactoryHttpClient")
+    @Qualifier("proxyCallbackHttpClient")
     private HttpClient httpClient;
 
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
     @ConditionalOnMissingBean(name = "defaultProxyGrantingTicketFactory")
     @Bean
     public ProxyGrantingTicketFactory defaultProxyGrantingTicketFactory() {
@@ -186,6 +196,14 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
         LOGGER.warn("Runtime memory is used as the persistence storage for retrieving and managing tickets. "
                 + "Tickets that are issued during runtime will be LOST upon container restarts. This MAY impact SSO functionality.");
         final TicketRegistryProperties.InMemory mem = casProperties.getTicket().getRegistry().getInMemory();
+        if (mem.getOffHeap().isEnabled()) {
+            final TicketRegistryProperties.InMemory.OffHeap offHeap = mem.getOffHeap();
+            LOGGER.info("Keeping tickets in [{}] MB of memory outside of the heap", offHeap.getCapacityInMegabytes());
+            return new OffHeapTicketRegistry(
+                    offHeap.getCapacityInMegabytes() * BYTES_PER_MEGABYTE,
+                    offHeap.getSegments(),
+                    Beans.newTicketRegistryCipherExecutor(mem.getCrypto()));
+        }
         return new DefaultTicketRegistry(
                 mem.getInitialCapacity(),
                 mem.getLoadFactor(),
@@ -193,6 +211,16 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
                 Beans.newTicketRegistryCipherExecutor(mem.getCrypto()));
     }
 
+    @Bean
+    public static BeanPostProcessor tieredTicketRegistryPostProcessor() {
+        return new TieredTicketRegistryPostProcessor();
+    }
+
+    @Bean
+    public static BeanPostProcessor journaledTicketRegistryPostProcessor() {
+        return new JournaledTicketRegistryPostProcessor();
+    }
+
     @ConditionalOnMissingBean(name = "defaultTicketRegistrySupport")
     @Bean
     public TicketRegistrySupport defaultTicketRegistrySupport() {
@@ -238,8 +266,27 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
     @ConditionalOnMissingBean(name = "ticketRegistryCleaner")
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
-        final boolean isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().isEnabled();
-        return new DefaultTicketRegistryCleaner(lockingStrategy(), logoutManager, ticketRegistry, isCleanerEnabled);
+        final TicketRegistryProperties.Cleaner cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        final DefaultTicketRegistryCleaner ticketRegistryCleaner =
+                new DefaultTicketRegistryCleaner(lockingStrategy(), logoutManager, ticketRegistry, cleaner.isEnabled());
+        ticketRegistryCleaner.setWorkers(cleaner.getWorkers(), cleaner.getBatchSize());
+        ticketRegistryCleaner.setMaximumTicketsPerSecond(cleaner.getMaximumTicketsPerSecond());
+        if (cleaner.getLogoutThreads() > 0) {
+            ticketRegistryCleaner.setAsynchronousLogout(cleaner.getLogoutThreads(), cleaner.getLogoutQueueSize());
+        }
+        return ticketRegistryCleaner;
+    }
+
+    @ConditionalOnMissingBean(name = "expiredTicketListener")
+    @Bean
+    public ExpiredTicketListener expiredTicketListener() {
+        final TicketRegistryProperties.Expiration expiration = casProperties.getTicket().getRegistry().getExpiration();
+        final ExpiredTicketListener listener = new ExpiredTicketListener(logoutManager, expiration.isLogoutEnabled(),
+                expiration.getLogoutThreads(), expiration.getLogoutQueueSize());
+        if (this.metricRegistry != null) {
+            listener.setMetricRegistry(this.metricRegistry);
+        }
+        return listener;
     }
 
     @ConditionalOnMissingBean(name = "ticketTransactionManager")
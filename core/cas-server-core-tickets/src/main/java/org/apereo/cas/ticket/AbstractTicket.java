@@ -74,6 +74,13 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "NUMBER_OF_TIMES_USED")
     private int countOfUses;
 
+    /**
+     * The earliest time at which the ticket may expire, unless it is used again, as described by its expiration policy.
+     * Tickets are not necessarily expired at this time, so this only narrows down the tickets that need to be checked for expiration.
+     */
+    @Column(name = "EXPIRATION_TIME")
+    private ZonedDateTime expirationTime;
+
     /**
      * Instantiates a new abstract ticket.
      */
@@ -98,6 +105,7 @@ public abstract class AbstractTicket implements Ticket, TicketState {
         this.creationTime = ZonedDateTime.now(ZoneOffset.UTC);
         this.lastTimeUsed = ZonedDateTime.now(ZoneOffset.UTC);
         this.expirationPolicy = expirationPolicy;
+        updateExpirationTime();
     }
 
     @Override
@@ -110,6 +118,7 @@ public abstract class AbstractTicket implements Ticket, TicketState {
         this.previousLastTimeUsed = this.lastTimeUsed;
         this.lastTimeUsed = ZonedDateTime.now(ZoneOffset.UTC);
         this.countOfUses++;
+        updateExpirationTime();
 
         if (getGrantingTicket() != null && !getGrantingTicket().isExpired()) {
             final TicketState state = TicketState.class.cast(getGrantingTicket());
@@ -149,6 +158,10 @@ public abstract class AbstractTicket implements Ticket, TicketState {
         return false;
     }
 
+    private void updateExpirationTime() {
+        this.expirationTime = this.expirationPolicy.getExpirationTime(this);
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(13, 133).append(this.getId()).toHashCode();
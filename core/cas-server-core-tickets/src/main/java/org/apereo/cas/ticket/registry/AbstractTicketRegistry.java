@@ -8,6 +8,7 @@ import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.serialization.SerializationUtils;
@@ -15,6 +16,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -271,5 +275,25 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
     }
 
+    /**
+     * Gets the number of seconds from now until the earliest time the ticket may expire,
+     * to be used as the time to live of the ticket in stores that expire entries natively.
+     * The result is at least one second, so that the store never keeps the ticket forever.
+     *
+     * @param ticket the ticket
+     * @return the time to live in seconds
+     */
+    protected static long getTimeToLive(final Ticket ticket) {
+        final long ttl;
+        if (ticket instanceof TicketState) {
+            final ZonedDateTime expirationTime = ticket.getExpirationPolicy().getExpirationTime((TicketState) ticket);
+            ttl = Duration.between(ZonedDateTime.now(ZoneOffset.UTC), expirationTime).getSeconds();
+        } else {
+            final Long timeToLive = ticket.getExpirationPolicy().getTimeToLive();
+            ttl = timeToLive == null ? 0 : timeToLive;
+        }
+        return Math.max(1, Math.min(ttl, Integer.MAX_VALUE));
+    }
+
 
 }
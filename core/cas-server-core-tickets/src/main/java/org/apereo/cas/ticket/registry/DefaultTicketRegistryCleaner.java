@@ -1,5 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
@@ -10,11 +12,24 @@ import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
+ * Expired tickets are removed in batches, which may be spread across a pool of workers
+ * and throttled to a maximum number of tickets per second. Logout notifications for expired
+ * ticket-granting tickets may be sent in the background, so that slow applications do not hold up cleanup.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -29,6 +44,11 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
     private final LockingStrategy lockingStrategy;
     private final boolean isCleanerEnabled;
 
+    private int batchSize = 1;
+    private ExecutorService workerExecutor;
+    private ExecutorService logoutExecutor;
+    private RateLimiter rateLimiter;
+
     public DefaultTicketRegistryCleaner(final LockingStrategy lockingStrategy, 
                                         final LogoutManager logoutManager, 
                                         final TicketRegistry ticketRegistry,
@@ -73,31 +93,123 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
         }
     }
 
+    /**
+     * Remove expired tickets using the given number of workers, each of which removes a batch of tickets at a time.
+     *
+     * @param workers   the number of workers; one or fewer removes tickets on the thread that runs the cleaner
+     * @param batchSize the number of tickets to remove at a time
+     */
+    public void setWorkers(final int workers, final int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        if (workers > 1) {
+            this.workerExecutor = Executors.newFixedThreadPool(workers, newThreadFactory("worker"));
+        }
+    }
+
+    /**
+     * Send logout notifications for expired ticket-granting tickets in the background.
+     * Once the queue is full, notifications are sent by the cleaner itself, which slows cleanup down
+     * rather than dropping notifications.
+     *
+     * @param threads   the number of threads sending notifications
+     * @param queueSize the number of notifications that may wait to be sent
+     */
+    public void setAsynchronousLogout(final int threads, final int queueSize) {
+        this.logoutExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), newThreadFactory("logout"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Remove at most the given number of tickets per second.
+     *
+     * @param maximumTicketsPerSecond the maximum number of tickets per second; zero or less is unlimited
+     */
+    public void setMaximumTicketsPerSecond(final double maximumTicketsPerSecond) {
+        this.rateLimiter = maximumTicketsPerSecond > 0 ? RateLimiter.create(maximumTicketsPerSecond) : null;
+    }
+
+    /**
+     * Stop the workers and send pending logout notifications.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (this.workerExecutor != null) {
+            this.workerExecutor.shutdownNow();
+        }
+        if (this.logoutExecutor != null) {
+            this.logoutExecutor.shutdown();
+        }
+    }
+
     /**
      * Clean tickets.
      */
     protected void cleanInternal() {
-        final Collection<Ticket> ticketsToRemove = ticketRegistry.getTickets()
-                .stream()
-                .filter(Ticket::isExpired)
-                .collect(Collectors.toSet());
+        final List<Ticket> ticketsToRemove = new ArrayList<>(ticketRegistry.getExpiredTickets());
         LOGGER.debug("[{}] expired tickets found.", ticketsToRemove.size());
 
-        int count = 0;
+        final List<List<Ticket>> batches = Lists.partition(ticketsToRemove, this.batchSize);
+        final int count;
+        if (this.workerExecutor == null) {
+            count = batches.stream().mapToInt(this::cleanBatch).sum();
+        } else {
+            final List<CompletableFuture<Integer>> results = batches.stream()
+                    .map(batch -> CompletableFuture.supplyAsync(() -> cleanBatch(batch), this.workerExecutor))
+                    .collect(Collectors.toList());
+            count = results.stream().mapToInt(CompletableFuture::join).sum();
+        }
+        LOGGER.info("[{}] expired tickets removed.", count);
+    }
 
-        for (final Ticket ticket : ticketsToRemove) {
+    /**
+     * Clean a batch of expired tickets.
+     *
+     * @param tickets the tickets
+     * @return the number of tickets removed, including children
+     */
+    protected int cleanBatch(final Collection<Ticket> tickets) {
+        if (this.rateLimiter != null) {
+            this.rateLimiter.acquire(tickets.size());
+        }
+        final List<String> ticketIds = new ArrayList<>(tickets.size());
+        final List<TicketGrantingTicket> ticketGrantingTickets = new ArrayList<>();
+        for (final Ticket ticket : tickets) {
             if (ticket instanceof TicketGrantingTicket) {
                 LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
-                logoutManager.performLogout((TicketGrantingTicket) ticket);
-                count += ticketRegistry.deleteTicket(ticket.getId());
+                ticketGrantingTickets.add((TicketGrantingTicket) ticket);
+                ticketIds.add(ticket.getId());
             } else if (ticket instanceof ServiceTicket) {
                 LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
-                count += ticketRegistry.deleteTicket(ticket.getId());
+                ticketIds.add(ticket.getId());
             } else {
                 LOGGER.warn("Unknown ticket type [{}] found to clean", ticket.getClass().getSimpleName());
             }
         }
-        LOGGER.info("[{}] expired tickets removed.", count);
+
+        if (this.logoutExecutor == null) {
+            ticketGrantingTickets.forEach(logoutManager::performLogout);
+            return ticketRegistry.deleteTickets(ticketIds);
+        }
+        final int count = ticketRegistry.deleteTickets(ticketIds);
+        ticketGrantingTickets.forEach(tgt -> this.logoutExecutor.execute(() -> performLogout(tgt)));
+        return count;
+    }
+
+    private void performLogout(final TicketGrantingTicket ticket) {
+        try {
+            logoutManager.performLogout(ticket);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to send logout notifications for expired ticket-granting ticket [{}]: [{}]", ticket.getId(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(final String name) {
+        return r -> {
+            final Thread thread = new Thread(r, DefaultTicketRegistryCleaner.class.getSimpleName() + '-' + name);
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 
     /**
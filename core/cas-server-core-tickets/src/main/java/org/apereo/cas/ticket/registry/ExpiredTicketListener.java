@@ -0,0 +1,132 @@
+package org.apereo.cas.ticket.registry;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ExpiredTicketListener} that is told about tickets removed by the ticket registry backend itself
+ * once their time to live has passed, rather than by the ticket registry cleaner.
+ * Logout notifications for expired ticket-granting tickets are sent in the background, and expirations are counted.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class ExpiredTicketListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpiredTicketListener.class);
+
+    private final LogoutManager logoutManager;
+    private final boolean logoutEnabled;
+    private final ExecutorService logoutExecutor;
+
+    private final Meter expiredTickets = new Meter();
+    private final Meter expiredSessions = new Meter();
+
+    /**
+     * Instantiates a new listener.
+     * Once the queue is full, notifications are sent by the thread that reports the expiration.
+     *
+     * @param logoutManager the logout manager
+     * @param logoutEnabled whether logout notifications are sent for expired ticket-granting tickets
+     * @param threads       the number of threads sending notifications
+     * @param queueSize     the number of notifications that may wait to be sent
+     */
+    public ExpiredTicketListener(final LogoutManager logoutManager, final boolean logoutEnabled,
+                                 final int threads, final int queueSize) {
+        this.logoutManager = logoutManager;
+        this.logoutEnabled = logoutEnabled;
+        final int poolSize = Math.max(1, threads);
+        this.logoutExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    final Thread thread = new Thread(r, ExpiredTicketListener.class.getSimpleName());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Whether the listener needs the contents of expired ticket-granting tickets.
+     * Registries that lose the contents of a ticket when it expires may keep a copy around for a while if so.
+     *
+     * @return true if logout notifications are sent for expired ticket-granting tickets
+     */
+    public boolean isLogoutEnabled() {
+        return this.logoutEnabled;
+    }
+
+    /**
+     * Handle a ticket that has expired.
+     *
+     * @param ticket the expired ticket
+     */
+    public void onExpired(final Ticket ticket) {
+        this.expiredTickets.mark();
+        if (ticket instanceof TicketGrantingTicket) {
+            this.expiredSessions.mark();
+            LOGGER.debug("Ticket-granting ticket [{}] has expired", ticket.getId());
+            if (this.logoutEnabled) {
+                this.logoutExecutor.execute(() -> performLogout((TicketGrantingTicket) ticket));
+            }
+        } else {
+            LOGGER.trace("Ticket [{}] has expired", ticket.getId());
+        }
+    }
+
+    /**
+     * Handle a ticket that has expired, when the contents of the ticket are no longer available.
+     *
+     * @param ticketId the expired ticket id
+     */
+    public void onExpired(final String ticketId) {
+        this.expiredTickets.mark();
+        if (ticketId.startsWith(TicketGrantingTicket.PREFIX)) {
+            this.expiredSessions.mark();
+            LOGGER.debug("Ticket-granting ticket [{}] has expired and can no longer be retrieved to send logout notifications", ticketId);
+        } else {
+            LOGGER.trace("Ticket [{}] has expired", ticketId);
+        }
+    }
+
+    /**
+     * Register expiration meters with the given metric registry.
+     *
+     * @param metricRegistry the metric registry
+     */
+    public void setMetricRegistry(final MetricRegistry metricRegistry) {
+        register(metricRegistry, "expiredTickets", this.expiredTickets);
+        register(metricRegistry, "expiredSessions", this.expiredSessions);
+    }
+
+    /**
+     * Send pending logout notifications and stop.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.logoutExecutor.shutdown();
+    }
+
+    private void performLogout(final TicketGrantingTicket ticket) {
+        try {
+            this.logoutManager.performLogout(ticket);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to send logout notifications for expired ticket-granting ticket [{}]: [{}]", ticket.getId(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private static void register(final MetricRegistry metricRegistry, final String name, final Meter meter) {
+        final String metricName = MetricRegistry.name(ExpiredTicketListener.class, name);
+        metricRegistry.remove(metricName);
+        metricRegistry.register(metricName, meter);
+    }
+}
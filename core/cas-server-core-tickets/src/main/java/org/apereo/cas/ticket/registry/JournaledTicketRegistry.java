@@ -0,0 +1,215 @@
+package org.apereo.cas.ticket.registry;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.Striped;
+import org.apereo.cas.ticket.Ticket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link JournaledTicketRegistry} that records every change made to a local ticket registry
+ * in a {@link TicketRegistryJournal}, so that tickets and single sign-on sessions survive a restart of the node.
+ * The journal is compacted periodically, and once more on shutdown so that the next start only needs to load a snapshot.
+ * A change and its record are made under a lock on the ticket, so that changes to a ticket are recorded in the order they are made.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class JournaledTicketRegistry extends AbstractTicketRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournaledTicketRegistry.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final TicketRegistry localRegistry;
+    private final TicketRegistryJournal journal;
+
+    private final Striped<Lock> ticketLocks = Striped.lock(LOCK_STRIPES);
+    private final ReadWriteLock clearLock = new ReentrantReadWriteLock();
+
+    private ScheduledExecutorService compactionExecutor;
+
+    public JournaledTicketRegistry(final TicketRegistry localRegistry, final TicketRegistryJournal journal) {
+        this.localRegistry = localRegistry;
+        this.journal = journal;
+    }
+
+    /**
+     * Recover tickets recorded in the journal into the local registry.
+     *
+     * @return the number of recorded changes applied
+     * @throws IOException if the journal cannot be read
+     */
+    public long recover() throws IOException {
+        return this.journal.recover(this.localRegistry);
+    }
+
+    /**
+     * Compact the journal in the background at the given interval.
+     *
+     * @param interval the interval, in milliseconds
+     */
+    public void scheduleCompaction(final long interval) {
+        this.compactionExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, JournaledTicketRegistry.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.compactionExecutor.scheduleWithFixedDelay(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write the tickets of the local registry to a snapshot and discard the logs it covers.
+     */
+    public void compact() {
+        try {
+            this.journal.compact(this.localRegistry::getTickets);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to compact the ticket registry journal: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Register journal gauges with the given metric registry.
+     *
+     * @param metricRegistry the metric registry
+     */
+    public void setMetricRegistry(final MetricRegistry metricRegistry) {
+        register(metricRegistry, "recoveryTime", this.journal::getRecoveryTime);
+        register(metricRegistry, "recoveredEntries", this.journal::getRecoveredEntries);
+        register(metricRegistry, "logSize", this.journal::getLogSize);
+        register(metricRegistry, "snapshotSize", this.journal::getSnapshotSize);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        Assert.notNull(ticket, "ticket cannot be null");
+        record(ticket.getId(), () -> {
+            this.localRegistry.addTicket(ticket);
+            this.journal.append(ticket);
+            return null;
+        });
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        return record(ticket.getId(), () -> {
+            final Ticket result = this.localRegistry.updateTicket(ticket);
+            this.journal.append(ticket);
+            return result;
+        });
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        return this.localRegistry.getTicket(ticketId);
+    }
+
+    @Override
+    public boolean deleteSingleTicket(final String ticketId) {
+        return record(ticketId, () -> {
+            final boolean deleted = this.localRegistry instanceof AbstractTicketRegistry
+                    ? ((AbstractTicketRegistry) this.localRegistry).deleteSingleTicket(ticketId)
+                    : this.localRegistry.deleteTicket(ticketId) > 0;
+            if (deleted) {
+                this.journal.appendDeletion(ticketId);
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public long deleteAll() {
+        this.clearLock.writeLock().lock();
+        try {
+            final long count = this.localRegistry.deleteAll();
+            this.journal.appendClear();
+            return count;
+        } finally {
+            this.clearLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        return this.localRegistry.getTickets();
+    }
+
+    @Override
+    public Collection<Ticket> getExpiredTickets() {
+        return this.localRegistry.getExpiredTickets();
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.localRegistry.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.localRegistry.serviceTicketCount();
+    }
+
+    /**
+     * Stop compacting in the background, compact the journal one last time and close it.
+     * This registry is not a bean of its own, so this is invoked by the context through
+     * the {@link JournaledTicketRegistryPostProcessor} that created it.
+     */
+    public void destroy() {
+        if (this.compactionExecutor != null) {
+            this.compactionExecutor.shutdown();
+            try {
+                if (!this.compactionExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Timed out waiting for the ticket registry journal to be compacted");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        compact();
+        try {
+            this.journal.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to close the ticket registry journal: [{}]", e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '[' + this.localRegistry + ']';
+    }
+
+    /**
+     * Change the local registry and record the change, without other changes to the same ticket in between.
+     */
+    private <T> T record(final String ticketId, final Supplier<T> change) {
+        final Lock lock = this.ticketLocks.get(ticketId);
+        this.clearLock.readLock().lock();
+        lock.lock();
+        try {
+            return change.get();
+        } finally {
+            lock.unlock();
+            this.clearLock.readLock().unlock();
+        }
+    }
+
+    private static void register(final MetricRegistry metricRegistry, final String name, final Gauge<Long> gauge) {
+        final String metricName = MetricRegistry.name(JournaledTicketRegistry.class, name);
+        metricRegistry.remove(metricName);
+        metricRegistry.register(metricName, gauge);
+    }
+}
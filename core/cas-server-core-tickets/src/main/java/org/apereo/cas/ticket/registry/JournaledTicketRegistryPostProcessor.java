@@ -0,0 +1,80 @@
+package org.apereo.cas.ticket.registry;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
+
+import java.io.File;
+
+/**
+ * This is {@link JournaledTicketRegistryPostProcessor} that places a {@link JournaledTicketRegistry}
+ * in front of the ticket registry of the deployment when the ticket registry journal is enabled,
+ * and recovers the registry from the journal before it is put to use. The context only destroys the ticket registry
+ * bean it created, so the journaled registry is registered for destruction on its own, ahead of the registry it wraps.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class JournaledTicketRegistryPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournaledTicketRegistryPostProcessor.class);
+
+    private static final String TICKET_REGISTRY_BEAN_NAME = "ticketRegistry";
+    private static final String JOURNALED_TICKET_REGISTRY_BEAN_NAME = "journaledTicketRegistry";
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private ListableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(final BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+        if (!TICKET_REGISTRY_BEAN_NAME.equals(beanName) || !(bean instanceof TicketRegistry) || bean instanceof JournaledTicketRegistry) {
+            return bean;
+        }
+        final TicketRegistryProperties.Journal journal = this.beanFactory.getBean(CasConfigurationProperties.class)
+                .getTicket().getRegistry().getJournal();
+        if (!journal.isEnabled()) {
+            return bean;
+        }
+
+        LOGGER.info("Recording changes to [{}] in [{}]", bean, journal.getDirectory());
+        final JournaledTicketRegistry registry = new JournaledTicketRegistry((TicketRegistry) bean,
+                new TicketRegistryJournal(new File(journal.getDirectory()), journal.getLogSizeInMegabytes() * BYTES_PER_MEGABYTE,
+                        Beans.newTicketRegistryCipherExecutor(journal.getCrypto())));
+        try {
+            registry.recover();
+        } catch (final Exception e) {
+            throw new BeanCreationException(beanName, "Unable to recover tickets from " + journal.getDirectory(), e);
+        }
+        registry.scheduleCompaction(journal.getCompactionInterval());
+        if (this.beanFactory.getBeanNamesForType(MetricRegistry.class).length > 0) {
+            registry.setMetricRegistry(this.beanFactory.getBean(MetricRegistry.class));
+        }
+        if (this.beanFactory instanceof DefaultSingletonBeanRegistry) {
+            final DefaultSingletonBeanRegistry singletons = (DefaultSingletonBeanRegistry) this.beanFactory;
+            singletons.registerDisposableBean(JOURNALED_TICKET_REGISTRY_BEAN_NAME, registry::destroy);
+            singletons.registerDependentBean(beanName, JOURNALED_TICKET_REGISTRY_BEAN_NAME);
+        } else {
+            LOGGER.warn("Journal of [{}] may not be compacted and closed on shutdown", registry);
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,97 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link OffHeapTicketRegistry} that keeps tickets in memory, like {@link DefaultTicketRegistry},
+ * but serialized and outside of the Java heap, in an {@link OffHeapTicketStorage} of a fixed number of bytes.
+ * Tickets are deserialized each time they are retrieved, so changes to a ticket are only
+ * kept once the ticket is updated in the registry.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class OffHeapTicketRegistry extends AbstractTicketRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OffHeapTicketRegistry.class);
+
+    private final OffHeapTicketStorage storage;
+
+    /**
+     * Instantiates a new off-heap ticket registry.
+     *
+     * @param capacityInBytes the number of bytes to allocate for tickets, outside of the heap
+     * @param segments        the number of segments to split the capacity into
+     * @param cipherExecutor  the cipher executor
+     */
+    public OffHeapTicketRegistry(final long capacityInBytes, final int segments, final CipherExecutor cipherExecutor) {
+        this.storage = new OffHeapTicketStorage(capacityInBytes, segments);
+        setCipherExecutor(cipherExecutor);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        Assert.notNull(ticket, "ticket cannot be null");
+
+        LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
+        this.storage.put(encodeTicketId(ticket.getId()), serialize(ticket));
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        if (ticketId == null) {
+            return null;
+        }
+        final byte[] ticket = this.storage.get(encodeTicketId(ticketId));
+        return ticket == null ? null : deserialize(ticket);
+    }
+
+    @Override
+    public boolean deleteSingleTicket(final String ticketId) {
+        return this.storage.remove(encodeTicketId(ticketId));
+    }
+
+    @Override
+    public long deleteAll() {
+        return this.storage.clear();
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        return Collections.unmodifiableCollection(this.storage.values().stream()
+                .map(this::deserialize)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        addTicket(ticket);
+        return ticket;
+    }
+
+    public OffHeapTicketStorage getStorage() {
+        return this.storage;
+    }
+
+    private byte[] serialize(final Ticket ticket) {
+        if (isCipherExecutorEnabled()) {
+            return SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        }
+        return SerializationUtils.serialize(ticket);
+    }
+
+    private Ticket deserialize(final byte[] ticket) {
+        if (isCipherExecutorEnabled()) {
+            return SerializationUtils.decodeAndDeserializeObject(ticket, this.cipherExecutor, Ticket.class);
+        }
+        return SerializationUtils.deserializeAndCheckObject(ticket, Ticket.class);
+    }
+}
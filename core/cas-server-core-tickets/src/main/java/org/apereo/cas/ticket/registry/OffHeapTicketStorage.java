@@ -0,0 +1,318 @@
+package org.apereo.cas.ticket.registry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link OffHeapTicketStorage} that keeps serialized tickets outside of the Java heap.
+ * Storage is split into segments, each of which is a direct buffer of a fixed number of bytes
+ * that records are appended to, along with an open-addressing index of the records keyed by ticket id.
+ * Space held by removed or replaced records is reclaimed by compacting the segment once it fills up.
+ * The only per-ticket state kept on the heap is an index slot of two integers.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class OffHeapTicketStorage {
+    private static final int HEADER_LENGTH = Integer.BYTES * 2;
+    private static final int HASH_SPREAD_SHIFT = 16;
+
+    private final Segment[] segments;
+
+    /**
+     * Instantiates a new off-heap ticket storage.
+     *
+     * @param capacityInBytes the total number of bytes to allocate, outside of the heap
+     * @param segmentCount    the number of segments to split the capacity into; writes to different segments do not contend
+     */
+    public OffHeapTicketStorage(final long capacityInBytes, final int segmentCount) {
+        if (segmentCount <= 0 || capacityInBytes < segmentCount) {
+            throw new IllegalArgumentException("Off-heap ticket storage requires at least one segment and one byte per segment");
+        }
+        final long segmentCapacity = capacityInBytes / segmentCount;
+        if (segmentCapacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segments of off-heap ticket storage cannot exceed " + Integer.MAX_VALUE
+                    + " bytes; use more segments for a capacity of " + capacityInBytes + " bytes");
+        }
+        this.segments = IntStream.range(0, segmentCount)
+                .mapToObj(i -> new Segment((int) segmentCapacity))
+                .toArray(Segment[]::new);
+    }
+
+    /**
+     * Store the value under the given key, replacing any previous value.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws IllegalStateException if the segment of the key has no room left for the value
+     */
+    public void put(final String key, final byte[] value) {
+        final int hash = hash(key);
+        segmentFor(hash).put(hash, key.getBytes(StandardCharsets.UTF_8), value);
+    }
+
+    /**
+     * Get a copy of the value stored under the given key.
+     *
+     * @param key the key
+     * @return the value, or null if none is stored
+     */
+    public byte[] get(final String key) {
+        final int hash = hash(key);
+        return segmentFor(hash).get(hash, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Remove the value stored under the given key.
+     *
+     * @param key the key
+     * @return true if a value was removed
+     */
+    public boolean remove(final String key) {
+        final int hash = hash(key);
+        return segmentFor(hash).remove(hash, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Copies of all stored values.
+     *
+     * @return the values
+     */
+    public Collection<byte[]> values() {
+        final Collection<byte[]> values = new ArrayList<>();
+        Arrays.stream(this.segments).forEach(segment -> segment.copyValuesTo(values));
+        return values;
+    }
+
+    /**
+     * Remove all stored values.
+     *
+     * @return the number of values removed
+     */
+    public long clear() {
+        return Arrays.stream(this.segments).mapToLong(Segment::clear).sum();
+    }
+
+    public long size() {
+        return Arrays.stream(this.segments).mapToLong(Segment::size).sum();
+    }
+
+    public long getUsedBytes() {
+        return Arrays.stream(this.segments).mapToLong(Segment::usedBytes).sum();
+    }
+
+    public long getCapacityInBytes() {
+        return Arrays.stream(this.segments).mapToLong(Segment::capacity).sum();
+    }
+
+    private Segment segmentFor(final int hash) {
+        return this.segments[(hash & Integer.MAX_VALUE) % this.segments.length];
+    }
+
+    private static int hash(final String key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> HASH_SPREAD_SHIFT);
+    }
+
+    /**
+     * A direct buffer that records are appended to, and the index of its live records.
+     * Records are laid out as the key length, the value length, the key and the value.
+     */
+    private static class Segment {
+        private static final int EMPTY = -1;
+        private static final int REMOVED = -2;
+        private static final int INITIAL_SLOTS = 16;
+        private static final int PROBE_MULTIPLIER = 0x9E3779B9;
+
+        private final ByteBuffer buffer;
+
+        private int[] hashes = new int[INITIAL_SLOTS];
+        private int[] offsets = newOffsets(INITIAL_SLOTS);
+        private int entries;
+        private int removedSlots;
+        private int position;
+        private long liveBytes;
+
+        Segment(final int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        synchronized void put(final int hash, final byte[] key, final byte[] value) {
+            final int length = HEADER_LENGTH + key.length + value.length;
+            final int existing = slotOf(hash, key);
+            final long reclaimable = existing >= 0 ? recordLength(this.offsets[existing]) : 0;
+            if (length > this.buffer.capacity() - this.liveBytes + reclaimable) {
+                throw new IllegalStateException("Off-heap ticket storage has no room left for a record of " + length
+                        + " bytes; " + this.liveBytes + " of " + this.buffer.capacity() + " bytes of the segment are in use");
+            }
+            if (existing >= 0) {
+                removeSlot(existing);
+            }
+            if (this.position + length > this.buffer.capacity()) {
+                compact();
+            }
+
+            final ByteBuffer record = this.buffer.duplicate();
+            record.position(this.position);
+            record.putInt(key.length).putInt(value.length).put(key).put(value);
+
+            if ((this.entries + this.removedSlots + 1) * 2 > this.hashes.length) {
+                rehash();
+            }
+            int slot = firstSlot(hash);
+            while (this.offsets[slot] >= 0) {
+                slot = (slot + 1) & (this.hashes.length - 1);
+            }
+            if (this.offsets[slot] == REMOVED) {
+                this.removedSlots--;
+            }
+            this.hashes[slot] = hash;
+            this.offsets[slot] = this.position;
+            this.entries++;
+            this.position += length;
+            this.liveBytes += length;
+        }
+
+        synchronized byte[] get(final int hash, final byte[] key) {
+            final int slot = slotOf(hash, key);
+            return slot >= 0 ? valueAt(this.offsets[slot]) : null;
+        }
+
+        synchronized boolean remove(final int hash, final byte[] key) {
+            final int slot = slotOf(hash, key);
+            if (slot < 0) {
+                return false;
+            }
+            removeSlot(slot);
+            return true;
+        }
+
+        synchronized void copyValuesTo(final Collection<byte[]> values) {
+            Arrays.stream(this.offsets).filter(offset -> offset >= 0).forEach(offset -> values.add(valueAt(offset)));
+        }
+
+        synchronized long clear() {
+            final int count = this.entries;
+            this.hashes = new int[INITIAL_SLOTS];
+            this.offsets = newOffsets(INITIAL_SLOTS);
+            this.entries = 0;
+            this.removedSlots = 0;
+            this.position = 0;
+            this.liveBytes = 0;
+            return count;
+        }
+
+        synchronized long size() {
+            return this.entries;
+        }
+
+        synchronized long usedBytes() {
+            return this.liveBytes;
+        }
+
+        long capacity() {
+            return this.buffer.capacity();
+        }
+
+        private int firstSlot(final int hash) {
+            return (hash * PROBE_MULTIPLIER >>> 1) & (this.hashes.length - 1);
+        }
+
+        private int slotOf(final int hash, final byte[] key) {
+            int slot = firstSlot(hash);
+            while (this.offsets[slot] != EMPTY) {
+                if (this.offsets[slot] >= 0 && this.hashes[slot] == hash && keyMatches(this.offsets[slot], key)) {
+                    return slot;
+                }
+                slot = (slot + 1) & (this.hashes.length - 1);
+            }
+            return -1;
+        }
+
+        private boolean keyMatches(final int offset, final byte[] key) {
+            if (this.buffer.getInt(offset) != key.length) {
+                return false;
+            }
+            final int start = offset + HEADER_LENGTH;
+            for (int i = 0; i < key.length; i++) {
+                if (this.buffer.get(start + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int recordLength(final int offset) {
+            return HEADER_LENGTH + this.buffer.getInt(offset) + this.buffer.getInt(offset + Integer.BYTES);
+        }
+
+        private byte[] valueAt(final int offset) {
+            final byte[] value = new byte[this.buffer.getInt(offset + Integer.BYTES)];
+            final ByteBuffer record = this.buffer.duplicate();
+            record.position(offset + HEADER_LENGTH + this.buffer.getInt(offset));
+            record.get(value);
+            return value;
+        }
+
+        private void removeSlot(final int slot) {
+            this.liveBytes -= recordLength(this.offsets[slot]);
+            this.offsets[slot] = REMOVED;
+            this.entries--;
+            this.removedSlots++;
+        }
+
+        /**
+         * Move live records to the start of the buffer, in the order they were written,
+         * so that the space of removed records can be written to again.
+         */
+        private void compact() {
+            final int[] slots = IntStream.range(0, this.offsets.length)
+                    .filter(slot -> this.offsets[slot] >= 0)
+                    .boxed()
+                    .sorted(Comparator.comparingInt(slot -> this.offsets[slot]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            final ByteBuffer source = this.buffer.duplicate();
+            final ByteBuffer target = this.buffer.duplicate();
+            target.position(0);
+            for (final int slot : slots) {
+                final byte[] record = new byte[recordLength(this.offsets[slot])];
+                source.position(this.offsets[slot]);
+                source.get(record);
+                this.offsets[slot] = target.position();
+                target.put(record);
+            }
+            this.position = target.position();
+        }
+
+        private void rehash() {
+            final int[] oldHashes = this.hashes;
+            final int[] oldOffsets = this.offsets;
+            final int slots = this.entries * 2 > oldHashes.length / 2 ? oldHashes.length * 2 : oldHashes.length;
+            this.hashes = new int[slots];
+            this.offsets = newOffsets(slots);
+            this.removedSlots = 0;
+            for (int i = 0; i < oldOffsets.length; i++) {
+                if (oldOffsets[i] >= 0) {
+                    int slot = firstSlot(oldHashes[i]);
+                    while (this.offsets[slot] != EMPTY) {
+                        slot = (slot + 1) & (slots - 1);
+                    }
+                    this.hashes[slot] = oldHashes[i];
+                    this.offsets[slot] = oldOffsets[i];
+                }
+            }
+        }
+
+        private static int[] newOffsets(final int slots) {
+            final int[] offsets = new int[slots];
+            Arrays.fill(offsets, EMPTY);
+            return offsets;
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package org.apereo.cas.ticket.registry;
+
+import com.google.common.io.CountingInputStream;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * This is {@link TicketRegistryJournal} that records changes to a ticket registry on disk,
+ * so that the registry can be recovered after a restart. Changes are appended to
+ * memory-mapped log files of a fixed size, starting a new log whenever one fills up.
+ * Compaction writes the tickets of the registry to a snapshot and discards the logs it covers.
+ * Recovery loads the snapshot and replays the logs that follow it, deserializing tickets in parallel
+ * and applying them in the order they were recorded.
+ * <p>
+ * Writes to the logs reach the operating system right away, and so survive the process
+ * but not necessarily the host; snapshots are synced to disk before logs are discarded.
+ * </p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class TicketRegistryJournal implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TicketRegistryJournal.class);
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte CLEAR = 3;
+
+    private static final String SNAPSHOT_FILE_NAME = "tickets.snapshot";
+    private static final String LOG_FILE_PREFIX = "tickets-";
+    private static final String LOG_FILE_SUFFIX = ".log";
+    private static final int FRAME_HEADER_LENGTH = Integer.BYTES * 2;
+    private static final int RECOVERY_BATCH_SIZE = 10_000;
+    private static final int SNAPSHOT_ATTEMPTS = 3;
+
+    private final File directory;
+    private final int logSizeInBytes;
+    private final CipherExecutor cipherExecutor;
+
+    private final NavigableMap<Long, Long> closedLogs = new ConcurrentSkipListMap<>();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+
+    private long generation;
+    private FileChannel logChannel;
+    private MappedByteBuffer log;
+
+    private volatile long recoveryTime;
+    private volatile long recoveredEntries;
+
+    /**
+     * Instantiates a new ticket registry journal.
+     *
+     * @param directory      the directory to keep logs and snapshots in
+     * @param logSizeInBytes the size of each log file
+     * @param cipherExecutor the cipher executor for tickets written to disk
+     */
+    public TicketRegistryJournal(final File directory, final int logSizeInBytes, final CipherExecutor cipherExecutor) {
+        this.directory = directory;
+        this.logSizeInBytes = logSizeInBytes;
+        this.cipherExecutor = cipherExecutor;
+    }
+
+    /**
+     * Recover the given registry from the snapshot and logs on disk, and start a new log for changes that follow.
+     *
+     * @param registry the registry
+     * @return the number of recorded changes applied to the registry
+     * @throws IOException if the journal cannot be read or a new log cannot be started
+     */
+    public synchronized long recover(final TicketRegistry registry) throws IOException {
+        final long startTime = System.currentTimeMillis();
+        Files.createDirectories(this.directory.toPath());
+
+        long count = 0;
+        long firstGeneration = 0;
+        final File snapshot = new File(this.directory, SNAPSHOT_FILE_NAME);
+        if (snapshot.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot.toPath())))) {
+                firstGeneration = in.readLong();
+                count += replay(in, registry, snapshot);
+            }
+        }
+
+        final List<Long> generations = getLogGenerations();
+        for (final long logGeneration : generations) {
+            final File logFile = getLogFile(logGeneration);
+            if (logGeneration < firstGeneration) {
+                Files.deleteIfExists(logFile.toPath());
+            } else {
+                final CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(logFile.toPath())));
+                try (DataInputStream in = new DataInputStream(counter)) {
+                    count += replay(in, registry, logFile);
+                    this.closedLogs.put(logGeneration, counter.getCount());
+                }
+            }
+        }
+
+        final long lastGeneration = generations.isEmpty() ? firstGeneration : generations.get(generations.size() - 1) + 1;
+        startLog(Math.max(firstGeneration, lastGeneration));
+
+        this.recoveredEntries = count;
+        this.recoveryTime = System.currentTimeMillis() - startTime;
+        LOGGER.info("Recovered [{}] ticket registry change(s) from [{}] in [{}] ms", count, this.directory, this.recoveryTime);
+        return count;
+    }
+
+    /**
+     * Record that the ticket was added or updated.
+     *
+     * @param ticket the ticket
+     */
+    public void append(final Ticket ticket) {
+        final byte[] payload = serialize(ticket);
+        final byte[] body = new byte[payload.length + 1];
+        body[0] = PUT;
+        System.arraycopy(payload, 0, body, 1, payload.length);
+        write(body);
+    }
+
+    /**
+     * Record that the ticket was removed.
+     *
+     * @param ticketId the ticket id
+     */
+    public void appendDeletion(final String ticketId) {
+        final byte[] id = ticketId.getBytes(StandardCharsets.UTF_8);
+        final byte[] body = new byte[id.length + 1];
+        body[0] = DELETE;
+        System.arraycopy(id, 0, body, 1, id.length);
+        write(body);
+    }
+
+    /**
+     * Record that all tickets were removed.
+     */
+    public void appendClear() {
+        write(new byte[]{CLEAR});
+    }
+
+    /**
+     * Write the given tickets to a new snapshot and discard the logs it covers.
+     * A new log is started first, and the tickets are only obtained afterwards, so that
+     * any change the snapshot might miss is recorded in a log that is kept.
+     * Tickets may change while they are written, so a ticket that cannot be serialized is attempted again;
+     * if it still cannot be, compaction is abandoned and the logs are kept.
+     * Compaction is skipped if another one is in progress.
+     *
+     * @param tickets supplies the tickets of the registry
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void compact(final Supplier<Collection<Ticket>> tickets) throws IOException {
+        if (!this.compactionLock.tryLock()) {
+            LOGGER.debug("Compaction of [{}] is already in progress", this.directory);
+            return;
+        }
+        try {
+            final long firstGeneration;
+            synchronized (this) {
+                if (this.log == null) {
+                    LOGGER.debug("Ticket registry journal at [{}] is not open; skipping compaction", this.directory);
+                    return;
+                }
+                rotate();
+                firstGeneration = this.generation;
+            }
+
+            final File snapshot = new File(this.directory, SNAPSHOT_FILE_NAME);
+            final File snapshotInProgress = new File(this.directory, SNAPSHOT_FILE_NAME + ".tmp");
+            long count = 0;
+            try (FileOutputStream fos = new FileOutputStream(snapshotInProgress);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+                out.writeLong(firstGeneration);
+                for (final Ticket ticket : tickets.get()) {
+                    writeFrame(out, toSnapshotBody(ticket));
+                    count++;
+                }
+                out.flush();
+                fos.getFD().sync();
+            } catch (final IOException | RuntimeException e) {
+                Files.deleteIfExists(snapshotInProgress.toPath());
+                throw e;
+            }
+            Files.move(snapshotInProgress.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            final Collection<Long> compacted;
+            synchronized (this) {
+                compacted = new ArrayList<>(this.closedLogs.headMap(firstGeneration).keySet());
+                this.closedLogs.headMap(firstGeneration).clear();
+            }
+            for (final long logGeneration : compacted) {
+                Files.deleteIfExists(getLogFile(logGeneration).toPath());
+            }
+            LOGGER.debug("Compacted [{}] ticket(s) into [{}] and discarded [{}] log(s)", count, snapshot, compacted.size());
+        } finally {
+            this.compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Bytes recorded in logs that are not yet covered by a snapshot.
+     *
+     * @return the log size
+     */
+    public synchronized long getLogSize() {
+        final long current = this.log != null ? this.log.position() : 0;
+        return this.closedLogs.values().stream().mapToLong(Long::longValue).sum() + current;
+    }
+
+    public long getSnapshotSize() {
+        return new File(this.directory, SNAPSHOT_FILE_NAME).length();
+    }
+
+    public long getRecoveryTime() {
+        return this.recoveryTime;
+    }
+
+    public long getRecoveredEntries() {
+        return this.recoveredEntries;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.logChannel != null) {
+            this.log.force();
+            this.logChannel.close();
+            this.logChannel = null;
+            this.log = null;
+        }
+    }
+
+    private synchronized void write(final byte[] body) {
+        if (this.log == null) {
+            LOGGER.warn("Ticket registry journal at [{}] is not open; change is not recorded", this.directory);
+            return;
+        }
+        final int length = FRAME_HEADER_LENGTH + body.length;
+        if (length > this.logSizeInBytes) {
+            LOGGER.warn("Change of [{}] bytes exceeds the journal log size of [{}] bytes and is not recorded", length, this.logSizeInBytes);
+            return;
+        }
+        try {
+            if (this.log.remaining() < length) {
+                rotate();
+            }
+            this.log.putInt(body.length).putInt(checksum(body)).put(body);
+        } catch (final IOException e) {
+            LOGGER.error("Unable to record ticket registry change in [{}]: [{}]", this.directory, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        final long previous = this.generation;
+        final long bytes = this.log.position();
+        close();
+        this.closedLogs.put(previous, bytes);
+        startLog(previous + 1);
+    }
+
+    private void startLog(final long logGeneration) throws IOException {
+        this.generation = logGeneration;
+        this.logChannel = FileChannel.open(getLogFile(logGeneration).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.log = this.logChannel.map(FileChannel.MapMode.READ_WRITE, 0, this.logSizeInBytes);
+    }
+
+    private long replay(final DataInputStream in, final TicketRegistry registry, final File file) throws IOException {
+        long count = 0;
+        List<byte[]> batch = readBatch(in, file);
+        while (!batch.isEmpty()) {
+            final List<Entry> entries = batch.parallelStream().map(this::toEntry).collect(Collectors.toList());
+            entries.forEach(entry -> entry.applyTo(registry));
+            count += entries.size();
+            batch = batch.size() < RECOVERY_BATCH_SIZE ? new ArrayList<>() : readBatch(in, file);
+        }
+        return count;
+    }
+
+    private static List<byte[]> readBatch(final DataInputStream in, final File file) throws IOException {
+        final List<byte[]> batch = new ArrayList<>();
+        while (batch.size() < RECOVERY_BATCH_SIZE) {
+            final byte[] body = readFrame(in, file);
+            if (body == null) {
+                break;
+            }
+            batch.add(body);
+        }
+        return batch;
+    }
+
+    /**
+     * Read the next recorded change, or null once the end of what was fully written is reached.
+     * The unused tail of a log is zero-filled, and a change cut short by a crash fails its checksum.
+     */
+    private static byte[] readFrame(final DataInputStream in, final File file) throws IOException {
+        try {
+            final int length = in.readInt();
+            if (length <= 0) {
+                return null;
+            }
+            final int checksum = in.readInt();
+            final byte[] body = new byte[length];
+            in.readFully(body);
+            if (checksum(body) != checksum) {
+                LOGGER.warn("Skipping the remainder of [{}], which was not fully written", file);
+                return null;
+            }
+            return body;
+        } catch (final EOFException e) {
+            return null;
+        }
+    }
+
+    private static void writeFrame(final DataOutputStream out, final byte[] body) throws IOException {
+        out.writeInt(body.length);
+        out.writeInt(checksum(body));
+        out.write(body);
+    }
+
+    private static int checksum(final byte[] body) {
+        final CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private byte[] toSnapshotBody(final Ticket ticket) throws IOException {
+        RuntimeException failure = null;
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            try {
+                final byte[] payload = serialize(ticket);
+                final byte[] body = new byte[payload.length + 1];
+                body[0] = PUT;
+                System.arraycopy(payload, 0, body, 1, payload.length);
+                return body;
+            } catch (final RuntimeException e) {
+                failure = e;
+            }
+        }
+        throw new IOException("Unable to write ticket " + ticket.getId() + " to the snapshot; logs are kept", failure);
+    }
+
+    private Entry toEntry(final byte[] body) {
+        final ByteBuffer buffer = ByteBuffer.wrap(body);
+        final byte operation = buffer.get();
+        switch (operation) {
+            case PUT:
+                final byte[] payload = new byte[buffer.remaining()];
+                buffer.get(payload);
+                return new Entry(operation, deserialize(payload), null);
+            case DELETE:
+                return new Entry(operation, null, new String(body, 1, body.length - 1, StandardCharsets.UTF_8));
+            default:
+                return new Entry(operation, null, null);
+        }
+    }
+
+    private byte[] serialize(final Ticket ticket) {
+        if (this.cipherExecutor != null && this.cipherExecutor.isEnabled()) {
+            return SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        }
+        return SerializationUtils.serialize(ticket);
+    }
+
+    private Ticket deserialize(final byte[] payload) {
+        if (this.cipherExecutor != null && this.cipherExecutor.isEnabled()) {
+            return SerializationUtils.decodeAndDeserializeObject(payload, this.cipherExecutor, Ticket.class);
+        }
+        return SerializationUtils.deserializeAndCheckObject(payload, Ticket.class);
+    }
+
+    private List<Long> getLogGenerations() {
+        final File[] files = this.directory.listFiles((dir, name) -> name.startsWith(LOG_FILE_PREFIX) && name.endsWith(LOG_FILE_SUFFIX));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(files)
+                .map(File::getName)
+                .map(name -> name.substring(LOG_FILE_PREFIX.length(), name.length() - LOG_FILE_SUFFIX.length()))
+                .filter(generation -> generation.matches("\\d+"))
+                .map(Long::valueOf)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private File getLogFile(final long logGeneration) {
+        return new File(this.directory, LOG_FILE_PREFIX + logGeneration + LOG_FILE_SUFFIX);
+    }
+
+    /**
+     * A recorded change to the registry.
+     */
+    private static class Entry {
+        private final byte operation;
+        private final Ticket ticket;
+        private final String ticketId;
+
+        Entry(final byte operation, final Ticket ticket, final String ticketId) {
+            this.operation = operation;
+            this.ticket = ticket;
+            this.ticketId = ticketId;
+        }
+
+        void applyTo(final TicketRegistry registry) {
+            switch (this.operation) {
+                case PUT:
+                    registry.addTicket(this.ticket);
+                    break;
+                case DELETE:
+                    if (registry instanceof AbstractTicketRegistry) {
+                        ((AbstractTicketRegistry) registry).deleteSingleTicket(this.ticketId);
+                    } else {
+                        registry.deleteTicket(this.ticketId);
+                    }
+                    break;
+                case CLEAR:
+                    registry.deleteAll();
+                    break;
+                default:
+                    LOGGER.warn("Skipping change of unknown type [{}]", this.operation);
+            }
+        }
+    }
+}
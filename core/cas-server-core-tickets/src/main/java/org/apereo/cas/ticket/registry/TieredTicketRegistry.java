@@ -0,0 +1,485 @@
+package org.apereo.cas.ticket.registry;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Striped;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * This is {@link TieredTicketRegistry} that keeps recently used tickets in a local tier
+ * in front of a distributed ticket registry, which remains the source of truth.
+ * Tickets are always written to the distributed registry, either as they change or
+ * in the background, and only tickets whose ids start with one of the configured prefixes
+ * are kept in the local tier. Local copies are served as-is for a short while, after which they are
+ * verified against the distributed registry: a copy whose ticket was removed or used more times
+ * elsewhere is considered stale and replaced.
+ * <p>
+ * A locally kept ticket is only written back to the distributed registry while it still exists there,
+ * so that a ticket removed on another node, such as a ticket-granting ticket destroyed at logout,
+ * is never brought back by this node. Tickets written in the background are verified by the background thread;
+ * otherwise a ticket whose local copy was not verified within the revalidation window is verified before it is updated,
+ * and updating a ticket that was removed fails with an {@link InvalidTicketException}.
+ * Tickets written in the background are copied before they are queued; a write that fails is kept
+ * pending and retried, and the local copy keeps being served until it is written. Removing a ticket only
+ * waits for a background write of that ticket that is in progress.
+ * </p>
+ * <p>
+ * Tickets that must not be used twice, such as service tickets, should not be kept in the local tier,
+ * since a stale copy could then allow a ticket to be used again on another node.
+ * </p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class TieredTicketRegistry extends AbstractTicketRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TieredTicketRegistry.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final long RETRY_DELAY_SECONDS = 5;
+    private static final int LOCK_STRIPES = 64;
+
+    private final TicketRegistry distributedRegistry;
+    private final Collection<String> localTicketPrefixes;
+    private final long revalidateAfter;
+    private final Cache<String, LocalTicket> localTier;
+
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final Striped<Lock> writeLocks = Striped.lock(LOCK_STRIPES);
+    private ScheduledExecutorService writeBehindExecutor;
+
+    private final Counter localHits = new Counter();
+    private final Counter distributedHits = new Counter();
+    private final Counter misses = new Counter();
+    private final Counter staleCopies = new Counter();
+
+    /**
+     * Instantiates a new tiered ticket registry.
+     *
+     * @param distributedRegistry the distributed registry
+     * @param localTicketPrefixes prefixes of the ids of tickets to keep in the local tier
+     * @param maximumSize         maximum number of tickets in the local tier
+     * @param expireAfterAccess   how long to keep unused tickets in the local tier, in milliseconds
+     * @param revalidateAfter     how long to serve a local copy before verifying it, in milliseconds
+     */
+    public TieredTicketRegistry(final TicketRegistry distributedRegistry, final Collection<String> localTicketPrefixes,
+                                final long maximumSize, final long expireAfterAccess, final long revalidateAfter) {
+        this.distributedRegistry = distributedRegistry;
+        this.localTicketPrefixes = localTicketPrefixes;
+        this.revalidateAfter = revalidateAfter;
+        this.localTier = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Write tickets to the distributed registry in the background, in the order they change.
+     * Until written, tickets are served from the local tier.
+     */
+    public void enableWriteBehind() {
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, TieredTicketRegistry.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.writeBehindExecutor = executor;
+    }
+
+    /**
+     * Register the tier counters with the given metric registry.
+     *
+     * @param metricRegistry the metric registry
+     */
+    public void setMetricRegistry(final MetricRegistry metricRegistry) {
+        register(metricRegistry, "localHits", this.localHits);
+        register(metricRegistry, "distributedHits", this.distributedHits);
+        register(metricRegistry, "misses", this.misses);
+        register(metricRegistry, "staleCopies", this.staleCopies);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        Assert.notNull(ticket, "ticket cannot be null");
+        putLocal(ticket);
+        write(ticket, true);
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        final LocalTicket local = this.localTier.getIfPresent(ticket.getId());
+        if (this.writeBehindExecutor == null && isKeptLocally(ticket.getId()) && !isRecentlyValidated(local)
+                && this.distributedRegistry.getTicket(ticket.getId()) == null) {
+            LOGGER.debug("Ticket [{}] is no longer found in the distributed registry and will not be written back", ticket.getId());
+            this.staleCopies.inc();
+            invalidateLocal(ticket.getId());
+            throw new InvalidTicketException(ticket.getId());
+        }
+        if (isKeptLocally(ticket.getId())) {
+            this.localTier.put(ticket.getId(), local != null ? new LocalTicket(ticket, local.getValidatedAt()) : new LocalTicket(ticket));
+        }
+        write(ticket, false);
+        return ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        if (!isKeptLocally(ticketId)) {
+            return this.distributedRegistry.getTicket(ticketId);
+        }
+
+        final LocalTicket local = this.localTier.getIfPresent(ticketId);
+        if (local != null && (this.pendingWrites.containsKey(ticketId) || isRecentlyValidated(local))) {
+            this.localHits.inc();
+            return local.getTicket();
+        }
+
+        final Ticket ticket = this.distributedRegistry.getTicket(ticketId);
+        if (ticket == null) {
+            if (local != null) {
+                LOGGER.debug("Ticket [{}] is no longer found in the distributed registry; discarding local copy", ticketId);
+                this.staleCopies.inc();
+                this.localTier.invalidate(ticketId);
+            }
+            this.misses.inc();
+            return null;
+        }
+
+        this.distributedHits.inc();
+        if (local != null && ticket.getCountOfUses() <= local.getTicket().getCountOfUses()) {
+            local.validated();
+            return local.getTicket();
+        }
+        if (local != null) {
+            LOGGER.debug("Local copy of ticket [{}] is stale; replacing it with the ticket from the distributed registry", ticketId);
+            this.staleCopies.inc();
+        }
+        putLocal(ticket);
+        return ticket;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return 0;
+        }
+        awaitWrites(invalidateLocal(ticketId));
+        return this.distributedRegistry.deleteTicket(ticketId);
+    }
+
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        final List<String> invalidated = new ArrayList<>();
+        ticketIds.forEach(ticketId -> invalidated.addAll(invalidateLocal(ticketId)));
+        awaitWrites(invalidated);
+        return this.distributedRegistry.deleteTickets(ticketIds);
+    }
+
+    @Override
+    public boolean deleteSingleTicket(final String ticketId) {
+        invalidateLocalCopy(ticketId);
+        awaitWrite(ticketId);
+        if (this.distributedRegistry instanceof AbstractTicketRegistry) {
+            return ((AbstractTicketRegistry) this.distributedRegistry).deleteSingleTicket(ticketId);
+        }
+        return this.distributedRegistry.deleteTicket(ticketId) > 0;
+    }
+
+    @Override
+    public long deleteAll() {
+        this.localTier.invalidateAll();
+        this.pendingWrites.clear();
+        for (int i = 0; i < this.writeLocks.size(); i++) {
+            final Lock lock = this.writeLocks.getAt(i);
+            lock.lock();
+            lock.unlock();
+        }
+        return this.distributedRegistry.deleteAll();
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        return this.distributedRegistry.getTickets();
+    }
+
+    @Override
+    public Collection<Ticket> getExpiredTickets() {
+        return this.distributedRegistry.getExpiredTickets();
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.distributedRegistry.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.distributedRegistry.serviceTicketCount();
+    }
+
+    public long getLocalHits() {
+        return this.localHits.getCount();
+    }
+
+    public long getDistributedHits() {
+        return this.distributedHits.getCount();
+    }
+
+    public long getMisses() {
+        return this.misses.getCount();
+    }
+
+    public long getStaleCopies() {
+        return this.staleCopies.getCount();
+    }
+
+    /**
+     * Write pending tickets to the distributed registry and stop writing in the background.
+     * This registry is not a bean of its own, so this is invoked by the context through
+     * the {@link TieredTicketRegistryPostProcessor} that created it.
+     */
+    public void destroy() {
+        if (this.writeBehindExecutor == null) {
+            return;
+        }
+        this.writeBehindExecutor.shutdown();
+        try {
+            if (!this.writeBehindExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Timed out waiting for tickets to be written to the distributed registry");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.pendingWrites.keySet().forEach(this::writePending);
+        if (!this.pendingWrites.isEmpty()) {
+            LOGGER.warn("[{}] ticket(s) could not be written to the distributed registry before shutdown", this.pendingWrites.size());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '[' + this.distributedRegistry + ']';
+    }
+
+    private static void register(final MetricRegistry metricRegistry, final String name, final Counter counter) {
+        final String metricName = MetricRegistry.name(TieredTicketRegistry.class, name);
+        metricRegistry.remove(metricName);
+        metricRegistry.register(metricName, counter);
+    }
+
+    private boolean isKeptLocally(final String ticketId) {
+        return StringUtils.isNotBlank(ticketId) && this.localTicketPrefixes.stream().anyMatch(ticketId::startsWith);
+    }
+
+    private boolean isRecentlyValidated(final LocalTicket local) {
+        return local != null && System.currentTimeMillis() - local.getValidatedAt() < this.revalidateAfter;
+    }
+
+    /**
+     * Discard the local copies and pending writes of the ticket and of the tickets it granted, as far as they are known locally.
+     *
+     * @param ticketId the ticket id
+     * @return the ids of the discarded tickets
+     */
+    private List<String> invalidateLocal(final String ticketId) {
+        final List<String> ticketIds = new ArrayList<>();
+        final LocalTicket local = this.localTier.getIfPresent(ticketId);
+        if (local != null && local.getTicket() instanceof TicketGrantingTicket) {
+            final TicketGrantingTicket tgt = (TicketGrantingTicket) local.getTicket();
+            ticketIds.addAll(tgt.getServices().keySet());
+            tgt.getProxyGrantingTickets().forEach(pgt -> ticketIds.add(pgt.getId()));
+        }
+        ticketIds.add(ticketId);
+        ticketIds.forEach(this::invalidateLocalCopy);
+        return ticketIds;
+    }
+
+    private void invalidateLocalCopy(final String ticketId) {
+        this.localTier.invalidate(ticketId);
+        this.pendingWrites.remove(ticketId);
+    }
+
+    private void awaitWrites(final Collection<String> ticketIds) {
+        ticketIds.forEach(this::awaitWrite);
+    }
+
+    /**
+     * Wait for a write of the ticket in the background that is in progress, so that the ticket is not written back
+     * after it is removed. Writes that have not started yet were discarded along with the pending write.
+     *
+     * @param ticketId the ticket id
+     */
+    private void awaitWrite(final String ticketId) {
+        if (this.writeBehindExecutor == null) {
+            return;
+        }
+        final Lock lock = this.writeLocks.get(ticketId);
+        lock.lock();
+        lock.unlock();
+    }
+
+    private void putLocal(final Ticket ticket) {
+        if (isKeptLocally(ticket.getId())) {
+            this.localTier.put(ticket.getId(), new LocalTicket(ticket));
+        }
+    }
+
+    private void write(final Ticket ticket, final boolean add) {
+        if (this.writeBehindExecutor == null || !isKeptLocally(ticket.getId())) {
+            writeThrough(ticket, add);
+            return;
+        }
+        final Ticket snapshot;
+        try {
+            snapshot = SerializationUtils.clone(ticket);
+        } catch (final RuntimeException e) {
+            LOGGER.debug("Unable to copy ticket [{}] to write it in the background; writing it now: [{}]", ticket.getId(), e.getMessage());
+            writeThrough(ticket, add);
+            return;
+        }
+        final String ticketId = ticket.getId();
+        this.pendingWrites.merge(ticketId, new PendingWrite(snapshot, add), (current, next) -> next.following(current));
+        try {
+            this.writeBehindExecutor.execute(() -> writePending(ticketId));
+        } catch (final RejectedExecutionException e) {
+            writePending(ticketId);
+        }
+    }
+
+    private void writeThrough(final Ticket ticket, final boolean add) {
+        try {
+            if (add) {
+                this.distributedRegistry.addTicket(ticket);
+            } else {
+                this.distributedRegistry.updateTicket(ticket);
+            }
+        } catch (final RuntimeException e) {
+            this.localTier.invalidate(ticket.getId());
+            throw e;
+        }
+    }
+
+    /**
+     * Write the latest pending copy of the ticket, unless it was already written. A ticket that is not added
+     * is only written while it still exists in the distributed registry. A failed write is retried later.
+     *
+     * @param ticketId the ticket id
+     */
+    private void writePending(final String ticketId) {
+        final Lock lock = this.writeLocks.get(ticketId);
+        lock.lock();
+        try {
+            writePendingLocked(ticketId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writePendingLocked(final String ticketId) {
+        final PendingWrite pending = this.pendingWrites.get(ticketId);
+        if (pending == null) {
+            return;
+        }
+        try {
+            if (pending.isAdd()) {
+                this.distributedRegistry.addTicket(pending.getTicket());
+            } else if (this.distributedRegistry.getTicket(ticketId) != null) {
+                this.distributedRegistry.updateTicket(pending.getTicket());
+            } else {
+                LOGGER.debug("Ticket [{}] is no longer found in the distributed registry and will not be written back", ticketId);
+                this.staleCopies.inc();
+                this.localTier.invalidate(ticketId);
+            }
+            this.pendingWrites.remove(ticketId, pending);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to write ticket [{}] to the distributed registry; retrying in [{}] seconds: [{}]",
+                    ticketId, RETRY_DELAY_SECONDS, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            try {
+                this.writeBehindExecutor.schedule(() -> writePending(ticketId), RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+            } catch (final RejectedExecutionException ex) {
+                LOGGER.debug("Ticket [{}] remains pending as writes in the background are stopped", ticketId);
+            }
+        }
+    }
+
+    /**
+     * A copy of a ticket that is yet to be written to the distributed registry.
+     */
+    private static class PendingWrite {
+        private final Ticket ticket;
+        private final boolean add;
+
+        PendingWrite(final Ticket ticket, final boolean add) {
+            this.ticket = ticket;
+            this.add = add;
+        }
+
+        Ticket getTicket() {
+            return this.ticket;
+        }
+
+        boolean isAdd() {
+            return this.add;
+        }
+
+        /**
+         * This write replaces the given pending write, which, if it adds the ticket, must still add it.
+         *
+         * @param previous the pending write that is replaced
+         * @return the write to keep pending
+         */
+        PendingWrite following(final PendingWrite previous) {
+            return previous.isAdd() && !this.add ? new PendingWrite(this.ticket, true) : this;
+        }
+    }
+
+    /**
+     * A ticket kept in the local tier, along with the time it was last verified against the distributed registry.
+     */
+    private static class LocalTicket {
+        private final Ticket ticket;
+        private volatile long validatedAt;
+
+        LocalTicket(final Ticket ticket) {
+            this(ticket, System.currentTimeMillis());
+        }
+
+        LocalTicket(final Ticket ticket, final long validatedAt) {
+            this.ticket = ticket;
+            this.validatedAt = validatedAt;
+        }
+
+        Ticket getTicket() {
+            return this.ticket;
+        }
+
+        long getValidatedAt() {
+            return this.validatedAt;
+        }
+
+        void validated() {
+            this.validatedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.apereo.cas.ticket.registry;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
+
+/**
+ * This is {@link TieredTicketRegistryPostProcessor} that places a {@link TieredTicketRegistry}
+ * in front of the ticket registry of the deployment, whichever it is, when tiered storage is enabled.
+ * The context only destroys the ticket registry bean it created, so the tiered registry is registered
+ * for destruction on its own, ahead of the registry it wraps.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class TieredTicketRegistryPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TieredTicketRegistryPostProcessor.class);
+
+    private static final String TICKET_REGISTRY_BEAN_NAME = "ticketRegistry";
+    private static final String TIERED_TICKET_REGISTRY_BEAN_NAME = "tieredTicketRegistry";
+
+    private ListableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(final BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+        if (!TICKET_REGISTRY_BEAN_NAME.equals(beanName) || !(bean instanceof TicketRegistry) || bean instanceof TieredTicketRegistry) {
+            return bean;
+        }
+        final TicketRegistryProperties.Tiered tiered = this.beanFactory.getBean(CasConfigurationProperties.class)
+                .getTicket().getRegistry().getTiered();
+        if (!tiered.isEnabled()) {
+            return bean;
+        }
+
+        LOGGER.info("Keeping [{}] tickets in a local tier in front of [{}]", tiered.getTicketPrefixes(), bean);
+        final TieredTicketRegistry registry = new TieredTicketRegistry((TicketRegistry) bean, tiered.getTicketPrefixes(),
+                tiered.getMaximumSize(), tiered.getExpireAfterAccess(), tiered.getRevalidateAfter());
+        if (tiered.isWriteBehind()) {
+            registry.enableWriteBehind();
+        }
+        if (this.beanFactory.getBeanNamesForType(MetricRegistry.class).length > 0) {
+            registry.setMetricRegistry(this.beanFactory.getBean(MetricRegistry.class));
+        }
+        if (this.beanFactory instanceof DefaultSingletonBeanRegistry) {
+            final DefaultSingletonBeanRegistry singletons = (DefaultSingletonBeanRegistry) this.beanFactory;
+            singletons.registerDisposableBean(TIERED_TICKET_REGISTRY_BEAN_NAME, registry::destroy);
+            singletons.registerDependentBean(beanName, TIERED_TICKET_REGISTRY_BEAN_NAME);
+        } else {
+            LOGGER.warn("Pending writes of [{}] may not be completed on shutdown", registry);
+        }
+        return registry;
+    }
+}
@@ -54,6 +54,11 @@ public class HardTimeoutExpirationPolicy extends AbstractCasExpirationPolicy {
                 .plus(this.timeToKillInSeconds, ChronoUnit.SECONDS).isBefore(ZonedDateTime.now(ZoneOffset.UTC));
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        return ticketState.getCreationTime().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.timeToKillInSeconds;
@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import java.time.ZonedDateTime;
 
 /**
  * Delegates to different expiration policies depending on whether remember me
@@ -87,6 +88,21 @@ public class RememberMeDelegatingExpirationPolicy extends AbstractCasExpirationP
         return false;
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        if (this.rememberMeExpirationPolicy == null || this.sessionExpirationPolicy == null) {
+            return ticketState.getLastTimeUsed();
+        }
+        final ZonedDateTime sessionExpirationTime = this.sessionExpirationPolicy.getExpirationTime(ticketState);
+        final ZonedDateTime rememberMeExpirationTime = this.rememberMeExpirationPolicy.getExpirationTime(ticketState);
+        if (ticketState.getAuthentication() == null) {
+            return sessionExpirationTime.isBefore(rememberMeExpirationTime) ? sessionExpirationTime : rememberMeExpirationTime;
+        }
+        final Boolean b = (Boolean) ticketState.getAuthentication().getAttributes()
+                .get(RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME);
+        return b == null || b.equals(Boolean.FALSE) ? sessionExpirationTime : rememberMeExpirationTime;
+    }
+
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
@@ -93,6 +93,17 @@ public class TicketGrantingTicketExpirationPolicy extends AbstractCasExpirationP
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * Tickets expire once their maximum time to live has passed since creation, or once they have been idle for the time to kill.
+     */
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        final ZonedDateTime hardExpirationTime = ticketState.getCreationTime().plus(this.maxTimeToLiveInSeconds, ChronoUnit.SECONDS);
+        final ZonedDateTime idleExpirationTime = ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+        return hardExpirationTime.isBefore(idleExpirationTime) ? hardExpirationTime : idleExpirationTime;
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.maxTimeToLiveInSeconds;
@@ -66,10 +66,15 @@ public class TimeoutExpirationPolicy extends AbstractCasExpirationPolicy {
         return now.isAfter(expirationTime);
     }
 
+    /**
+     * {@inheritDoc}
+     * Tickets are rewritten to the registry every time they are used,
+     * so registries that expire tickets natively may discard a ticket once it has been idle for the time to kill.
+     */
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
-        return Long.MAX_VALUE;
+        return this.timeToKillInSeconds;
     }
 
     @Override
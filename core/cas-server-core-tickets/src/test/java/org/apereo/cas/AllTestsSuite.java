@@ -6,8 +6,13 @@ import org.apereo.cas.ticket.TicketGrantingTicketImplTests;
 import org.apereo.cas.ticket.UnrecognizableServiceForServiceTicketValidationExceptionTests;
 import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandlerTests;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandlerTests;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.ExpiredTicketListenerTests;
+import org.apereo.cas.ticket.registry.JournaledTicketRegistryTests;
+import org.apereo.cas.ticket.registry.OffHeapTicketRegistryTests;
+import org.apereo.cas.ticket.registry.TieredTicketRegistryTests;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicyTests;
 import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicyTests;
 import org.apereo.cas.ticket.support.ThrottledUseAndTimeoutExpirationPolicyTests;
@@ -28,7 +33,8 @@ import org.junit.runners.Suite;
         MultiTimeUseOrTimeoutExpirationPolicyTests.class, RememberMeDelegatingExpirationPolicyTests.class,
         ThrottledUseAndTimeoutExpirationPolicyTests.class, TicketGrantingTicketExpirationPolicyTests.class,
         TimeoutExpirationPolicyTests.class, DefaultTicketRegistryTests.class,
-        DistributedTicketRegistryTests.class, Cas10ProxyHandlerTests.class,
-        Cas20ProxyHandlerTests.class})
+        DistributedTicketRegistryTests.class, TieredTicketRegistryTests.class, OffHeapTicketRegistryTests.class,
+        JournaledTicketRegistryTests.class, DefaultTicketRegistryCleanerTests.class, ExpiredTicketListenerTests.class,
+        Cas10ProxyHandlerTests.class, Cas20ProxyHandlerTests.class})
 public class AllTestsSuite {
 }
@@ -0,0 +1,79 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultTicketRegistryCleanerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class DefaultTicketRegistryCleanerTests {
+
+    private static final int EXPIRED_TICKETS = 10;
+    private static final long LOGOUT_TIMEOUT = 5000;
+
+    private DefaultTicketRegistry ticketRegistry;
+    private LogoutManager logoutManager;
+
+    @Before
+    public void setUp() {
+        this.ticketRegistry = new DefaultTicketRegistry();
+        this.logoutManager = mock(LogoutManager.class);
+
+        for (int i = 0; i < EXPIRED_TICKETS; i++) {
+            final TicketGrantingTicket tgt = newTicketGrantingTicket(TicketGrantingTicket.PREFIX + "-expired-" + i, new AlwaysExpiresExpirationPolicy());
+            final ServiceTicket st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-expired-" + i,
+                    RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+            this.ticketRegistry.addTicket(tgt);
+            this.ticketRegistry.addTicket(st);
+        }
+        this.ticketRegistry.addTicket(newTicketGrantingTicket(TicketGrantingTicket.PREFIX + "-active", new NeverExpiresExpirationPolicy()));
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreRemoved() {
+        final DefaultTicketRegistryCleaner cleaner = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(),
+                this.logoutManager, this.ticketRegistry, true);
+        cleaner.clean();
+
+        assertEquals(1, this.ticketRegistry.getTickets().size());
+        assertNotNull(this.ticketRegistry.getTicket(TicketGrantingTicket.PREFIX + "-active"));
+        verify(this.logoutManager, times(EXPIRED_TICKETS)).performLogout(any(TicketGrantingTicket.class));
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreRemovedInParallelBatches() {
+        final DefaultTicketRegistryCleaner cleaner = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(),
+                this.logoutManager, this.ticketRegistry, true);
+        cleaner.setWorkers(2, 3);
+        cleaner.setAsynchronousLogout(2, 1);
+        cleaner.setMaximumTicketsPerSecond(1000);
+        try {
+            cleaner.clean();
+
+            assertEquals(1, this.ticketRegistry.getTickets().size());
+            assertNotNull(this.ticketRegistry.getTicket(TicketGrantingTicket.PREFIX + "-active"));
+            verify(this.logoutManager, timeout(LOGOUT_TIMEOUT).times(EXPIRED_TICKETS)).performLogout(any(TicketGrantingTicket.class));
+        } finally {
+            cleaner.destroy();
+        }
+    }
+
+    private static TicketGrantingTicket newTicketGrantingTicket(final String id, final ExpirationPolicy policy) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), policy);
+    }
+}
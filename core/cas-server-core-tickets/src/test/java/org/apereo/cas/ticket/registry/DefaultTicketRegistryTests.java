@@ -1,5 +1,9 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
 import org.apereo.cas.util.cipher.NoOpCipherExecutor;
 import org.junit.Test;
 
@@ -14,6 +18,9 @@ import static org.junit.Assert.*;
  */
 public class DefaultTicketRegistryTests extends AbstractTicketRegistryTests {
 
+    private static final long MAX_TIME_TO_LIVE = 28800;
+    private static final long TIME_TO_KILL = 7200;
+
     @Override
     public TicketRegistry getNewTicketRegistry() throws Exception {
         return new DefaultTicketRegistry();
@@ -23,4 +30,16 @@ public class DefaultTicketRegistryTests extends AbstractTicketRegistryTests {
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10F, 5, NoOpCipherExecutor.getInstance()));
     }
+
+    @Test
+    public void verifyTimeToLiveIsCountedToEarliestExpiration() {
+        final TicketGrantingTicketImpl tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+                new TicketGrantingTicketExpirationPolicy(MAX_TIME_TO_LIVE, TIME_TO_KILL));
+        final long ttl = AbstractTicketRegistry.getTimeToLive(tgt);
+        assertTrue(ttl <= TIME_TO_KILL && ttl > TIME_TO_KILL - 10);
+
+        final TicketGrantingTicketImpl expired = new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication(),
+                new HardTimeoutExpirationPolicy(0));
+        assertEquals(1, AbstractTicketRegistry.getTimeToLive(expired));
+    }
 }
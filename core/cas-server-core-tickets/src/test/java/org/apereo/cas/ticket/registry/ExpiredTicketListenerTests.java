@@ -0,0 +1,73 @@
+package org.apereo.cas.ticket.registry;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ExpiredTicketListenerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class ExpiredTicketListenerTests {
+
+    private static final long LOGOUT_TIMEOUT = 5000;
+
+    private LogoutManager logoutManager;
+    private ExpiredTicketListener listener;
+    private MetricRegistry metricRegistry;
+
+    @Before
+    public void setUp() {
+        this.logoutManager = mock(LogoutManager.class);
+        this.listener = new ExpiredTicketListener(this.logoutManager, true, 1, 1);
+        this.metricRegistry = new MetricRegistry();
+        this.listener.setMetricRegistry(this.metricRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        this.listener.destroy();
+    }
+
+    @Test
+    public void verifyExpiredSessionsAreLoggedOut() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-expired",
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final ServiceTicket st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-expired",
+                RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+
+        this.listener.onExpired(tgt);
+        this.listener.onExpired(st);
+
+        verify(this.logoutManager, timeout(LOGOUT_TIMEOUT).times(1)).performLogout(tgt);
+        assertEquals(2, getCount("expiredTickets"));
+        assertEquals(1, getCount("expiredSessions"));
+    }
+
+    @Test
+    public void verifyExpiredTicketIdsAreCounted() {
+        this.listener.onExpired(TicketGrantingTicket.PREFIX + "-expired");
+        this.listener.onExpired(ServiceTicket.PREFIX + "-expired");
+
+        verifyZeroInteractions(this.logoutManager);
+        assertEquals(2, getCount("expiredTickets"));
+        assertEquals(1, getCount("expiredSessions"));
+    }
+
+    private long getCount(final String name) {
+        return this.metricRegistry.meter(MetricRegistry.name(ExpiredTicketListener.class, name)).getCount();
+    }
+}
@@ -0,0 +1,127 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JournaledTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class JournaledTicketRegistryTests extends AbstractTicketRegistryTests {
+
+    private static final int LOG_SIZE = 64 * 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() throws Exception {
+        return newRegistry(this.folder.newFolder());
+    }
+
+    @Test
+    public void verifyTicketsAreRecoveredFromLogs() throws Exception {
+        final File directory = this.folder.newFolder();
+        final JournaledTicketRegistry registry = newRegistry(directory);
+        final TicketGrantingTicket tgt = newTicketGrantingTicket("TGT-journal-1");
+        registry.addTicket(tgt);
+        final ServiceTicket st = tgt.grantServiceTicket("ST-journal-1", RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+        registry.addTicket(newTicketGrantingTicket("TGT-journal-2"));
+        registry.deleteTicket("TGT-journal-2");
+
+        final JournaledTicketRegistry recovered = newRegistry(directory);
+        assertEquals(1, recovered.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().size());
+        assertNotNull(recovered.getTicket(st.getId(), ServiceTicket.class));
+        assertNull(recovered.getTicket("TGT-journal-2"));
+    }
+
+    @Test
+    public void verifyTicketsAreRecoveredFromSnapshotAndLogs() throws Exception {
+        final File directory = this.folder.newFolder();
+        final JournaledTicketRegistry registry = newRegistry(directory);
+        registry.addTicket(newTicketGrantingTicket("TGT-journal-1"));
+        registry.addTicket(newTicketGrantingTicket("TGT-journal-2"));
+        registry.compact();
+        registry.deleteTicket("TGT-journal-1");
+        registry.addTicket(newTicketGrantingTicket("TGT-journal-3"));
+        registry.destroy();
+
+        final JournaledTicketRegistry recovered = newRegistry(directory);
+        assertNull(recovered.getTicket("TGT-journal-1"));
+        assertNotNull(recovered.getTicket("TGT-journal-2"));
+        assertNotNull(recovered.getTicket("TGT-journal-3"));
+        assertEquals(2, recovered.getTickets().size());
+    }
+
+    @Test
+    public void verifyClearedRegistryIsRecoveredEmpty() throws Exception {
+        final File directory = this.folder.newFolder();
+        final JournaledTicketRegistry registry = newRegistry(directory);
+        registry.addTicket(newTicketGrantingTicket("TGT-journal-1"));
+        registry.deleteAll();
+
+        assertTrue(newRegistry(directory).getTickets().isEmpty());
+    }
+
+    @Test
+    public void verifyCompactionIsAbandonedWhenTicketCannotBeWritten() throws Exception {
+        final File directory = this.folder.newFolder();
+        final TicketRegistryJournal journal = new TicketRegistryJournal(directory, LOG_SIZE, null);
+        journal.recover(new DefaultTicketRegistry());
+        final TicketGrantingTicket tgt = newTicketGrantingTicket("TGT-journal-1");
+        journal.append(tgt);
+
+        final TicketGrantingTicket unserializable = new UnserializableTicketGrantingTicket("TGT-journal-2");
+        try {
+            journal.compact(() -> Arrays.asList(tgt, unserializable));
+            fail("Compaction should be abandoned when a ticket cannot be written");
+        } catch (final IOException e) {
+            assertEquals(0, journal.getSnapshotSize());
+        }
+        journal.close();
+
+        assertNotNull(newRegistry(directory).getTicket(tgt.getId()));
+    }
+
+    private static JournaledTicketRegistry newRegistry(final File directory) throws Exception {
+        final JournaledTicketRegistry registry = new JournaledTicketRegistry(new DefaultTicketRegistry(),
+                new TicketRegistryJournal(directory, LOG_SIZE, null));
+        registry.recover();
+        return registry;
+    }
+
+    private static TicketGrantingTicket newTicketGrantingTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+
+    /**
+     * A ticket that cannot be serialized.
+     */
+    private static class UnserializableTicketGrantingTicket extends TicketGrantingTicketImpl {
+        private static final long serialVersionUID = -2815283466474165826L;
+
+        private final Object state = new Object();
+
+        UnserializableTicketGrantingTicket(final String id) {
+            super(id, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        }
+    }
+}
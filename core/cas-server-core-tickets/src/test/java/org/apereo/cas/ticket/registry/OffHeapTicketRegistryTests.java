@@ -0,0 +1,65 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OffHeapTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class OffHeapTicketRegistryTests extends AbstractTicketRegistryTests {
+
+    private static final long CAPACITY = 4 * 1024 * 1024;
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() throws Exception {
+        return new OffHeapTicketRegistry(CAPACITY, 4, null);
+    }
+
+    @Test
+    public void verifyTicketIsKeptSerialized() {
+        final OffHeapTicketRegistry registry = new OffHeapTicketRegistry(CAPACITY, 4, null);
+        final TicketGrantingTicket tgt = newTicketGrantingTicket(TicketGrantingTicket.PREFIX + "-offheap");
+        registry.addTicket(tgt);
+
+        final TicketGrantingTicket result = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(tgt, result);
+        assertNotSame(tgt, result);
+        assertEquals(1, registry.getStorage().size());
+        assertTrue(registry.getStorage().getUsedBytes() > 0);
+    }
+
+    @Test
+    public void verifyRemovedTicketSpaceIsReused() {
+        final OffHeapTicketStorage storage = new OffHeapTicketStorage(1024, 1);
+        final byte[] value = new byte[200];
+        for (int i = 0; i < 100; i++) {
+            storage.put("TGT-" + i, value);
+            assertTrue(storage.remove("TGT-" + i));
+        }
+        storage.put("TGT-kept", value);
+        storage.put("TGT-kept", new byte[300]);
+
+        assertEquals(1, storage.size());
+        assertEquals(300, storage.get("TGT-kept").length);
+        assertNull(storage.get("TGT-0"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyFullStorageRefusesTickets() {
+        final OffHeapTicketStorage storage = new OffHeapTicketStorage(1024, 1);
+        storage.put("TGT-1", new byte[600]);
+        storage.put("TGT-2", new byte[600]);
+    }
+
+    private static TicketGrantingTicket newTicketGrantingTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+}
@@ -0,0 +1,193 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TieredTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class TieredTicketRegistryTests extends AbstractTicketRegistryTests {
+
+    private static final String TGT_ID = "TGT-1-tiered";
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() throws Exception {
+        return new TieredTicketRegistry(new DefaultTicketRegistry(), Collections.singletonList(TicketGrantingTicket.PREFIX),
+                100, 60_000, 60_000);
+    }
+
+    @Test
+    public void verifyLocalTicketIsServedLocally() {
+        final TieredTicketRegistry registry = new TieredTicketRegistry(new DefaultTicketRegistry(),
+                Collections.singletonList(TicketGrantingTicket.PREFIX), 100, 60_000, 60_000);
+        registry.addTicket(newTicketGrantingTicket());
+
+        assertNotNull(registry.getTicket(TGT_ID, TicketGrantingTicket.class));
+        assertNotNull(registry.getTicket(TGT_ID, TicketGrantingTicket.class));
+        assertEquals(2, registry.getLocalHits());
+        assertEquals(0, registry.getDistributedHits());
+    }
+
+    @Test
+    public void verifyStaleLocalCopyIsReplaced() {
+        final DefaultTicketRegistry distributed = new DefaultTicketRegistry();
+        final TieredTicketRegistry registry = new TieredTicketRegistry(distributed,
+                Collections.singletonList(TicketGrantingTicket.PREFIX), 100, 60_000, 0);
+        registry.addTicket(newTicketGrantingTicket());
+
+        final TicketGrantingTicketImpl updatedElsewhere = newTicketGrantingTicket();
+        updatedElsewhere.update();
+        distributed.updateTicket(updatedElsewhere);
+
+        final Ticket ticket = registry.getTicket(TGT_ID);
+        assertSame(updatedElsewhere, ticket);
+        assertEquals(1, registry.getStaleCopies());
+    }
+
+    @Test
+    public void verifyTicketRemovedElsewhereIsNotServed() {
+        final DefaultTicketRegistry distributed = new DefaultTicketRegistry();
+        final TieredTicketRegistry registry = new TieredTicketRegistry(distributed,
+                Collections.singletonList(TicketGrantingTicket.PREFIX), 100, 60_000, 0);
+        registry.addTicket(newTicketGrantingTicket());
+
+        distributed.deleteTicket(TGT_ID);
+        assertNull(registry.getTicket(TGT_ID));
+        assertEquals(1, registry.getStaleCopies());
+    }
+
+    @Test
+    public void verifyWriteBehindReachesDistributedRegistry() {
+        final DefaultTicketRegistry distributed = new DefaultTicketRegistry();
+        final TieredTicketRegistry registry = new TieredTicketRegistry(distributed,
+                Collections.singletonList(TicketGrantingTicket.PREFIX), 100, 60_000, 60_000);
+        registry.enableWriteBehind();
+        registry.addTicket(newTicketGrantingTicket());
+        assertNotNull(registry.getTicket(TGT_ID));
+
+        registry.destroy();
+        assertNotNull(distributed.getTicket(TGT_ID));
+    }
+
+    @Test
+    public void verifyTicketRemovedElsewhereIsNotWrittenBack() {
+        final DefaultTicketRegistry distributed = new DefaultTicketRegistry();
+        final TieredTicketRegistry registry = new TieredTicketRegistry(distributed,
+                Collections.singletonList(TicketGrantingTicket.PREFIX), 100, 60_000, 0);
+        final TicketGrantingTicketImpl tgt = newTicketGrantingTicket();
+        registry.addTicket(tgt);
+
+        distributed.deleteTicket(TGT_ID);
+        tgt.update();
+        try {
+            registry.updateTicket(tgt);
+            fail("Ticket removed from the distributed registry should not be updated");
+        } catch (final InvalidTicketException e) {
+            assertNull(distributed.getTicket(TGT_ID));
+            assertNull(registry.getTicket(TGT_ID));
+        }
+    }
+
+    @Test
+    public void verifyTicketRemovedElsewhereIsNotWrittenBehind() {
+        final CountingTicketRegistry distributed = new CountingTicketRegistry();
+        final TicketGrantingTicketImpl tgt = newTicketGrantingTicket();
+        distributed.addTicket(tgt);
+        final TieredTicketRegistry registry = new TieredTicketRegistry(distributed,
+                Collections.singletonList(TicketGrantingTicket.PREFIX), 100, 60_000, 60_000);
+        registry.enableWriteBehind();
+        assertNotNull(registry.getTicket(TGT_ID));
+
+        distributed.deleteTicket(TGT_ID);
+        final int reads = distributed.reads.get();
+        tgt.update();
+        registry.updateTicket(tgt);
+        assertEquals(reads, distributed.reads.get());
+
+        registry.destroy();
+        assertNull(distributed.getTicket(TGT_ID));
+        assertNull(registry.getTicket(TGT_ID));
+    }
+
+    @Test
+    public void verifyFailedWriteBehindIsKeptPending() throws Exception {
+        final FailingTicketRegistry distributed = new FailingTicketRegistry();
+        final TieredTicketRegistry registry = new TieredTicketRegistry(distributed,
+                Collections.singletonList(TicketGrantingTicket.PREFIX), 100, 60_000, 0);
+        registry.enableWriteBehind();
+        registry.addTicket(newTicketGrantingTicket());
+
+        assertTrue(distributed.attempted.await(10, TimeUnit.SECONDS));
+        assertNull(distributed.getTicket(TGT_ID));
+        assertNotNull(registry.getTicket(TGT_ID));
+
+        distributed.failing = false;
+        registry.destroy();
+        assertNotNull(distributed.getTicket(TGT_ID));
+    }
+
+    @Test
+    public void verifyWriteBehindQueuesCopyOfTicket() {
+        final DefaultTicketRegistry distributed = new DefaultTicketRegistry();
+        final TieredTicketRegistry registry = new TieredTicketRegistry(distributed,
+                Collections.singletonList(TicketGrantingTicket.PREFIX), 100, 60_000, 60_000);
+        registry.enableWriteBehind();
+        final TicketGrantingTicketImpl tgt = newTicketGrantingTicket();
+        registry.addTicket(tgt);
+        tgt.update();
+
+        registry.destroy();
+        final Ticket written = distributed.getTicket(TGT_ID);
+        assertNotSame(tgt, written);
+        assertEquals(0, written.getCountOfUses());
+    }
+
+    private static TicketGrantingTicketImpl newTicketGrantingTicket() {
+        return new TicketGrantingTicketImpl(TGT_ID, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+
+    /**
+     * A registry that fails to add tickets while failing.
+     */
+    private static class FailingTicketRegistry extends DefaultTicketRegistry {
+        private final CountDownLatch attempted = new CountDownLatch(1);
+        private volatile boolean failing = true;
+
+        @Override
+        public void addTicket(final Ticket ticket) {
+            this.attempted.countDown();
+            if (this.failing) {
+                throw new IllegalStateException("Distributed registry is unavailable");
+            }
+            super.addTicket(ticket);
+        }
+    }
+
+    /**
+     * A registry that counts the tickets read from it.
+     */
+    private static class CountingTicketRegistry extends DefaultTicketRegistry {
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public Ticket getTicket(final String ticketId) {
+            this.reads.incrementAndGet();
+            return super.getTicket(ticketId);
+        }
+    }
+}
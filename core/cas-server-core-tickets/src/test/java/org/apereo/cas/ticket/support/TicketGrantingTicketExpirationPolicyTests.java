@@ -95,4 +95,14 @@ public class TicketGrantingTicketExpirationPolicyTests {
 
         assertEquals(expirationPolicy, policyRead);
     }
+
+    @Test
+    public void verifyExpirationTimeIsEarliestOfHardAndSlidingTimeouts() {
+        final TicketGrantingTicketExpirationPolicy policy = new TicketGrantingTicketExpirationPolicy(HARD_TIMEOUT * 10, SLIDING_TIMEOUT);
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("test", CoreAuthenticationTestUtils.getAuthentication(), policy);
+        assertEquals(tgt.getLastTimeUsed().plus(SLIDING_TIMEOUT, ChronoUnit.SECONDS), policy.getExpirationTime(tgt));
+
+        final TicketGrantingTicketExpirationPolicy hardPolicy = new TicketGrantingTicketExpirationPolicy(HARD_TIMEOUT, SLIDING_TIMEOUT * 10);
+        assertEquals(tgt.getCreationTime().plus(HARD_TIMEOUT, ChronoUnit.SECONDS), hardPolicy.getExpirationTime(tgt));
+    }
 }
@@ -11,15 +11,24 @@ import org.jose4j.jwk.OctetSequenceJsonWebKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.util.Map;
 
 /**
  * A implementation that is based on algorithms
  * provided by the default platform's JCE. By default AES encryption is
  * used.
+ * <p>Values are encrypted using AES in GCM mode, whose authentication tag
+ * protects the integrity of the value, and are laid out as a version marker
+ * followed by the initialization vector and the cipher text. The encryption key
+ * is derived once and {@link Cipher} instances are reused per thread.
+ * Values produced by earlier versions, which are encrypted via AES-CBC and wrapped
+ * inside a JWS signed by the signing key, can still be decoded.</p>
  *
  * @author Misagh Moayyed
  * @since 4.2
@@ -27,13 +36,31 @@ import java.util.Map;
 public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<byte[], byte[]> {
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseBinaryCipherExecutor.class);
 
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to create cipher instance for " + TRANSFORMATION, e);
+        }
+    });
+
     /**
      * Secret key IV algorithm. Default is {@code AES}.
      */
     private String secretKeyAlgorithm = "AES";
 
-    private String encryptionSecretKey;
+    private final byte[] encryptionSecretKey;
+
+    private SecretKeySpec encryptionKey;
 
+    private final CipherService legacyCipherService = new AesCipherService();
 
     /**
      * Instantiates a new cryptic ticket cipher executor.
@@ -57,29 +84,35 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         }
         setSigningKey(signingKeyToUse);
 
-        if (StringUtils.isBlank(encryptionSecretKey)) {
+        String encryptionKeyToUse = encryptionSecretKey;
+        if (StringUtils.isBlank(encryptionKeyToUse)) {
             LOGGER.warn("No encryption key is defined. CAS will attempt to auto-generate keys");
-            this.encryptionSecretKey = RandomStringUtils.randomAlphabetic(encryptionKeySize);
+            encryptionKeyToUse = RandomStringUtils.randomAlphabetic(encryptionKeySize);
             LOGGER.warn("Generated encryption key [{}] of size [{}]. The generated key MUST be added to CAS settings.",
-                    this.encryptionSecretKey, encryptionKeySize);
-        } else {
-            this.encryptionSecretKey = encryptionSecretKey;
+                    encryptionKeyToUse, encryptionKeySize);
         }
+        this.encryptionSecretKey = encryptionKeyToUse.getBytes(StandardCharsets.UTF_8);
+        this.encryptionKey = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
     }
 
 
     public void setSecretKeyAlgorithm(final String secretKeyAlgorithm) {
         this.secretKeyAlgorithm = secretKeyAlgorithm;
+        this.encryptionKey = new SecretKeySpec(this.encryptionSecretKey, secretKeyAlgorithm);
     }
 
     @Override
     public byte[] encode(final byte[] value) {
         try {
-            final Key key = new SecretKeySpec(this.encryptionSecretKey.getBytes(StandardCharsets.UTF_8),
-                    this.secretKeyAlgorithm);
-            final CipherService cipher = new AesCipherService();
-            final byte[] result = cipher.encrypt(value, key.getEncoded()).getBytes();
-            return sign(result);
+            final byte[] iv = new byte[IV_LENGTH];
+            RANDOM.nextBytes(iv);
+            final Cipher cipher = initCipher(Cipher.ENCRYPT_MODE, iv, 0);
+
+            final byte[] result = new byte[1 + IV_LENGTH + cipher.getOutputSize(value.length)];
+            result[0] = VERSION;
+            System.arraycopy(iv, 0, result, 1, IV_LENGTH);
+            cipher.doFinal(value, 0, value.length, result, 1 + IV_LENGTH);
+            return result;
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
             throw Throwables.propagate(e);
@@ -89,17 +122,31 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
     @Override
     public byte[] decode(final byte[] value) {
         try {
+            if (value.length > 0 && value[0] == VERSION) {
+                if (value.length < 1 + IV_LENGTH) {
+                    throw new IllegalArgumentException("Encrypted value is too short");
+                }
+                final Cipher cipher = initCipher(Cipher.DECRYPT_MODE, value, 1);
+                return cipher.doFinal(value, 1 + IV_LENGTH, value.length - 1 - IV_LENGTH);
+            }
+            LOGGER.debug("Decoding value via the legacy signed cipher format");
             final byte[] verifiedValue = verifySignature(value);
-            final Key key = new SecretKeySpec(this.encryptionSecretKey.getBytes(StandardCharsets.UTF_8),
-                    this.secretKeyAlgorithm);
-            final CipherService cipher = new AesCipherService();
-            final byte[] result = cipher.decrypt(verifiedValue, key.getEncoded()).getBytes();
-            return result;
+            return this.legacyCipherService.decrypt(verifiedValue, this.encryptionSecretKey).getBytes();
         } catch (final Exception e) {
             throw Throwables.propagate(e);
         }
     }
 
+    private Cipher initCipher(final int mode, final byte[] iv, final int offset) {
+        final Cipher cipher = CIPHERS.get();
+        try {
+            cipher.init(mode, this.encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv, offset, IV_LENGTH));
+            return cipher;
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to init cipher instance.", e);
+        }
+    }
+
     private String generateOctetJsonWebKeyOfSize(final int size) {
         try {
             final OctetSequenceJsonWebKey octetKey = OctJwkGenerator.generateJwk(size);
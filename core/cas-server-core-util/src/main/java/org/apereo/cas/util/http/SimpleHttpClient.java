@@ -2,6 +2,7 @@ package org.apereo.cas.util.http;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -26,6 +27,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -61,6 +64,11 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
      */
     private FutureRequestExecutionService requestExecutorService;
 
+    /**
+     * how long to wait for endpoints to respond when they are validated, in milliseconds.
+     */
+    private long endpointValidationTimeout;
+
     /**
      * Instantiates a new Simple HTTP client, based on the provided inputs.
      *
@@ -150,33 +158,67 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
     public boolean isValidEndPoint(final URL url) {
         Assert.notNull(this.httpClient);
 
-        HttpEntity entity = null;
-
-        try (CloseableHttpResponse response = this.httpClient.execute(new HttpGet(url.toURI()))) {
-            final int responseCode = response.getStatusLine().getStatusCode();
-
-            final int idx = Collections.binarySearch(this.acceptableCodes, responseCode);
-            if (idx >= 0) {
-                LOGGER.debug("Response code from server matched [{}].", responseCode);
-                return true;
+        try {
+            final HttpGet request = new HttpGet(url.toURI());
+            final ResponseHandler<Boolean> handler = response -> isAcceptableResponse(url, response);
+            if (this.endpointValidationTimeout <= 0) {
+                return this.httpClient.execute(request, handler);
             }
 
-            LOGGER.debug("Response code did not match any of the acceptable response codes. Code returned was [{}]", responseCode);
-
-            if (responseCode == HttpStatus.SC_INTERNAL_SERVER_ERROR) {
-                final String value = response.getStatusLine().getReasonPhrase();
-                LOGGER.error("There was an error contacting the endpoint: [{}]; The error was:\n[{}]", url.toExternalForm(), value);
+            final HttpRequestFutureTask<Boolean> task = this.requestExecutorService.execute(request, HttpClientContext.create(), handler);
+            try {
+                return task.get(this.endpointValidationTimeout, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                LOGGER.warn("[{}] did not respond within [{}] ms", url.toExternalForm(), this.endpointValidationTimeout);
+                task.cancel(true);
+                return false;
             }
-
-            entity = response.getEntity();
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Unable to contact [{}]; too many requests are pending: [{}]", url.toExternalForm(), e.getMessage());
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
-        } finally {
-            EntityUtils.consumeQuietly(entity);
         }
         return false;
     }
 
+    /**
+     * Determine whether the response code is acceptable.
+     * The response handler consumes the response entity, so the connection can be reused.
+     *
+     * @param url      the url
+     * @param response the response
+     * @return true if the response code is acceptable
+     */
+    private boolean isAcceptableResponse(final URL url, final HttpResponse response) {
+        final int responseCode = response.getStatusLine().getStatusCode();
+
+        final int idx = Collections.binarySearch(this.acceptableCodes, responseCode);
+        if (idx >= 0) {
+            LOGGER.debug("Response code from server matched [{}].", responseCode);
+            return true;
+        }
+
+        LOGGER.debug("Response code did not match any of the acceptable response codes. Code returned was [{}]", responseCode);
+
+        if (responseCode == HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+            final String value = response.getStatusLine().getReasonPhrase();
+            LOGGER.error("There was an error contacting the endpoint: [{}]; The error was:\n[{}]", url.toExternalForm(), value);
+        }
+        return false;
+    }
+
+    /**
+     * Sets how long to wait for endpoints to respond when they are validated.
+     * If set, endpoints are validated on the request executor of this client, which bounds
+     * the number of concurrent validations, and validation fails if the endpoint does not respond in time.
+     * Otherwise, endpoints are validated on the calling thread.
+     *
+     * @param endpointValidationTimeout the timeout in milliseconds
+     */
+    public void setEndpointValidationTimeout(final long endpointValidationTimeout) {
+        this.endpointValidationTimeout = endpointValidationTimeout;
+    }
+
     /**
      * Shutdown the executor service and close the http client.
      *
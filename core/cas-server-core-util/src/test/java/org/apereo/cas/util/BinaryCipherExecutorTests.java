@@ -1,11 +1,15 @@
 package org.apereo.cas.util;
 
+import org.apache.shiro.crypto.AesCipherService;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.util.cipher.BaseBinaryCipherExecutor;
+import org.jose4j.keys.AesKey;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.*;
 
 /**
@@ -15,6 +19,10 @@ import static org.junit.Assert.*;
  * @since 4.2
  */
 public class BinaryCipherExecutorTests {
+    private static final String VALUE = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
+    private static final String ENCRYPTION_KEY = "1234567890123456";
+    private static final String SIGNING_KEY =
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w";
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
@@ -43,4 +51,47 @@ public class BinaryCipherExecutorTests {
 
         cc.encode(value.getBytes());
     }
+
+    @Test
+    public void checkEncodedValueIsNotWrappedInSignature() {
+        final CipherExecutor<byte[], byte[]> cc = new BaseBinaryCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16) {
+        };
+        final byte[] bytes = cc.encode(VALUE.getBytes(StandardCharsets.UTF_8));
+        assertEquals(1 + 12 + VALUE.length() + 16, bytes.length);
+        assertFalse(new String(bytes, StandardCharsets.ISO_8859_1).contains(VALUE));
+    }
+
+    @Test
+    public void checkDecodingLegacyValue() {
+        final CipherExecutor<byte[], byte[]> cc = new BaseBinaryCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16) {
+        };
+        final byte[] encrypted = new AesCipherService().encrypt(VALUE.getBytes(StandardCharsets.UTF_8),
+                ENCRYPTION_KEY.getBytes(StandardCharsets.UTF_8)).getBytes();
+        final byte[] legacy = EncodingUtils.signJws(new AesKey(SIGNING_KEY.getBytes(StandardCharsets.UTF_8)), encrypted);
+        assertEquals(VALUE, new String(cc.decode(legacy), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkDecodingTamperedValue() {
+        final CipherExecutor<byte[], byte[]> cc = new BaseBinaryCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16) {
+        };
+        final byte[] bytes = cc.encode(VALUE.getBytes(StandardCharsets.UTF_8));
+        bytes[bytes.length - 1] ^= 1;
+        this.thrown.expect(RuntimeException.class);
+        cc.decode(bytes);
+    }
+
+    @Test
+    public void checkExecutorsWithDifferentKeys() {
+        final CipherExecutor<byte[], byte[]> cc1 = new BaseBinaryCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16) {
+        };
+        final CipherExecutor<byte[], byte[]> cc2 = new BaseBinaryCipherExecutor("6543210987654321", SIGNING_KEY, 512, 16) {
+        };
+        final byte[] bytes1 = cc1.encode(VALUE.getBytes(StandardCharsets.UTF_8));
+        final byte[] bytes2 = cc2.encode(VALUE.getBytes(StandardCharsets.UTF_8));
+        assertEquals(VALUE, new String(cc2.decode(bytes2), StandardCharsets.UTF_8));
+        assertEquals(VALUE, new String(cc1.decode(bytes1), StandardCharsets.UTF_8));
+        this.thrown.expect(RuntimeException.class);
+        cc2.decode(bytes1);
+    }
 }
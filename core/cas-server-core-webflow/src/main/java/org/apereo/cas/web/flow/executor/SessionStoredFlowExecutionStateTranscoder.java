@@ -0,0 +1,123 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.util.EncodingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.webflow.context.ExternalContext;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.core.collection.SharedAttributeMap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link SessionStoredFlowExecutionStateTranscoder} that keeps the bulk of the flow execution state
+ * in the http session, and only hands a small encrypted handle to the client. The session may in turn
+ * be replicated via any of the configured session stores, such as Hazelcast, Redis or MongoDb.
+ * A bounded number of recent states are kept per session so that browser navigation remains functional.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class SessionStoredFlowExecutionStateTranscoder extends CompactFlowExecutionStateTranscoder {
+    /**
+     * Session attribute that holds the flow execution states.
+     */
+    public static final String SESSION_ATTRIBUTE = "casWebflowExecutionStates";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionStoredFlowExecutionStateTranscoder.class);
+
+    private static final int HANDLE_LENGTH = 16;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int maxStates;
+
+    public SessionStoredFlowExecutionStateTranscoder(final CipherExecutor<byte[], byte[]> cipherExecutor,
+                                                     final int maxStates) {
+        super(cipherExecutor);
+        this.maxStates = maxStates;
+    }
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        if (o == null) {
+            return new byte[0];
+        }
+        final byte[] state = serialize(o);
+        final byte[] bytes = new byte[HANDLE_LENGTH];
+        RANDOM.nextBytes(bytes);
+        final String handle = EncodingUtils.hexEncode(bytes);
+
+        final SharedAttributeMap<Object> session = getSessionMap();
+        synchronized (session.getMutex()) {
+            final FlowExecutionStates states = getStates(session, true);
+            states.put(handle, state);
+            session.put(SESSION_ATTRIBUTE, states);
+        }
+        LOGGER.debug("Stored flow execution state of [{}] bytes in session under handle [{}]", state.length, handle);
+        try {
+            return getCipherExecutor().encode(handle.getBytes(StandardCharsets.UTF_8));
+        } catch (final Exception e) {
+            throw new IOException("Unable to encrypt flow execution state handle", e);
+        }
+    }
+
+    @Override
+    public Object decode(final byte[] encoded) throws IOException {
+        final String handle;
+        try {
+            handle = new String(getCipherExecutor().decode(encoded), StandardCharsets.UTF_8);
+        } catch (final Exception e) {
+            throw new IOException("Unable to decrypt flow execution state handle", e);
+        }
+        final SharedAttributeMap<Object> session = getSessionMap();
+        final byte[] state;
+        synchronized (session.getMutex()) {
+            final FlowExecutionStates states = getStates(session, false);
+            state = states == null ? null : states.get(handle);
+        }
+        if (state == null) {
+            throw new IOException("Flow execution state for handle " + handle + " is no longer available in the session");
+        }
+        return deserialize(state);
+    }
+
+    private FlowExecutionStates getStates(final SharedAttributeMap<Object> session, final boolean create) {
+        final Object states = session.get(SESSION_ATTRIBUTE);
+        if (states instanceof FlowExecutionStates) {
+            return (FlowExecutionStates) states;
+        }
+        return create ? new FlowExecutionStates(this.maxStates) : null;
+    }
+
+    private static SharedAttributeMap<Object> getSessionMap() throws IOException {
+        final ExternalContext context = ExternalContextHolder.getExternalContext();
+        if (context == null) {
+            throw new IOException("No external context is available to locate the flow execution state");
+        }
+        return context.getSessionMap();
+    }
+
+    /**
+     * Recent flow execution states, keyed by handle and evicted in insertion order.
+     */
+    private static class FlowExecutionStates extends LinkedHashMap<String, byte[]> {
+        private static final long serialVersionUID = -2287617291372406178L;
+
+        private final int maxStates;
+
+        FlowExecutionStates(final int maxStates) {
+            this.maxStates = maxStates;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, byte[]> eldest) {
+            return size() > this.maxStates;
+        }
+    }
+}
@@ -14,6 +14,25 @@ import java.util.Set;
  */
 public interface CasWebflowEventResolver {
 
+    /**
+     * Relative cost of resolving events, used to consult
+     * inexpensive resolvers before the ones that contact external systems.
+     */
+    enum Cost {
+        /**
+         * Resolves events from configuration, the request or the authentication in memory.
+         */
+        LOW,
+        /**
+         * Resolves events by consulting local resources.
+         */
+        MEDIUM,
+        /**
+         * Resolves events by contacting external systems.
+         */
+        HIGH
+    }
+
     /**
      * Resolve event.
      *
@@ -34,6 +53,26 @@ public interface CasWebflowEventResolver {
         return this.getClass().getSimpleName();
     }
 
+    /**
+     * Gets the relative cost of resolving events.
+     *
+     * @return the cost
+     */
+    default Cost getCost() {
+        return Cost.MEDIUM;
+    }
+
+    /**
+     * Whether this resolver only ever resolves events that activate a multifactor provider.
+     * Such resolvers may be skipped once every available provider is activated. Resolvers that may
+     * produce other events, such as blocking or denying the authentication attempt, must always be consulted.
+     *
+     * @return true if only provider events are resolved
+     */
+    default boolean isResolvingProviderEventsOnly() {
+        return false;
+    }
+
     /**
      * Resolve internal event.
      *
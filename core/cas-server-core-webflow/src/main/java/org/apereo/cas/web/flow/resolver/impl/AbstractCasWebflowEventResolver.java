@@ -1,6 +1,9 @@
 package org.apereo.cas.web.flow.resolver.impl;
 
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.authentication.Authentication;
@@ -14,6 +17,7 @@ import org.apereo.cas.authentication.MessageDescriptor;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
+import org.apereo.cas.services.MultifactorAuthenticationProviderRegistry;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceMultifactorPolicy;
@@ -61,6 +65,7 @@ public abstract class AbstractCasWebflowEventResolver implements CasWebflowEvent
     private static final String SUCCESS_WITH_WARNINGS = "successWithWarnings";
     private static final String RESOLVED_AUTHENTICATION_EVENTS = "resolvedAuthenticationEvents";
     private static final String DEFAULT_MESSAGE_BUNDLE_PREFIX = "authenticationFailure.";
+    private static final long MAX_CACHED_SERVICE_PROVIDERS = 1000;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCasWebflowEventResolver.class);
     
@@ -111,6 +116,13 @@ public abstract class AbstractCasWebflowEventResolver implements CasWebflowEvent
      */
     protected final List<AuthenticationRequestServiceSelectionStrategy> authenticationRequestServiceSelectionStrategies;
 
+    /**
+     * Providers located for the provider ids of service multifactor policies.
+     * Provider beans do not change once the context is refreshed, so the lookup is done once per policy.
+     */
+    private final Cache<Set<String>, Set<MultifactorAuthenticationProvider>> serviceProvidersCache =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SERVICE_PROVIDERS).build();
+
     public AbstractCasWebflowEventResolver(final AuthenticationSystemSupport authenticationSystemSupport,
                                            final CentralAuthenticationService centralAuthenticationService, final ServicesManager servicesManager,
                                            final TicketRegistrySupport ticketRegistrySupport, final CookieGenerator warnCookieGenerator,
@@ -255,10 +267,19 @@ public abstract class AbstractCasWebflowEventResolver implements CasWebflowEvent
     protected Collection<MultifactorAuthenticationProvider> getAuthenticationProviderForService(final RegisteredService service) {
         final RegisteredServiceMultifactorPolicy policy = service.getMultifactorPolicy();
         if (policy != null) {
-            return policy.getMultifactorAuthenticationProviders().stream()
+            final Set<String> providerIds = ImmutableSet.copyOf(policy.getMultifactorAuthenticationProviders());
+            final Set<MultifactorAuthenticationProvider> providers = this.serviceProvidersCache.getIfPresent(providerIds);
+            if (providers != null) {
+                return providers;
+            }
+            final Set<MultifactorAuthenticationProvider> located = providerIds.stream()
                     .map(this::getMultifactorAuthenticationProviderFromApplicationContext)
                     .filter(Optional::isPresent).map(Optional::get)
                     .collect(Collectors.toSet());
+            if (located.size() == providerIds.size()) {
+                this.serviceProvidersCache.put(providerIds, Collections.unmodifiableSet(located));
+            }
+            return located;
         }
         return null;
     }
@@ -490,9 +511,7 @@ public abstract class AbstractCasWebflowEventResolver implements CasWebflowEvent
     protected Optional<MultifactorAuthenticationProvider> getMultifactorAuthenticationProviderFromApplicationContext(final String providerId) {
         try {
             LOGGER.debug("Locating bean definition for [{}]", providerId);
-            return this.applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true).values().stream()
-                    .filter(p -> p.matches(providerId))
-                    .findFirst();
+            return MultifactorAuthenticationProviderRegistry.findProvider(this.applicationContext, providerId);
         } catch (final Exception e) {
             LOGGER.debug("Could not locate [{}] bean id in the application context as an authentication provider.", providerId);
         }
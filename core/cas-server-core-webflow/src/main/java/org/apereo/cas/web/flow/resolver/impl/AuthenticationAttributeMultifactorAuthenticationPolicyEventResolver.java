@@ -100,4 +100,9 @@ public class AuthenticationAttributeMultifactorAuthenticationPolicyEventResolver
     public Event resolveSingle(final RequestContext context) {
         return super.resolveSingle(context);
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.LOW;
+    }
 }
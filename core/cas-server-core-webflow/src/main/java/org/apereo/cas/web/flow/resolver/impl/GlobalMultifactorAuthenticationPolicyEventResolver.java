@@ -97,4 +97,9 @@ public class GlobalMultifactorAuthenticationPolicyEventResolver extends BaseMult
     public Event resolveSingle(final RequestContext context) {
         return super.resolveSingle(context);
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.LOW;
+    }
 }
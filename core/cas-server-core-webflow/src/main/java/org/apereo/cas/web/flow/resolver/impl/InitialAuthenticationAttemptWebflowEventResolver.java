@@ -1,11 +1,13 @@
 package org.apereo.cas.web.flow.resolver.impl;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.authentication.AuthenticationException;
 import org.apereo.cas.authentication.AuthenticationResultBuilder;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.authentication.Credential;
 import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
@@ -19,6 +21,7 @@ import org.apereo.cas.web.flow.resolver.CasWebflowEventResolver;
 import org.apereo.cas.web.support.WebUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.util.CookieGenerator;
 import org.springframework.webflow.execution.Event;
@@ -26,16 +29,23 @@ import org.springframework.webflow.execution.RequestContext;
 
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link InitialAuthenticationAttemptWebflowEventResolver},
  * which handles the initial authentication attempt and calls upon a number of
  * embedded resolvers to produce the next event in the authentication flow.
+ * Embedded resolvers added at an explicit position keep that position; all others are consulted
+ * in the order of their declared {@link CasWebflowEventResolver.Cost}. Once every available multifactor
+ * provider is already represented by a resolved event, resolvers that only resolve provider events
+ * are skipped, while those that may block or deny the attempt are still consulted.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -45,8 +55,13 @@ public class InitialAuthenticationAttemptWebflowEventResolver extends AbstractCa
 
     private final List<CasWebflowEventResolver> orderedResolvers = new ArrayList<>();
 
+    private final Set<CasWebflowEventResolver> positionedResolvers = Collections.newSetFromMap(new IdentityHashMap<>());
+
     private CasWebflowEventResolver selectiveResolver;
 
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
     public InitialAuthenticationAttemptWebflowEventResolver(final AuthenticationSystemSupport authenticationSystemSupport,
                                                             final CentralAuthenticationService centralAuthenticationService,
                                                             final ServicesManager servicesManager, final TicketRegistrySupport ticketRegistrySupport,
@@ -114,27 +129,88 @@ public class InitialAuthenticationAttemptWebflowEventResolver extends AbstractCa
      */
     protected Set<Event> resolveCandidateAuthenticationEvents(final RequestContext context,
                                                               final Service service, final RegisteredService registeredService) {
-        return this.orderedResolvers.stream()
-                .filter(Objects::nonNull)
-                .map(resolver -> resolver.resolveSingle(context))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+        final Set<Event> events = new LinkedHashSet<>();
+        final Set<String> providerIds = getAvailableProviderIds();
+        final Set<String> resolvedIds = new LinkedHashSet<>();
+
+        for (final CasWebflowEventResolver resolver : this.orderedResolvers) {
+            if (resolver.isResolvingProviderEventsOnly() && !providerIds.isEmpty() && resolvedIds.containsAll(providerIds)) {
+                LOGGER.debug("Resolved events [{}] cover all available multifactor providers; skipping [{}]", resolvedIds, resolver.getName());
+                continue;
+            }
+            final Event event = resolveSingle(resolver, context);
+            if (event != null) {
+                events.add(event);
+                resolvedIds.add(event.getId());
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Resolve a single event via the given resolver and record the time it took.
+     *
+     * @param resolver the resolver
+     * @param context  the context
+     * @return the event
+     */
+    protected Event resolveSingle(final CasWebflowEventResolver resolver, final RequestContext context) {
+        final long startTime = System.nanoTime();
+        try {
+            return resolver.resolveSingle(context);
+        } finally {
+            final long elapsed = System.nanoTime() - startTime;
+            LOGGER.debug("Resolver [{}] completed in [{}] ms", resolver.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            if (this.metricRegistry != null) {
+                this.metricRegistry.timer(MetricRegistry.name(InitialAuthenticationAttemptWebflowEventResolver.class, resolver.getName()))
+                        .update(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
     }
 
+    /**
+     * Add a delegate ahead of the first resolver of a higher cost,
+     * leaving resolvers added at an explicit position in place.
+     *
+     * @param r the resolver
+     */
     @Override
     public void addDelegate(final CasWebflowEventResolver r) {
-        orderedResolvers.add(r);
+        if (r != null) {
+            int index = 0;
+            while (index < orderedResolvers.size()) {
+                final CasWebflowEventResolver resolver = orderedResolvers.get(index);
+                if (!positionedResolvers.contains(resolver) && resolver.getCost().compareTo(r.getCost()) > 0) {
+                    break;
+                }
+                index++;
+            }
+            orderedResolvers.add(index, r);
+        }
     }
 
     @Override
     public void addDelegate(final CasWebflowEventResolver r, final int index) {
-        orderedResolvers.add(index, r);
+        if (r != null) {
+            orderedResolvers.add(index, r);
+            positionedResolvers.add(r);
+        }
+    }
+
+    public void setMetricRegistry(final MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
     }
 
     public void setSelectiveResolver(final CasWebflowEventResolver r) {
         this.selectiveResolver = r;
     }
 
+    private Set<String> getAvailableProviderIds() {
+        final Collection<MultifactorAuthenticationProvider> providers =
+                WebUtils.getAvailableMultifactorAuthenticationProviders(this.applicationContext).values();
+        return providers.stream().map(MultifactorAuthenticationProvider::getId).collect(Collectors.toSet());
+    }
+
     private Event returnAuthenticationExceptionEventIfNeeded(final Exception e) {
         final Exception ex;
         if (e instanceof AuthenticationException || e instanceof AbstractTicketException) {
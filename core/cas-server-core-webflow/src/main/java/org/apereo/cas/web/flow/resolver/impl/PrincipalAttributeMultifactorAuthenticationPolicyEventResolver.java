@@ -99,4 +99,9 @@ public class PrincipalAttributeMultifactorAuthenticationPolicyEventResolver exte
     public Event resolveSingle(final RequestContext context) {
         return super.resolveSingle(context);
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.LOW;
+    }
 }
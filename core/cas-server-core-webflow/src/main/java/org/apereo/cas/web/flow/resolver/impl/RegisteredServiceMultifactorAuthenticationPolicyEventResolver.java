@@ -123,4 +123,9 @@ public class RegisteredServiceMultifactorAuthenticationPolicyEventResolver exten
     public Event resolveSingle(final RequestContext context) {
         return super.resolveSingle(context);
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.LOW;
+    }
 }
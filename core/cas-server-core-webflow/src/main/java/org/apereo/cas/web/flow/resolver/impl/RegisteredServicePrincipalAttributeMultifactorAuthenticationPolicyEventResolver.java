@@ -77,4 +77,9 @@ public class RegisteredServicePrincipalAttributeMultifactorAuthenticationPolicyE
     public Event resolveSingle(final RequestContext context) {
         return super.resolveSingle(context);
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.LOW;
+    }
 }
@@ -106,4 +106,9 @@ public class RequestParameterMultifactorAuthenticationPolicyEventResolver extend
     public Event resolveSingle(final RequestContext context) {
         return super.resolveSingle(context);
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.LOW;
+    }
 }
@@ -109,4 +109,14 @@ public class RestEndpointMultifactorAuthenticationPolicyEventResolver extends Ba
     public Event resolveSingle(final RequestContext context) {
         return super.resolveSingle(context);
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.HIGH;
+    }
+
+    @Override
+    public boolean isResolvingProviderEventsOnly() {
+        return true;
+    }
 }
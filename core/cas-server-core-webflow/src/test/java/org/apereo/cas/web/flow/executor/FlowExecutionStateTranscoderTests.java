@@ -0,0 +1,85 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.test.MockExternalContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link FlowExecutionStateTranscoderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class FlowExecutionStateTranscoderTests {
+    private static final CipherExecutor<byte[], byte[]> CIPHER = new WebflowConversationStateCipherExecutor(
+            "1234567890123456",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            "AES", 512, 16);
+
+    private static HashMap<String, Object> getState() {
+        final HashMap<String, Object> state = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            state.put("attribute" + i, "value" + i);
+        }
+        return state;
+    }
+
+    @After
+    public void tearDown() {
+        ExternalContextHolder.setExternalContext(null);
+    }
+
+    @Test
+    public void verifyCompactStateIsDecoded() throws Exception {
+        final CompactFlowExecutionStateTranscoder transcoder = new CompactFlowExecutionStateTranscoder(CIPHER);
+        final Map<String, Object> state = getState();
+        final byte[] encoded = transcoder.encode(state);
+        assertEquals(state, transcoder.decode(encoded));
+    }
+
+    @Test
+    public void verifyGzipStateIsDecoded() throws Exception {
+        final Map<String, Object> state = getState();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(buffer))) {
+            out.writeObject(state);
+        }
+        final CompactFlowExecutionStateTranscoder transcoder = new CompactFlowExecutionStateTranscoder(CIPHER);
+        assertEquals(state, transcoder.decode(CIPHER.encode(buffer.toByteArray())));
+    }
+
+    @Test
+    public void verifyHybridStateIsKeptInSession() throws Exception {
+        ExternalContextHolder.setExternalContext(new MockExternalContext());
+        final SessionStoredFlowExecutionStateTranscoder transcoder = new SessionStoredFlowExecutionStateTranscoder(CIPHER, 2);
+        final Map<String, Object> state = getState();
+
+        final byte[] encoded = transcoder.encode(state);
+        assertTrue(encoded.length < new CompactFlowExecutionStateTranscoder(CIPHER).encode(state).length);
+        assertEquals(state, transcoder.decode(encoded));
+        assertTrue(ExternalContextHolder.getExternalContext().getSessionMap()
+                .contains(SessionStoredFlowExecutionStateTranscoder.SESSION_ATTRIBUTE));
+    }
+
+    @Test(expected = IOException.class)
+    public void verifyHybridStateIsEvicted() throws Exception {
+        ExternalContextHolder.setExternalContext(new MockExternalContext());
+        final SessionStoredFlowExecutionStateTranscoder transcoder = new SessionStoredFlowExecutionStateTranscoder(CIPHER, 2);
+        final byte[] encoded = transcoder.encode(getState());
+        transcoder.encode(getState());
+        transcoder.encode(getState());
+        transcoder.decode(encoded);
+    }
+}
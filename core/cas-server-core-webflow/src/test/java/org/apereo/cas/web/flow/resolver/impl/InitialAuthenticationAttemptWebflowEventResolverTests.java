@@ -0,0 +1,145 @@
+package org.apereo.cas.web.flow.resolver.impl;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apereo.cas.services.AbstractMultifactorAuthenticationProvider;
+import org.apereo.cas.web.flow.resolver.CasWebflowEventResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.webflow.execution.Event;
+import org.springframework.webflow.execution.RequestContext;
+import org.springframework.webflow.test.MockRequestContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link InitialAuthenticationAttemptWebflowEventResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class InitialAuthenticationAttemptWebflowEventResolverTests {
+    private final List<String> invocations = new ArrayList<>();
+
+    private InitialAuthenticationAttemptWebflowEventResolver resolver;
+
+    @Before
+    public void setup() {
+        final TestMultifactorAuthenticationProvider provider = new TestMultifactorAuthenticationProvider();
+        provider.setId("mfa-test");
+        final StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("testProvider", provider);
+        applicationContext.refresh();
+
+        this.resolver = new InitialAuthenticationAttemptWebflowEventResolver(null, null, null, null, null, null, null);
+        this.resolver.applicationContext = applicationContext;
+    }
+
+    @Test
+    public void verifyResolversAreConsultedByCost() {
+        resolver.addDelegate(new TestResolver("remote", CasWebflowEventResolver.Cost.HIGH, null));
+        resolver.addDelegate(new TestResolver("local", CasWebflowEventResolver.Cost.MEDIUM, null));
+        resolver.addDelegate(new TestResolver("config", CasWebflowEventResolver.Cost.LOW, null));
+        final Set<Event> events = resolver.resolveCandidateAuthenticationEvents(new MockRequestContext(), null, null);
+        assertTrue(events.isEmpty());
+        assertEquals(3, invocations.size());
+        assertEquals("config", invocations.get(0));
+        assertEquals("local", invocations.get(1));
+        assertEquals("remote", invocations.get(2));
+    }
+
+    @Test
+    public void verifyResolutionStopsOnceProvidersAreResolved() {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        resolver.setMetricRegistry(metricRegistry);
+        resolver.addDelegate(new TestResolver("remote", CasWebflowEventResolver.Cost.HIGH, "mfa-test", true));
+        resolver.addDelegate(new TestResolver("config", CasWebflowEventResolver.Cost.LOW, "mfa-test"));
+        final Set<Event> events = resolver.resolveCandidateAuthenticationEvents(new MockRequestContext(), null, null);
+        assertEquals(1, events.size());
+        assertEquals(Collections.singletonList("config"), invocations);
+        assertEquals(1, metricRegistry.timer(MetricRegistry.name(InitialAuthenticationAttemptWebflowEventResolver.class, "config")).getCount());
+        assertFalse(metricRegistry.getTimers().containsKey(MetricRegistry.name(InitialAuthenticationAttemptWebflowEventResolver.class, "remote")));
+    }
+
+    @Test
+    public void verifyPositionedResolverIsConsultedFirst() {
+        resolver.addDelegate(new TestResolver("config", CasWebflowEventResolver.Cost.LOW, "mfa-test"));
+        resolver.addDelegate(new TestResolver("risk", CasWebflowEventResolver.Cost.HIGH, "mfa-test"), 0);
+        resolver.addDelegate(new TestResolver("local", CasWebflowEventResolver.Cost.LOW, null));
+        resolver.resolveCandidateAuthenticationEvents(new MockRequestContext(), null, null);
+        assertEquals(Arrays.asList("risk", "config", "local"), invocations);
+    }
+
+    @Test
+    public void verifyResolversProducingOtherEventsAreNotSkipped() {
+        resolver.addDelegate(new TestResolver("config", CasWebflowEventResolver.Cost.LOW, "mfa-test"));
+        resolver.addDelegate(new TestResolver("risk", CasWebflowEventResolver.Cost.HIGH, "block"));
+        final Set<Event> events = resolver.resolveCandidateAuthenticationEvents(new MockRequestContext(), null, null);
+        assertEquals(Arrays.asList("config", "risk"), invocations);
+        assertEquals(2, events.size());
+    }
+
+    private class TestResolver implements CasWebflowEventResolver {
+        private final String name;
+        private final Cost cost;
+        private final String eventId;
+        private final boolean providerEventsOnly;
+
+        TestResolver(final String name, final Cost cost, final String eventId) {
+            this(name, cost, eventId, false);
+        }
+
+        TestResolver(final String name, final Cost cost, final String eventId, final boolean providerEventsOnly) {
+            this.name = name;
+            this.cost = cost;
+            this.eventId = eventId;
+            this.providerEventsOnly = providerEventsOnly;
+        }
+
+        @Override
+        public Set<Event> resolve(final RequestContext context) {
+            return resolveInternal(context);
+        }
+
+        @Override
+        public Event resolveSingle(final RequestContext context) {
+            invocations.add(this.name);
+            return this.eventId == null ? null : new Event(this, this.eventId);
+        }
+
+        @Override
+        public Set<Event> resolveInternal(final RequestContext context) {
+            return Collections.singleton(resolveSingle(context));
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public Cost getCost() {
+            return this.cost;
+        }
+
+        @Override
+        public boolean isResolvingProviderEventsOnly() {
+            return this.providerEventsOnly;
+        }
+    }
+
+    private static class TestMultifactorAuthenticationProvider extends AbstractMultifactorAuthenticationProvider {
+        private static final long serialVersionUID = 2148232137651394785L;
+
+        @Override
+        protected boolean isAvailable() {
+            return true;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.apereo.cas.audit.config;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.audit.entity.AuditTrailEntity;
+import org.apereo.cas.audit.spi.AsynchronousAuditTrailManager;
+import org.apereo.cas.audit.spi.BatchingJdbcAuditTrailManager;
 import org.apereo.cas.audit.spi.DefaultDelegatingAuditTrailManager;
 import org.apereo.cas.audit.spi.DelegatingAuditTrailManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
@@ -18,6 +20,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -43,10 +46,8 @@ public class CasSupportJdbcAuditConfiguration {
 
     @Bean
     public DelegatingAuditTrailManager auditTrailManager() {
-        final AuditProperties.Jdbc jdbc = casProperties.getAudit().getJdbc();
-        final JdbcAuditTrailManager t = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate());
-        t.setCleanupCriteria(auditCleanupCriteria());
-        t.setDataSource(inspektrAuditTrailDataSource());
+        final AuditProperties audit = casProperties.getAudit();
+        final AuditProperties.Jdbc jdbc = audit.getJdbc();
         String tableName = AuditTrailEntity.AUDIT_TRAIL_TABLE_NAME;
         if (StringUtils.isNotBlank(jdbc.getDefaultSchema())) {
             tableName = jdbc.getDefaultSchema() + '.' + tableName;
@@ -54,6 +55,16 @@ public class CasSupportJdbcAuditConfiguration {
         if (StringUtils.isNotBlank(jdbc.getDefaultCatalog())) {
             tableName = jdbc.getDefaultCatalog() + '.' + tableName;
         }
+
+        if (audit.getAsynchronous().isEnabled()) {
+            final BatchingJdbcAuditTrailManager t = new BatchingJdbcAuditTrailManager(inspektrAuditTransactionTemplate(),
+                    new JdbcTemplate(inspektrAuditTrailDataSource()), tableName);
+            return new AsynchronousAuditTrailManager(new DefaultDelegatingAuditTrailManager(t), audit.getAsynchronous());
+        }
+
+        final JdbcAuditTrailManager t = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate());
+        t.setCleanupCriteria(auditCleanupCriteria());
+        t.setDataSource(inspektrAuditTrailDataSource());
         t.setTableName(tableName);
         return new DefaultDelegatingAuditTrailManager(t);
     }
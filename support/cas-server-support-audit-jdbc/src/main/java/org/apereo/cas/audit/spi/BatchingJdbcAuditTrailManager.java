@@ -0,0 +1,78 @@
+package org.apereo.cas.audit.spi;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * This is {@link BatchingJdbcAuditTrailManager} that writes audit records
+ * into the audit table using JDBC batch inserts, in a single transaction per batch.
+ * The table layout matches that of the Inspektr JDBC audit trail manager.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class BatchingJdbcAuditTrailManager implements BatchingAuditTrailManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingJdbcAuditTrailManager.class);
+
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+            + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int DEFAULT_COLUMN_LENGTH = 100;
+
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+
+    private int columnLength = DEFAULT_COLUMN_LENGTH;
+
+    public BatchingJdbcAuditTrailManager(final TransactionTemplate transactionTemplate,
+                                         final JdbcTemplate jdbcTemplate,
+                                         final String tableName) {
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertSql = String.format(INSERT_SQL_TEMPLATE, tableName);
+    }
+
+    @Override
+    public void record(final AuditActionContext auditActionContext) {
+        record(Collections.singletonList(auditActionContext));
+    }
+
+    @Override
+    public void record(final Collection<AuditActionContext> auditActionContexts) {
+        if (auditActionContexts.isEmpty()) {
+            return;
+        }
+        this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                final int[][] results = jdbcTemplate.batchUpdate(insertSql, auditActionContexts, auditActionContexts.size(),
+                        (ps, context) -> {
+                            ps.setString(1, StringUtils.abbreviate(context.getPrincipal(), columnLength));
+                            ps.setString(2, context.getClientIpAddress());
+                            ps.setString(3, context.getServerIpAddress());
+                            ps.setString(4, StringUtils.abbreviate(context.getResourceOperatedUpon(), columnLength));
+                            ps.setString(5, context.getActionPerformed());
+                            ps.setString(6, context.getApplicationCode());
+                            ps.setTimestamp(7, new Timestamp(context.getWhenActionWasPerformed().getTime()));
+                        });
+                LOGGER.debug("Recorded [{}] audit record(s) in [{}] batch(es)", auditActionContexts.size(), results.length);
+            }
+        });
+    }
+
+    public void setColumnLength(final int columnLength) {
+        this.columnLength = columnLength;
+    }
+}
@@ -18,6 +18,7 @@ import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationP
 import org.apereo.cas.services.DefaultMultifactorAuthenticationProviderBypass;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.MultifactorAuthenticationProviderBypass;
+import org.apereo.cas.services.MultifactorAuthenticationProviderHealthRegistry;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +43,10 @@ public class AuthyAuthenticationEventExecutionPlanConfiguration implements Authe
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier(MultifactorAuthenticationProviderHealthRegistry.BEAN_NAME)
+    private MultifactorAuthenticationProviderHealthRegistry multifactorAuthenticationProviderHealthRegistry;
+
     @Autowired
     @Qualifier("servicesManager")
     private ServicesManager servicesManager;
@@ -86,6 +91,7 @@ public class AuthyAuthenticationEventExecutionPlanConfiguration implements Authe
         final AuthyMultifactorAuthenticationProvider p = new AuthyMultifactorAuthenticationProvider();
         p.setBypassEvaluator(authyBypassEvaluator());
         p.setGlobalFailureMode(casProperties.getAuthn().getMfa().getGlobalFailureMode());
+        p.setHealthRegistry(multifactorAuthenticationProviderHealthRegistry);
         p.setOrder(casProperties.getAuthn().getMfa().getAuthy().getRank());
         p.setId(casProperties.getAuthn().getMfa().getAuthy().getId());
         return p;
@@ -17,6 +17,7 @@ import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationP
 import org.apereo.cas.services.DefaultMultifactorAuthenticationProviderBypass;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.MultifactorAuthenticationProviderBypass;
+import org.apereo.cas.services.MultifactorAuthenticationProviderHealthRegistry;
 import org.apereo.cas.services.ServicesManager;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +44,10 @@ public class AzureAuthenticatorAuthenticationEventExecutionPlanConfiguration imp
 
     @Autowired
     private CasConfigurationProperties casProperties;
+
+    @Autowired(required = false)
+    @Qualifier(MultifactorAuthenticationProviderHealthRegistry.BEAN_NAME)
+    private MultifactorAuthenticationProviderHealthRegistry multifactorAuthenticationProviderHealthRegistry;
     
     @Autowired
     @Qualifier("servicesManager")
@@ -100,6 +105,7 @@ public class AzureAuthenticatorAuthenticationEventExecutionPlanConfiguration imp
         final AzureAuthenticatorMultifactorAuthenticationProvider p = new AzureAuthenticatorMultifactorAuthenticationProvider();
         p.setBypassEvaluator(azureBypassEvaluator());
         p.setGlobalFailureMode(casProperties.getAuthn().getMfa().getGlobalFailureMode());
+        p.setHealthRegistry(multifactorAuthenticationProviderHealthRegistry);
         p.setOrder(azure.getRank());
         p.setId(azure.getId());
         return p;
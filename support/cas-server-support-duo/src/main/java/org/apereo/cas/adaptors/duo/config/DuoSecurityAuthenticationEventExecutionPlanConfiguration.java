@@ -17,6 +17,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProperties;
 import org.apereo.cas.services.DefaultMultifactorAuthenticationProviderBypass;
 import org.apereo.cas.services.DefaultVariegatedMultifactorAuthenticationProvider;
+import org.apereo.cas.services.MultifactorAuthenticationProviderHealthRegistry;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.VariegatedMultifactorAuthenticationProvider;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
@@ -70,6 +71,10 @@ public class DuoSecurityAuthenticationEventExecutionPlanConfiguration implements
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier(MultifactorAuthenticationProviderHealthRegistry.BEAN_NAME)
+    private MultifactorAuthenticationProviderHealthRegistry multifactorAuthenticationProviderHealthRegistry;
+
     @Autowired
     @Qualifier("servicesManager")
     private ServicesManager servicesManager;
@@ -95,6 +100,7 @@ public class DuoSecurityAuthenticationEventExecutionPlanConfiguration implements
                     final BasicDuoAuthenticationService s = new BasicDuoAuthenticationService(duo, httpClient);
                     final DefaultDuoMultifactorAuthenticationProvider pWeb = new DefaultDuoMultifactorAuthenticationProvider(s);
                     pWeb.setGlobalFailureMode(casProperties.getAuthn().getMfa().getGlobalFailureMode());
+                    pWeb.setHealthRegistry(multifactorAuthenticationProviderHealthRegistry);
                     pWeb.setBypassEvaluator(new DefaultMultifactorAuthenticationProviderBypass(duo.getBypass()));
                     pWeb.setOrder(duo.getRank());
                     pWeb.setId(duo.getId());
@@ -0,0 +1,155 @@
+package org.apereo.cas.api;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.support.events.dao.CasEvent;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * This is {@link AuthenticationRiskProfile} that summarizes the recent authentication
+ * history of a single principal. Rather than keeping individual events, the profile
+ * keeps daily histograms of client ip addresses, user agents, geolocations and
+ * hours of the day, so that all risk calculators may share a single profile per evaluation
+ * and the profile may be updated incrementally as new authentication events arrive.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class AuthenticationRiskProfile {
+    private static final int HOURS_IN_DAY = 24;
+
+    private final String principal;
+    private final long daysInRecentHistory;
+    private final NavigableMap<LocalDate, DailySummary> summaries = new TreeMap<>();
+
+    public AuthenticationRiskProfile(final String principal, final long daysInRecentHistory) {
+        this.principal = principal;
+        this.daysInRecentHistory = daysInRecentHistory;
+    }
+
+    /**
+     * Record the authentication event into the profile,
+     * and discard summaries that have fallen out of recent history.
+     *
+     * @param event the event
+     */
+    public synchronized void add(final CasEvent event) {
+        final ZonedDateTime creationTime = event.getCreationTime();
+        final LocalDate date = creationTime.toLocalDate();
+        if (date.isBefore(getCutOffDate())) {
+            return;
+        }
+        this.summaries.computeIfAbsent(date, d -> new DailySummary()).add(event, creationTime.getHour());
+        this.summaries.headMap(getCutOffDate(), false).clear();
+    }
+
+    /**
+     * Gets the total number of authentication events in recent history.
+     *
+     * @return the count
+     */
+    public long getEventCount() {
+        return count(s -> s.count);
+    }
+
+    /**
+     * Gets the number of authentication events from the given client ip address.
+     *
+     * @param ipAddress the ip address
+     * @return the count
+     */
+    public long getIpAddressCount(final String ipAddress) {
+        final String key = normalize(ipAddress);
+        return count(s -> s.ipAddresses.getOrDefault(key, 0L));
+    }
+
+    /**
+     * Gets the number of authentication events from the given user agent.
+     *
+     * @param userAgent the user agent
+     * @return the count
+     */
+    public long getUserAgentCount(final String userAgent) {
+        final String key = normalize(userAgent);
+        return count(s -> s.userAgents.getOrDefault(key, 0L));
+    }
+
+    /**
+     * Gets the number of authentication events from the given geolocation.
+     *
+     * @param location the location
+     * @return the count
+     */
+    public long getGeoLocationCount(final GeoLocationRequest location) {
+        final String key = getGeoLocationKey(location);
+        return count(s -> s.geoLocations.getOrDefault(key, 0L));
+    }
+
+    /**
+     * Gets the number of authentication events that took place in any of the given hours of the day.
+     *
+     * @param hours the hours of the day
+     * @return the count
+     */
+    public long getHourOfDayCount(final Set<Integer> hours) {
+        return count(s -> hours.stream().mapToLong(h -> s.hoursOfDay[Math.floorMod(h, HOURS_IN_DAY)]).sum());
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.NO_CLASS_NAME_STYLE)
+                .append("principal", principal)
+                .append("eventCount", getEventCount())
+                .toString();
+    }
+
+    private synchronized long count(final ToLongFunction<DailySummary> function) {
+        return this.summaries.tailMap(getCutOffDate(), true).values().stream().mapToLong(function).sum();
+    }
+
+    private LocalDate getCutOffDate() {
+        return LocalDate.now().minusDays(this.daysInRecentHistory);
+    }
+
+    private static String normalize(final String value) {
+        return StringUtils.defaultString(value).toLowerCase(Locale.ROOT);
+    }
+
+    private static String getGeoLocationKey(final GeoLocationRequest location) {
+        return StringUtils.defaultString(location.getLatitude()) + ',' + StringUtils.defaultString(location.getLongitude());
+    }
+
+    /**
+     * Histograms of authentication events that took place on a given day.
+     */
+    private static class DailySummary {
+        private final Map<String, Long> ipAddresses = new HashMap<>();
+        private final Map<String, Long> userAgents = new HashMap<>();
+        private final Map<String, Long> geoLocations = new HashMap<>();
+        private final long[] hoursOfDay = new long[HOURS_IN_DAY];
+        private long count;
+
+        void add(final CasEvent event, final int hour) {
+            this.count++;
+            this.ipAddresses.merge(normalize(event.getClientIpAddress()), 1L, Long::sum);
+            this.userAgents.merge(normalize(event.getAgent()), 1L, Long::sum);
+            this.geoLocations.merge(getGeoLocationKey(event.getGeoLocation()), 1L, Long::sum);
+            this.hoursOfDay[hour]++;
+        }
+    }
+}
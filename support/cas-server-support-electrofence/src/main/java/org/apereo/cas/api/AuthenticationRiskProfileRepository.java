@@ -0,0 +1,19 @@
+package org.apereo.cas.api;
+
+/**
+ * This is {@link AuthenticationRiskProfileRepository} that provides
+ * the {@link AuthenticationRiskProfile} of a principal to risk calculators.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public interface AuthenticationRiskProfileRepository {
+
+    /**
+     * Gets the risk profile for the given principal.
+     *
+     * @param principal the principal
+     * @return the profile, never null
+     */
+    AuthenticationRiskProfile get(String principal);
+}
@@ -1,12 +1,12 @@
 package org.apereo.cas.impl.calcs;
 
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.support.events.dao.CasEvent;
-import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.web.support.WebUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.slf4j.Logger;
@@ -16,7 +16,6 @@ import org.springframework.beans.factory.annotation.Qualifier;
 
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
-import java.util.Collection;
 
 /**
  * This is {@link GeoLocationAuthenticationRequestRiskCalculator}.
@@ -34,37 +33,38 @@ public class GeoLocationAuthenticationRequestRiskCalculator extends BaseAuthenti
     @Qualifier("geoLocationService")
     protected GeoLocationService geoLocationService;
 
-    public GeoLocationAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository) {
-        super(casEventRepository);
+    public GeoLocationAuthenticationRequestRiskCalculator(final AuthenticationRiskProfileRepository authenticationRiskProfileRepository) {
+        super(authenticationRiskProfileRepository);
     }
 
     @Override
     protected BigDecimal calculateScore(final HttpServletRequest request, final Authentication authentication,
-                                        final RegisteredService service, final Collection<CasEvent> events) {
+                                        final RegisteredService service, final AuthenticationRiskProfile profile) {
+        final long total = profile.getEventCount();
 
         final GeoLocationRequest loc = WebUtils.getHttpServletRequestGeoLocation();
         if (loc.isValid()) {
             LOGGER.debug("Filtering authentication events for geolocation [{}]", loc);
-            final long count = events.stream().filter(e -> e.getGeoLocation().equals(loc)).count();
+            final long count = profile.getGeoLocationCount(loc);
             LOGGER.debug("Total authentication events found for [{}]: [{}]", loc, count);
-            if (count == events.size()) {
+            if (count == total) {
                 LOGGER.debug("Principal [{}] has always authenticated from [{}]", authentication.getPrincipal(), loc);
                 return LOWEST_RISK_SCORE;
             }
-            return getFinalAveragedScore(count, events.size());
+            return getFinalAveragedScore(count, total);
         } else {
             final String remoteAddr = ClientInfoHolder.getClientInfo().getClientIpAddress();
             LOGGER.debug("Filtering authentication events for location based on ip [{}]", remoteAddr);
             final GeoLocationResponse response = this.geoLocationService.locate(remoteAddr);
             if (response != null) {
-                final long count = events.stream().filter(e -> e.getGeoLocation().equals(
-                        new GeoLocationRequest(response.getLatitude(), response.getLongitude()))).count();
+                final long count = profile.getGeoLocationCount(
+                        new GeoLocationRequest(response.getLatitude(), response.getLongitude()));
                 LOGGER.debug("Total authentication events found for location of [{}]: [{}]", remoteAddr, count);
-                if (count == events.size()) {
+                if (count == total) {
                     LOGGER.debug("Principal [{}] has always authenticated from [{}]", authentication.getPrincipal(), loc);
                     return LOWEST_RISK_SCORE;
                 }
-                return getFinalAveragedScore(count, events.size());
+                return getFinalAveragedScore(count, total);
             }
         }
         LOGGER.debug("Request does not contain enough geolocation data");
@@ -0,0 +1,107 @@
+package org.apereo.cas.impl.profile;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.apereo.cas.util.DateTimeUtils;
+import org.apereo.cas.web.support.WebUtils;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link DefaultAuthenticationRiskProfileRepository} that keeps risk profiles in memory.
+ * A profile is built from the {@link CasEventRepository} the first time it is requested,
+ * and is then kept up-to-date incrementally as ticket-granting tickets are created on this node.
+ * Profiles expire after a configurable period so that authentication events recorded
+ * by other nodes sharing the same event repository are eventually reflected.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class DefaultAuthenticationRiskProfileRepository implements AuthenticationRiskProfileRepository {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAuthenticationRiskProfileRepository.class);
+
+    private static final String EVENT_TYPE = CasTicketGrantingTicketCreatedEvent.class.getName();
+
+    private final CasEventRepository casEventRepository;
+    private final long daysInRecentHistory;
+    private final LoadingCache<String, AuthenticationRiskProfile> profiles;
+
+    public DefaultAuthenticationRiskProfileRepository(final CasEventRepository casEventRepository,
+                                                      final long daysInRecentHistory,
+                                                      final long maximumSize,
+                                                      final long expireAfterWriteSeconds) {
+        this.casEventRepository = casEventRepository;
+        this.daysInRecentHistory = daysInRecentHistory;
+        this.profiles = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .build(new CacheLoader<String, AuthenticationRiskProfile>() {
+                    @Override
+                    public AuthenticationRiskProfile load(final String principal) {
+                        return loadProfile(principal);
+                    }
+                });
+    }
+
+    @Override
+    public AuthenticationRiskProfile get(final String principal) {
+        return this.profiles.getUnchecked(getProfileKey(principal));
+    }
+
+    /**
+     * Update the profile of the principal, if one is already loaded, with the newly created ticket-granting ticket.
+     * Profiles that are not loaded yet will pick up the event from the event repository when requested.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasTicketGrantingTicketCreatedEvent(final CasTicketGrantingTicketCreatedEvent event) {
+        final String principal = event.getTicketGrantingTicket().getAuthentication().getPrincipal().getId();
+        final AuthenticationRiskProfile profile = this.profiles.getIfPresent(getProfileKey(principal));
+        if (profile != null) {
+            final CasEvent dto = new CasEvent();
+            dto.setType(EVENT_TYPE);
+            dto.setPrincipalId(principal);
+            dto.putCreationTime(DateTimeUtils.zonedDateTimeOf(event.getTimestamp()));
+            final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
+            if (clientInfo != null) {
+                dto.putClientIpAddress(clientInfo.getClientIpAddress());
+            }
+            dto.putAgent(WebUtils.getHttpServletRequestUserAgent());
+            dto.putGeoLocation(WebUtils.getHttpServletRequestGeoLocation());
+            profile.add(dto);
+            LOGGER.debug("Updated authentication risk profile [{}]", profile);
+        }
+    }
+
+    /**
+     * Profiles are keyed the way the event repository matches principals, which is regardless of case,
+     * so that the same user is never tracked by more than one profile.
+     */
+    private static String getProfileKey(final String principal) {
+        return principal == null ? "" : principal.toLowerCase(Locale.ROOT);
+    }
+
+    private AuthenticationRiskProfile loadProfile(final String principal) {
+        final ZonedDateTime date = ZonedDateTime.now().minusDays(this.daysInRecentHistory);
+        LOGGER.debug("Building authentication risk profile for [{}] from events of type [{}] since [{}]", principal, EVENT_TYPE, date);
+        final Collection<CasEvent> events = this.casEventRepository.getEventsOfTypeForPrincipal(EVENT_TYPE, principal, date);
+        final AuthenticationRiskProfile profile = new AuthenticationRiskProfile(principal, this.daysInRecentHistory);
+        events.forEach(profile::add);
+        return profile;
+    }
+}
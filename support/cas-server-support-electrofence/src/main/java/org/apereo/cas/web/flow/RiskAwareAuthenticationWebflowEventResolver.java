@@ -106,4 +106,9 @@ public class RiskAwareAuthenticationWebflowEventResolver extends AbstractCasWebf
         LOGGER.debug("Authentication request for [{}] is below the risk threshold", authentication.getPrincipal());
         return null;
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.HIGH;
+    }
 }
@@ -1,9 +1,11 @@
 package org.apereo.cas;
 
+import org.apereo.cas.api.AuthenticationRiskProfileTests;
 import org.apereo.cas.impl.calcs.DateTimeAuthenticationRequestRiskCalculatorTests;
 import org.apereo.cas.impl.calcs.GeoLocationAuthenticationRequestRiskCalculatorTests;
 import org.apereo.cas.impl.calcs.IpAddressAuthenticationRequestRiskCalculatorTests;
 import org.apereo.cas.impl.calcs.UserAgentAuthenticationRequestRiskCalculatorTests;
+import org.apereo.cas.impl.profile.DefaultAuthenticationRiskProfileRepositoryTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -16,6 +18,8 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({DateTimeAuthenticationRequestRiskCalculatorTests.class,
         GeoLocationAuthenticationRequestRiskCalculatorTests.class,
         IpAddressAuthenticationRequestRiskCalculatorTests.class,
-        UserAgentAuthenticationRequestRiskCalculatorTests.class})
+        UserAgentAuthenticationRequestRiskCalculatorTests.class,
+        AuthenticationRiskProfileTests.class,
+        DefaultAuthenticationRiskProfileRepositoryTests.class})
 public class AllTestsSuite {
 }
@@ -0,0 +1,54 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AuthenticationRiskProfileTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class AuthenticationRiskProfileTests {
+
+    private static CasEvent getEvent(final ZonedDateTime creationTime, final String ip, final String agent) {
+        final CasEvent dto = new CasEvent();
+        dto.setPrincipalId("casuser");
+        dto.putCreationTime(creationTime);
+        dto.putClientIpAddress(ip);
+        dto.putAgent(agent);
+        dto.putGeoLocation(new GeoLocationRequest(40.0, -70.0));
+        return dto;
+    }
+
+    @Test
+    public void verifyProfileSummarizesEvents() {
+        final AuthenticationRiskProfile profile = new AuthenticationRiskProfile("casuser", 30);
+        final ZonedDateTime now = ZonedDateTime.now().withHour(10);
+        profile.add(getEvent(now, "1.2.3.4", "Firefox"));
+        profile.add(getEvent(now.minusDays(2), "1.2.3.4", "Chrome"));
+        profile.add(getEvent(now.minusDays(3).withHour(23), "5.6.7.8", "firefox"));
+
+        assertEquals(3, profile.getEventCount());
+        assertEquals(2, profile.getIpAddressCount("1.2.3.4"));
+        assertEquals(2, profile.getUserAgentCount("FIREFOX"));
+        assertEquals(3, profile.getGeoLocationCount(new GeoLocationRequest(40.0, -70.0)));
+        assertEquals(2, profile.getHourOfDayCount(new HashSet<>(Arrays.asList(10, 11))));
+        assertEquals(1, profile.getHourOfDayCount(new HashSet<>(Arrays.asList(-1, 0))));
+    }
+
+    @Test
+    public void verifyOldEventsAreIgnored() {
+        final AuthenticationRiskProfile profile = new AuthenticationRiskProfile("casuser", 5);
+        profile.add(getEvent(ZonedDateTime.now().minusDays(10), "1.2.3.4", "Firefox"));
+        profile.add(getEvent(ZonedDateTime.now(), "1.2.3.4", "Firefox"));
+        assertEquals(1, profile.getEventCount());
+    }
+}
@@ -0,0 +1,37 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.InMemoryCasEventRepository;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DefaultAuthenticationRiskProfileRepositoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class DefaultAuthenticationRiskProfileRepositoryTests {
+
+    @Test
+    public void verifyProfilesAreSharedRegardlessOfCase() {
+        final InMemoryCasEventRepository events = new InMemoryCasEventRepository(100, 10, 3600);
+        final CasEvent event = new CasEvent();
+        event.setType(CasTicketGrantingTicketCreatedEvent.class.getName());
+        event.setPrincipalId("casuser");
+        event.putCreationTime(ZonedDateTime.now());
+        event.putTimestamp(System.currentTimeMillis());
+        events.save(event);
+
+        final DefaultAuthenticationRiskProfileRepository repository =
+                new DefaultAuthenticationRiskProfileRepository(events, 30, 100, 3600);
+        final AuthenticationRiskProfile profile = repository.get("CasUser");
+        assertEquals(1, profile.getEventCount());
+        assertSame(profile, repository.get("casuser"));
+    }
+}
@@ -1,36 +1,206 @@
 package org.apereo.cas.support.events.dao;
 
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
- * This is {@link InMemoryCasEventRepository}.
+ * This is {@link InMemoryCasEventRepository} that keeps events in memory,
+ * indexed by principal and by event type. Events of each principal are kept
+ * in a time-ordered, capped history so that lookups for a given principal
+ * only visit the events of that principal that fall within the requested window.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 public class InMemoryCasEventRepository extends AbstractCasEventRepository {
-    private final LoadingCache<String, CasEvent> cache;
+    private final Cache<String, PrincipalEventHistory> cache;
+    private final ConcurrentHashMap<String, Set<String>> principalsByType = new ConcurrentHashMap<>();
+    private final int maxEventsPerPrincipal;
+    private final long expireAfterWriteSeconds;
 
-    public InMemoryCasEventRepository(final LoadingCache<String, CasEvent> cache) {
-        this.cache = cache;
+    public InMemoryCasEventRepository(final long maxPrincipals, final int maxEventsPerPrincipal,
+                                      final long expireAfterWriteSeconds) {
+        this.maxEventsPerPrincipal = maxEventsPerPrincipal;
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxPrincipals)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .build();
     }
 
     @Override
     public void save(final CasEvent event) {
-        cache.put(UUID.randomUUID().toString(), event);
+        final String key = getPrincipalKey(event.getPrincipalId());
+        final PrincipalEventHistory history = this.cache.asMap().computeIfAbsent(key, k -> new PrincipalEventHistory());
+        history.add(event, this.maxEventsPerPrincipal, getExpirationTime());
+        /*
+         * Re-insert the history so the entry counts as written and does not expire
+         * while the principal remains active.
+         */
+        this.cache.put(key, history);
+        this.principalsByType.computeIfAbsent(event.getType(), t -> ConcurrentHashMap.newKeySet()).add(key);
     }
 
     @Override
     public Collection<CasEvent> load() {
-        return cache.asMap().values();
+        final List<CasEvent> events = new ArrayList<>();
+        this.cache.asMap().values().forEach(h -> events.addAll(h.find(null, e -> true)));
+        return events;
     }
-    
+
+    @Override
+    public Collection<CasEvent> load(final ZonedDateTime dateTime) {
+        final List<CasEvent> events = new ArrayList<>();
+        this.cache.asMap().values().forEach(h -> events.addAll(h.find(dateTime, e -> true)));
+        return events;
+    }
+
     @Override
     public Collection<CasEvent> getEventsForPrincipal(final String id) {
-        return cache.asMap().values().stream().filter(e -> e.getPrincipalId().equalsIgnoreCase(id)).collect(Collectors.toSet());
+        return findEventsForPrincipal(id, null, e -> true);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        return findEventsForPrincipal(id, dateTime, e -> true);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
+        return findEventsForPrincipal(principal, null, e -> e.getType().equals(type));
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal, final ZonedDateTime dateTime) {
+        return findEventsForPrincipal(principal, dateTime, e -> e.getType().equals(type));
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfType(final String type) {
+        return findEventsOfType(type, null);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
+        return findEventsOfType(type, dateTime);
+    }
+
+    private Collection<CasEvent> findEventsForPrincipal(final String principal, final ZonedDateTime cutoff,
+                                                        final Predicate<CasEvent> filter) {
+        final PrincipalEventHistory history = this.cache.getIfPresent(getPrincipalKey(principal));
+        if (history == null) {
+            return Collections.emptyList();
+        }
+        return history.find(cutoff, filter);
+    }
+
+    private Collection<CasEvent> findEventsOfType(final String type, final ZonedDateTime cutoff) {
+        final Set<String> principals = this.principalsByType.get(type);
+        if (principals == null) {
+            return Collections.emptyList();
+        }
+        final List<CasEvent> events = new ArrayList<>();
+        final Iterator<String> it = principals.iterator();
+        while (it.hasNext()) {
+            final PrincipalEventHistory history = this.cache.getIfPresent(it.next());
+            if (history == null) {
+                it.remove();
+            } else {
+                events.addAll(history.find(cutoff, e -> e.getType().equals(type)));
+            }
+        }
+        return events;
+    }
+
+    private long getExpirationTime() {
+        return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(this.expireAfterWriteSeconds);
+    }
+
+    private static String getPrincipalKey(final String principal) {
+        return principal == null ? "" : principal.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Time-ordered, capped history of events that belong to a single principal.
+     * Entries keep the parsed creation time of each event to avoid re-parsing
+     * the event properties on every lookup.
+     */
+    private static class PrincipalEventHistory {
+        private final LinkedList<Entry> entries = new LinkedList<>();
+
+        /**
+         * Add the event in creation-time order, removing expired events and
+         * evicting the oldest event if the history is full.
+         *
+         * @param event          the event
+         * @param maxEvents      the max events
+         * @param expirationTime the time in milliseconds after which the event expires
+         */
+        synchronized void add(final CasEvent event, final int maxEvents, final long expirationTime) {
+            final long now = System.currentTimeMillis();
+            this.entries.removeIf(e -> e.expirationTime <= now);
+            final Entry entry = new Entry(event, expirationTime);
+            final Iterator<Entry> it = this.entries.descendingIterator();
+            int index = this.entries.size();
+            while (it.hasNext() && it.next().creationTime.isAfter(entry.creationTime)) {
+                index--;
+            }
+            this.entries.add(index, entry);
+            while (this.entries.size() > maxEvents) {
+                this.entries.removeFirst();
+            }
+        }
+
+        /**
+         * Find unexpired events created at or after the given cutoff, newest first,
+         * stopping as soon as an older event is reached.
+         *
+         * @param cutoff the cutoff, or null to examine all events
+         * @param filter the filter
+         * @return the matching events
+         */
+        synchronized List<CasEvent> find(final ZonedDateTime cutoff, final Predicate<CasEvent> filter) {
+            final long now = System.currentTimeMillis();
+            final List<CasEvent> results = new ArrayList<>();
+            final Iterator<Entry> it = this.entries.descendingIterator();
+            while (it.hasNext()) {
+                final Entry entry = it.next();
+                if (cutoff != null && entry.creationTime.isBefore(cutoff)) {
+                    break;
+                }
+                if (entry.expirationTime > now && filter.test(entry.event)) {
+                    results.add(entry.event);
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * An event along with its parsed creation time and expiration time.
+     */
+    private static class Entry {
+        private final CasEvent event;
+        private final ZonedDateTime creationTime;
+        private final long expirationTime;
+
+        Entry(final CasEvent event, final long expirationTime) {
+            this.event = event;
+            this.creationTime = event.getCreationTime();
+            this.expirationTime = expirationTime;
+        }
     }
 }
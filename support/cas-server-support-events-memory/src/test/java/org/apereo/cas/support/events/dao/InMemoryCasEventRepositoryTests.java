@@ -0,0 +1,77 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link InMemoryCasEventRepository}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class InMemoryCasEventRepositoryTests extends AbstractCasEventRepositoryTests {
+
+    private final InMemoryCasEventRepository repository = new InMemoryCasEventRepository(100, 3, 7200);
+
+    @Override
+    public CasEventRepository getRepositoryInstance() {
+        return this.repository;
+    }
+
+    @Test
+    public void verifyEventsAreIndexedByPrincipalAndType() {
+        final ZonedDateTime now = ZonedDateTime.now();
+        this.repository.save(newEvent("casuser", "type1", now.minusMinutes(10)));
+        this.repository.save(newEvent("CASUSER", "type2", now.minusMinutes(5)));
+        this.repository.save(newEvent("other", "type1", now.minusMinutes(1)));
+
+        assertEquals(2, this.repository.getEventsForPrincipal("casuser").size());
+        assertEquals(1, this.repository.getEventsOfTypeForPrincipal("type1", "casuser").size());
+        assertEquals(2, this.repository.getEventsOfType("type1").size());
+        assertEquals(1, this.repository.getEventsForPrincipal("casuser", now.minusMinutes(7)).size());
+        assertTrue(this.repository.getEventsForPrincipal("unknown").isEmpty());
+    }
+
+    @Test
+    public void verifyEventsWithoutPrincipalAreKept() {
+        this.repository.save(newEvent(null, "type", ZonedDateTime.now()));
+        assertEquals(1, this.repository.getEventsOfType("type").size());
+    }
+
+    @Test
+    public void verifyHistoryIsCappedAndOrdered() {
+        final ZonedDateTime now = ZonedDateTime.now();
+        this.repository.save(newEvent("casuser", "type", now.minusMinutes(1)));
+        this.repository.save(newEvent("casuser", "type", now.minusMinutes(4)));
+        this.repository.save(newEvent("casuser", "type", now.minusMinutes(2)));
+        this.repository.save(newEvent("casuser", "type", now.minusMinutes(3)));
+
+        final Collection<CasEvent> events = this.repository.getEventsForPrincipal("casuser");
+        assertEquals(3, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getCreationTime().isAfter(now.minusMinutes(4))));
+    }
+
+    @Test
+    public void verifyExpiredEventsAreSkipped() throws Exception {
+        final InMemoryCasEventRepository repo = new InMemoryCasEventRepository(100, 3, 1);
+        repo.save(newEvent("casuser", "type", ZonedDateTime.now().minusDays(5)));
+        assertEquals(1, repo.getEventsForPrincipal("casuser").size());
+        Thread.sleep(1500);
+        assertTrue(repo.getEventsForPrincipal("casuser").isEmpty());
+    }
+
+    private static CasEvent newEvent(final String principal, final String type, final ZonedDateTime creationTime) {
+        final CasEvent event = new CasEvent();
+        event.setType(type);
+        event.setPrincipalId(principal);
+        event.putCreationTime(creationTime);
+        event.putTimestamp(creationTime.toInstant().toEpochMilli());
+        return event;
+    }
+}
@@ -116,4 +116,14 @@ public class GrouperMultifactorAuthenticationPolicyEventResolver extends BaseMul
     public Event resolveSingle(final RequestContext context) {
         return super.resolveSingle(context);
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.HIGH;
+    }
+
+    @Override
+    public boolean isResolvingProviderEventsOnly() {
+        return true;
+    }
 }
@@ -18,6 +18,7 @@ import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.registry.ExpiredTicketListener;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
@@ -30,6 +31,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.util.StringUtils;
 
 import java.net.URL;
@@ -64,6 +66,11 @@ public class HazelcastTicketRegistryConfiguration {
     @Qualifier("logoutManager")
     private LogoutManager logoutManager;
 
+    @Lazy
+    @Autowired
+    @Qualifier("expiredTicketListener")
+    private ExpiredTicketListener expiredTicketListener;
+
     @Autowired
     @Bean
     public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
@@ -72,6 +79,7 @@ public class HazelcastTicketRegistryConfiguration {
                 ticketCatalog,
                 hz.getPageSize());
         r.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(hz.getCrypto()));
+        r.setExpiredTicketListener(expiredTicketListener);
         return r;
     }
 
@@ -1,7 +1,9 @@
 package org.apereo.cas.ticket.registry;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryExpiredListener;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -57,6 +59,22 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
         LOGGER.info("Setting up Hazelcast Ticket Registry instance [{}]", this.hazelcastInstance);
     }
 
+    /**
+     * Report tickets that expire on this member to the given listener.
+     * Local listeners are used so that each expiration is reported once across the cluster, by the member that owns the ticket.
+     *
+     * @param listener the listener
+     */
+    public void setExpiredTicketListener(final ExpiredTicketListener listener) {
+        this.ticketCatalog.findAll().forEach(definition -> {
+            final IMap<String, Ticket> map = getTicketMapInstanceByMetadata(definition);
+            if (map != null) {
+                map.addLocalEntryListener((EntryExpiredListener<String, Ticket>) event -> onExpired(listener, event));
+                LOGGER.debug("Reporting expired tickets in map [{}] to [{}]", map.getName(), listener);
+            }
+        });
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
@@ -65,12 +83,27 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
 
     @Override
     public void addTicket(final Ticket ticket) {
-        LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ticket.getExpirationPolicy().getTimeToLive());
+        final long ttl = getTimeToLive(ticket);
+        LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ttl);
         final Ticket encTicket = encodeTicket(ticket);
 
         final TicketDefinition metadata = this.ticketCatalog.find(ticket);
         final IMap<String, Ticket> ticketMap = getTicketMapInstanceByMetadata(metadata);
-        ticketMap.set(encTicket.getId(), encTicket, ticket.getExpirationPolicy().getTimeToLive(), TimeUnit.SECONDS);
+        ticketMap.set(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
+    }
+
+    private void onExpired(final ExpiredTicketListener listener, final EntryEvent<String, Ticket> event) {
+        try {
+            final Ticket ticket = event.getOldValue();
+            if (ticket == null) {
+                listener.onExpired(event.getKey());
+            } else {
+                listener.onExpired(decodeTicket(ticket));
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to handle expired ticket [{}]: [{}]", event.getKey(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
     }
 
     private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
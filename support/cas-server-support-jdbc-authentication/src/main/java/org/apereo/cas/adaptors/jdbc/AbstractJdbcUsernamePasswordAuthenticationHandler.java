@@ -35,4 +35,22 @@ public abstract class AbstractJdbcUsernamePasswordAuthenticationHandler extends
     protected DataSource getDataSource() {
         return this.dataSource;
     }
+
+    /**
+     * Sets the number of rows fetched from the database at a time.
+     *
+     * @param fetchSize the fetch size
+     */
+    public void setFetchSize(final int fetchSize) {
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Sets the query timeout in seconds.
+     *
+     * @param queryTimeout the query timeout
+     */
+    public void setQueryTimeout(final int queryTimeout) {
+        this.jdbcTemplate.setQueryTimeout(queryTimeout);
+    }
 }
@@ -1,5 +1,6 @@
 package org.apereo.cas.adaptors.jdbc;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.HandlerResult;
@@ -12,20 +13,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
 
 import javax.security.auth.login.AccountNotFoundException;
 import javax.security.auth.login.FailedLoginException;
 import javax.sql.DataSource;
 import java.security.GeneralSecurityException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class that if provided a query that returns a password (parameter of query
  * must be username) will compare that password to a translated version of the
  * password provided by the user. If they match, then authentication succeeds.
  * Default password translator is plaintext translator.
+ * The same query also supplies principal attributes, and only the columns that are
+ * needed are read from the result, by indexes that are resolved once per handler.
  *
  * @author Scott Battaglia
  * @author Dmitriy Kopylenko
@@ -42,6 +54,18 @@ public class QueryDatabaseAuthenticationHandler extends AbstractJdbcUsernamePass
     private final String fieldDisabled;
     private Map<String, String> principalAttributeMap = Collections.emptyMap();
 
+    /**
+     * Indexes of the columns read from query results, keyed by column label.
+     */
+    private volatile ColumnIndexes columnIndexes;
+
+    private MetricRegistry metricRegistry;
+
+    /**
+     * Whether principal resolution should reuse the attributes retrieved by the query.
+     */
+    private boolean reuseQueryAttributes;
+
     public QueryDatabaseAuthenticationHandler(final String name, final ServicesManager servicesManager, final DataSource dataSource, final String sql,
                                               final String fieldPassword, final String fieldExpired, final String fieldDisabled,
                                               final Map<String, String> attributes) {
@@ -66,7 +90,7 @@ public class QueryDatabaseAuthenticationHandler extends AbstractJdbcUsernamePass
         final String username = credential.getUsername();
         final String password = credential.getPassword();
         try {
-            final Map<String, Object> dbFields = getJdbcTemplate().queryForMap(this.sql, username);
+            final Map<String, Object> dbFields = queryForFields(username);
             final String dbPassword = (String) dbFields.get(this.fieldPassword);
 
             if (StringUtils.isNotBlank(originalPassword) && !matches(originalPassword, dbPassword)
@@ -90,14 +114,10 @@ public class QueryDatabaseAuthenticationHandler extends AbstractJdbcUsernamePass
                 final Object attribute = dbFields.get(a.getKey());
                 if (attribute != null) {
                     LOGGER.debug("Found attribute [{}] from the query results", a);
-
-                    if (attribute != null) {
-                        LOGGER.debug("Found attribute [{}] from the query results", a);
-                        final String principalAttrName = a.getValue();
-                        attributes.put(principalAttrName, attribute.toString());
-                    } else {
-                        LOGGER.warn("Requested attribute [{}] could not be found in the query results", a.getKey());
-                    }
+                    final String principalAttrName = a.getValue();
+                    attributes.put(principalAttrName, attribute.toString());
+                } else if (!dbFields.containsKey(a.getKey())) {
+                    LOGGER.warn("Requested attribute [{}] could not be found in the query results", a.getKey());
                 }
             });
 
@@ -111,4 +131,103 @@ public class QueryDatabaseAuthenticationHandler extends AbstractJdbcUsernamePass
         }
         return createHandlerResult(credential, this.principalFactory.createPrincipal(username, attributes), null);
     }
+
+    public void setMetricRegistry(final MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    public boolean isReuseQueryAttributes() {
+        return this.reuseQueryAttributes;
+    }
+
+    public void setReuseQueryAttributes(final boolean reuseQueryAttributes) {
+        this.reuseQueryAttributes = reuseQueryAttributes;
+    }
+
+    /**
+     * Run the query for the given user and read the password, account state and attribute columns
+     * from its single result. Time spent waiting for a connection is recorded separately
+     * from the time spent running the query.
+     *
+     * @param username the username
+     * @return the fields keyed by column label
+     */
+    private Map<String, Object> queryForFields(final String username) {
+        final long startTime = System.nanoTime();
+        final long[] connectedTime = {startTime};
+        try {
+            return getJdbcTemplate().query(connection -> {
+                connectedTime[0] = System.nanoTime();
+                final PreparedStatement statement = connection.prepareStatement(this.sql);
+                statement.setString(1, username);
+                return statement;
+            }, this::extractFields);
+        } finally {
+            final long endTime = System.nanoTime();
+            recordTime("poolWaitTime", connectedTime[0] - startTime);
+            recordTime("queryTime", endTime - connectedTime[0]);
+        }
+    }
+
+    private Map<String, Object> extractFields(final ResultSet resultSet) throws SQLException {
+        if (!resultSet.next()) {
+            throw new IncorrectResultSizeDataAccessException(1, 0);
+        }
+        final Map<String, Integer> indexes = getColumnIndexes(resultSet.getMetaData());
+        final Map<String, Object> fields = new LinkedCaseInsensitiveMap<>(indexes.size());
+        for (final Map.Entry<String, Integer> entry : indexes.entrySet()) {
+            fields.put(entry.getKey(), JdbcUtils.getResultSetValue(resultSet, entry.getValue()));
+        }
+        if (resultSet.next()) {
+            throw new IncorrectResultSizeDataAccessException(1, 2);
+        }
+        return fields;
+    }
+
+    private Map<String, Integer> getColumnIndexes(final ResultSetMetaData metaData) throws SQLException {
+        final int columnCount = metaData.getColumnCount();
+        final ColumnIndexes current = this.columnIndexes;
+        if (current != null && current.columnCount == columnCount) {
+            return current.indexes;
+        }
+        final Set<String> columns = new LinkedHashSet<>(this.principalAttributeMap.keySet());
+        columns.add(this.fieldPassword);
+        if (StringUtils.isNotBlank(this.fieldExpired)) {
+            columns.add(this.fieldExpired);
+        }
+        if (StringUtils.isNotBlank(this.fieldDisabled)) {
+            columns.add(this.fieldDisabled);
+        }
+        final Map<String, Integer> indexes = new LinkedCaseInsensitiveMap<>(columns.size());
+        for (int i = 1; i <= columnCount; i++) {
+            final String label = JdbcUtils.lookupColumnName(metaData, i);
+            if (columns.stream().anyMatch(label::equalsIgnoreCase) && !indexes.containsKey(label)) {
+                indexes.put(label, i);
+            }
+        }
+        LOGGER.debug("Resolved column indexes [{}] from query results", indexes);
+        this.columnIndexes = new ColumnIndexes(columnCount, Collections.unmodifiableMap(indexes));
+        return indexes;
+    }
+
+    private void recordTime(final String metric, final long time) {
+        LOGGER.trace("Recorded [{}] of [{}] ms for [{}]", metric, TimeUnit.NANOSECONDS.toMillis(time), getName());
+        if (this.metricRegistry != null) {
+            this.metricRegistry.timer(MetricRegistry.name(QueryDatabaseAuthenticationHandler.class, getName(), metric))
+                    .update(time, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Column indexes resolved from query results with the given number of columns.
+     */
+    private static class ColumnIndexes {
+        private final int columnCount;
+        private final Map<String, Integer> indexes;
+
+        ColumnIndexes(final int columnCount, final Map<String, Integer> indexes) {
+            this.columnCount = columnCount;
+            this.indexes = indexes;
+        }
+    }
 }
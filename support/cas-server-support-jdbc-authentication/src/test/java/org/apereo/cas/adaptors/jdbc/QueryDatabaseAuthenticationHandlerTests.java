@@ -1,5 +1,6 @@
 package org.apereo.cas.adaptors.jdbc;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.authentication.HandlerResult;
 import org.apereo.cas.authentication.PreventedException;
@@ -156,6 +157,22 @@ public class QueryDatabaseAuthenticationHandlerTests {
         assertTrue(result.getPrincipal().getAttributes().containsKey("phoneNumber"));
     }
 
+    @Test
+    public void verifySuccessRecordsQueryMetrics() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final QueryDatabaseAuthenticationHandler q = new QueryDatabaseAuthenticationHandler("jdbc", null, this.dataSource, SQL, PASSWORD_FIELD,
+                null, null, Beans.transformPrincipalAttributesListIntoMap(Arrays.asList("PHONE:phoneNumber")));
+        q.setMetricRegistry(metricRegistry);
+        q.setQueryTimeout(5);
+        for (int i = 3; i < 5; i++) {
+            final HandlerResult result = q.authenticate(
+                    CoreAuthenticationTestUtils.getCredentialsWithDifferentUsernameAndPassword("user" + i, "psw" + i));
+            assertEquals("123456789", result.getPrincipal().getAttributes().get("phoneNumber"));
+        }
+        assertEquals(2, metricRegistry.timer(MetricRegistry.name(QueryDatabaseAuthenticationHandler.class, "jdbc", "queryTime")).getCount());
+        assertEquals(2, metricRegistry.timer(MetricRegistry.name(QueryDatabaseAuthenticationHandler.class, "jdbc", "poolWaitTime")).getCount());
+    }
+
     @Test
     public void verifyFindUserAndExpired() throws Exception {
         final QueryDatabaseAuthenticationHandler q = new QueryDatabaseAuthenticationHandler("", null, this.dataSource, SQL, PASSWORD_FIELD, "expired", null,
@@ -1,5 +1,7 @@
 package org.apereo.cas.adaptors.jdbc.config;
 
+import com.codahale.metrics.MetricRegistry;
+import com.zaxxer.hikari.HikariDataSource;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.adaptors.jdbc.BindModeSearchDatabaseAuthenticationHandler;
 import org.apereo.cas.adaptors.jdbc.QueryAndEncodeDatabaseAuthenticationHandler;
@@ -10,6 +12,7 @@ import org.apereo.cas.authentication.AuthenticationHandler;
 import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
+import org.apereo.cas.authentication.principal.resolvers.EchoingPrincipalResolver;
 import org.apereo.cas.authentication.support.password.PasswordPolicyConfiguration;
 import org.apereo.cas.config.support.authentication.AuthenticationEventExecutionPlanConfigurer;
 import org.apereo.cas.configuration.CasConfigurationProperties;
@@ -66,6 +69,9 @@ public class CasJdbcAuthenticationConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
 
     @ConditionalOnMissingBean(name = "jdbcAuthenticationHandlers")
     @Bean
@@ -135,9 +141,17 @@ public class CasJdbcAuthenticationConfiguration {
         attributes.putAll(casProperties.getAuthn().getAttributeRepository().getAttributes());
         LOGGER.debug("Created and mapped principal attributes [{}] for [{}]...", attributes, b.getUrl());
         
-        final QueryDatabaseAuthenticationHandler h = new QueryDatabaseAuthenticationHandler(b.getName(), servicesManager, Beans.newHickariDataSource(b),
+        final HikariDataSource dataSource = Beans.newHickariDataSource(b);
+        b.getDataSourceProperties().forEach(dataSource::addDataSourceProperty);
+        final QueryDatabaseAuthenticationHandler h = new QueryDatabaseAuthenticationHandler(b.getName(), servicesManager, dataSource,
                 b.getSql(), b.getFieldPassword(), b.getFieldExpired(), b.getFieldDisabled(), attributes);
-        
+        h.setFetchSize(b.getFetchSize());
+        if (b.getQueryTimeout() > 0) {
+            h.setQueryTimeout(Long.valueOf(b.getQueryTimeout()).intValue());
+        }
+        h.setMetricRegistry(metricRegistry);
+        h.setReuseQueryAttributes(b.isReuseQueryAttributes());
+
         h.setOrder(b.getOrder());
         h.setPasswordEncoder(Beans.newPasswordEncoder(b.getPasswordEncoder()));
         h.setPrincipalNameTransformer(Beans.newPrincipalNameTransformer(b.getPrincipalTransformation()));
@@ -202,7 +216,18 @@ public class CasJdbcAuthenticationConfiguration {
 
         @Override
         public void configureAuthenticationExecutionPlan(final AuthenticationEventExecutionPlan plan) {
-            jdbcAuthenticationHandlers().forEach(h -> plan.registerAuthenticationHandlerWithPrincipalResolver(h, personDirectoryPrincipalResolver));
+            jdbcAuthenticationHandlers().forEach(h -> {
+                if (isReusingQueryAttributes(h)) {
+                    LOGGER.debug("Principal resolution for [{}] reuses the attributes retrieved by the authentication query", h.getName());
+                    plan.registerAuthenticationHandlerWithPrincipalResolver(h, new EchoingPrincipalResolver());
+                } else {
+                    plan.registerAuthenticationHandlerWithPrincipalResolver(h, personDirectoryPrincipalResolver);
+                }
+            });
+        }
+
+        private boolean isReusingQueryAttributes(final AuthenticationHandler handler) {
+            return handler instanceof QueryDatabaseAuthenticationHandler && ((QueryDatabaseAuthenticationHandler) handler).isReuseQueryAttributes();
         }
     }
 }
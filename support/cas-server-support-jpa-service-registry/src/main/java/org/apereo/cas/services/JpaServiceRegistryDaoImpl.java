@@ -5,7 +5,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the ServiceRegistryDao based on JPA.
@@ -46,6 +48,11 @@ public class JpaServiceRegistryDaoImpl implements ServiceRegistryDao {
         return r;
     }
 
+    @Override
+    public List<RegisteredService> save(final Collection<RegisteredService> registeredServices) {
+        return registeredServices.stream().map(this::save).collect(Collectors.toList());
+    }
+
     @Override
     public RegisteredService findServiceById(final long id) {
         return this.entityManager.find(AbstractRegisteredService.class, id);
@@ -14,10 +14,15 @@ import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
@@ -103,6 +108,26 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return tickets;
     }
 
+    /**
+     * {@inheritDoc}
+     * Only tickets whose indexed expiration time has passed are loaded and checked,
+     * along with tickets recorded before expiration times were.
+     */
+    @Override
+    public Collection<Ticket> getExpiredTickets() {
+        final Collection<TicketDefinition> tkts = this.ticketCatalog.findAll();
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        final List<Ticket> tickets = new ArrayList<>();
+        tkts.forEach(t -> {
+            final TypedQuery<? extends Ticket> query = this.entityManager.createQuery("select t from " + getTicketEntityName(t)
+                    + " t where t.expirationTime <= :now or t.expirationTime is null", t.getImplementationClass());
+            query.setParameter("now", now);
+            tickets.addAll(query.getResultList().stream().filter(Ticket::isExpired).collect(Collectors.toList()));
+        });
+        LOGGER.debug("Found [{}] expired ticket(s)", tickets.size());
+        return tickets;
+    }
+
     @Override
     public long sessionCount() {
         final TicketDefinition md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
@@ -130,6 +155,33 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return totalCount != 0;
     }
 
+    /**
+     * {@inheritDoc}
+     * Tickets are removed with one statement per type of ticket, rather than one per ticket.
+     * Service tickets and proxy-granting tickets issued by removed ticket-granting tickets are removed along with them.
+     */
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        final Map<TicketDefinition, List<String>> ticketIdsByDefinition = ticketIds.stream()
+                .collect(Collectors.groupingBy(this.ticketCatalog::find));
+
+        int totalCount = 0;
+        for (final Map.Entry<TicketDefinition, List<String>> entry : ticketIdsByDefinition.entrySet()) {
+            if (entry.getKey().getProperties().isCascade()) {
+                totalCount += deleteTicketGrantingTickets(entry.getValue());
+            } else {
+                final Query query = entityManager.createQuery("delete from " + getTicketEntityName(entry.getKey()) + " o where o.id in :ids");
+                query.setParameter("ids", entry.getValue());
+                totalCount += query.executeUpdate();
+            }
+        }
+        LOGGER.debug("Deleted [{}] ticket(s) in a batch of [{}]", totalCount, ticketIds.size());
+        return totalCount;
+    }
+
     private String getTicketEntityName(final TicketDefinition tk) {
         return tk.getImplementationClass().getSimpleName();
     }
@@ -161,6 +213,33 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return totalCount;
     }
 
+    /**
+     * Delete ticket granting tickets, and the tickets they issued, in a batch.
+     *
+     * @param ticketIds the ticket ids
+     * @return the int
+     */
+    private int deleteTicketGrantingTickets(final List<String> ticketIds) {
+        int totalCount = 0;
+
+        final TicketDefinition st = this.ticketCatalog.find(ServiceTicket.PREFIX);
+
+        Query query = entityManager.createQuery("delete from " + getTicketEntityName(st) + " s where s.ticketGrantingTicket.id in :ids");
+        query.setParameter("ids", ticketIds);
+        totalCount += query.executeUpdate();
+
+        final TicketDefinition tgt = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        query = entityManager.createQuery("delete from " + getTicketEntityName(tgt) + " t where t.ticketGrantingTicket.id in :ids");
+        query.setParameter("ids", ticketIds);
+        totalCount += query.executeUpdate();
+
+        query = entityManager.createQuery("delete from " + getTicketEntityName(tgt) + " t where t.id in :ids");
+        query.setParameter("ids", ticketIds);
+        totalCount += query.executeUpdate();
+
+        return totalCount;
+    }
+
     private static long countToLong(final Object result) {
         return ((Number) result).longValue();
     }
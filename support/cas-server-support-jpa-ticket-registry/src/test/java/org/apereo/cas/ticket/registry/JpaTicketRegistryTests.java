@@ -29,8 +29,10 @@ import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -46,6 +48,8 @@ import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -120,6 +124,47 @@ public class JpaTicketRegistryTests {
         deleteTicketsInTransaction();
     }
 
+    @Test
+    public void verifyTicketDeletionInBatch() {
+        final TicketGrantingTicket tgt1 = newTGT();
+        addTicketInTransaction(tgt1);
+        final ServiceTicket st1 = grantServiceTicketInTransaction((TicketGrantingTicket) getTicketInTransaction(tgt1.getId()));
+        final TicketGrantingTicket tgt2 = newTGT();
+        addTicketInTransaction(tgt2);
+        final ServiceTicket st2 = grantServiceTicketInTransaction((TicketGrantingTicket) getTicketInTransaction(tgt2.getId()));
+
+        final int count = new TransactionTemplate(txManager).execute(status ->
+                ticketRegistry.deleteTickets(Arrays.asList(tgt1.getId(), tgt2.getId(), st1.getId())));
+        assertEquals(4, count);
+        assertNull(getTicketInTransaction(tgt1.getId()));
+        assertNull(getTicketInTransaction(tgt2.getId()));
+        assertNull(getTicketInTransaction(st1.getId()));
+        assertNull(getTicketInTransaction(st2.getId()));
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreFoundByExpirationTime() {
+        final TicketGrantingTicket expired = new TicketGrantingTicketImpl(ID_GENERATOR.getNewTicketId(TicketGrantingTicket.PREFIX),
+                CoreAuthenticationTestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy());
+        addTicketInTransaction(expired);
+        final TicketGrantingTicket active = newTGT();
+        addTicketInTransaction(active);
+
+        final Collection<Ticket> tickets = new TransactionTemplate(txManager).execute(status -> ticketRegistry.getExpiredTickets());
+        assertTrue(tickets.stream().anyMatch(t -> t.getId().equals(expired.getId())));
+        assertFalse(tickets.stream().anyMatch(t -> t.getId().equals(active.getId())));
+    }
+
+    @Test
+    public void verifyIdleTicketsAreFoundByExpirationTime() throws Exception {
+        final TicketGrantingTicket idle = new TicketGrantingTicketImpl(ID_GENERATOR.getNewTicketId(TicketGrantingTicket.PREFIX),
+                CoreAuthenticationTestUtils.getAuthentication(), new TicketGrantingTicketExpirationPolicy(28_800, 1));
+        addTicketInTransaction(idle);
+        Thread.sleep(2_000);
+
+        final Collection<Ticket> tickets = new TransactionTemplate(txManager).execute(status -> ticketRegistry.getExpiredTickets());
+        assertTrue(tickets.stream().anyMatch(t -> t.getId().equals(idle.getId())));
+    }
 
     @Test
     public void verifyTicketCreationAndDeletion() throws Exception {
@@ -1,5 +1,7 @@
 package org.apereo.cas.authentication;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.handler.support.AbstractUsernamePasswordAuthenticationHandler;
 import org.apereo.cas.authentication.principal.Principal;
@@ -20,7 +22,10 @@ import javax.annotation.PostConstruct;
 import javax.security.auth.login.AccountNotFoundException;
 import javax.security.auth.login.FailedLoginException;
 import javax.security.auth.login.LoginException;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -28,6 +33,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -83,6 +89,21 @@ public class LdapAuthenticationHandler extends AbstractUsernamePasswordAuthentic
      */
     private String[] authenticatedEntryAttributes = ReturnAttributes.NONE.value();
 
+    /**
+     * Whether principal resolution should reuse the attributes fetched from the authenticated entry.
+     */
+    private boolean reuseAuthenticatedEntryAttributes;
+
+    /**
+     * Successful credential verifications, keyed by username and holding a salted hash of the password.
+     */
+    private Cache<String, CachedAuthentication> credentialCache;
+
+    /**
+     * Salt used to hash passwords of cached credential verifications.
+     */
+    private final byte[] credentialCacheSalt = new byte[16];
+
     /**
      * Creates a new authentication handler that delegates to the given authenticator.
      *
@@ -151,9 +172,34 @@ public class LdapAuthenticationHandler extends AbstractUsernamePasswordAuthentic
         this.additionalAttributes = additionalAttributes;
     }
 
+    /**
+     * Cache successful credential verifications for the given duration, so that repeated
+     * authentication attempts with the same credentials do not contact the directory.
+     * Only a salted hash of the password is kept in memory.
+     *
+     * @param expireAfterWrite the duration in milliseconds to keep a verification
+     * @param maximumSize      the maximum number of verifications to keep
+     */
+    public void setCredentialCache(final long expireAfterWrite, final long maximumSize) {
+        new SecureRandom().nextBytes(this.credentialCacheSalt);
+        this.credentialCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
     @Override
     protected HandlerResult authenticateUsernamePasswordInternal(final UsernamePasswordCredential upc,
                                                                  final String originalPassword) throws GeneralSecurityException, PreventedException {
+        final byte[] passwordHash = this.credentialCache != null ? hashPassword(upc) : null;
+        if (passwordHash != null) {
+            final CachedAuthentication cached = this.credentialCache.getIfPresent(upc.getUsername());
+            if (cached != null && MessageDigest.isEqual(cached.passwordHash, passwordHash)) {
+                LOGGER.debug("Using cached LDAP credential verification for [{}]", upc.getUsername());
+                return createHandlerResult(upc, cached.principal, cached.messages);
+            }
+        }
+
         final AuthenticationResponse response;
         try {
             LOGGER.debug("Attempting LDAP authentication for [{}]. Authenticator pre-configured attributes are [{}], "
@@ -180,7 +226,15 @@ public class LdapAuthenticationHandler extends AbstractUsernamePasswordAuthentic
 
         if (response.getResult()) {
             LOGGER.debug("LDAP response returned a result. Creating the final LDAP principal");
-            return createHandlerResult(upc, createPrincipal(upc.getUsername(), response.getLdapEntry()), messageList);
+            final Principal principal = createPrincipal(upc.getUsername(), response.getLdapEntry());
+            if (passwordHash != null) {
+                this.credentialCache.put(upc.getUsername(), new CachedAuthentication(passwordHash, principal, messageList));
+            }
+            return createHandlerResult(upc, principal, messageList);
+        }
+
+        if (this.credentialCache != null) {
+            this.credentialCache.invalidate(upc.getUsername());
         }
 
         if (AuthenticationResultCode.DN_RESOLUTION_FAILURE == response.getAuthenticationResultCode()) {
@@ -275,6 +329,14 @@ public class LdapAuthenticationHandler extends AbstractUsernamePasswordAuthentic
         this.allowMissingPrincipalAttributeValue = allowMissingPrincipalAttributeValue;
     }
 
+    public boolean isReuseAuthenticatedEntryAttributes() {
+        return this.reuseAuthenticatedEntryAttributes;
+    }
+
+    public void setReuseAuthenticatedEntryAttributes(final boolean reuseAuthenticatedEntryAttributes) {
+        this.reuseAuthenticatedEntryAttributes = reuseAuthenticatedEntryAttributes;
+    }
+
     /**
      * Initialize the handler, setup the authentication entry attributes.
      */
@@ -310,4 +372,28 @@ public class LdapAuthenticationHandler extends AbstractUsernamePasswordAuthentic
         LOGGER.debug("LDAP authentication entry attributes for the authentication request are [{}]",
                 (Object[]) this.authenticatedEntryAttributes);
     }
+
+    private byte[] hashPassword(final UsernamePasswordCredential upc) throws GeneralSecurityException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(this.credentialCacheSalt);
+        digest.update(upc.getUsername().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(upc.getPassword().getBytes(StandardCharsets.UTF_8));
+        return digest.digest();
+    }
+
+    /**
+     * A successful credential verification.
+     */
+    private static class CachedAuthentication {
+        private final byte[] passwordHash;
+        private final Principal principal;
+        private final List<MessageDescriptor> messages;
+
+        CachedAuthentication(final byte[] passwordHash, final Principal principal, final List<MessageDescriptor> messages) {
+            this.passwordHash = passwordHash;
+            this.principal = principal;
+            this.messages = messages;
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package org.apereo.cas.config;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.AuthenticationEventExecutionPlan;
 import org.apereo.cas.authentication.AuthenticationHandler;
@@ -16,6 +18,7 @@ import org.apereo.cas.config.support.authentication.AuthenticationEventExecution
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.ldap.LdapAuthenticationProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.configuration.support.InstrumentedBlockingConnectionPool;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.services.persondir.IPersonAttributeDao;
 import org.ldaptive.auth.AuthenticationResponseHandler;
@@ -25,6 +28,7 @@ import org.ldaptive.auth.ext.EDirectoryAuthenticationResponseHandler;
 import org.ldaptive.auth.ext.FreeIPAAuthenticationResponseHandler;
 import org.ldaptive.auth.ext.PasswordExpirationAuthenticationResponseHandler;
 import org.ldaptive.auth.ext.PasswordPolicyAuthenticationResponseHandler;
+import org.ldaptive.pool.PooledConnectionFactoryManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,8 +45,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * This is {@link LdapAuthenticationConfiguration} that attempts to create
@@ -71,6 +77,9 @@ public class LdapAuthenticationConfiguration {
     @Qualifier("servicesManager")
     private ServicesManager servicesManager;
 
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
     @ConditionalOnMissingBean(name = "ldapPrincipalFactory")
     @Bean
     public PrincipalFactory ldapPrincipalFactory() {
@@ -107,6 +116,7 @@ public class LdapAuthenticationConfiguration {
                     handler.setAdditionalAttributes(additionalAttrs);
                     handler.setAllowMultiplePrincipalAttributeValues(l.isAllowMultiplePrincipalAttributeValues());
                     handler.setAllowMissingPrincipalAttributeValue(l.isAllowMissingPrincipalAttributeValue());
+                    handler.setReuseAuthenticatedEntryAttributes(l.isReuseAuthenticatedEntryAttributes());
                     handler.setPasswordEncoder(Beans.newPasswordEncoder(l.getPasswordEncoder()));
                     handler.setPrincipalNameTransformer(Beans.newPrincipalNameTransformer(l.getPrincipalTransformation()));
 
@@ -130,6 +140,13 @@ public class LdapAuthenticationConfiguration {
                         handler.setPasswordPolicyConfiguration(createLdapPasswordPolicyConfiguration(l, authenticator));
                     }
 
+                    if (l.getCredentialCache().isEnabled()) {
+                        LOGGER.debug("Caching successful credential verifications for [{}] ms via [{}]",
+                                l.getCredentialCache().getExpireAfterWrite(), l.getLdapUrl());
+                        handler.setCredentialCache(l.getCredentialCache().getExpireAfterWrite(), l.getCredentialCache().getMaximumSize());
+                    }
+                    recordConnectionPoolWaitTime(handler, authenticator);
+
                     LOGGER.debug("Initializing ldap authentication handler for [{}]", l.getLdapUrl());
                     handler.initialize();
                     handlers.add(handler);
@@ -138,6 +155,24 @@ public class LdapAuthenticationConfiguration {
     }
     
 
+    private void recordConnectionPoolWaitTime(final AuthenticationHandler handler, final Authenticator authenticator) {
+        if (this.metricRegistry == null) {
+            LOGGER.debug("No metric registry is available to record connection pool wait times for [{}]", handler.getName());
+            return;
+        }
+        final Timer timer = this.metricRegistry.timer(MetricRegistry.name(LdapAuthenticationHandler.class, handler.getName(), "poolWaitTime"));
+        Stream.of(authenticator.getDnResolver(), authenticator.getAuthenticationHandler(), authenticator.getEntryResolver())
+                .filter(PooledConnectionFactoryManager.class::isInstance)
+                .map(m -> PooledConnectionFactoryManager.class.cast(m).getConnectionFactory().getConnectionPool())
+                .filter(InstrumentedBlockingConnectionPool.class::isInstance)
+                .map(InstrumentedBlockingConnectionPool.class::cast)
+                .forEach(pool -> pool.setWaitTimeRecorder(waitTime -> timer.update(waitTime, TimeUnit.NANOSECONDS)));
+    }
+
+    private static boolean isReusingAuthenticatedEntryAttributes(final AuthenticationHandler handler) {
+        return handler instanceof LdapAuthenticationHandler && ((LdapAuthenticationHandler) handler).isReuseAuthenticatedEntryAttributes();
+    }
+
     private Predicate<LdapAuthenticationProperties> ldapInstanceConfigurationPredicate() {
         return l -> {
             if (l.getType() == null) {
@@ -220,7 +255,11 @@ public class LdapAuthenticationConfiguration {
         public void configureAuthenticationExecutionPlan(final AuthenticationEventExecutionPlan plan) {
             ldapAuthenticationHandlers().forEach(handler -> {
                 final ChainingPrincipalResolver resolver = new ChainingPrincipalResolver();
-                if (isAttributeRepositorySourceDefined()) {
+                if (isReusingAuthenticatedEntryAttributes(handler)) {
+                    LOGGER.debug("Principal resolver will reuse the attributes retrieved from the LDAP entry during authentication "
+                            + "instead of querying attribute repository sources.");
+                    resolver.setChain(Arrays.asList(new EchoingPrincipalResolver()));
+                } else if (isAttributeRepositorySourceDefined()) {
                     LOGGER.debug("Attribute repository sources are defined and available for the principal resolution chain");
                     resolver.setChain(Arrays.asList(personDirectoryPrincipalResolver, new EchoingPrincipalResolver()));
                 } else {
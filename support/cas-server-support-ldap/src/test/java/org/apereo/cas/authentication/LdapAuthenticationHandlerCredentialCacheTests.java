@@ -0,0 +1,58 @@
+package org.apereo.cas.authentication;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.auth.AuthenticationRequest;
+import org.ldaptive.auth.AuthenticationResponse;
+import org.ldaptive.auth.Authenticator;
+
+import javax.security.auth.login.FailedLoginException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link LdapAuthenticationHandlerCredentialCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class LdapAuthenticationHandlerCredentialCacheTests {
+    private Authenticator authenticator;
+    private AuthenticationResponse response;
+    private LdapAuthenticationHandler handler;
+
+    @Before
+    public void setup() throws Exception {
+        this.authenticator = mock(Authenticator.class);
+        this.response = mock(AuthenticationResponse.class);
+        when(response.getResult()).thenReturn(true);
+        when(response.getLdapEntry()).thenReturn(new LdapEntry("uid=casuser,dc=example,dc=org"));
+        when(authenticator.getReturnAttributes()).thenReturn(new String[0]);
+        when(authenticator.authenticate(any(AuthenticationRequest.class))).thenReturn(response);
+
+        this.handler = new LdapAuthenticationHandler("ldap", null, authenticator);
+        this.handler.setCredentialCache(60_000, 100);
+        this.handler.initialize();
+    }
+
+    @Test
+    public void verifyRepeatedAuthenticationIsCached() throws Exception {
+        final HandlerResult first = handler.authenticate(new UsernamePasswordCredential("casuser", "Mellon"));
+        final HandlerResult second = handler.authenticate(new UsernamePasswordCredential("casuser", "Mellon"));
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        verify(authenticator, times(1)).authenticate(any(AuthenticationRequest.class));
+    }
+
+    @Test(expected = FailedLoginException.class)
+    public void verifyDifferentPasswordIsVerified() throws Exception {
+        handler.authenticate(new UsernamePasswordCredential("casuser", "Mellon"));
+        when(response.getResult()).thenReturn(false);
+        try {
+            handler.authenticate(new UsernamePasswordCredential("casuser", "Wrong"));
+        } finally {
+            verify(authenticator, times(2)).authenticate(any(AuthenticationRequest.class));
+        }
+    }
+}
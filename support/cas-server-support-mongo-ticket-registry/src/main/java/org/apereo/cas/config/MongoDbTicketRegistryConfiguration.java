@@ -2,9 +2,11 @@ package org.apereo.cas.config;
 
 import com.mongodb.Mongo;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoTicketRegistryProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.registry.ExpiredTicketListener;
 import org.apereo.cas.ticket.registry.MongoDbTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
@@ -18,6 +20,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoConfiguration;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * This is {@link MongoDbTicketRegistryConfiguration}.
  *
@@ -35,11 +39,19 @@ public class MongoDbTicketRegistryConfiguration extends AbstractMongoConfigurati
     @Qualifier("logoutManager")
     private LogoutManager logoutManager;
 
+    @Autowired
+    @Qualifier("expiredTicketListener")
+    private ExpiredTicketListener expiredTicketListener;
+
     @RefreshScope
     @Bean
     public TicketRegistry ticketRegistry() throws Exception {
         final MongoTicketRegistryProperties mongo = casProperties.getTicket().getRegistry().getMongo();
-        return new MongoDbTicketRegistry(mongo.getCollectionName(), mongo.isDropCollection(), mongoTemplate());
+        final TicketRegistryProperties.Expiration expiration = casProperties.getTicket().getRegistry().getExpiration();
+        final MongoDbTicketRegistry registry = new MongoDbTicketRegistry(mongo.getCollectionName(), mongo.isDropCollection(), mongoTemplate());
+        registry.setExpiredTicketListener(expiredTicketListener, TimeUnit.MILLISECONDS.toSeconds(expiration.getGracePeriod()));
+        registry.scheduleExpirationSweep(expiration.getSweepInterval());
+        return registry;
     }
 
     @Bean
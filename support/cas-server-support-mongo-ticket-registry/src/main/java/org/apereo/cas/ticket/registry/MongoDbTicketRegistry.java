@@ -2,8 +2,11 @@ package org.apereo.cas.ticket.registry;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
+import com.mongodb.MongoCommandException;
 import org.apereo.cas.ticket.BaseTicketSerializers;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.mongodb.core.MongoOperations;
@@ -13,7 +16,12 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -24,13 +32,21 @@ import java.util.stream.Collectors;
  */
 public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     private static final Logger LOGGER = LoggerFactory.getLogger(MongoDbTicketRegistry.class);
-    
+
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+
     private final String collectionName;
 
     private final boolean dropCollection;
 
     private final MongoOperations mongoTemplate;
 
+    private ExpiredTicketListener expiredTicketListener;
+
+    private long gracePeriodInSeconds;
+
+    private ScheduledExecutorService sweepExecutor;
+
     public MongoDbTicketRegistry(final String collectionName, final MongoOperations mongoTemplate) {
         this(collectionName, false, mongoTemplate);
     }
@@ -60,19 +76,97 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         }
         LOGGER.debug("Creating indices on collection [{}] to auto-expire documents...", this.collectionName);
         final DBCollection collection = mongoTemplate.getCollection(this.collectionName);
-        collection.createIndex(new BasicDBObject(TicketHolder.FIELD_NAME_EXPIRE_AT, 1),
-                new BasicDBObject("expireAfterSeconds", 0));
+        collection.createIndex(new BasicDBObject(TicketHolder.FIELD_NAME_ID, 1));
+        final BasicDBObject expireAtIndex = new BasicDBObject(TicketHolder.FIELD_NAME_EXPIRE_AT, 1);
+        final BasicDBObject expireAtOptions = new BasicDBObject("expireAfterSeconds", this.gracePeriodInSeconds);
+        try {
+            collection.createIndex(expireAtIndex, expireAtOptions);
+        } catch (final MongoCommandException e) {
+            if (e.getErrorCode() != INDEX_OPTIONS_CONFLICT) {
+                throw e;
+            }
+            LOGGER.debug("Recreating index on [{}] to expire documents [{}] second(s) after they expire",
+                    TicketHolder.FIELD_NAME_EXPIRE_AT, this.gracePeriodInSeconds);
+            collection.dropIndex(expireAtIndex);
+            collection.createIndex(expireAtIndex, expireAtOptions);
+        }
 
         LOGGER.info("Configured MongoDb Ticket Registry instance [{}]", this.collectionName);
     }
 
+    /**
+     * Report tickets that expire to the given listener.
+     * Expired tickets are looked up by their indexed expiration time, and each is removed by the node that reports it.
+     * Documents are left for mongo to remove only once the given grace period has passed, in case no node is sweeping.
+     * This must be called before the registry is initialized.
+     *
+     * @param listener             the listener
+     * @param gracePeriodInSeconds the grace period in seconds
+     */
+    public void setExpiredTicketListener(final ExpiredTicketListener listener, final long gracePeriodInSeconds) {
+        this.expiredTicketListener = listener;
+        this.gracePeriodInSeconds = gracePeriodInSeconds;
+    }
+
+    /**
+     * Sweep expired tickets in the background at the given interval.
+     *
+     * @param interval the interval, in milliseconds
+     */
+    public void scheduleExpirationSweep(final long interval) {
+        this.sweepExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, MongoDbTicketRegistry.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweepExecutor.scheduleWithFixedDelay(this::sweepExpiredTickets, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remove tickets whose expiration time has passed and report them to the expired ticket listener.
+     * Tickets are removed one at a time, so that nodes sweeping at the same time never report the same ticket twice.
+     *
+     * @return the number of tickets removed
+     */
+    public int sweepExpiredTickets() {
+        if (this.expiredTicketListener == null) {
+            return 0;
+        }
+        int count = 0;
+        try {
+            final Query query = new Query(Criteria.where(TicketHolder.FIELD_NAME_EXPIRE_AT).lte(new Date()));
+            TicketHolder holder = this.mongoTemplate.findAndRemove(query, TicketHolder.class, this.collectionName);
+            while (holder != null) {
+                count++;
+                onExpired(holder);
+                holder = this.mongoTemplate.findAndRemove(query, TicketHolder.class, this.collectionName);
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Failed sweeping expired tickets: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        LOGGER.debug("[{}] expired tickets removed", count);
+        return count;
+    }
+
+    /**
+     * Stop sweeping expired tickets.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (this.sweepExecutor != null) {
+            this.sweepExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         LOGGER.debug("Updating ticket [{}]", ticket);
         try {
             final TicketHolder holder = buildTicketAsDocument(ticket);
             this.mongoTemplate.updateFirst(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId())),
-                    Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson()), this.collectionName);
+                    Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                            .set(TicketHolder.FIELD_NAME_EXPIRE_AT, holder.getExpireAt()), this.collectionName);
         } catch (final Exception e) {
             LOGGER.error("Failed updating [{}]: [{}]", ticket, e);
         }
@@ -117,12 +211,12 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long sessionCount() {
-        return 0;
+        return countTickets(TicketGrantingTicket.PREFIX);
     }
 
     @Override
     public long serviceTicketCount() {
-        return 0;
+        return countTickets(ServiceTicket.PREFIX);
     }
 
     @Override
@@ -145,8 +239,22 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return count;
     }
 
-    private int getTimeToLive(final Ticket ticket) {
-        return ticket.getExpirationPolicy().getTimeToLive().intValue();
+    private long countTickets(final String prefix) {
+        return this.mongoTemplate.count(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).regex('^' + prefix)), this.collectionName);
+    }
+
+    private void onExpired(final TicketHolder holder) {
+        try {
+            this.expiredTicketListener.onExpired(deserializeTicketFromMongoDocument(holder));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read expired ticket [{}]: [{}]", holder.getTicketId(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            this.expiredTicketListener.onExpired(holder.getTicketId());
+        }
+    }
+
+    private static Date getExpireAt(final Ticket ticket) {
+        return new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(getTimeToLive(ticket)));
     }
 
     private String serializeTicketForMongoDocument(final Ticket ticket) {
@@ -159,7 +267,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
     private TicketHolder buildTicketAsDocument(final Ticket ticket) {
         final String json = serializeTicketForMongoDocument(ticket);
-        return new TicketHolder(json, ticket.getId(), ticket.getClass().getName(), getTimeToLive(ticket));
+        return new TicketHolder(json, ticket.getId(), ticket.getClass().getName(), getExpireAt(ticket));
     }
 }
 
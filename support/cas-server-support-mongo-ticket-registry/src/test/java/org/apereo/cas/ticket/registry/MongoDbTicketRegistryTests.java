@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
@@ -15,7 +16,14 @@ import org.apereo.cas.config.CasPersonDirectoryConfiguration;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.MongoDbTicketRegistryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.Before;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -26,6 +34,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.AopTestUtils;
+
+import static org.junit.Assert.*;
 
 /**
  * This is {@link MongoDbTicketRegistryTests}.
@@ -69,4 +80,31 @@ public class MongoDbTicketRegistryTests extends AbstractTicketRegistryTests {
     public TicketRegistry getNewTicketRegistry() throws Exception {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifySessionAndServiceTicketCounts() {
+        final TicketGrantingTicket tgt = newTicketGrantingTicket("TGT-count-1", new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        this.ticketRegistry.addTicket(newTicketGrantingTicket("TGT-count-2", new NeverExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(tgt.grantServiceTicket("ST-count-1", RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true));
+
+        assertEquals(2, this.ticketRegistry.sessionCount());
+        assertEquals(1, this.ticketRegistry.serviceTicketCount());
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreSwept() {
+        this.ticketRegistry.addTicket(newTicketGrantingTicket("TGT-expired-1", new AlwaysExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(newTicketGrantingTicket("TGT-active-1", new NeverExpiresExpirationPolicy()));
+
+        final MongoDbTicketRegistry registry = AopTestUtils.getUltimateTargetObject(this.ticketRegistry);
+        assertEquals(1, registry.sweepExpiredTickets());
+        assertNull(this.ticketRegistry.getTicket("TGT-expired-1"));
+        assertNotNull(this.ticketRegistry.getTicket("TGT-active-1"));
+    }
+
+    private static TicketGrantingTicket newTicketGrantingTicket(final String id, final ExpirationPolicy policy) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), policy);
+    }
 }
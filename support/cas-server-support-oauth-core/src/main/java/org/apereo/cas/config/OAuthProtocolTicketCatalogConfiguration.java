@@ -6,6 +6,7 @@ import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenImpl;
+import org.apereo.cas.ticket.accesstoken.JwtAccessTokenRevocation;
 import org.apereo.cas.ticket.code.OAuthCode;
 import org.apereo.cas.ticket.code.OAuthCodeImpl;
 import org.apereo.cas.ticket.refreshtoken.RefreshToken;
@@ -37,6 +38,14 @@ public class OAuthProtocolTicketCatalogConfiguration extends BaseTicketCatalogCo
         buildAndRegisterOAuthCodeDefinition(plan, buildTicketDefinition(plan, OAuthCode.PREFIX, OAuthCodeImpl.class));
         buildAndRegisterAccessTokenDefinition(plan, buildTicketDefinition(plan, AccessToken.PREFIX, AccessTokenImpl.class));
         buildAndRegisterRefreshTokenDefinition(plan, buildTicketDefinition(plan, RefreshToken.PREFIX, RefreshTokenImpl.class));
+        buildAndRegisterAccessTokenRevocationDefinition(plan,
+                buildTicketDefinition(plan, JwtAccessTokenRevocation.PREFIX, JwtAccessTokenRevocation.class));
+    }
+
+    protected void buildAndRegisterAccessTokenRevocationDefinition(final TicketCatalog plan, final TicketDefinition metadata) {
+        metadata.getProperties().setStorageName("oauthAccessTokenRevocationsCache");
+        metadata.getProperties().setStorageTimeout(casProperties.getAuthn().getOauth().getAccessToken().getMaxTimeToLiveInSeconds());
+        registerTicketDefinition(plan, metadata);
     }
 
     protected void buildAndRegisterAccessTokenDefinition(final TicketCatalog plan, final TicketDefinition metadata) {
@@ -0,0 +1,92 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.ticket.AbstractTicket;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.DigestUtils;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+/**
+ * This is {@link JwtAccessTokenRevocation} that records, in the ticket registry, the time at which
+ * self-contained access tokens of a principal were revoked. The ticket is keyed by a digest of the principal,
+ * so every node sharing the ticket registry finds the same revocation, and it is kept only as long as
+ * access tokens may live.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+@Entity
+@Table(name = "OAUTH_TOKEN_REVOCATIONS")
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY)
+public class JwtAccessTokenRevocation extends AbstractTicket {
+    /**
+     * Prefix of revocation ticket ids.
+     */
+    public static final String PREFIX = "JWTR";
+
+    private static final long serialVersionUID = 4587324612352895140L;
+
+    /**
+     * Epoch second at which tokens were revoked.
+     */
+    @Column(name = "REVOKED_AT", nullable = false)
+    private long revokedAt;
+
+    /**
+     * Instantiates a new revocation.
+     */
+    public JwtAccessTokenRevocation() {
+        // exists for JPA purposes
+    }
+
+    /**
+     * Instantiates a new revocation.
+     *
+     * @param id               the revocation id of the principal
+     * @param expirationPolicy the expiration policy
+     * @param revokedAt        the epoch second at which tokens were revoked
+     */
+    @JsonCreator
+    public JwtAccessTokenRevocation(@JsonProperty("id") final String id,
+                                    @JsonProperty("expirationPolicy") final ExpirationPolicy expirationPolicy,
+                                    @JsonProperty("revokedAt") final long revokedAt) {
+        super(id, expirationPolicy);
+        this.revokedAt = revokedAt;
+    }
+
+    /**
+     * Gets the revocation id of the given principal.
+     *
+     * @param principal the principal
+     * @return the revocation id
+     */
+    public static String getRevocationId(final String principal) {
+        return PREFIX + '-' + DigestUtils.sha256(principal);
+    }
+
+    public long getRevokedAt() {
+        return this.revokedAt;
+    }
+
+    @Override
+    public TicketGrantingTicket getGrantingTicket() {
+        return null;
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return null;
+    }
+
+    @Override
+    public String getPrefix() {
+        return PREFIX;
+    }
+}
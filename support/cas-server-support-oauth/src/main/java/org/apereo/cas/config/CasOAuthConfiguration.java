@@ -1,11 +1,13 @@
 package org.apereo.cas.config;
 
+import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.oauth.OAuthProperties;
 import org.apereo.cas.services.DenyAllAttributeReleasePolicy;
 import org.apereo.cas.services.RegexRegisteredService;
 import org.apereo.cas.services.RegisteredService;
@@ -35,6 +37,9 @@ import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.JwtAccessTokenCipherExecutor;
+import org.apereo.cas.ticket.accesstoken.JwtAccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.JwtAccessTokenRevocationList;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
 import org.apereo.cas.ticket.code.DefaultOAuthCodeFactory;
 import org.apereo.cas.ticket.code.OAuthCodeExpirationPolicy;
@@ -44,6 +49,7 @@ import org.apereo.cas.ticket.refreshtoken.OAuthRefreshTokenExpirationPolicy;
 import org.apereo.cas.ticket.refreshtoken.RefreshTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.cipher.NoOpCipherExecutor;
 import org.apereo.cas.validation.AuthenticationRequestServiceSelectionStrategy;
 import org.pac4j.cas.client.CasClient;
 import org.pac4j.cas.config.CasConfiguration;
@@ -67,6 +73,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
 import javax.annotation.PostConstruct;
+import java.io.Serializable;
 import java.security.SecureRandom;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -232,9 +239,35 @@ public class CasOAuthConfiguration extends WebMvcConfigurerAdapter {
     @RefreshScope
     @ConditionalOnMissingBean(name = "defaultAccessTokenFactory")
     public AccessTokenFactory defaultAccessTokenFactory() {
+        final OAuthProperties.AccessToken accessToken = casProperties.getAuthn().getOauth().getAccessToken();
+        if (accessToken.getJwt().isEnabled()) {
+            return new JwtAccessTokenFactory(accessTokenIdGenerator(), accessTokenExpirationPolicy(),
+                    oauthJwtAccessTokenCipherExecutor(), oauthPrincipalFactory(), webApplicationServiceFactory,
+                    oauthJwtAccessTokenRevocationList(), casProperties.getServer().getPrefix(),
+                    accessToken.getMaxTimeToLiveInSeconds());
+        }
         return new DefaultAccessTokenFactory(accessTokenIdGenerator(), accessTokenExpirationPolicy());
     }
 
+    @Bean
+    @RefreshScope
+    public CipherExecutor<Serializable, String> oauthJwtAccessTokenCipherExecutor() {
+        final OAuthProperties.Jwt jwt = casProperties.getAuthn().getOauth().getAccessToken().getJwt();
+        if (jwt.isEnabled()) {
+            return new JwtAccessTokenCipherExecutor(jwt.getCrypto().getEncryption().getKey(),
+                    jwt.getCrypto().getSigning().getKey(), jwt.isEncryptionEnabled());
+        }
+        return NoOpCipherExecutor.getInstance();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenRevocationList")
+    public JwtAccessTokenRevocationList oauthJwtAccessTokenRevocationList() {
+        final OAuthProperties.AccessToken accessToken = casProperties.getAuthn().getOauth().getAccessToken();
+        return new JwtAccessTokenRevocationList(ticketRegistry, accessToken.getMaxTimeToLiveInSeconds(),
+                accessToken.getJwt().getRevocationCacheTimeToLiveInSeconds());
+    }
+
     private ExpirationPolicy accessTokenExpirationPolicy() {
         return new OAuthAccessTokenExpirationPolicy(
                 casProperties.getAuthn().getOauth().getAccessToken().getMaxTimeToLiveInSeconds(),
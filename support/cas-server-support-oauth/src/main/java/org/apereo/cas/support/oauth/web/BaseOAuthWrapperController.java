@@ -22,6 +22,7 @@ import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilte
 import org.apereo.cas.support.oauth.validator.OAuth20Validator;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.StatelessAccessTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.pac4j.core.context.J2EContext;
 import org.pac4j.core.profile.UserProfile;
@@ -95,11 +96,36 @@ public abstract class BaseOAuthWrapperController {
                                               final J2EContext context) {
         final AccessToken accessToken = this.accessTokenFactory.create(service, authentication);
         LOGGER.debug("Creating access token [{}]", accessToken);
-        this.ticketRegistry.addTicket(accessToken);
-        LOGGER.debug("Added access token [{}] to registry", accessToken);
+        if (!isStatelessAccessToken()) {
+            this.ticketRegistry.addTicket(accessToken);
+            LOGGER.debug("Added access token [{}] to registry", accessToken);
+        }
         return accessToken;
     }
 
+    /**
+     * Locate the access token, either by verifying a self-contained token
+     * or by looking it up in the ticket registry.
+     *
+     * @param accessTokenId the access token id
+     * @return the access token, or null
+     */
+    protected AccessToken getAccessToken(final String accessTokenId) {
+        if (isStatelessAccessToken()) {
+            return ((StatelessAccessTokenFactory) this.accessTokenFactory).read(accessTokenId);
+        }
+        return this.ticketRegistry.getTicket(accessTokenId, AccessToken.class);
+    }
+
+    /**
+     * Whether access tokens are self-contained and not tracked by the ticket registry.
+     *
+     * @return true/false
+     */
+    protected boolean isStatelessAccessToken() {
+        return this.accessTokenFactory instanceof StatelessAccessTokenFactory;
+    }
+
     /**
      * Create an OAuth service from a registered service.
      *
@@ -170,7 +170,9 @@ public class OAuth20AccessTokenEndpointController extends BaseOAuthWrapperContro
             this.accessTokenResponseGenerator.generate(request, response, registeredService, service,
                     accessToken, refreshToken, casProperties.getTicket().getTgt().getTimeToKillInSeconds(), type);
 
-            getTicketRegistry().addTicket(accessToken);
+            if (!isStatelessAccessToken()) {
+                getTicketRegistry().addTicket(accessToken);
+            }
             
             response.setStatus(HttpServletResponse.SC_OK);
             return null;
@@ -85,7 +85,7 @@ public class OAuth20UserProfileControllerController extends BaseOAuthWrapperCont
             return new ResponseEntity<>(value, HttpStatus.UNAUTHORIZED);
         }
 
-        final AccessToken accessTokenTicket = getTicketRegistry().getTicket(accessToken, AccessToken.class);
+        final AccessToken accessTokenTicket = getAccessToken(accessToken);
         if (accessTokenTicket == null || accessTokenTicket.isExpired()) {
             LOGGER.error("Expired access token: [{}]", OAuthConstants.ACCESS_TOKEN);
             final LinkedMultiValueMap<String, String> map = new LinkedMultiValueMap<>(1);
@@ -0,0 +1,72 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.cipher.BaseStringCipherExecutor;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This is {@link JwtAccessTokenCipherExecutor} that signs and optionally encrypts
+ * self-contained JWT access tokens. Tokens must be verifiable by every node and across restarts,
+ * so keys are never generated on the fly and must be configured.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class JwtAccessTokenCipherExecutor extends BaseStringCipherExecutor {
+    private static final int ENCRYPTION_KEY_SIZE = 256;
+
+    private final boolean encryptionEnabled;
+
+    public JwtAccessTokenCipherExecutor(final String secretKeyEncryption, final String secretKeySigning,
+                                        final boolean encryptionEnabled) {
+        super(getEncryptionKey(secretKeyEncryption, encryptionEnabled), getRequiredKey(secretKeySigning, "signing"));
+        this.encryptionEnabled = encryptionEnabled;
+    }
+
+    @Override
+    public String encode(final Serializable value) {
+        if (this.encryptionEnabled) {
+            return super.encode(value);
+        }
+        return new String(sign(value.toString().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(final Serializable value) {
+        if (this.encryptionEnabled) {
+            return super.decode(value);
+        }
+        final byte[] decoded = verifySignature(value.toString().getBytes(StandardCharsets.UTF_8));
+        if (decoded != null && decoded.length > 0) {
+            return new String(decoded, StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    /**
+     * The encryption key is only required when tokens are encrypted;
+     * otherwise a throw-away key stands in for it since it is never used.
+     */
+    private static String getEncryptionKey(final String key, final boolean encryptionEnabled) {
+        if (encryptionEnabled) {
+            return getRequiredKey(key, "encryption");
+        }
+        return StringUtils.isBlank(key) ? EncodingUtils.generateJsonWebKey(ENCRYPTION_KEY_SIZE) : key;
+    }
+
+    private static String getRequiredKey(final String key, final String usage) {
+        if (StringUtils.isBlank(key)) {
+            throw new IllegalArgumentException("The " + usage + " key for JWT access tokens is not defined. "
+                    + "Keys must be configured so that tokens can be verified by every CAS node and across restarts.");
+        }
+        return key;
+    }
+
+    @Override
+    public String getName() {
+        return "OAuth JWT Access Token";
+    }
+}
@@ -0,0 +1,133 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.DateTimeUtils;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is {@link JwtAccessTokenFactory} that issues signed, and optionally encrypted,
+ * self-contained JWT access tokens. The token carries the principal, its attributes
+ * and the expiration time as claims, so it can be verified without a ticket registry lookup.
+ * Since nothing is stored, expiration is fixed at issuance and sliding expiration does not apply.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class JwtAccessTokenFactory extends DefaultAccessTokenFactory implements StatelessAccessTokenFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtAccessTokenFactory.class);
+
+    private static final String CLAIM_ATTRIBUTES = "attributes";
+
+    private final CipherExecutor<Serializable, String> cipherExecutor;
+    private final PrincipalFactory principalFactory;
+    private final ServiceFactory<WebApplicationService> webApplicationServiceFactory;
+    private final JwtAccessTokenRevocationList revocationList;
+    private final String issuer;
+    private final long maxTimeToLiveInSeconds;
+
+    public JwtAccessTokenFactory(final UniqueTicketIdGenerator accessTokenIdGenerator,
+                                 final ExpirationPolicy expirationPolicy,
+                                 final CipherExecutor<Serializable, String> cipherExecutor,
+                                 final PrincipalFactory principalFactory,
+                                 final ServiceFactory<WebApplicationService> webApplicationServiceFactory,
+                                 final JwtAccessTokenRevocationList revocationList,
+                                 final String issuer,
+                                 final long maxTimeToLiveInSeconds) {
+        super(accessTokenIdGenerator, expirationPolicy);
+        this.cipherExecutor = cipherExecutor;
+        this.principalFactory = principalFactory;
+        this.webApplicationServiceFactory = webApplicationServiceFactory;
+        this.revocationList = revocationList;
+        this.issuer = issuer;
+        this.maxTimeToLiveInSeconds = maxTimeToLiveInSeconds;
+    }
+
+    @Override
+    public AccessToken create(final Service service, final Authentication authentication) {
+        final Principal principal = authentication.getPrincipal();
+        final JwtClaims claims = new JwtClaims();
+        claims.setJwtId(this.accessTokenIdGenerator.getNewTicketId(AccessToken.PREFIX));
+        claims.setIssuer(this.issuer);
+        claims.setAudience(service.getId());
+        claims.setSubject(principal.getId());
+        claims.setIssuedAt(getIssuedAt(principal.getId()));
+        final NumericDate expiration = NumericDate.now();
+        expiration.addSeconds(this.maxTimeToLiveInSeconds);
+        claims.setExpirationTime(expiration);
+        claims.setClaim(CLAIM_ATTRIBUTES, new HashMap<>(principal.getAttributes()));
+
+        final String token = this.cipherExecutor.encode(claims.toJson());
+        LOGGER.debug("Issued JWT access token [{}] to [{}] for [{}]", claims.getClaimValue("jti"), principal.getId(), service.getId());
+        return new AccessTokenImpl(token, service, authentication, this.expirationPolicy);
+    }
+
+    @Override
+    public AccessToken read(final String token) {
+        try {
+            final String json = this.cipherExecutor.decode(token);
+            if (json == null) {
+                LOGGER.warn("Access token signature could not be verified");
+                return null;
+            }
+            final JwtClaims claims = JwtClaims.parse(json);
+            final NumericDate now = NumericDate.now();
+            if (claims.getExpirationTime() == null || !now.isBefore(claims.getExpirationTime())) {
+                LOGGER.debug("Access token [{}] has expired", claims.getJwtId());
+                return null;
+            }
+            if (!this.issuer.equals(claims.getIssuer())) {
+                LOGGER.warn("Access token [{}] is issued by [{}] and not by [{}]", claims.getJwtId(), claims.getIssuer(), this.issuer);
+                return null;
+            }
+            final String subject = claims.getSubject();
+            if (this.revocationList.isRevoked(subject, claims.getIssuedAt().getValue())) {
+                LOGGER.debug("Access token [{}] issued to [{}] is revoked", claims.getJwtId(), subject);
+                return null;
+            }
+
+            final Map<String, Object> attributes = claims.getClaimValue(CLAIM_ATTRIBUTES, Map.class);
+            final Principal principal = this.principalFactory.createPrincipal(subject,
+                    attributes == null ? new HashMap<>() : attributes);
+            final Authentication authentication = DefaultAuthenticationBuilder.newInstance()
+                    .setPrincipal(principal)
+                    .setAuthenticationDate(DateTimeUtils.zonedDateTimeOf(claims.getIssuedAt().getValueInMillis()))
+                    .build();
+            final Service service = this.webApplicationServiceFactory.createService(claims.getAudience().get(0));
+            return new AccessTokenImpl(token, service, authentication, this.expirationPolicy);
+        } catch (final Exception e) {
+            LOGGER.warn("Access token could not be read: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Tokens are revoked at second precision, so a token issued within the same second
+     * that tokens of the principal were revoked is stamped as issued on the following second
+     * to keep it apart from the tokens it replaces.
+     */
+    private NumericDate getIssuedAt(final String principal) {
+        final NumericDate issuedAt = NumericDate.now();
+        final long revokedAt = this.revocationList.getRevokedAt(principal);
+        if (issuedAt.getValue() <= revokedAt) {
+            return NumericDate.fromSeconds(revokedAt + 1);
+        }
+        return issuedAt;
+    }
+}
@@ -0,0 +1,112 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketDestroyedEvent;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.jose4j.jwt.NumericDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link JwtAccessTokenRevocationList} that tracks principals whose self-contained
+ * access tokens are revoked because the principal has logged out. Tokens issued to a revoked
+ * principal at or before the second of revocation are considered revoked.
+ * <p>
+ * Revocations are recorded in the ticket registry as {@link JwtAccessTokenRevocation} tickets,
+ * so that they are seen by every node that shares the registry and survive a restart
+ * wherever the registry does. Revocations are kept only as long as access tokens may live.
+ * <p>
+ * What is known about each principal, including that its tokens are not revoked, is cached locally for a short while,
+ * so that reading a token does not consult the ticket registry every time. Revocations made on this node are cached
+ * right away; those made on other nodes are seen once the cached answer expires.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class JwtAccessTokenRevocationList {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtAccessTokenRevocationList.class);
+
+    private static final long DEFAULT_CACHE_TIME_TO_LIVE_IN_SECONDS = 10;
+    private static final long CACHE_MAXIMUM_SIZE = 10_000;
+
+    private final TicketRegistry ticketRegistry;
+    private final long maxTimeToLiveInSeconds;
+    private final Cache<String, Long> revocations;
+
+    public JwtAccessTokenRevocationList(final TicketRegistry ticketRegistry, final long maxTimeToLiveInSeconds) {
+        this(ticketRegistry, maxTimeToLiveInSeconds, DEFAULT_CACHE_TIME_TO_LIVE_IN_SECONDS);
+    }
+
+    public JwtAccessTokenRevocationList(final TicketRegistry ticketRegistry, final long maxTimeToLiveInSeconds,
+                                        final long cacheTimeToLiveInSeconds) {
+        this.ticketRegistry = ticketRegistry;
+        this.maxTimeToLiveInSeconds = maxTimeToLiveInSeconds;
+        this.revocations = CacheBuilder.newBuilder()
+                .maximumSize(CACHE_MAXIMUM_SIZE)
+                .expireAfterWrite(cacheTimeToLiveInSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Revoke tokens issued to the principal up until now.
+     *
+     * @param principal the principal
+     */
+    public void revoke(final String principal) {
+        final String id = JwtAccessTokenRevocation.getRevocationId(principal);
+        final long revokedAt = NumericDate.now().getValue();
+        this.ticketRegistry.deleteTicket(id);
+        this.ticketRegistry.addTicket(new JwtAccessTokenRevocation(id,
+                new HardTimeoutExpirationPolicy(this.maxTimeToLiveInSeconds), revokedAt));
+        this.revocations.put(principal, revokedAt);
+        LOGGER.debug("Revoked access tokens issued to [{}]", principal);
+    }
+
+    /**
+     * Gets the epoch second at which tokens of the principal were last revoked.
+     *
+     * @param principal the principal
+     * @return the epoch second of revocation, or {@link Long#MIN_VALUE} if tokens of the principal are not revoked
+     */
+    public long getRevokedAt(final String principal) {
+        final Long cached = this.revocations.getIfPresent(principal);
+        if (cached != null) {
+            return cached;
+        }
+        final Ticket ticket = this.ticketRegistry.getTicket(JwtAccessTokenRevocation.getRevocationId(principal));
+        final long revokedAt = ticket instanceof JwtAccessTokenRevocation && !ticket.isExpired()
+                ? ((JwtAccessTokenRevocation) ticket).getRevokedAt()
+                : Long.MIN_VALUE;
+        this.revocations.put(principal, revokedAt);
+        return revokedAt;
+    }
+
+    /**
+     * Determine whether a token issued to the principal at the given time is revoked.
+     *
+     * @param principal         the principal
+     * @param issuedAtInSeconds the epoch second the token was issued at
+     * @return true if revoked
+     */
+    public boolean isRevoked(final String principal, final long issuedAtInSeconds) {
+        return issuedAtInSeconds <= getRevokedAt(principal);
+    }
+
+    /**
+     * Revoke access tokens of the principal once the ticket-granting ticket is destroyed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasTicketGrantingTicketDestroyedEvent(final CasTicketGrantingTicketDestroyedEvent event) {
+        if (event.getTicketGrantingTicket() != null && event.getTicketGrantingTicket().getAuthentication() != null) {
+            revoke(event.getTicketGrantingTicket().getAuthentication().getPrincipal().getId());
+        }
+    }
+}
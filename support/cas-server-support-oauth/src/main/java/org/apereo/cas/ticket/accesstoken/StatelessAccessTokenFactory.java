@@ -0,0 +1,19 @@
+package org.apereo.cas.ticket.accesstoken;
+
+/**
+ * This is {@link StatelessAccessTokenFactory} that issues self-contained access tokens,
+ * which are not tracked by the ticket registry and are instead verified when presented.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public interface StatelessAccessTokenFactory extends AccessTokenFactory {
+
+    /**
+     * Verify and read the access token.
+     *
+     * @param token the encoded token
+     * @return the access token, or null if the token is invalid, expired or revoked
+     */
+    AccessToken read(String token);
+}
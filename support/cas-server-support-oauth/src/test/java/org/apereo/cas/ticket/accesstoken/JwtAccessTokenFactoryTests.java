@@ -0,0 +1,141 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.EncodingUtils;
+import org.jose4j.jwt.NumericDate;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JwtAccessTokenFactoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class JwtAccessTokenFactoryTests {
+    private static final String ISSUER = "https://sso.example.org/cas";
+    private static final String ENCRYPTION_KEY = EncodingUtils.generateJsonWebKey(256);
+    private static final String SIGNING_KEY = EncodingUtils.generateJsonWebKey(512);
+
+    private final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+    private final JwtAccessTokenRevocationList revocationList = new JwtAccessTokenRevocationList(this.ticketRegistry, 60);
+
+    private JwtAccessTokenFactory getFactory(final boolean encryptionEnabled, final long maxTimeToLiveInSeconds) {
+        return getFactory(new JwtAccessTokenCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, encryptionEnabled), maxTimeToLiveInSeconds);
+    }
+
+    private JwtAccessTokenFactory getFactory(final JwtAccessTokenCipherExecutor cipherExecutor, final long maxTimeToLiveInSeconds) {
+        return new JwtAccessTokenFactory(new DefaultUniqueTicketIdGenerator(),
+                new OAuthAccessTokenExpirationPolicy(60, 60),
+                cipherExecutor,
+                new DefaultPrincipalFactory(), new WebApplicationServiceFactory(),
+                this.revocationList, ISSUER, maxTimeToLiveInSeconds);
+    }
+
+    @Test
+    public void verifyTokenIsReadBack() {
+        final JwtAccessTokenFactory factory = getFactory(true, 60);
+        final Service service = CoreAuthenticationTestUtils.getService();
+        final Authentication authentication = CoreAuthenticationTestUtils.getAuthentication("casuser");
+        final AccessToken token = factory.create(service, authentication);
+
+        final AccessToken read = factory.read(token.getId());
+        assertNotNull(read);
+        assertEquals("casuser", read.getAuthentication().getPrincipal().getId());
+        assertEquals(service.getId(), read.getService().getId());
+        assertFalse(read.isExpired());
+    }
+
+    @Test
+    public void verifySignedOnlyTokenIsReadBack() {
+        final JwtAccessTokenFactory factory = getFactory(false, 60);
+        final AccessToken token = factory.create(CoreAuthenticationTestUtils.getService(),
+                CoreAuthenticationTestUtils.getAuthentication("casuser"));
+        assertNotNull(factory.read(token.getId()));
+    }
+
+    @Test
+    public void verifyTamperedTokenIsRejected() {
+        final JwtAccessTokenFactory factory = getFactory(true, 60);
+        final AccessToken token = factory.create(CoreAuthenticationTestUtils.getService(),
+                CoreAuthenticationTestUtils.getAuthentication("casuser"));
+        assertNull(factory.read(token.getId() + 'x'));
+        final JwtAccessTokenCipherExecutor otherKeys = new JwtAccessTokenCipherExecutor(EncodingUtils.generateJsonWebKey(256),
+                EncodingUtils.generateJsonWebKey(512), true);
+        assertNull(getFactory(otherKeys, 60).read(token.getId()));
+    }
+
+    @Test
+    public void verifyExpiredTokenIsRejected() {
+        final JwtAccessTokenFactory factory = getFactory(true, -1);
+        final AccessToken token = factory.create(CoreAuthenticationTestUtils.getService(),
+                CoreAuthenticationTestUtils.getAuthentication("casuser"));
+        assertNull(factory.read(token.getId()));
+    }
+
+    @Test
+    public void verifyRevokedTokenIsRejected() {
+        final JwtAccessTokenFactory factory = getFactory(true, 60);
+        final AccessToken token = factory.create(CoreAuthenticationTestUtils.getService(),
+                CoreAuthenticationTestUtils.getAuthentication("revoked"));
+        this.revocationList.revoke("revoked");
+        assertNull(factory.read(token.getId()));
+        assertFalse(this.revocationList.isRevoked("casuser", NumericDate.now().getValue()));
+    }
+
+    @Test
+    public void verifyRevocationIsSharedThroughTicketRegistry() {
+        final JwtAccessTokenFactory factory = getFactory(true, 60);
+        final AccessToken token = factory.create(CoreAuthenticationTestUtils.getService(),
+                CoreAuthenticationTestUtils.getAuthentication("revoked"));
+        new JwtAccessTokenRevocationList(this.ticketRegistry, 60).revoke("revoked");
+        assertNull(factory.read(token.getId()));
+        assertNotNull(this.ticketRegistry.getTicket(JwtAccessTokenRevocation.getRevocationId("revoked")));
+    }
+
+    @Test
+    public void verifyRevocationsAreCachedLocally() {
+        final long issuedAt = NumericDate.now().getValue();
+        final JwtAccessTokenRevocationList cached = new JwtAccessTokenRevocationList(this.ticketRegistry, 60, 60);
+        assertFalse(cached.isRevoked("cached", issuedAt));
+
+        new JwtAccessTokenRevocationList(this.ticketRegistry, 60).revoke("cached");
+        assertFalse(cached.isRevoked("cached", issuedAt));
+        assertTrue(new JwtAccessTokenRevocationList(this.ticketRegistry, 60, 0).isRevoked("cached", issuedAt));
+    }
+
+    @Test
+    public void verifyTokenIssuedAfterRevocationIsAccepted() {
+        final JwtAccessTokenFactory factory = getFactory(true, 60);
+        this.revocationList.revoke("casuser");
+        final AccessToken token = factory.create(CoreAuthenticationTestUtils.getService(),
+                CoreAuthenticationTestUtils.getAuthentication("casuser"));
+        assertNotNull(factory.read(token.getId()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyMissingSigningKeyFailsFast() {
+        new JwtAccessTokenCipherExecutor(ENCRYPTION_KEY, null, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyMissingEncryptionKeyFailsFast() {
+        new JwtAccessTokenCipherExecutor(null, SIGNING_KEY, true);
+    }
+
+    @Test
+    public void verifyEncryptionKeyIsOptionalWithoutEncryption() {
+        final JwtAccessTokenFactory factory = getFactory(new JwtAccessTokenCipherExecutor(null, SIGNING_KEY, false), 60);
+        final AccessToken token = factory.create(CoreAuthenticationTestUtils.getService(),
+                CoreAuthenticationTestUtils.getAuthentication("casuser"));
+        assertNotNull(factory.read(token.getId()));
+    }
+}
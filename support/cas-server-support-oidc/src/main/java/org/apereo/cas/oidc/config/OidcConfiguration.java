@@ -1,7 +1,9 @@
 package org.apereo.cas.oidc.config;
 
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
@@ -41,7 +43,6 @@ import org.apereo.cas.oidc.web.flow.OidcAuthenticationContextWebflowEventEventRe
 import org.apereo.cas.oidc.web.flow.OidcRegisteredServiceUIAction;
 import org.apereo.cas.oidc.web.flow.OidcWebflowConfigurer;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
-import org.apereo.cas.services.OidcRegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.oauth.OAuth20CasClientRedirectActionBuilder;
 import org.apereo.cas.support.oauth.authenticator.Authenticators;
@@ -87,6 +88,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -101,6 +105,9 @@ import java.util.stream.Stream;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class OidcConfiguration extends WebMvcConfigurerAdapter {
 
+    private static final int JWKS_REFRESH_THREADS = 2;
+    private static final int JWKS_REFRESH_QUEUE_SIZE = 100;
+
     @Autowired
     @Qualifier("webApplicationServiceFactory")
     private ServiceFactory<WebApplicationService> webApplicationServiceFactory;
@@ -358,12 +365,13 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
     }
 
     @Bean
-    public LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCache() {
+    public LoadingCache<String, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCache() {
         final OidcProperties oidc = casProperties.getAuthn().getOidc();
-        final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> cache =
-                CacheBuilder.newBuilder().maximumSize(1)
-                        .expireAfterWrite(oidc.getJwksCacheInMinutes(), TimeUnit.MINUTES)
-                        .build(oidcServiceJsonWebKeystoreCacheLoader());
+        final LoadingCache<String, Optional<RsaJsonWebKey>> cache =
+                CacheBuilder.newBuilder().maximumSize(oidc.getJwksCacheMaximumSize())
+                        .refreshAfterWrite(oidc.getJwksCacheInMinutes(), TimeUnit.MINUTES)
+                        .build(CacheLoader.asyncReloading(oidcServiceJsonWebKeystoreCacheLoader(),
+                                oidcJsonWebKeystoreCacheRefreshExecutor()));
         return cache;
     }
 
@@ -372,11 +380,22 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
         final OidcProperties oidc = casProperties.getAuthn().getOidc();
         final LoadingCache<String, Optional<RsaJsonWebKey>> cache =
                 CacheBuilder.newBuilder().maximumSize(1)
-                        .expireAfterWrite(oidc.getJwksCacheInMinutes(), TimeUnit.MINUTES)
-                        .build(oidcDefaultJsonWebKeystoreCacheLoader());
+                        .refreshAfterWrite(oidc.getJwksCacheInMinutes(), TimeUnit.MINUTES)
+                        .build(CacheLoader.asyncReloading(oidcDefaultJsonWebKeystoreCacheLoader(),
+                                oidcJsonWebKeystoreCacheRefreshExecutor()));
         return cache;
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService oidcJsonWebKeystoreCacheRefreshExecutor() {
+        return new ThreadPoolExecutor(JWKS_REFRESH_THREADS, JWKS_REFRESH_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(JWKS_REFRESH_QUEUE_SIZE),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("cas-oidc-jwks-refresh-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
     @Bean
     public OidcDefaultJsonWebKeystoreCacheLoader oidcDefaultJsonWebKeystoreCacheLoader() {
         return new OidcDefaultJsonWebKeystoreCacheLoader(casProperties.getAuthn().getOidc().getJwksFile());
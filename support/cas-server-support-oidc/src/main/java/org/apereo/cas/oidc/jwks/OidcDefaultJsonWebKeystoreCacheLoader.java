@@ -1,6 +1,8 @@
 package org.apereo.cas.oidc.jwks;
 
 import com.google.common.cache.CacheLoader;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jose4j.jwk.JsonWebKeySet;
@@ -15,6 +17,7 @@ import java.util.Optional;
 /**
  * This is {@link OidcDefaultJsonWebKeystoreCacheLoader}.
  * Only attempts to cache the default CAS keystore.
+ * When a refresh fails to produce a key, the previously loaded key is retained.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -41,6 +44,17 @@ public class OidcDefaultJsonWebKeystoreCacheLoader extends CacheLoader<String, O
         return Optional.of(key);
     }
 
+    @Override
+    public ListenableFuture<Optional<RsaJsonWebKey>> reload(final String issuer,
+                                                            final Optional<RsaJsonWebKey> oldValue) throws Exception {
+        final Optional<RsaJsonWebKey> key = load(issuer);
+        if (!key.isPresent() && oldValue.isPresent()) {
+            LOGGER.warn("Unable to refresh default JSON web key from [{}]; previously loaded key will continue to be used", this.jwksFile);
+            return Futures.immediateFuture(oldValue);
+        }
+        return Futures.immediateFuture(key);
+    }
+
     /**
      * Build json web key set.
      *
@@ -1,9 +1,10 @@
 package org.apereo.cas.oidc.jwks;
 
 import com.google.common.cache.CacheLoader;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apereo.cas.services.OidcRegisteredService;
 import org.jose4j.jwk.JsonWebKeySet;
 import org.jose4j.jwk.RsaJsonWebKey;
 import org.slf4j.Logger;
@@ -17,19 +18,22 @@ import java.util.Optional;
 
 /**
  * This is {@link OidcServiceJsonWebKeystoreCacheLoader}.
+ * Keys are cached by keystore location, so that services sharing
+ * the same keystore share the parsed JSON web key as well.
+ * When a refresh fails to produce a key, the previously loaded key is retained.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
-public class OidcServiceJsonWebKeystoreCacheLoader extends CacheLoader<OidcRegisteredService, Optional<RsaJsonWebKey>> {
+public class OidcServiceJsonWebKeystoreCacheLoader extends CacheLoader<String, Optional<RsaJsonWebKey>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(OidcServiceJsonWebKeystoreCacheLoader.class);
 
     @Autowired
     private ResourceLoader resourceLoader;
 
     @Override
-    public Optional<RsaJsonWebKey> load(final OidcRegisteredService svc) throws Exception {
-        final Optional<JsonWebKeySet> jwks = buildJsonWebKeySet(svc);
+    public Optional<RsaJsonWebKey> load(final String location) throws Exception {
+        final Optional<JsonWebKeySet> jwks = buildJsonWebKeySet(location);
         if (!jwks.isPresent() || jwks.get().getJsonWebKeys().isEmpty()) {
             return Optional.empty();
         }
@@ -40,6 +44,17 @@ public class OidcServiceJsonWebKeystoreCacheLoader extends CacheLoader<OidcRegis
         return Optional.of(key);
     }
 
+    @Override
+    public ListenableFuture<Optional<RsaJsonWebKey>> reload(final String location,
+                                                            final Optional<RsaJsonWebKey> oldValue) throws Exception {
+        final Optional<RsaJsonWebKey> key = load(location);
+        if (!key.isPresent() && oldValue.isPresent()) {
+            LOGGER.warn("Unable to refresh JSON web key from [{}]; previously loaded key will continue to be used", location);
+            return Futures.immediateFuture(oldValue);
+        }
+        return Futures.immediateFuture(key);
+    }
+
     private RsaJsonWebKey getJsonSigningWebKeyFromJwks(final JsonWebKeySet jwks) {
         if (jwks.getJsonWebKeys().isEmpty()) {
             LOGGER.warn("No JSON web keys are available in the keystore");
@@ -61,14 +76,14 @@ public class OidcServiceJsonWebKeystoreCacheLoader extends CacheLoader<OidcRegis
         return key;
     }
 
-    private Optional<JsonWebKeySet> buildJsonWebKeySet(final OidcRegisteredService service) throws Exception {
+    private Optional<JsonWebKeySet> buildJsonWebKeySet(final String location) throws Exception {
         try {
-            LOGGER.debug("Loading JSON web key from [{}]", service.getJwks());
-            final Resource resource = this.resourceLoader.getResource(service.getJwks());
+            LOGGER.debug("Loading JSON web key from [{}]", location);
+            final Resource resource = this.resourceLoader.getResource(location);
             final JsonWebKeySet jsonWebKeySet = buildJsonWebKeySet(resource);
 
             if (jsonWebKeySet == null || jsonWebKeySet.getJsonWebKeys().isEmpty()) {
-                LOGGER.warn("No JSON web keys could be found for [{}]", service);
+                LOGGER.warn("No JSON web keys could be found for [{}]", location);
                 return Optional.empty();
             }
 
@@ -78,7 +93,7 @@ public class OidcServiceJsonWebKeystoreCacheLoader extends CacheLoader<OidcRegis
                             && StringUtils.isBlank(k.getKeyType())).count();
 
             if (badKeysCount == jsonWebKeySet.getJsonWebKeys().size()) {
-                LOGGER.warn("No valid JSON web keys could be found for [{}]", service);
+                LOGGER.warn("No valid JSON web keys could be found for [{}]", location);
                 return Optional.empty();
             }
 
@@ -19,6 +19,8 @@ import java.util.UUID;
 
 /**
  * This is {@link OidcIdTokenSigningAndEncryptionService}.
+ * Keys are obtained from caches that are refreshed in the background,
+ * so encoding id tokens does not block on loading keystores once keys are cached.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -27,12 +29,12 @@ public class OidcIdTokenSigningAndEncryptionService {
     private static final Logger LOGGER = LoggerFactory.getLogger(OidcIdTokenSigningAndEncryptionService.class);
 
     private final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache;
-    private final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache;
+    private final LoadingCache<String, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache;
 
     private final String issuer;
 
     public OidcIdTokenSigningAndEncryptionService(final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache,
-                                                  final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache,
+                                                  final LoadingCache<String, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache,
                                                   final String issuer) {
         this.defaultJsonWebKeystoreCache = defaultJsonWebKeystoreCache;
         this.serviceJsonWebKeystoreCache = serviceJsonWebKeystoreCache;
@@ -77,7 +79,9 @@ public class OidcIdTokenSigningAndEncryptionService {
         jwe.setAlgorithmHeaderValue(svc.getIdTokenEncryptionAlg());
         jwe.setEncryptionMethodHeaderParameter(svc.getIdTokenEncryptionEncoding());
 
-        final Optional<RsaJsonWebKey> jwks = this.serviceJsonWebKeystoreCache.get(svc);
+        final Optional<RsaJsonWebKey> jwks = StringUtils.isBlank(svc.getJwks())
+                ? Optional.empty()
+                : this.serviceJsonWebKeystoreCache.get(svc.getJwks());
         if (!jwks.isPresent()) {
             throw new IllegalArgumentException("Service " + svc.getServiceId()
                     + " with client id " + svc.getClientId()
@@ -99,4 +99,9 @@ public class OidcAuthenticationContextWebflowEventEventResolver extends BaseMult
         LOGGER.warn("The requested authentication class [{}] cannot be satisfied by any of the MFA providers available", values);
         throw new AuthenticationException();
     }
+
+    @Override
+    public Cost getCost() {
+        return Cost.LOW;
+    }
 }
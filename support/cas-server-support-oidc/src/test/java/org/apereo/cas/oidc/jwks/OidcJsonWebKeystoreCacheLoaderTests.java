@@ -0,0 +1,73 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcJsonWebKeystoreCacheLoaderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class OidcJsonWebKeystoreCacheLoaderTests {
+
+    private static final int KEY_SIZE = 2048;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File keystore;
+
+    @Before
+    public void setUp() throws Exception {
+        final RsaJsonWebKey key = RsaJwkGenerator.generateJwk(KEY_SIZE);
+        key.setKeyId("cas");
+        key.setAlgorithm("RS256");
+        this.keystore = this.folder.newFile("keystore.jwks");
+        writeKeystore(new JsonWebKeySet(key).toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE));
+    }
+
+    @Test
+    public void verifyDefaultKeyIsRetainedWhenRefreshFails() throws Exception {
+        final OidcDefaultJsonWebKeystoreCacheLoader loader = new OidcDefaultJsonWebKeystoreCacheLoader(new FileSystemResource(this.keystore));
+        final Optional<RsaJsonWebKey> key = loader.load("https://sso.example.org/cas/oidc");
+        assertTrue(key.isPresent());
+
+        writeKeystore("{}");
+        assertFalse(loader.load("https://sso.example.org/cas/oidc").isPresent());
+        assertSame(key, loader.reload("https://sso.example.org/cas/oidc", key).get());
+    }
+
+    @Test
+    public void verifyServiceKeyIsLoadedByLocationAndRetainedWhenRefreshFails() throws Exception {
+        final OidcServiceJsonWebKeystoreCacheLoader loader = new OidcServiceJsonWebKeystoreCacheLoader();
+        ReflectionTestUtils.setField(loader, "resourceLoader", new DefaultResourceLoader());
+        final String location = "file:" + this.keystore.getAbsolutePath();
+        final Optional<RsaJsonWebKey> key = loader.load(location);
+        assertTrue(key.isPresent());
+        assertEquals("cas", key.get().getKeyId());
+
+        writeKeystore("{}");
+        assertSame(key, loader.reload(location, key).get());
+    }
+
+    private void writeKeystore(final String json) throws Exception {
+        Files.write(this.keystore.toPath(), json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -16,6 +16,7 @@ import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationP
 import org.apereo.cas.services.DefaultMultifactorAuthenticationProviderBypass;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.MultifactorAuthenticationProviderBypass;
+import org.apereo.cas.services.MultifactorAuthenticationProviderHealthRegistry;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +42,10 @@ public class RadiusTokenAuthenticationEventExecutionPlanConfiguration implements
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier(MultifactorAuthenticationProviderHealthRegistry.BEAN_NAME)
+    private MultifactorAuthenticationProviderHealthRegistry multifactorAuthenticationProviderHealthRegistry;
+
     @Autowired
     @Qualifier("defaultTicketRegistrySupport")
     private TicketRegistrySupport ticketRegistrySupport;
@@ -55,6 +60,7 @@ public class RadiusTokenAuthenticationEventExecutionPlanConfiguration implements
         final RadiusMultifactorAuthenticationProvider p = new RadiusMultifactorAuthenticationProvider(radiusTokenAuthenticationHandler());
         p.setBypassEvaluator(radiusBypassEvaluator());
         p.setGlobalFailureMode(casProperties.getAuthn().getMfa().getGlobalFailureMode());
+        p.setHealthRegistry(multifactorAuthenticationProviderHealthRegistry);
         p.setOrder(casProperties.getAuthn().getMfa().getRadius().getRank());
         p.setId(casProperties.getAuthn().getMfa().getRadius().getId());
         return p;
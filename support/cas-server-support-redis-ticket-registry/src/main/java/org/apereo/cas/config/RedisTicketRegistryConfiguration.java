@@ -1,12 +1,15 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.ExpiredTicketListener;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRedisTemplate;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -15,6 +18,8 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import redis.clients.jedis.JedisPoolConfig;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * This is {@link RedisTicketRegistryConfiguration}.
  *
@@ -27,6 +32,10 @@ public class RedisTicketRegistryConfiguration {
 
     @Autowired
     private CasConfigurationProperties casProperties;
+
+    @Autowired(required = false)
+    @Qualifier("expiredTicketListener")
+    private ExpiredTicketListener expiredTicketListener;
     
     @Bean
     @RefreshScope
@@ -72,6 +81,12 @@ public class RedisTicketRegistryConfiguration {
         final RedisTicketRegistryProperties redis = casProperties.getTicket().getRegistry().getRedis();
         final RedisTicketRegistry r = new RedisTicketRegistry(ticketRedisTemplate());
         r.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(redis.getCrypto()));
+        if (this.expiredTicketListener != null) {
+            final TicketRegistryProperties.Expiration expiration = casProperties.getTicket().getRegistry().getExpiration();
+            r.setExpiredTicketListener(this.expiredTicketListener, TimeUnit.MILLISECONDS.toSeconds(expiration.getGracePeriod()));
+            r.setKeepExpiredTicketGrantingTickets(redis.isKeepExpiredTicketGrantingTickets());
+            r.subscribeToExpiredKeys(redisConnectionFactory(), redis.getDatabase());
+        }
         return r;
     }
 }
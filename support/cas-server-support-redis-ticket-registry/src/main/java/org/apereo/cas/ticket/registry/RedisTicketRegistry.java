@@ -1,13 +1,24 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.util.Assert;
 
+import javax.annotation.PreDestroy;
 import javax.validation.constraints.NotNull;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -22,18 +33,119 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
 
+    private static final String CAS_EXPIRING_TICKET_PREFIX = "CAS_EXPIRING_TICKET:";
+
+    private static final String CAS_EXPIRED_TICKET_PREFIX = "CAS_EXPIRED_TICKET:";
+
+    private static final long EXPIRED_TICKET_CLAIM_SECONDS = 60;
+
     @NotNull
     private final TicketRedisTemplate client;
 
+    private ExpiredTicketListener expiredTicketListener;
+
+    private long gracePeriodInSeconds;
+
+    private boolean keepExpiredTicketGrantingTickets;
+
+    private RedisMessageListenerContainer listenerContainer;
+
     public RedisTicketRegistry(final TicketRedisTemplate client) {
         this.client = client;
     }
 
+    /**
+     * Report tickets that expire in redis to the given listener.
+     *
+     * @param listener             the listener
+     * @param gracePeriodInSeconds how long to keep copies of ticket-granting tickets past their expiration, in seconds
+     */
+    public void setExpiredTicketListener(final ExpiredTicketListener listener, final long gracePeriodInSeconds) {
+        this.expiredTicketListener = listener;
+        this.gracePeriodInSeconds = gracePeriodInSeconds;
+    }
+
+    /**
+     * Redis no longer holds the contents of a key once the key has expired, so when the listener sends logout notifications,
+     * a copy of each ticket-granting ticket may be kept for the grace period past its expiration, at the cost of a second write.
+     *
+     * @param keepExpiredTicketGrantingTickets whether to keep copies of ticket-granting tickets
+     */
+    public void setKeepExpiredTicketGrantingTickets(final boolean keepExpiredTicketGrantingTickets) {
+        this.keepExpiredTicketGrantingTickets = keepExpiredTicketGrantingTickets;
+    }
+
+    /**
+     * Subscribe to keyspace notifications for keys that expire in the given database.
+     * Redis only publishes these once {@code notify-keyspace-events} includes {@code Ex}.
+     *
+     * @param connectionFactory the connection factory
+     * @param database          the database
+     */
+    public void subscribeToExpiredKeys(final RedisConnectionFactory connectionFactory, final int database) {
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.listenerContainer.addMessageListener((message, pattern) -> onKeyExpired(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new PatternTopic("__keyevent@" + database + "__:expired"));
+        this.listenerContainer.afterPropertiesSet();
+        this.listenerContainer.start();
+        LOGGER.debug("Subscribed to expired keys in redis database [{}]", database);
+    }
+
+    /**
+     * Stop listening to keyspace notifications.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (this.listenerContainer != null) {
+            try {
+                this.listenerContainer.destroy();
+            } catch (final Exception e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Handle the expiration of a key, as reported by redis keyspace notifications.
+     * Every node subscribed to notifications receives the same event, and only the node that claims the expired ticket
+     * reports it. The copy of an expired ticket-granting ticket is claimed by retrieving and removing it in one transaction;
+     * other tickets are claimed by setting a short-lived key, unless it is already set.
+     *
+     * @param redisKey the expired key
+     */
+    public void onKeyExpired(final String redisKey) {
+        if (this.expiredTicketListener == null || !redisKey.startsWith(CAS_TICKET_PREFIX)) {
+            return;
+        }
+        final String ticketId = redisKey.substring(CAS_TICKET_PREFIX.length());
+        try {
+            if (isKeepingExpiredTicket(ticketId)) {
+                final Ticket ticket = removeExpiringTicket(ticketId);
+                if (ticket == null) {
+                    LOGGER.debug("Expired ticket [{}] is already reported by another node", ticketId);
+                } else {
+                    this.expiredTicketListener.onExpired(decodeTicket(ticket));
+                }
+            } else if (claimExpiredTicket(ticketId)) {
+                this.expiredTicketListener.onExpired(ticketId);
+            } else {
+                LOGGER.debug("Expired ticket [{}] is already reported by another node", ticketId);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to handle expired ticket [{}]: [{}]", ticketId, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
     @Override
     public long deleteAll() {
         final Set<String> redisKeys = this.client.keys(getPatternTicketRedisKey());
         final int size = redisKeys.size();
         this.client.delete(redisKeys);
+        if (this.keepExpiredTicketGrantingTickets) {
+            this.client.delete(this.client.keys(CAS_EXPIRING_TICKET_PREFIX + '*'));
+        }
         return size;
     }
     
@@ -43,6 +155,9 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         try {
             final String redisKey = getTicketRedisKey(ticketId);
             this.client.delete(redisKey);
+            if (this.keepExpiredTicketGrantingTickets) {
+                this.client.delete(getExpiringTicketRedisKey(ticketId));
+            }
             return true;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
@@ -61,6 +176,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             final Ticket encodeTicket = this.encodeTicket(ticket);
             this.client.boundValueOps(redisKey)
                     .set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
+            addExpiringTicket(ticket, encodeTicket);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket);
         }
@@ -108,6 +224,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             final Ticket encodeTicket = this.encodeTicket(ticket);
             final String redisKey = this.getTicketRedisKey(ticket.getId());
             this.client.boundValueOps(redisKey).set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
+            addExpiringTicket(ticket, encodeTicket);
             return encodeTicket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket);
@@ -115,18 +232,54 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    private boolean isKeepingExpiredTicket(final String ticketId) {
+        return this.keepExpiredTicketGrantingTickets && this.expiredTicketListener != null
+                && this.expiredTicketListener.isLogoutEnabled() && ticketId.startsWith(TicketGrantingTicket.PREFIX);
+    }
+
+    private void addExpiringTicket(final Ticket ticket, final Ticket encodeTicket) {
+        if (ticket instanceof TicketGrantingTicket && isKeepingExpiredTicket(ticket.getId())) {
+            this.client.boundValueOps(getExpiringTicketRedisKey(ticket.getId()))
+                    .set(encodeTicket, getTimeout(ticket) + this.gracePeriodInSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private Ticket removeExpiringTicket(final String ticketId) {
+        final String redisKey = getExpiringTicketRedisKey(ticketId);
+        final List<Object> results = this.client.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(final RedisOperations<K, V> operations) throws DataAccessException {
+                final RedisOperations<String, Ticket> ops = (RedisOperations<String, Ticket>) operations;
+                ops.multi();
+                ops.opsForValue().get(redisKey);
+                ops.delete(redisKey);
+                return ops.exec();
+            }
+        });
+        return results == null || results.isEmpty() ? null : (Ticket) results.get(0);
+    }
+
+    private boolean claimExpiredTicket(final String ticketId) {
+        final byte[] redisKey = (CAS_EXPIRED_TICKET_PREFIX + ticketId).getBytes(StandardCharsets.UTF_8);
+        final List<Object> results = this.client.execute((RedisCallback<List<Object>>) connection -> {
+            connection.multi();
+            connection.setNX(redisKey, new byte[]{1});
+            connection.expire(redisKey, EXPIRED_TICKET_CLAIM_SECONDS);
+            return connection.exec();
+        });
+        return results != null && !results.isEmpty() && Boolean.TRUE.equals(results.get(0));
+    }
+
     /**
-     * If not time out value is specified, expire the ticket immediately.
+     * Expire the ticket at the earliest time it may expire.
+     * If that time has already passed, expire the ticket immediately.
      *
      * @param ticket the ticket
      * @return timeout
      */
     private static int getTimeout(final Ticket ticket) {
-        final int ttl = ticket.getExpirationPolicy().getTimeToLive().intValue();
-        if (ttl == 0) {
-            return 1;
-        }
-        return ttl;
+        return (int) getTimeToLive(ticket);
     }
 
     // Add a prefix as the key of redis
@@ -134,6 +287,10 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + ticketId;
     }
 
+    private String getExpiringTicketRedisKey(final String ticketId) {
+        return CAS_EXPIRING_TICKET_PREFIX + ticketId;
+    }
+
     // pattern all ticket redisKey
     private String getPatternTicketRedisKey() {
         return CAS_TICKET_PREFIX + "*";
@@ -1,8 +1,10 @@
 package org.apereo.cas.ticket.registry;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -12,6 +14,8 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import redis.embedded.RedisServer;
 
+import static org.junit.Assert.*;
+
 /**
  * Unit test for {@link RedisTicketRegistry}.
  *
@@ -29,6 +33,10 @@ public class RedisTicketRegistryTests extends AbstractTicketRegistryTests {
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketRedisTemplate")
+    private TicketRedisTemplate ticketRedisTemplate;
+
     @BeforeClass
     public static void startRedis() throws Exception {
         REDIS_SERVER = new RedisServer(6379);
@@ -44,4 +52,26 @@ public class RedisTicketRegistryTests extends AbstractTicketRegistryTests {
     public TicketRegistry getNewTicketRegistry() throws Exception {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyExpiredTicketIsReportedByOneNode() {
+        final MetricRegistry first = new MetricRegistry();
+        final MetricRegistry second = new MetricRegistry();
+        newNode(first).onKeyExpired("CAS_TICKET:ST-1-expired");
+        newNode(second).onKeyExpired("CAS_TICKET:ST-1-expired");
+
+        assertEquals(1, getExpiredTickets(first) + getExpiredTickets(second));
+    }
+
+    private RedisTicketRegistry newNode(final MetricRegistry metricRegistry) {
+        final ExpiredTicketListener listener = new ExpiredTicketListener(null, false, 1, 1);
+        listener.setMetricRegistry(metricRegistry);
+        final RedisTicketRegistry registry = new RedisTicketRegistry(this.ticketRedisTemplate);
+        registry.setExpiredTicketListener(listener, 0);
+        return registry;
+    }
+
+    private static long getExpiredTickets(final MetricRegistry metricRegistry) {
+        return metricRegistry.meter(MetricRegistry.name(ExpiredTicketListener.class, "expiredTickets")).getCount();
+    }
 }
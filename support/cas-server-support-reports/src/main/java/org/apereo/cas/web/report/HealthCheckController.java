@@ -6,6 +6,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.monitor.HealthCheckMonitor;
 import org.apereo.cas.monitor.HealthStatus;
 import org.apereo.cas.monitor.Monitor;
+import org.apereo.cas.monitor.StatusCode;
 import org.apereo.cas.util.JsonUtils;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,6 +24,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Reports overall CAS health based on the observations of the configured {@link HealthCheckMonitor} instance.
+ * A separate liveness check reports whether CAS is able to serve requests at all, without consulting any monitors.
  *
  * @author Marvin S. Addison
  * @since 3.5
@@ -85,4 +87,20 @@ public class HealthCheckController extends BaseCasMvcEndpoint {
 
         return new WebAsyncTask<>(casProperties.getHttpClient().getAsyncTimeout(), asyncTask);
     }
+
+    /**
+     * Handle liveness request. Only reports that CAS is up and serving requests,
+     * and does not observe any of the monitors that make up the health check.
+     *
+     * @param request  the request
+     * @param response the response
+     * @return the liveness status
+     */
+    @GetMapping(value = "/live", produces = MediaType.TEXT_PLAIN_VALUE)
+    @ResponseBody
+    public String handleLivenessRequest(final HttpServletRequest request, final HttpServletResponse response) {
+        ensureEndpointAccessIsAuthorized(request, response);
+        response.setStatus(StatusCode.OK.value());
+        return "Health: " + StatusCode.OK;
+    }
 }
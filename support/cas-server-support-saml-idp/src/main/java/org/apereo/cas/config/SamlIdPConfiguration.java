@@ -158,6 +158,7 @@ public class SamlIdPConfiguration {
     public SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver() {
         return new DefaultSamlRegisteredServiceCachingMetadataResolver(
                 casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes(),
+                casProperties.getAuthn().getSamlIdp().getMetadata().getCacheMaximumSize(),
                 chainingMetadataResolverCacheLoader()
         );
     }
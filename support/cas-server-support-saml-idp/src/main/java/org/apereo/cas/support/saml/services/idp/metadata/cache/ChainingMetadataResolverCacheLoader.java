@@ -52,6 +52,8 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -76,11 +78,14 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
      */
     protected HttpClient httpClient;
 
-    private transient Object lock = new Object();
-
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    /**
+     * Locks by backup file, so that resolvers loaded or refreshed at the same time do not write the same backup at once.
+     */
+    private final transient ConcurrentMap<String, Object> backupFileLocks = new ConcurrentHashMap<>();
+
     public ChainingMetadataResolverCacheLoader(final OpenSamlConfigBean configBean,
                                                final HttpClient httpClient) {
         this.configBean = configBean;
@@ -104,11 +109,9 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
                         + " with metadata location " + service.getMetadataLocation());
             }
 
-            synchronized (this.lock) {
-                metadataResolver.setId(ChainingMetadataResolver.class.getCanonicalName());
-                metadataResolver.setResolvers(metadataResolvers);
-                metadataResolver.initialize();
-            }
+            metadataResolver.setId(ChainingMetadataResolver.class.getCanonicalName());
+            metadataResolver.setResolvers(metadataResolvers);
+            metadataResolver.initialize();
             return metadataResolver;
         } catch (final Exception e) {
             throw new SamlException(e.getMessage(), e);
@@ -220,10 +223,12 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
         final HttpClientMultithreadedDownloader downloader =
                 new HttpClientMultithreadedDownloader(metadataResource, backupFile);
 
+        final String backupFilePath = backupFile.getCanonicalPath();
         final FileBackedHTTPMetadataResolver metadataProvider = new FileBackedHTTPMetadataResolver(
-                this.httpClient.getWrappedHttpClient(), metadataResource.getURL().toExternalForm(),
-                backupFile.getCanonicalPath());
-        buildSingleMetadataResolver(metadataProvider, service);
+                this.httpClient.getWrappedHttpClient(), metadataResource.getURL().toExternalForm(), backupFilePath);
+        synchronized (this.backupFileLocks.computeIfAbsent(backupFilePath, path -> new Object())) {
+            buildSingleMetadataResolver(metadataProvider, service);
+        }
         metadataResolvers.add(metadataProvider);
     }
 
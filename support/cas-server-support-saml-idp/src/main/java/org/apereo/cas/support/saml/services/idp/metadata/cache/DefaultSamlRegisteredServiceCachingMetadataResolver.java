@@ -1,37 +1,90 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.shibboleth.utilities.java.support.component.DestructableComponent;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a Guava cache. It basically is a fancy wrapper around Guava, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Resolvers are keyed by {@link SamlRegisteredServiceMetadataCacheKey}, so services that point
+ * to the same metadata with the same filtering criteria share a single resolver. Resolvers for
+ * different keys are initialized concurrently, and once the expiration period has passed a resolver
+ * is refreshed in the background while the current one continues to serve requests.
+ * Resolvers that are replaced by a refresh or evicted from the cache are destroyed once a grace period has passed,
+ * so that requests still holding them can finish; remaining resolvers are destroyed on shutdown.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
-public class DefaultSamlRegisteredServiceCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver {
+public class DefaultSamlRegisteredServiceCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver, DisposableBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultSamlRegisteredServiceCachingMetadataResolver.class);
 
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_SIZE = 100;
+    private static final long DEFAULT_DESTROY_DELAY_SECONDS = 60;
+
     private long metadataCacheExpirationMinutes;
 
     private ChainingMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
 
-    private LoadingCache<SamlRegisteredService, ChainingMetadataResolver> cache;
+    /**
+     * Refreshes that do not fit in the queue are rejected, and the cache keeps serving
+     * the current resolver until the next request for it triggers another refresh.
+     */
+    private final ExecutorService refreshExecutor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(REFRESH_QUEUE_SIZE),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cas-saml-metadata-refresh-%d").build());
+
+    private final ScheduledExecutorService destroyExecutor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cas-saml-metadata-destroy-%d").build());
+
+    private long destroyDelaySeconds = DEFAULT_DESTROY_DELAY_SECONDS;
+
+    private LoadingCache<SamlRegisteredServiceMetadataCacheKey, ChainingMetadataResolver> cache;
 
     public DefaultSamlRegisteredServiceCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final long metadataCacheMaximumSize,
                                                                final ChainingMetadataResolverCacheLoader chainingMetadataResolverCacheLoader) {
         this.metadataCacheExpirationMinutes = metadataCacheExpirationMinutes;
         this.chainingMetadataResolverCacheLoader = chainingMetadataResolverCacheLoader;
-        this.cache = CacheBuilder.newBuilder().maximumSize(1)
-                .expireAfterWrite(this.metadataCacheExpirationMinutes, TimeUnit.MINUTES).build(this.chainingMetadataResolverCacheLoader);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(metadataCacheMaximumSize)
+                .refreshAfterWrite(this.metadataCacheExpirationMinutes, TimeUnit.MINUTES)
+                .removalListener((RemovalListener<SamlRegisteredServiceMetadataCacheKey, ChainingMetadataResolver>) notification -> {
+                    LOGGER.debug("Destroying SAML metadata resolver for [{}] in [{}] second(s), [{}]",
+                            notification.getKey(), this.destroyDelaySeconds, notification.getCause());
+                    destroyLater(notification.getValue());
+                })
+                .build(CacheLoader.asyncReloading(new CacheLoader<SamlRegisteredServiceMetadataCacheKey, ChainingMetadataResolver>() {
+                    @Override
+                    public ChainingMetadataResolver load(final SamlRegisteredServiceMetadataCacheKey key) throws Exception {
+                        LOGGER.debug("Loading SAML metadata resolver for [{}]", key);
+                        return DefaultSamlRegisteredServiceCachingMetadataResolver.this.chainingMetadataResolverCacheLoader
+                                .load(key.getRegisteredService());
+                    }
+                }, this.refreshExecutor));
     }
 
     @Override
@@ -39,7 +92,7 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver implements Saml
         ChainingMetadataResolver resolver = null;
         try {
             LOGGER.debug("Resolving metadata for [{}] at [{}].", service.getName(), service.getMetadataLocation());
-            resolver = this.cache.get(service);
+            resolver = this.cache.get(new SamlRegisteredServiceMetadataCacheKey(service));
             return resolver;
         } catch (final Exception e) {
             throw new IllegalArgumentException("Metadata resolver could not be located from metadata "
@@ -54,10 +107,69 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver implements Saml
         }
     }
 
+    @Override
+    public void destroy() {
+        this.refreshExecutor.shutdownNow();
+        this.destroyExecutor.shutdownNow().forEach(Runnable::run);
+        this.cache.invalidateAll();
+        this.cache.cleanUp();
+    }
+
+    /**
+     * Destroy a resolver that is no longer cached once the grace period has passed, or right away if there is none
+     * or the resolver is shutting down.
+     */
+    private void destroyLater(final ChainingMetadataResolver resolver) {
+        if (this.destroyDelaySeconds <= 0) {
+            destroyResolver(resolver);
+            return;
+        }
+        try {
+            this.destroyExecutor.schedule(() -> destroyResolver(resolver), this.destroyDelaySeconds, TimeUnit.SECONDS);
+        } catch (final RejectedExecutionException e) {
+            destroyResolver(resolver);
+        }
+    }
+
+    /**
+     * Destroy the chaining resolver along with the resolvers it chains,
+     * which may hold background refresh timers and parsed metadata.
+     */
+    private static void destroyResolver(final ChainingMetadataResolver resolver) {
+        if (resolver == null) {
+            return;
+        }
+        final List<MetadataResolver> resolvers = new ArrayList<>(resolver.getResolvers());
+        destroyComponent(resolver);
+        resolvers.stream()
+                .filter(DestructableComponent.class::isInstance)
+                .forEach(r -> destroyComponent((DestructableComponent) r));
+    }
+
+    private static void destroyComponent(final DestructableComponent component) {
+        try {
+            if (!component.isDestroyed()) {
+                component.destroy();
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to destroy SAML metadata resolver [{}]: [{}]", component, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
     public void setChainingMetadataResolverCacheLoader(final ChainingMetadataResolverCacheLoader chainingMetadataResolverCacheLoader) {
         this.chainingMetadataResolverCacheLoader = chainingMetadataResolverCacheLoader;
     }
 
+    /**
+     * Sets how long resolvers that are no longer cached may still be used by requests before they are destroyed.
+     *
+     * @param destroyDelaySeconds the grace period in seconds
+     */
+    public void setDestroyDelaySeconds(final long destroyDelaySeconds) {
+        this.destroyDelaySeconds = destroyDelaySeconds;
+    }
+
     public void setMetadataCacheExpirationMinutes(final long metadataCacheExpirationMinutes) {
         this.metadataCacheExpirationMinutes = metadataCacheExpirationMinutes;
     }
@@ -1,5 +1,7 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
@@ -34,13 +36,18 @@ import org.springframework.core.io.FileSystemResource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This is {@link BaseSamlObjectSigner}.
+ * The signing configuration and credential are built once and reused until the
+ * signing certificate or key file is modified on disk, and the signing parameters
+ * resolved for each relying party role descriptor are cached along with them.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -72,6 +79,8 @@ public class BaseSamlObjectSigner {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    private volatile SigningState signingState;
+
     public BaseSamlObjectSigner(final List overrideSignatureReferenceDigestMethods, final List overrideSignatureAlgorithms,
                                 final List overrideBlackListedSignatureAlgorithms, final List overrideWhiteListedAlgorithms) {
         this.overrideSignatureReferenceDigestMethods = overrideSignatureReferenceDigestMethods;
@@ -200,37 +209,65 @@ public class BaseSamlObjectSigner {
      */
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor) throws SAMLException {
         try {
-            final CriteriaSet criteria = new CriteriaSet();
-            criteria.add(new SignatureSigningConfigurationCriterion(getSignatureSigningConfiguration()));
-            criteria.add(new RoleDescriptorCriterion(descriptor));
-            final SAMLMetadataSignatureSigningParametersResolver resolver = new SAMLMetadataSignatureSigningParametersResolver();
-            LOGGER.debug("Resolving signature signing parameters for [{}]", descriptor.getElementQName().getLocalPart());
-
-            final SignatureSigningParameters params = resolver.resolveSingle(criteria);
-            if (params == null) {
-                throw new SAMLException("No signature signing parameter is available");
-            }
-
-            LOGGER.debug("Created signature signing parameters."
-                            + "\nSignature algorithm: [{}]"
-                            + "\nSignature canonicalization algorithm: [{}]"
-                            + "\nSignature reference digest methods: [{}]",
-                    params.getSignatureAlgorithm(), params.getSignatureCanonicalizationAlgorithm(),
-                    params.getSignatureReferenceDigestMethod());
-
-            return params;
+            final SigningState state = getSigningState();
+            return state.signingParameters.get(descriptor, () -> resolveSignatureSigningParameters(descriptor, state.configuration));
+        } catch (final ExecutionException e) {
+            throw new SAMLException(e.getCause().getMessage(), e.getCause());
         } catch (final Exception e) {
             throw new SAMLException(e.getMessage(), e);
         }
     }
 
     /**
-     * Gets signature signing configuration.
+     * Resolve signature signing parameters for the given role descriptor.
+     *
+     * @param descriptor    the descriptor
+     * @param configuration the signature signing configuration
+     * @return the signature signing parameters
+     * @throws Exception the exception
+     */
+    protected SignatureSigningParameters resolveSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                           final SignatureSigningConfiguration configuration)
+            throws Exception {
+        final CriteriaSet criteria = new CriteriaSet();
+        criteria.add(new SignatureSigningConfigurationCriterion(configuration));
+        criteria.add(new RoleDescriptorCriterion(descriptor));
+        final SAMLMetadataSignatureSigningParametersResolver resolver = new SAMLMetadataSignatureSigningParametersResolver();
+        LOGGER.debug("Resolving signature signing parameters for [{}]", descriptor.getElementQName().getLocalPart());
+
+        final SignatureSigningParameters params = resolver.resolveSingle(criteria);
+        if (params == null) {
+            throw new SAMLException("No signature signing parameter is available");
+        }
+
+        LOGGER.debug("Created signature signing parameters."
+                        + "\nSignature algorithm: [{}]"
+                        + "\nSignature canonicalization algorithm: [{}]"
+                        + "\nSignature reference digest methods: [{}]",
+                params.getSignatureAlgorithm(), params.getSignatureCanonicalizationAlgorithm(),
+                params.getSignatureReferenceDigestMethod());
+
+        return params;
+    }
+
+    /**
+     * Gets signature signing configuration, which is rebuilt only
+     * when the signing certificate or key file has changed.
      *
      * @return the signature signing configuration
      * @throws Exception the exception
      */
     protected SignatureSigningConfiguration getSignatureSigningConfiguration() throws Exception {
+        return getSigningState().configuration;
+    }
+
+    /**
+     * Build signature signing configuration, loading the signing credential.
+     *
+     * @return the signature signing configuration
+     * @throws Exception the exception
+     */
+    protected SignatureSigningConfiguration buildSignatureSigningConfiguration() throws Exception {
         final BasicSignatureSigningConfiguration config =
                 DefaultSecurityConfigurationBootstrap.buildDefaultSignatureSigningConfiguration();
         final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
@@ -299,4 +336,43 @@ public class BaseSamlObjectSigner {
         LOGGER.debug("Locating signature signing key file from [{}]", samlIdp.getMetadata().getSigningKeyFile());
         return privateKeyFactoryBean.getObject();
     }
+
+    private SigningState getSigningState() throws Exception {
+        final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
+        final String fingerprint = getFileFingerprint(samlIdp.getMetadata().getSigningCertFile().getFile())
+                + '|' + getFileFingerprint(samlIdp.getMetadata().getSigningKeyFile().getFile());
+        SigningState state = this.signingState;
+        if (state == null || !state.fingerprint.equals(fingerprint)) {
+            synchronized (this) {
+                state = this.signingState;
+                if (state == null || !state.fingerprint.equals(fingerprint)) {
+                    LOGGER.debug("Loading signature signing configuration and credentials");
+                    state = new SigningState(fingerprint, buildSignatureSigningConfiguration());
+                    this.signingState = state;
+                }
+            }
+        }
+        return state;
+    }
+
+    private static String getFileFingerprint(final File file) {
+        return file.getAbsolutePath() + ':' + file.lastModified() + ':' + file.length();
+    }
+
+    /**
+     * Signing configuration built from a given version of the signing certificate and key,
+     * along with signing parameters resolved from it for each role descriptor.
+     * Role descriptors are weakly held so entries are released once metadata is refreshed.
+     */
+    private static class SigningState {
+        private final String fingerprint;
+        private final SignatureSigningConfiguration configuration;
+        private final Cache<RoleDescriptor, SignatureSigningParameters> signingParameters =
+                CacheBuilder.newBuilder().weakKeys().build();
+
+        SigningState(final String fingerprint, final SignatureSigningConfiguration configuration) {
+            this.fingerprint = fingerprint;
+            this.configuration = configuration;
+        }
+    }
 }
@@ -2,6 +2,8 @@ package org.apereo.cas;
 
 import org.apereo.cas.support.saml.SamlIdPConfigurationTests;
 import org.apereo.cas.support.saml.SamlRegisteredServiceTests;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.DefaultSamlRegisteredServiceCachingMetadataResolverTests;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.BaseSamlObjectSignerTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -13,7 +15,8 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-        SamlRegisteredServiceTests.class, SamlIdPConfigurationTests.class
+        SamlRegisteredServiceTests.class, SamlIdPConfigurationTests.class,
+        BaseSamlObjectSignerTests.class, DefaultSamlRegisteredServiceCachingMetadataResolverTests.class
 })
 public class AllTestsSuite {
 }
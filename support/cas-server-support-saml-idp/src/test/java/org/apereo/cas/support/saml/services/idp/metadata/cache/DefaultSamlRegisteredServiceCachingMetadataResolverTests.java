@@ -0,0 +1,90 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.junit.Test;
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DefaultSamlRegisteredServiceCachingMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class DefaultSamlRegisteredServiceCachingMetadataResolverTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final ChainingMetadataResolverCacheLoader loader = new ChainingMetadataResolverCacheLoader(null, null) {
+        @Override
+        public ChainingMetadataResolver load(final SamlRegisteredService service) throws Exception {
+            final ChainingMetadataResolver resolver = new ChainingMetadataResolver();
+            resolver.setId("resolver-" + loads.incrementAndGet());
+            resolver.setResolvers(new ArrayList<>());
+            resolver.initialize();
+            return resolver;
+        }
+    };
+
+    private static SamlRegisteredService newService(final String name, final String metadataLocation) {
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setName(name);
+        service.setServiceId(name);
+        service.setMetadataLocation(metadataLocation);
+        return service;
+    }
+
+    @Test
+    public void verifyResolversAreSharedByMetadataLocation() {
+        final DefaultSamlRegisteredServiceCachingMetadataResolver resolver =
+                new DefaultSamlRegisteredServiceCachingMetadataResolver(30, 10, this.loader);
+        try {
+            final ChainingMetadataResolver first = resolver.resolve(newService("sp1", "classpath:/metadata/sp.xml"));
+            assertSame(first, resolver.resolve(newService("sp2", "classpath:/metadata/sp.xml")));
+            assertNotSame(first, resolver.resolve(newService("sp3", "classpath:/metadata/other.xml")));
+            assertEquals(2, this.loads.get());
+        } finally {
+            resolver.destroy();
+        }
+    }
+
+    @Test
+    public void verifyEvictedResolversAreDestroyed() {
+        final DefaultSamlRegisteredServiceCachingMetadataResolver resolver =
+                new DefaultSamlRegisteredServiceCachingMetadataResolver(30, 1, this.loader);
+        resolver.setDestroyDelaySeconds(0);
+        try {
+            final ChainingMetadataResolver first = resolver.resolve(newService("sp1", "classpath:/metadata/sp.xml"));
+            final ChainingMetadataResolver second = resolver.resolve(newService("sp2", "classpath:/metadata/other.xml"));
+            assertTrue(first.isDestroyed());
+            assertFalse(second.isDestroyed());
+        } finally {
+            resolver.destroy();
+        }
+    }
+
+    @Test
+    public void verifyEvictedResolversRemainUsableForGracePeriod() {
+        final DefaultSamlRegisteredServiceCachingMetadataResolver resolver =
+                new DefaultSamlRegisteredServiceCachingMetadataResolver(30, 1, this.loader);
+        final ChainingMetadataResolver first = resolver.resolve(newService("sp1", "classpath:/metadata/sp.xml"));
+        resolver.resolve(newService("sp2", "classpath:/metadata/other.xml"));
+        assertFalse(first.isDestroyed());
+
+        resolver.destroy();
+        assertTrue(first.isDestroyed());
+    }
+
+    @Test
+    public void verifyResolversAreDestroyedOnShutdown() {
+        final DefaultSamlRegisteredServiceCachingMetadataResolver resolver =
+                new DefaultSamlRegisteredServiceCachingMetadataResolver(30, 10, this.loader);
+        final ChainingMetadataResolver cached = resolver.resolve(newService("sp1", "classpath:/metadata/sp.xml"));
+        resolver.destroy();
+        assertTrue(cached.isDestroyed());
+    }
+}
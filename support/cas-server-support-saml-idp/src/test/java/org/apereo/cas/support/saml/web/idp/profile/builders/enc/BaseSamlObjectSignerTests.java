@@ -0,0 +1,93 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
+import org.opensaml.xmlsec.SignatureSigningConfiguration;
+import org.opensaml.xmlsec.SignatureSigningParameters;
+import org.opensaml.xmlsec.impl.BasicSignatureSigningConfiguration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link BaseSamlObjectSignerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class BaseSamlObjectSignerTests {
+
+    private static final long ONE_MINUTE = 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger configurations = new AtomicInteger();
+    private final AtomicInteger parameters = new AtomicInteger();
+
+    private BaseSamlObjectSigner signer;
+    private File certificate;
+
+    @Before
+    public void setUp() throws Exception {
+        final File location = this.folder.newFolder();
+        this.certificate = new File(location, "idp-signing.crt");
+        assertTrue(this.certificate.createNewFile());
+        assertTrue(new File(location, "idp-signing.key").createNewFile());
+
+        final CasConfigurationProperties casProperties = new CasConfigurationProperties();
+        casProperties.getAuthn().getSamlIdp().getMetadata().setLocation(new FileSystemResource(location));
+
+        this.signer = new BaseSamlObjectSigner(new ArrayList(), new ArrayList(), new ArrayList(), new ArrayList()) {
+            @Override
+            protected SignatureSigningConfiguration buildSignatureSigningConfiguration() {
+                configurations.incrementAndGet();
+                return new BasicSignatureSigningConfiguration();
+            }
+
+            @Override
+            protected SignatureSigningParameters resolveSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                                   final SignatureSigningConfiguration configuration) {
+                parameters.incrementAndGet();
+                return new SignatureSigningParameters();
+            }
+        };
+        ReflectionTestUtils.setField(this.signer, "casProperties", casProperties);
+    }
+
+    @Test
+    public void verifyConfigurationIsRebuiltOnlyWhenKeysChange() throws Exception {
+        final SignatureSigningConfiguration configuration = this.signer.getSignatureSigningConfiguration();
+        assertSame(configuration, this.signer.getSignatureSigningConfiguration());
+        assertEquals(1, this.configurations.get());
+
+        assertTrue(this.certificate.setLastModified(this.certificate.lastModified() + ONE_MINUTE));
+        assertNotSame(configuration, this.signer.getSignatureSigningConfiguration());
+        assertEquals(2, this.configurations.get());
+    }
+
+    @Test
+    public void verifySigningParametersAreCachedPerDescriptor() throws Exception {
+        final RoleDescriptor descriptor = mock(RoleDescriptor.class);
+        final SignatureSigningParameters params = this.signer.buildSignatureSigningParameters(descriptor);
+        assertSame(params, this.signer.buildSignatureSigningParameters(descriptor));
+        assertEquals(1, this.parameters.get());
+
+        this.signer.buildSignatureSigningParameters(mock(RoleDescriptor.class));
+        assertEquals(2, this.parameters.get());
+
+        assertTrue(this.certificate.setLastModified(this.certificate.lastModified() + ONE_MINUTE));
+        assertNotSame(params, this.signer.buildSignatureSigningParameters(descriptor));
+        assertEquals(3, this.parameters.get());
+    }
+}
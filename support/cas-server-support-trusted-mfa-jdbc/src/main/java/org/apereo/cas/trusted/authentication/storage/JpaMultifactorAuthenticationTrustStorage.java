@@ -32,7 +32,7 @@ public class JpaMultifactorAuthenticationTrustStorage extends BaseMultifactorAut
     private EntityManager entityManager;
 
     @Override
-    public void expire(final String key) {
+    protected void expireInternal(final String key) {
         try {
             final int count = this.entityManager.createQuery("DELETE FROM " + TABLE_NAME + " r where r.key = :key",
                     MultifactorAuthenticationTrustRecord.class)
@@ -45,7 +45,7 @@ public class JpaMultifactorAuthenticationTrustStorage extends BaseMultifactorAut
     }
 
     @Override
-    public void expire(final LocalDate onOrBefore) {
+    protected void expireInternal(final LocalDate onOrBefore) {
         try {
             final int count = this.entityManager.createQuery("DELETE FROM " + TABLE_NAME + " r where r.date < :date",
                     MultifactorAuthenticationTrustRecord.class)
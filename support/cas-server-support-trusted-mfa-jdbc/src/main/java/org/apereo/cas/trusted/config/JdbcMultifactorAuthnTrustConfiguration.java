@@ -2,6 +2,7 @@ package org.apereo.cas.trusted.config;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProperties;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigDataHolder;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustStorage;
@@ -85,6 +86,10 @@ public class JdbcMultifactorAuthnTrustConfiguration {
     public MultifactorAuthenticationTrustStorage mfaTrustEngine() {
         final JpaMultifactorAuthenticationTrustStorage m = new JpaMultifactorAuthenticationTrustStorage();
         m.setCipherExecutor(this.mfaTrustCipherExecutor);
+        final MultifactorAuthenticationProperties.Trusted trusted = casProperties.getAuthn().getMfa().getTrusted();
+        if (trusted.getPrincipalCacheExpiration() > 0) {
+            m.setPrincipalRecordCache(trusted.getPrincipalCacheExpiration(), trusted.getPrincipalCacheMaximumSize());
+        }
         return m;
     }
 }
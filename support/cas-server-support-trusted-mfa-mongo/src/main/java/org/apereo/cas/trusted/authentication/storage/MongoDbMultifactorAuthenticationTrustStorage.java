@@ -51,7 +51,7 @@ public class MongoDbMultifactorAuthenticationTrustStorage extends BaseMultifacto
     }
 
     @Override
-    public void expire(final String key) {
+    protected void expireInternal(final String key) {
         try {
             final Query query = new Query();
             query.addCriteria(Criteria.where("key").is(key));
@@ -63,7 +63,7 @@ public class MongoDbMultifactorAuthenticationTrustStorage extends BaseMultifacto
     }
 
     @Override
-    public void expire(final LocalDate onOrBefore) {
+    protected void expireInternal(final LocalDate onOrBefore) {
         try {
             final Query query = new Query();
             query.addCriteria(Criteria.where("date").lte(onOrBefore));
@@ -3,6 +3,7 @@ package org.apereo.cas.trusted.config;
 import com.mongodb.MongoClientURI;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProperties;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustStorage;
 import org.apereo.cas.trusted.authentication.storage.MongoDbMultifactorAuthenticationTrustStorage;
 import org.springframework.beans.factory.BeanCreationException;
@@ -67,6 +68,10 @@ public class MongoDbMultifactorAuthenticationTrustConfiguration {
                         casProperties.getAuthn().getMfa().getTrusted().getMongodb().isDropCollection(), 
                         mongoMfaTrustedAuthnTemplate());
         m.setCipherExecutor(this.mfaTrustCipherExecutor);
+        final MultifactorAuthenticationProperties.Trusted trusted = casProperties.getAuthn().getMfa().getTrusted();
+        if (trusted.getPrincipalCacheExpiration() > 0) {
+            m.setPrincipalRecordCache(trusted.getPrincipalCacheExpiration(), trusted.getPrincipalCacheMaximumSize());
+        }
         return m;
     }
 }
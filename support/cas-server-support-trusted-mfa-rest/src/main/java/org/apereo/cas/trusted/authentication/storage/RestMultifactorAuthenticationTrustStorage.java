@@ -32,13 +32,13 @@ public class RestMultifactorAuthenticationTrustStorage extends BaseMultifactorAu
     }
 
     @Override
-    public void expire(final LocalDate onOrBefore) {
+    protected void expireInternal(final LocalDate onOrBefore) {
         final RestTemplate restTemplate = new RestTemplate();
         restTemplate.postForEntity(this.endpoint, onOrBefore, Object.class);
     }
 
     @Override
-    public void expire(final String key) {
+    protected void expireInternal(final String key) {
         final RestTemplate restTemplate = new RestTemplate();
         restTemplate.postForEntity(this.endpoint, key, Object.class);
     }
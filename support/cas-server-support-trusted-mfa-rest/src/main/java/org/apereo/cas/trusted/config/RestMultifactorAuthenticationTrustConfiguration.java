@@ -2,6 +2,7 @@ package org.apereo.cas.trusted.config;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProperties;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustStorage;
 import org.apereo.cas.trusted.authentication.storage.RestMultifactorAuthenticationTrustStorage;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +36,10 @@ public class RestMultifactorAuthenticationTrustConfiguration {
                 new RestMultifactorAuthenticationTrustStorage(
                         casProperties.getAuthn().getMfa().getTrusted().getRest().getEndpoint());
         m.setCipherExecutor(this.mfaTrustCipherExecutor);
+        final MultifactorAuthenticationProperties.Trusted trusted = casProperties.getAuthn().getMfa().getTrusted();
+        if (trusted.getPrincipalCacheExpiration() > 0) {
+            m.setPrincipalRecordCache(trusted.getPrincipalCacheExpiration(), trusted.getPrincipalCacheMaximumSize());
+        }
         return m;
     }
 }
@@ -1,5 +1,7 @@
 package org.apereo.cas.trusted.authentication.storage;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.trusted.util.MultifactorAuthenticationTrustUtils;
@@ -13,10 +15,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link BaseMultifactorAuthenticationTrustStorage}.
+ * The verified records of each principal may be cached for a short while, so that
+ * trust checks during the authentication flow do not query the underlying storage
+ * and decode every record each time. The cache is invalidated when records
+ * are stored or expired through this storage.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -28,30 +38,52 @@ public abstract class BaseMultifactorAuthenticationTrustStorage implements Multi
     
     private CipherExecutor<Serializable, String> cipherExecutor;
 
+    private Cache<String, Set<MultifactorAuthenticationTrustRecord>> principalRecords;
+
     @Audit(action = "TRUSTED_AUTHENTICATION", actionResolverName = "TRUSTED_AUTHENTICATION_ACTION_RESOLVER",
             resourceResolverName = "TRUSTED_AUTHENTICATION_RESOURCE_RESOLVER")
     @Override
     public MultifactorAuthenticationTrustRecord set(final MultifactorAuthenticationTrustRecord record) {
         LOGGER.debug("Stored authentication trust record for [{}]", record);
         record.setKey(generateKey(record));
-        return setInternal(record);
+        final MultifactorAuthenticationTrustRecord result = setInternal(record);
+        if (this.principalRecords != null) {
+            this.principalRecords.invalidate(record.getPrincipal());
+        }
+        return result;
+    }
+
+    @Override
+    public void expire(final String key) {
+        expireInternal(key);
+        invalidatePrincipalRecords();
+    }
+
+    @Override
+    public void expire(final LocalDate onOrBefore) {
+        expireInternal(onOrBefore);
+        invalidatePrincipalRecords();
     }
 
     @Override
     public Set<MultifactorAuthenticationTrustRecord> get(final String principal, final LocalDate onOrAfterDate) {
-        final Set<MultifactorAuthenticationTrustRecord> res = get(principal);
-        res.removeIf(entry -> {
-            if (entry.getDate().isBefore(onOrAfterDate)) {
-                return true;
-            }
-            final String decodedKey = this.cipherExecutor.decode(entry.getKey());
-            final String currentKey = MultifactorAuthenticationTrustUtils.generateKey(entry);
-            if (StringUtils.isBlank(decodedKey)) {
-                return true;
-            }
-            return !decodedKey.equals(currentKey);
-        });
-        return res;
+        return getVerifiedRecords(principal)
+                .stream()
+                .filter(entry -> !entry.getDate().isBefore(onOrAfterDate))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Cache the verified records of each principal for the given amount of time.
+     *
+     * @param expireAfterWrite how long to cache records, in milliseconds
+     * @param maximumSize      maximum number of principals whose records are cached
+     */
+    public void setPrincipalRecordCache(final long expireAfterWrite, final long maximumSize) {
+        this.principalRecords = CacheBuilder.newBuilder()
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS)
+                .maximumSize(maximumSize)
+                .build();
     }
 
     /**
@@ -80,4 +112,52 @@ public abstract class BaseMultifactorAuthenticationTrustStorage implements Multi
      * @return the record
      */
     protected abstract MultifactorAuthenticationTrustRecord setInternal(MultifactorAuthenticationTrustRecord record);
+
+    /**
+     * Expire device by registration key.
+     *
+     * @param key the key
+     */
+    protected abstract void expireInternal(String key);
+
+    /**
+     * Expire records that are on/before the provided date.
+     *
+     * @param onOrBefore the on or before
+     */
+    protected abstract void expireInternal(LocalDate onOrBefore);
+
+    private Set<MultifactorAuthenticationTrustRecord> getVerifiedRecords(final String principal) {
+        if (this.principalRecords == null) {
+            return verify(get(principal));
+        }
+        Set<MultifactorAuthenticationTrustRecord> records = this.principalRecords.getIfPresent(principal);
+        if (records == null) {
+            records = Collections.unmodifiableSet(verify(get(principal)));
+            this.principalRecords.put(principal, records);
+        }
+        return records;
+    }
+
+    /**
+     * Keep the records whose key matches the record, discarding records that were tampered with.
+     */
+    private Set<MultifactorAuthenticationTrustRecord> verify(final Set<MultifactorAuthenticationTrustRecord> records) {
+        final Set<MultifactorAuthenticationTrustRecord> res = new HashSet<>(records);
+        res.removeIf(entry -> {
+            final String decodedKey = this.cipherExecutor.decode(entry.getKey());
+            if (StringUtils.isBlank(decodedKey)) {
+                return true;
+            }
+            final String currentKey = MultifactorAuthenticationTrustUtils.generateKey(entry);
+            return !decodedKey.equals(currentKey);
+        });
+        return res;
+    }
+
+    private void invalidatePrincipalRecords() {
+        if (this.principalRecords != null) {
+            this.principalRecords.invalidateAll();
+        }
+    }
 }
@@ -1,16 +1,29 @@
 package org.apereo.cas.trusted.authentication.storage;
 
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link InMemoryMultifactorAuthenticationTrustStorage}.
+ * Records are indexed by principal and by date, so that records are looked up
+ * and expired without going through every record in the storage.
+ * Records evicted from the cache, once expired or over capacity, are dropped from the indexes as they are evicted.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -18,61 +31,115 @@ import java.util.stream.Collectors;
 public class InMemoryMultifactorAuthenticationTrustStorage extends BaseMultifactorAuthenticationTrustStorage {
     private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryMultifactorAuthenticationTrustStorage.class);
     
-    private LoadingCache<String, MultifactorAuthenticationTrustRecord> storage;
+    private final Cache<String, MultifactorAuthenticationTrustRecord> storage;
 
-    public InMemoryMultifactorAuthenticationTrustStorage(final LoadingCache<String, MultifactorAuthenticationTrustRecord> st) {
-        this.storage = st;
+    private final Map<String, Set<String>> principalIndex = new ConcurrentHashMap<>();
+
+    private final ConcurrentNavigableMap<LocalDate, Set<String>> dateIndex = new ConcurrentSkipListMap<>();
+
+    /**
+     * Instantiates a new storage whose records are kept in a cache built by the given builder.
+     *
+     * @param storageBuilder the builder of the record cache, which defines how records are evicted
+     */
+    public InMemoryMultifactorAuthenticationTrustStorage(final CacheBuilder<Object, Object> storageBuilder) {
+        this.storage = storageBuilder
+                .<String, MultifactorAuthenticationTrustRecord>removalListener(this::onRecordRemoved)
+                .build();
     }
 
     @Override
-    public void expire(final String key) {
-        storage.asMap().keySet().removeIf(k -> k.equalsIgnoreCase(key));
+    protected void expireInternal(final String key) {
+        final MultifactorAuthenticationTrustRecord record = storage.getIfPresent(key);
+        if (record != null) {
+            storage.invalidate(key);
+            removeFromIndex(this.principalIndex, toPrincipalKey(record.getPrincipal()), key);
+            removeFromIndex(this.dateIndex, record.getDate(), key);
+        }
     }
 
     @Override
-    public void expire(final LocalDate onOrBefore) {
-        final Set<MultifactorAuthenticationTrustRecord> results = storage.asMap()
-                .values()
+    protected void expireInternal(final LocalDate onOrBefore) {
+        storage.cleanUp();
+        final Map<LocalDate, Set<String>> expired = this.dateIndex.headMap(onOrBefore, true);
+        final Set<MultifactorAuthenticationTrustRecord> results = expired.values()
                 .stream()
-                .filter(entry -> entry.getDate().isEqual(onOrBefore) || entry.getDate().isBefore(onOrBefore))
-                .sorted()
-                .distinct()
+                .flatMap(Collection::stream)
+                .map(storage::getIfPresent)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
+        expired.clear();
 
         LOGGER.info("Found [{}] expired records", results.size());
         if (!results.isEmpty()) {
-            results.forEach(entry -> storage.invalidate(entry.getKey()));
+            results.forEach(entry -> {
+                storage.invalidate(entry.getKey());
+                removeFromIndex(this.principalIndex, toPrincipalKey(entry.getPrincipal()), entry.getKey());
+            });
             LOGGER.info("Invalidated and removed [{}] expired records", results.size());
         }
     }
 
     @Override
     public Set<MultifactorAuthenticationTrustRecord> get(final LocalDate onOrAfterDate) {
-        expire(onOrAfterDate);
-        return storage.asMap()
+        return this.dateIndex.tailMap(onOrAfterDate, true)
                 .values()
                 .stream()
-                .filter(entry -> entry.getDate().isEqual(onOrAfterDate) || entry.getDate().isAfter(onOrAfterDate))
-                .sorted()
-                .distinct()
+                .flatMap(Collection::stream)
+                .map(storage::getIfPresent)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
     }
 
     @Override
     public Set<MultifactorAuthenticationTrustRecord> get(final String principal) {
-        return storage.asMap()
-                .values()
-                .stream()
-                .filter(entry -> entry.getPrincipal().equalsIgnoreCase(principal))
-                .sorted()
-                .distinct()
+        final Set<String> keys = this.principalIndex.get(toPrincipalKey(principal));
+        if (keys == null) {
+            return new HashSet<>();
+        }
+        final Set<MultifactorAuthenticationTrustRecord> results = keys.stream()
+                .map(storage::getIfPresent)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
+        if (results.size() < keys.size()) {
+            keys.removeIf(key -> storage.getIfPresent(key) == null);
+        }
+        return results;
     }
 
-
     @Override
     public MultifactorAuthenticationTrustRecord setInternal(final MultifactorAuthenticationTrustRecord record) {
         this.storage.put(record.getKey(), record);
+        addToIndex(this.principalIndex, toPrincipalKey(record.getPrincipal()), record.getKey());
+        addToIndex(this.dateIndex, record.getDate(), record.getKey());
         return record;
     }
+
+    private void onRecordRemoved(final RemovalNotification<String, MultifactorAuthenticationTrustRecord> notification) {
+        final MultifactorAuthenticationTrustRecord record = notification.getValue();
+        if (notification.wasEvicted() && record != null) {
+            LOGGER.debug("Record [{}] is evicted from the storage: [{}]", record, notification.getCause());
+            removeFromIndex(this.principalIndex, toPrincipalKey(record.getPrincipal()), notification.getKey());
+            removeFromIndex(this.dateIndex, record.getDate(), notification.getKey());
+        }
+    }
+
+    private static String toPrincipalKey(final String principal) {
+        return principal.toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> void addToIndex(final Map<K, Set<String>> index, final K indexKey, final String key) {
+        index.compute(indexKey, (k, keys) -> {
+            final Set<String> results = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            results.add(key);
+            return results;
+        });
+    }
+
+    private static <K> void removeFromIndex(final Map<K, Set<String>> index, final K indexKey, final String key) {
+        index.computeIfPresent(indexKey, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
 }
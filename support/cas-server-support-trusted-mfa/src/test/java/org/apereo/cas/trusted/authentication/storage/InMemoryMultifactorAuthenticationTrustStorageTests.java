@@ -0,0 +1,105 @@
+package org.apereo.cas.trusted.authentication.storage;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
+import org.apereo.cas.util.cipher.NoOpCipherExecutor;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link InMemoryMultifactorAuthenticationTrustStorageTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class InMemoryMultifactorAuthenticationTrustStorageTests {
+
+    @Test
+    public void verifyRecordsAreIndexedByPrincipal() {
+        final InMemoryMultifactorAuthenticationTrustStorage storage = newStorage(CacheBuilder.newBuilder());
+        storage.set(MultifactorAuthenticationTrustRecord.newInstance("CasUser", "geography-1"));
+        storage.set(MultifactorAuthenticationTrustRecord.newInstance("casuser", "geography-2"));
+        storage.set(MultifactorAuthenticationTrustRecord.newInstance("other", "geography-1"));
+
+        assertEquals(2, storage.get("casuser").size());
+        assertEquals(2, storage.get("CASUSER").size());
+        assertEquals(1, storage.get("other").size());
+        assertTrue(storage.get("unknown").isEmpty());
+    }
+
+    @Test
+    public void verifyRecordsAreExpiredByDateAndKey() {
+        final InMemoryMultifactorAuthenticationTrustStorage storage = newStorage(CacheBuilder.newBuilder());
+        final MultifactorAuthenticationTrustRecord old = MultifactorAuthenticationTrustRecord.newInstance("casuser", "geography-1");
+        old.setDate(LocalDate.now().minusDays(10));
+        storage.set(old);
+        final MultifactorAuthenticationTrustRecord recent = storage.set(MultifactorAuthenticationTrustRecord.newInstance("casuser", "geography-2"));
+
+        storage.expire(LocalDate.now().minusDays(5));
+        assertEquals(1, storage.get(LocalDate.now().minusDays(20)).size());
+        assertEquals(1, storage.get("casuser").size());
+
+        storage.expire(recent.getKey());
+        assertTrue(storage.get("casuser").isEmpty());
+        assertTrue(storage.get(LocalDate.now().minusDays(20)).isEmpty());
+        assertIndexesAreEmpty(storage);
+    }
+
+    @Test
+    public void verifyRecordsEvictedBySizeAreRemovedFromIndexes() {
+        final InMemoryMultifactorAuthenticationTrustStorage storage = newStorage(CacheBuilder.newBuilder().maximumSize(1));
+        final MultifactorAuthenticationTrustRecord old = MultifactorAuthenticationTrustRecord.newInstance("casuser", "geography-1");
+        old.setDate(LocalDate.now().minusDays(10));
+        storage.set(old);
+        storage.set(MultifactorAuthenticationTrustRecord.newInstance("other", "geography-1"));
+
+        assertTrue(storage.get("casuser").isEmpty());
+        assertFalse(getIndex(storage, "principalIndex").containsKey("casuser"));
+        assertFalse(getIndex(storage, "dateIndex").containsKey(old.getDate()));
+        assertEquals(1, storage.get("other").size());
+    }
+
+    @Test
+    public void verifyExpiredRecordsAreRemovedFromIndexes() {
+        final AtomicLong time = new AtomicLong();
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return time.get();
+            }
+        };
+        final InMemoryMultifactorAuthenticationTrustStorage storage = newStorage(CacheBuilder.newBuilder()
+                .ticker(ticker)
+                .expireAfterWrite(1, TimeUnit.MINUTES));
+        storage.set(MultifactorAuthenticationTrustRecord.newInstance("casuser", "geography-1"));
+        assertEquals(1, storage.get("casuser").size());
+
+        time.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        storage.expire(LocalDate.now().minusYears(1));
+        assertTrue(storage.get("casuser").isEmpty());
+        assertIndexesAreEmpty(storage);
+    }
+
+    private static InMemoryMultifactorAuthenticationTrustStorage newStorage(final CacheBuilder<Object, Object> builder) {
+        final InMemoryMultifactorAuthenticationTrustStorage storage = new InMemoryMultifactorAuthenticationTrustStorage(builder);
+        storage.setCipherExecutor(NoOpCipherExecutor.getInstance());
+        return storage;
+    }
+
+    private static void assertIndexesAreEmpty(final InMemoryMultifactorAuthenticationTrustStorage storage) {
+        assertTrue(getIndex(storage, "principalIndex").isEmpty());
+        assertTrue(getIndex(storage, "dateIndex").isEmpty());
+    }
+
+    private static Map<?, ?> getIndex(final InMemoryMultifactorAuthenticationTrustStorage storage, final String name) {
+        return (Map<?, ?>) ReflectionTestUtils.getField(storage, name);
+    }
+}
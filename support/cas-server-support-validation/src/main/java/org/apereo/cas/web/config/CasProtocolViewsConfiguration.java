@@ -2,6 +2,7 @@ package org.apereo.cas.web.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.web.view.CasProtocolView;
+import org.apereo.cas.web.view.CasXmlProtocolResponseView;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
@@ -10,6 +11,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
+import org.springframework.web.servlet.View;
 import org.thymeleaf.spring4.SpringTemplateEngine;
 
 /**
@@ -42,14 +44,20 @@ public class CasProtocolViewsConfiguration {
     public class CasProtocolViews {
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas2SuccessView() {
+        public View cas2SuccessView() {
+            if (casProperties.getView().isStreamProtocolResponses()) {
+                return new CasXmlProtocolResponseView(true);
+            }
             return new CasProtocolView(casProperties.getView().getCas2().getSuccess(), applicationContext,
                     springTemplateEngine, thymeleafProperties);
         }
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas2ServiceFailureView() {
+        public View cas2ServiceFailureView() {
+            if (casProperties.getView().isStreamProtocolResponses()) {
+                return new CasXmlProtocolResponseView(false);
+            }
             return new CasProtocolView(casProperties.getView().getCas2().getFailure(), applicationContext,
                     springTemplateEngine, thymeleafProperties);
         }
@@ -70,7 +78,10 @@ public class CasProtocolViewsConfiguration {
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas3SuccessView() {
+        public View cas3SuccessView() {
+            if (casProperties.getView().isStreamProtocolResponses()) {
+                return new CasXmlProtocolResponseView(true);
+            }
             return new CasProtocolView(casProperties.getView().getCas3().getSuccess(),
                     applicationContext, springTemplateEngine, thymeleafProperties);
         }
@@ -78,7 +89,10 @@ public class CasProtocolViewsConfiguration {
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas3ServiceFailureView() {
+        public View cas3ServiceFailureView() {
+            if (casProperties.getView().isStreamProtocolResponses()) {
+                return new CasXmlProtocolResponseView(false);
+            }
             return new CasProtocolView(casProperties.getView().getCas3().getFailure(),
                     applicationContext, springTemplateEngine, thymeleafProperties);
         }
@@ -1,6 +1,8 @@
 package org.apereo.cas.web.view;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.ProtocolAttributeEncoder;
 import org.apereo.cas.authentication.principal.Principal;
@@ -23,11 +25,17 @@ import java.util.stream.Collectors;
  * model processing and as such, does not do anything special.
  * It is meant and kept to provide a facility for adopters
  * so that the JSON view can be augmented easily in overlays.
+ * The object mapper is configured once and shared by all responses,
+ * which are written directly to the response stream.
  *
  * @author Misagh Moayyed
  * @since 4.2
  */
 public class Cas30JsonResponseView extends Cas30ResponseView {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(SerializationFeature.INDENT_OUTPUT, true)
+            .findAndRegisterModules();
 
     public Cas30JsonResponseView(final boolean successResponse,
                                  final ProtocolAttributeEncoder protocolAttributeEncoder,
@@ -39,10 +47,8 @@ public class Cas30JsonResponseView extends Cas30ResponseView {
     }
 
     private static MappingJackson2JsonView createDelegatedView() {
-        final MappingJackson2JsonView view = new MappingJackson2JsonView();
-        view.setPrettyPrint(true);
+        final MappingJackson2JsonView view = new MappingJackson2JsonView(MAPPER);
         view.setDisableCaching(true);
-        view.getObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL).findAndRegisterModules();
         return view;
     }
 
@@ -72,7 +78,6 @@ public class Cas30JsonResponseView extends Cas30ResponseView {
             casModel.put("serviceResponse", casResponse);
             model.clear();
             model.putAll(casModel);
-            setView(createDelegatedView());
         }
     }
 
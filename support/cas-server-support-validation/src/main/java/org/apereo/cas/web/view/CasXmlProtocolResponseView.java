@@ -0,0 +1,109 @@
+package org.apereo.cas.web.view;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
+import org.springframework.web.servlet.view.AbstractView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This is {@link CasXmlProtocolResponseView} that writes CAS 2.0 and 3.0
+ * validation responses straight to the response, without going through a template.
+ * It renders the same model as the protocol templates, and is meant to
+ * be the final view that {@link Cas20ResponseView} and {@link Cas30ResponseView}
+ * delegate to, or to render validation failures.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class CasXmlProtocolResponseView extends AbstractView {
+    private static final String INDENT = "    ";
+
+    private final boolean successResponse;
+
+    public CasXmlProtocolResponseView(final boolean successResponse) {
+        this.successResponse = successResponse;
+        // Matches the content type the protocol templates are rendered with.
+        setContentType("text/html;charset=UTF-8");
+    }
+
+    @Override
+    protected void renderMergedOutputModel(final Map<String, Object> model, final HttpServletRequest request,
+                                           final HttpServletResponse response) throws Exception {
+        response.setContentType(getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        final PrintWriter writer = response.getWriter();
+        writer.append("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n");
+        if (this.successResponse) {
+            writeAuthenticationSuccess(writer, model);
+        } else {
+            writeAuthenticationFailure(writer, model);
+        }
+        writer.append("</cas:serviceResponse>\n");
+        writer.flush();
+    }
+
+    private static void writeAuthenticationSuccess(final PrintWriter writer, final Map<String, Object> model) {
+        writer.append(INDENT).append("<cas:authenticationSuccess>\n");
+
+        final Principal principal = (Principal) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL);
+        writeElement(writer, "cas:user", principal.getId());
+
+        final Object pgtIou = model.get(CasProtocolConstants.VALIDATION_CAS_MODEL_PROXY_GRANTING_TICKET_IOU);
+        if (pgtIou != null && StringUtils.isNotBlank(pgtIou.toString())) {
+            writeElement(writer, "cas:proxyGrantingTicket", pgtIou.toString());
+        }
+
+        final Collection<Authentication> proxies =
+                (Collection<Authentication>) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        if (proxies != null && !proxies.isEmpty()) {
+            writer.append(INDENT).append(INDENT).append("<cas:proxies>\n");
+            proxies.forEach(proxy -> {
+                writer.append(INDENT);
+                writeElement(writer, "cas:proxy", proxy.getPrincipal().getId());
+            });
+            writer.append(INDENT).append(INDENT).append("</cas:proxies>\n");
+        }
+
+        final Collection<String> attributes =
+                (Collection<String>) model.get(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES);
+        if (attributes != null && !attributes.isEmpty()) {
+            writer.append(INDENT).append(INDENT).append("<cas:attributes>\n");
+            attributes.forEach(attribute -> writer.append(INDENT).append(INDENT).append(INDENT).append(attribute).append('\n'));
+            writer.append(INDENT).append(INDENT).append("</cas:attributes>\n");
+        }
+        writer.append(INDENT).append("</cas:authenticationSuccess>\n");
+    }
+
+    private static void writeAuthenticationFailure(final PrintWriter writer, final Map<String, Object> model) {
+        final Object code = model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE);
+        final Object description = model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION);
+        writer.append(INDENT)
+                .append("<cas:authenticationFailure code='")
+                .append(escape(code))
+                .append("'>")
+                .append(escape(description))
+                .append("</cas:authenticationFailure>\n");
+    }
+
+    private static void writeElement(final PrintWriter writer, final String name, final String value) {
+        writer.append(INDENT).append(INDENT)
+                .append('<').append(name).append('>')
+                .append(escape(value))
+                .append("</").append(name).append(">\n");
+    }
+
+    private static String escape(final Object value) {
+        return value == null ? StringUtils.EMPTY : StringEscapeUtils.escapeXml10(value.toString());
+    }
+}
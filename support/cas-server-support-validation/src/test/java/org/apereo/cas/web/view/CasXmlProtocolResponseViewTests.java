@@ -0,0 +1,60 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.web.AbstractServiceValidateControllerTests;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CasXmlProtocolResponseView}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class CasXmlProtocolResponseViewTests extends AbstractServiceValidateControllerTests {
+
+    @Test
+    public void verifySuccessResponse() throws Exception {
+        final ModelAndView modelAndView = this.getModelAndViewUponServiceValidationWithSecurePgtUrl();
+        final MockHttpServletRequest req = new MockHttpServletRequest(new MockServletContext());
+        req.setAttribute(RequestContext.WEB_APPLICATION_CONTEXT_ATTRIBUTE, new GenericWebApplicationContext(req.getServletContext()));
+        final MockHttpServletResponse resp = new MockHttpServletResponse();
+
+        final Cas20ResponseView view = new Cas20ResponseView(true, null, null, "attribute", new CasXmlProtocolResponseView(true));
+        view.render(modelAndView.getModel(), req, resp);
+
+        final String content = resp.getContentAsString();
+        assertTrue(content.startsWith("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>"));
+        assertTrue(content.contains("<cas:authenticationSuccess>"));
+        assertTrue(content.contains("<cas:user>" + CoreAuthenticationTestUtils.CONST_USERNAME + "</cas:user>"));
+        assertTrue(content.contains("<cas:proxyGrantingTicket>"
+                + modelAndView.getModel().get(CasProtocolConstants.VALIDATION_CAS_MODEL_PROXY_GRANTING_TICKET_IOU)
+                + "</cas:proxyGrantingTicket>"));
+    }
+
+    @Test
+    public void verifyFailureResponse() throws Exception {
+        final Map<String, Object> model = new HashMap<>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE, CasProtocolConstants.ERROR_CODE_INVALID_TICKET);
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION, "Ticket <ST-1> not recognized");
+        final MockHttpServletResponse resp = new MockHttpServletResponse();
+
+        new CasXmlProtocolResponseView(false).render(model, new MockHttpServletRequest(), resp);
+
+        assertEquals("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n"
+                + "    <cas:authenticationFailure code='INVALID_TICKET'>Ticket &lt;ST-1&gt; not recognized</cas:authenticationFailure>\n"
+                + "</cas:serviceResponse>\n", resp.getContentAsString());
+    }
+}
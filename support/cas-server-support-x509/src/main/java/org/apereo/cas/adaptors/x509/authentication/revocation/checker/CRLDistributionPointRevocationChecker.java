@@ -6,6 +6,9 @@ import net.sf.ehcache.Cache;
 import net.sf.ehcache.Element;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLIndex;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLIndexManager;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.adaptors.x509.util.CertUtils;
 import org.bouncycastle.asn1.ASN1Sequence;
@@ -22,12 +25,14 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -37,7 +42,8 @@ import java.util.stream.IntStream;
  * expects the name to define an absolute URL, which is the most common
  * implementation.  This implementation caches CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. When a {@link CRLIndexManager} is defined, fetched CRLs are indexed and
+ * refreshed in the background, and certificates are checked against the index instead.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
@@ -49,6 +55,8 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     private final CRLFetcher fetcher;
     private final boolean throwOnFetchFailure;
 
+    private CRLIndexManager indexManager;
+
     /**
      * Creates a new instance that uses the given cache instance for CRL caching.
      *
@@ -107,6 +115,56 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         this.throwOnFetchFailure = throwOnFetchFailure;
     }
 
+    @Override
+    public void check(final X509Certificate cert) throws GeneralSecurityException {
+        if (this.indexManager == null || cert == null) {
+            super.check(cert);
+            return;
+        }
+        final List<CRLIndex> indexes = getIndexes(cert);
+        if (indexes.isEmpty()) {
+            LOGGER.debug("CRLs for [{}] are not indexed yet", CertUtils.toString(cert));
+            super.check(cert);
+            return;
+        }
+        final List<RevokedCertificateException> revocations = indexes.stream()
+                .map(index -> index.find(cert))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (revocations.size() == indexes.size()) {
+            LOGGER.warn("All indexed CRLs list [{}] as revoked", CertUtils.toString(cert));
+            throw revocations.get(0);
+        }
+    }
+
+    public void setIndexManager(final CRLIndexManager indexManager) {
+        this.indexManager = indexManager;
+    }
+
+    /**
+     * Gets the indexes of the CRLs published at the distribution points of the certificate.
+     * Indexes are only used if every CRL that would otherwise be fetched is indexed
+     * and current, so that the outcome matches a check against the fetched CRLs.
+     *
+     * @param cert the cert
+     * @return the indexes, or an empty list if any of the CRLs is not indexed
+     */
+    private List<CRLIndex> getIndexes(final X509Certificate cert) {
+        final URI[] urls = getDistributionPoints(cert);
+        final List<CRLIndex> indexes = new ArrayList<>(urls.length);
+        for (final URI url : urls) {
+            final CRLIndex index = this.indexManager.getIndex(url);
+            if (index == null || !index.covers(cert)) {
+                return new ArrayList<>(0);
+            }
+            indexes.add(index);
+            if (!this.checkAll) {
+                break;
+            }
+        }
+        return indexes;
+    }
+
     @Override
     protected List<X509CRL> getCRLs(final X509Certificate cert) {
 
@@ -150,6 +208,9 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
                         if (crl != null) {
                             LOGGER.info("Success. Caching fetched CRL at [{}].", url);
                             addCRL(url, crl);
+                            if (this.indexManager != null) {
+                                this.indexManager.register(url, crl);
+                            }
                             listOfLocations.add(crl);
                         }
                     } catch (final Exception e) {
@@ -0,0 +1,228 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.crl;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.util.DateTimeUtils;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.cert.CRLReason;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This is {@link CRLIndex} that holds the revoked serial numbers of a single CRL
+ * in a compact, sorted index that is searched without decoding the CRL.
+ * Each entry is stored as a fixed-width record made up of the serial number,
+ * the revocation time and the revocation reason, and the records are kept in a buffer
+ * that is either allocated on the heap or memory-mapped from a file.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class CRLIndex {
+    private static final int DATE_LENGTH = Long.BYTES;
+    private static final int REASON_LENGTH = 1;
+    private static final byte NO_REASON = -1;
+
+    private final X500Principal issuer;
+    private final Date thisUpdate;
+    private final Date nextUpdate;
+    private final ByteBuffer records;
+    private final int serialLength;
+    private final int recordLength;
+    private final int size;
+
+    private CRLIndex(final X509CRL crl, final ByteBuffer records, final int serialLength, final int size) {
+        this.issuer = crl.getIssuerX500Principal();
+        this.thisUpdate = crl.getThisUpdate();
+        this.nextUpdate = crl.getNextUpdate();
+        this.records = records;
+        this.serialLength = serialLength;
+        this.recordLength = serialLength + DATE_LENGTH + REASON_LENGTH;
+        this.size = size;
+    }
+
+    /**
+     * Build an index of the revoked serial numbers of the given CRL, held on the heap.
+     *
+     * @param crl the crl
+     * @return the index
+     */
+    public static CRLIndex of(final X509CRL crl) {
+        final List<X509CRLEntry> entries = getSortedEntries(crl);
+        final int serialLength = getSerialLength(entries);
+        final ByteBuffer buffer = ByteBuffer.allocate(entries.size() * (serialLength + DATE_LENGTH + REASON_LENGTH));
+        writeRecords(buffer, entries, serialLength);
+        buffer.flip();
+        return new CRLIndex(crl, buffer.asReadOnlyBuffer(), serialLength, entries.size());
+    }
+
+    /**
+     * Build an index of the revoked serial numbers of the given CRL, and store it
+     * in the given file which is then memory-mapped.
+     *
+     * @param crl  the crl
+     * @param file the file
+     * @return the index
+     * @throws IOException if the index cannot be written or mapped
+     */
+    public static CRLIndex of(final X509CRL crl, final Path file) throws IOException {
+        final List<X509CRLEntry> entries = getSortedEntries(crl);
+        final int serialLength = getSerialLength(entries);
+        final int length = entries.size() * (serialLength + DATE_LENGTH + REASON_LENGTH);
+
+        final Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            writeRecords(buffer, entries, serialLength);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new CRLIndex(crl, channel.map(FileChannel.MapMode.READ_ONLY, 0, length), serialLength, entries.size());
+        }
+    }
+
+    /**
+     * Find the revocation entry of the given certificate.
+     *
+     * @param cert the certificate
+     * @return the revocation of the certificate, or null if the certificate is not revoked.
+     */
+    public RevokedCertificateException find(final X509Certificate cert) {
+        final BigInteger serial = cert.getSerialNumber();
+        final byte[] key = toFixedLength(serial, this.serialLength);
+        if (key == null) {
+            return null;
+        }
+        final ByteBuffer buffer = this.records.duplicate();
+        int low = 0;
+        int high = this.size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int offset = mid * this.recordLength;
+            final int result = compare(buffer, offset, key);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                final long revocationTime = buffer.getLong(offset + this.serialLength);
+                final byte code = buffer.get(offset + this.serialLength + DATE_LENGTH);
+                return new RevokedCertificateException(DateTimeUtils.zonedDateTimeOf(revocationTime), serial, toReason(code));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determine whether this index can answer for the given certificate, that is,
+     * whether the CRL was issued by the issuer of the certificate.
+     *
+     * @param cert the certificate
+     * @return true if the index covers the certificate
+     */
+    public boolean covers(final X509Certificate cert) {
+        return this.issuer.equals(cert.getIssuerX500Principal());
+    }
+
+    /**
+     * Determine whether the CRL has passed its next update time.
+     *
+     * @return true if expired
+     */
+    public boolean isExpired() {
+        return this.nextUpdate != null && this.nextUpdate.before(new Date());
+    }
+
+    public X500Principal getIssuer() {
+        return this.issuer;
+    }
+
+    public Date getThisUpdate() {
+        return this.thisUpdate == null ? null : new Date(this.thisUpdate.getTime());
+    }
+
+    public Date getNextUpdate() {
+        return this.nextUpdate == null ? null : new Date(this.nextUpdate.getTime());
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private static List<X509CRLEntry> getSortedEntries(final X509CRL crl) {
+        final Set<? extends X509CRLEntry> revoked = crl.getRevokedCertificates();
+        final List<X509CRLEntry> entries = revoked == null ? new ArrayList<>() : new ArrayList<>(revoked);
+        if (entries.stream().anyMatch(e -> e.getSerialNumber().signum() < 0)) {
+            throw new IllegalArgumentException("CRL issued by " + crl.getIssuerX500Principal() + " lists negative serial numbers");
+        }
+        entries.sort(Comparator.comparing(X509CRLEntry::getSerialNumber));
+        return entries;
+    }
+
+    private static int getSerialLength(final List<X509CRLEntry> entries) {
+        return entries.stream()
+                .mapToInt(e -> (e.getSerialNumber().bitLength() + Byte.SIZE - 1) / Byte.SIZE)
+                .max()
+                .orElse(1);
+    }
+
+    private static void writeRecords(final ByteBuffer buffer, final List<X509CRLEntry> entries, final int serialLength) {
+        entries.forEach(e -> {
+            buffer.put(toFixedLength(e.getSerialNumber(), serialLength));
+            buffer.putLong(e.getRevocationDate().getTime());
+            final CRLReason reason = e.getRevocationReason();
+            buffer.put(reason == null ? NO_REASON : (byte) reason.ordinal());
+        });
+    }
+
+    /**
+     * Encode a non-negative serial number as an unsigned, big-endian number of the given length,
+     * so that the byte-wise ordering of encoded serials matches their numeric ordering.
+     */
+    private static byte[] toFixedLength(final BigInteger serial, final int length) {
+        if (serial.signum() < 0) {
+            return null;
+        }
+        final byte[] bytes = serial.toByteArray();
+        final int start = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        final int count = bytes.length - start;
+        if (count > length) {
+            return null;
+        }
+        final byte[] result = new byte[length];
+        System.arraycopy(bytes, start, result, length - count, count);
+        return result;
+    }
+
+    private static int compare(final ByteBuffer buffer, final int offset, final byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            final int result = Integer.compare(Byte.toUnsignedInt(buffer.get(offset + i)), Byte.toUnsignedInt(key[i]));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static RevokedCertificateException.Reason toReason(final byte code) {
+        if (code >= 0 && code < RevokedCertificateException.Reason.values().length) {
+            return RevokedCertificateException.Reason.fromCode(code);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,171 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.crl;
+
+import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.util.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Path;
+import java.security.cert.X509CRL;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CRLIndexManager} that keeps an index of revoked serial numbers for each
+ * CRL distribution point it knows about, and refreshes the CRLs in the background
+ * ahead of their next update time. Revocation checks consult the index, so that
+ * no CRL is fetched or decoded on the authentication path once a distribution point is known.
+ * Indexes may be stored in memory-mapped files, which keeps very large CRLs off the heap.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class CRLIndexManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CRLIndexManager.class);
+
+    private final Map<URI, CRLIndex> indexes = new ConcurrentHashMap<>();
+
+    private final Set<URI> refreshedUrls = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, CRLIndexManager.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CRLFetcher fetcher;
+    private final long refreshAhead;
+    private final long refreshInterval;
+    private final long retryInterval;
+    private final File storageDirectory;
+
+    /**
+     * Instantiates a new CRL index manager.
+     *
+     * @param fetcher          the fetcher
+     * @param refreshAhead     how long before the next update of a CRL to refresh it, in milliseconds
+     * @param refreshInterval  how often to refresh CRLs that do not specify a next update, in milliseconds
+     * @param retryInterval    how long to wait before retrying a failed refresh, in milliseconds
+     * @param storageDirectory directory to store memory-mapped indexes; indexes are kept on the heap if null.
+     */
+    public CRLIndexManager(final CRLFetcher fetcher, final long refreshAhead, final long refreshInterval,
+                           final long retryInterval, final File storageDirectory) {
+        this.fetcher = fetcher;
+        this.refreshAhead = refreshAhead;
+        this.refreshInterval = refreshInterval;
+        this.retryInterval = retryInterval;
+        this.storageDirectory = storageDirectory;
+        if (storageDirectory != null && !storageDirectory.exists() && !storageDirectory.mkdirs()) {
+            LOGGER.warn("Unable to create [{}] to store CRL indexes; indexes will be kept in memory", storageDirectory);
+        }
+    }
+
+    /**
+     * Fetch and index the given distribution points in the background.
+     *
+     * @param urls the urls
+     */
+    public void prefetch(final Collection<URI> urls) {
+        urls.stream()
+                .filter(this.refreshedUrls::add)
+                .forEach(url -> this.scheduler.execute(() -> refresh(url)));
+    }
+
+    /**
+     * Gets the current index of the given distribution point.
+     *
+     * @param url the url
+     * @return the index, or null if the distribution point is not indexed or the CRL has expired.
+     */
+    public CRLIndex getIndex(final URI url) {
+        final CRLIndex index = this.indexes.get(url);
+        if (index == null || index.isExpired()) {
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Index the given CRL fetched from the distribution point, and schedule its refresh.
+     * Distribution points are refreshed from then on until the manager is shut down.
+     *
+     * @param url the url
+     * @param crl the crl
+     * @return true if the crl is indexed
+     */
+    public boolean register(final URI url, final X509CRL crl) {
+        final boolean indexed = index(url, crl);
+        if (indexed && this.refreshedUrls.add(url)) {
+            schedule(url, getRefreshDelay(this.indexes.get(url)));
+        }
+        return indexed;
+    }
+
+    /**
+     * Shutdown scheduler.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+
+    private void refresh(final URI url) {
+        long delay = this.retryInterval;
+        try {
+            LOGGER.debug("Refreshing CRL at [{}]", url);
+            final X509CRL crl = this.fetcher.fetch(url);
+            if (crl != null && index(url, crl)) {
+                delay = getRefreshDelay(this.indexes.get(url));
+            } else {
+                LOGGER.warn("No CRL could be indexed from [{}]", url);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to refresh CRL at [{}]: [{}]", url, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        schedule(url, delay);
+    }
+
+    private void schedule(final URI url, final long delay) {
+        if (this.scheduler.isShutdown()) {
+            return;
+        }
+        LOGGER.debug("Next refresh of CRL at [{}] is due in [{}] ms", url, delay);
+        this.scheduler.schedule(() -> refresh(url), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean index(final URI url, final X509CRL crl) {
+        try {
+            final CRLIndex index;
+            if (this.storageDirectory != null && this.storageDirectory.isDirectory()) {
+                final Path file = new File(this.storageDirectory, DigestUtils.sha256(url.toString()) + ".crlidx").toPath();
+                index = CRLIndex.of(crl, file);
+            } else {
+                index = CRLIndex.of(crl);
+            }
+            this.indexes.put(url, index);
+            LOGGER.info("Indexed [{}] revoked certificates from [{}], next update due at [{}]", index.size(), url, index.getNextUpdate());
+            return true;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to index CRL fetched from [{}]: [{}]", url, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private long getRefreshDelay(final CRLIndex index) {
+        if (index.getNextUpdate() == null) {
+            return this.refreshInterval;
+        }
+        final long untilNextUpdate = index.getNextUpdate().getTime() - System.currentTimeMillis() - this.refreshAhead;
+        return Math.max(this.retryInterval, untilNextUpdate);
+    }
+}
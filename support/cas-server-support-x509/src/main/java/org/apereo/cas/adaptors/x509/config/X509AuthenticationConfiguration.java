@@ -12,6 +12,7 @@ import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectAlternat
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectDNPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLIndexManager;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.NoOpRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.ResourceCRLRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.RevocationChecker;
@@ -41,6 +42,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 
+import java.io.File;
+import java.net.URI;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -95,13 +98,31 @@ public class X509AuthenticationConfiguration {
                 x509.getCacheTimeToLiveSeconds(),
                 x509.getCacheTimeToIdleSeconds());
 
-        return new CRLDistributionPointRevocationChecker(
+        final CRLDistributionPointRevocationChecker checker = new CRLDistributionPointRevocationChecker(
                 x509.isCheckAll(),
                 getRevocationPolicy(x509.getCrlUnavailablePolicy()),
                 getRevocationPolicy(x509.getCrlExpiredPolicy()),
                 cache,
                 crlFetcher(),
                 x509.isThrowOnFetchFailure());
+        if (x509.getCrlIndex().isEnabled()) {
+            checker.setIndexManager(crlIndexManager());
+        }
+        return checker;
+    }
+
+    @Bean
+    public CRLIndexManager crlIndexManager() {
+        final X509Properties.CrlIndex crlIndex = casProperties.getAuthn().getX509().getCrlIndex();
+        final CRLIndexManager manager = new CRLIndexManager(crlFetcher(),
+                crlIndex.getRefreshAhead(),
+                crlIndex.getRefreshInterval(),
+                crlIndex.getRetryInterval(),
+                StringUtils.isNotBlank(crlIndex.getStorageDirectory()) ? new File(crlIndex.getStorageDirectory()) : null);
+        if (crlIndex.isEnabled()) {
+            manager.prefetch(crlIndex.getPrefetchUrls().stream().map(URI::create).collect(Collectors.toList()));
+        }
+        return manager;
     }
 
     @Bean
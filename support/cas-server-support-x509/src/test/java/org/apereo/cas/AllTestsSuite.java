@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.adaptors.x509.authentication.handler.support.CRLDistributionPointRevocationCheckerTests;
+import org.apereo.cas.adaptors.x509.authentication.handler.support.CRLIndexTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.ResourceCRLRevocationCheckerTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.ThresholdExpiredCRLRevocationPolicyTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.X509CredentialsAuthenticationHandlerTests;
@@ -30,6 +31,7 @@ import org.junit.runners.Suite;
         ResourceCRLRevocationCheckerTests.class,
         ThresholdExpiredCRLRevocationPolicyTests.class,
         X509CredentialsAuthenticationHandlerTests.class,
-        CRLDistributionPointRevocationCheckerTests.class})
+        CRLDistributionPointRevocationCheckerTests.class,
+        CRLIndexTests.class})
 public class AllTestsSuite {
 }
@@ -0,0 +1,68 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLIndex;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLIndexManager;
+import org.apereo.cas.adaptors.x509.util.CertUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CRLIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class CRLIndexTests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ResourceCRLFetcher fetcher = new ResourceCRLFetcher();
+
+    @Test
+    public void verifyRevokedCertificateIsFound() throws Exception {
+        final X509CRL crl = fetcher.fetch(new ClassPathResource("userCA-valid.crl"));
+        verifyIndex(crl, CRLIndex.of(crl));
+    }
+
+    @Test
+    public void verifyRevokedCertificateIsFoundInMappedIndex() throws Exception {
+        final X509CRL crl = fetcher.fetch(new ClassPathResource("userCA-valid.crl"));
+        verifyIndex(crl, CRLIndex.of(crl, folder.newFile("userCA.crlidx").toPath()));
+    }
+
+    @Test
+    public void verifyExpiredIndexIsNotServed() throws Exception {
+        final CRLIndexManager manager = new CRLIndexManager(fetcher, 0, 60_000, 60_000, null);
+        try {
+            final URI url = new ClassPathResource("userCA-expired.crl").getURI();
+            assertTrue(manager.register(url, fetcher.fetch(url)));
+            assertNull(manager.getIndex(url));
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    private static void verifyIndex(final X509CRL crl, final CRLIndex index) {
+        final X509Certificate revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked.crt"));
+        final X509Certificate valid = CertUtils.readCertificate(new ClassPathResource("user-valid.crt"));
+
+        assertEquals(crl.getRevokedCertificates().size(), index.size());
+        assertTrue(index.covers(revoked));
+
+        final RevokedCertificateException e = index.find(revoked);
+        assertNotNull(e);
+        assertEquals(revoked.getSerialNumber(), e.getSerial());
+        assertEquals(crl.getRevokedCertificate(revoked).getRevocationDate().getTime(), e.getRevocationDate().toInstant().toEpochMilli());
+        assertNull(index.find(valid));
+    }
+}
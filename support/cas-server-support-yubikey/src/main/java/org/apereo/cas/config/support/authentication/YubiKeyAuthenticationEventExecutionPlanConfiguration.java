@@ -14,6 +14,7 @@ import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationP
 import org.apereo.cas.services.DefaultMultifactorAuthenticationProviderBypass;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.MultifactorAuthenticationProviderBypass;
+import org.apereo.cas.services.MultifactorAuthenticationProviderHealthRegistry;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.http.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +35,10 @@ public class YubiKeyAuthenticationEventExecutionPlanConfiguration implements Aut
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier(MultifactorAuthenticationProviderHealthRegistry.BEAN_NAME)
+    private MultifactorAuthenticationProviderHealthRegistry multifactorAuthenticationProviderHealthRegistry;
+
     @Autowired(required = false)
     @Qualifier("yubiKeyAccountRegistry")
     private YubiKeyAccountRegistry registry;
@@ -98,6 +103,7 @@ public class YubiKeyAuthenticationEventExecutionPlanConfiguration implements Aut
                 this.httpClient);
         p.setBypassEvaluator(yubikeyBypassEvaluator());
         p.setGlobalFailureMode(casProperties.getAuthn().getMfa().getGlobalFailureMode());
+        p.setHealthRegistry(multifactorAuthenticationProviderHealthRegistry);
         p.setOrder(casProperties.getAuthn().getMfa().getYubikey().getRank());
         p.setId(casProperties.getAuthn().getMfa().getYubikey().getId());
         return p;
@@ -2,6 +2,7 @@ package org.apereo.cas.mgmt.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.mgmt.services.audit.Pac4jAuditablePrincipalResolver;
+import org.apereo.cas.mgmt.services.audit.RegisteredServicesResourceResolver;
 import org.apereo.cas.mgmt.services.audit.ServiceManagementResourceResolver;
 import org.apereo.inspektr.audit.AuditTrailManagementAspect;
 import org.apereo.inspektr.audit.AuditTrailManager;
@@ -45,6 +46,11 @@ public class CasManagementAuditConfiguration {
         return new ParametersAsStringResourceResolver();
     }
 
+    @Bean
+    public AuditResourceResolver saveServicesResourceResolver() {
+        return new RegisteredServicesResourceResolver();
+    }
+
     @Bean
     public AuditResourceResolver deleteServiceResourceResolver() {
         return new ServiceManagementResourceResolver();
@@ -81,9 +87,10 @@ public class CasManagementAuditConfiguration {
 
     @Bean
     public Map<String, AuditResourceResolver> auditResourceResolverMap() {
-        final Map<String, AuditResourceResolver> map = new HashMap<>(2);
+        final Map<String, AuditResourceResolver> map = new HashMap<>(3);
         map.put("DELETE_SERVICE_RESOURCE_RESOLVER", deleteServiceResourceResolver());
         map.put("SAVE_SERVICE_RESOURCE_RESOLVER", saveServiceResourceResolver());
+        map.put("SAVE_SERVICES_RESOURCE_RESOLVER", saveServicesResourceResolver());
         return map;
     }
 
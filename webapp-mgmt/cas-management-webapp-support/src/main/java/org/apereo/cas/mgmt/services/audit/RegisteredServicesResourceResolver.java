@@ -0,0 +1,43 @@
+package org.apereo.cas.mgmt.services.audit;
+
+import org.apereo.cas.util.AopUtils;
+import org.apereo.inspektr.audit.spi.AuditResourceResolver;
+import org.aspectj.lang.JoinPoint;
+
+import java.util.Collection;
+
+/**
+ * Resolves the services saved at once into one audit resource per service.
+ * <p>
+ * The expectation is that args[0] is the collection of services.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class RegisteredServicesResourceResolver implements AuditResourceResolver {
+
+    @Override
+    public String[] resolveFrom(final JoinPoint target, final Object returnValue) {
+        return findServices(target);
+    }
+
+    @Override
+    public String[] resolveFrom(final JoinPoint target, final Exception exception) {
+        return findServices(target);
+    }
+
+    /**
+     * Find services.
+     *
+     * @param joinPoint the join point
+     * @return the string[]
+     */
+    private static String[] findServices(final JoinPoint joinPoint) {
+        final JoinPoint j = AopUtils.unWrapJoinPoint(joinPoint);
+        final Collection<?> services = (Collection<?>) j.getArgs()[0];
+        if (services == null) {
+            return new String[0];
+        }
+        return services.stream().map(String::valueOf).toArray(String[]::new);
+    }
+}
@@ -1,8 +1,10 @@
 package org.apereo.cas.mgmt.services.web;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.mgmt.services.web.beans.RegisteredServiceSummaryBean;
 import org.apereo.cas.mgmt.services.web.beans.RegisteredServiceViewBean;
 import org.apereo.cas.mgmt.services.web.factory.RegisteredServiceFactory;
 import org.apereo.cas.services.RegexRegisteredService;
@@ -22,6 +24,8 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +44,8 @@ public class ManageRegisteredServicesMultiActionController extends AbstractManag
     
     private static final String STATUS = "status";
 
+    private static final String SORT_BY_EVALUATION_ORDER = "evalOrder";
+
     private RegisteredServiceFactory registeredServiceFactory;
 
     private Service defaultService;
@@ -157,14 +163,64 @@ public class ManageRegisteredServicesMultiActionController extends AbstractManag
     public void getServices(final HttpServletResponse response) {
         ensureDefaultServiceExists();
         final Map<String, Object> model = new HashMap<>();
-        final List<RegisteredServiceViewBean> serviceBeans = new ArrayList<>();
-        final List<RegisteredService> services = new ArrayList<>(this.servicesManager.getAllServices());
-        serviceBeans.addAll(services.stream().map(this.registeredServiceFactory::createServiceViewBean).collect(Collectors.toList()));
+        final List<RegisteredServiceViewBean> serviceBeans = this.servicesManager.getAllServices()
+                .stream()
+                .map(this.registeredServiceFactory::createServiceViewBean)
+                .collect(Collectors.toList());
         model.put("services", serviceBeans);
         model.put(STATUS, HttpServletResponse.SC_OK);
         JsonUtils.render(model, response);
     }
 
+    /**
+     * Gets a page of service summaries, filtered and sorted on the server.
+     * Services whose name, service id or description contain the query, ignoring case, are listed.
+     *
+     * @param response  the response
+     * @param query     the text to filter services by
+     * @param sort      the field to sort services by; one of evalOrder, name or serviceId
+     * @param ascending whether to sort services in ascending order
+     * @param page      the zero-based page number
+     * @param size      the page size
+     */
+    @GetMapping(value = "/getServiceSummaries")
+    public void getServiceSummaries(final HttpServletResponse response,
+                                    @RequestParam(value = "query", required = false) final String query,
+                                    @RequestParam(value = "sort", defaultValue = SORT_BY_EVALUATION_ORDER) final String sort,
+                                    @RequestParam(value = "ascending", defaultValue = "true") final boolean ascending,
+                                    @RequestParam(value = "page", defaultValue = "0") final int page,
+                                    @RequestParam(value = "size", defaultValue = "50") final int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Page number must not be negative and page size must be positive");
+        }
+        ensureDefaultServiceExists();
+
+        final List<RegisteredService> services = this.servicesManager.getAllServices()
+                .stream()
+                .filter(r -> matchesQuery(r, query))
+                .collect(Collectors.toList());
+        final Comparator<RegisteredService> comparator = getServiceComparator(sort);
+        if (comparator != null) {
+            services.sort(ascending ? comparator : comparator.reversed());
+        } else if (!ascending) {
+            Collections.reverse(services);
+        }
+
+        final List<RegisteredServiceSummaryBean> summaries = services.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(RegisteredServiceSummaryBean::of)
+                .collect(Collectors.toList());
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put("services", summaries);
+        model.put("total", services.size());
+        model.put("page", page);
+        model.put("size", size);
+        model.put(STATUS, HttpServletResponse.SC_OK);
+        JsonUtils.render(model, response);
+    }
+
     /**
      * Updates the {@link RegisteredService#getEvaluationOrder()}.
      *
@@ -177,6 +233,7 @@ public class ManageRegisteredServicesMultiActionController extends AbstractManag
         if (id == null || id.length == 0) {
             throw new IllegalArgumentException("No service id was received. Re-examine the request");
         }
+        final List<RegisteredService> services = new ArrayList<>(id.length);
         for (int i = 0; i < id.length; i++) {
             final long svcId = id[i];
             final RegisteredService svc = this.servicesManager.findServiceBy(svcId);
@@ -184,12 +241,35 @@ public class ManageRegisteredServicesMultiActionController extends AbstractManag
                 throw new IllegalArgumentException("Service id " + svcId + " cannot be found.");
             }
             svc.setEvaluationOrder(i);
-            this.servicesManager.save(svc);
+            services.add(svc);
         }
+        this.servicesManager.save(services);
         final Map<String, Object> model = new HashMap<>();
         model.put(STATUS, HttpServletResponse.SC_OK);
         JsonUtils.render(model, response);
     }
 
+    private static boolean matchesQuery(final RegisteredService svc, final String query) {
+        return StringUtils.isBlank(query)
+                || StringUtils.containsIgnoreCase(svc.getName(), query)
+                || StringUtils.containsIgnoreCase(svc.getServiceId(), query)
+                || StringUtils.containsIgnoreCase(svc.getDescription(), query);
+    }
 
+    /**
+     * Gets the comparator for the sort field. Services are already listed in evaluation order,
+     * so sorting by evaluation order needs no comparator.
+     */
+    private static Comparator<RegisteredService> getServiceComparator(final String sort) {
+        switch (sort) {
+            case SORT_BY_EVALUATION_ORDER:
+                return null;
+            case "name":
+                return Comparator.comparing(RegisteredService::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            case "serviceId":
+                return Comparator.comparing(RegisteredService::getServiceId, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            default:
+                throw new IllegalArgumentException("Services cannot be sorted by " + sort);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package org.apereo.cas.mgmt.services.web.beans;
+
+import org.apereo.cas.services.RegisteredService;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link RegisteredServiceSummaryBean} that carries the few fields of a service
+ * needed to list it, without mapping the full service definition.
+ *
+ * @author Misagh Moayyed
+ * @since 5.1.0
+ */
+public class RegisteredServiceSummaryBean implements Serializable {
+
+    private static final long serialVersionUID = -3285723483702354427L;
+
+    private int evalOrder = Integer.MIN_VALUE;
+    private String assignedId;
+    private String serviceId;
+    private String name;
+    private String description;
+    private String logoUrl;
+
+    /**
+     * Create a summary of the given service.
+     *
+     * @param svc the service
+     * @return the summary bean
+     */
+    public static RegisteredServiceSummaryBean of(final RegisteredService svc) {
+        final RegisteredServiceSummaryBean bean = new RegisteredServiceSummaryBean();
+        bean.setAssignedId(String.valueOf(svc.getId()));
+        bean.setEvalOrder(svc.getEvaluationOrder());
+        bean.setServiceId(svc.getServiceId());
+        bean.setName(svc.getName());
+        bean.setDescription(svc.getDescription());
+        if (svc.getLogo() != null) {
+            bean.setLogoUrl(svc.getLogo().toExternalForm());
+        }
+        return bean;
+    }
+
+    public int getEvalOrder() {
+        return this.evalOrder;
+    }
+
+    public void setEvalOrder(final int evalOrder) {
+        this.evalOrder = evalOrder;
+    }
+
+    public String getAssignedId() {
+        return this.assignedId;
+    }
+
+    public void setAssignedId(final String assignedId) {
+        this.assignedId = assignedId;
+    }
+
+    public String getServiceId() {
+        return this.serviceId;
+    }
+
+    public void setServiceId(final String serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public void setDescription(final String description) {
+        this.description = description;
+    }
+
+    public String getLogoUrl() {
+        return this.logoUrl;
+    }
+
+    public void setLogoUrl(final String logoUrl) {
+        this.logoUrl = logoUrl;
+    }
+}
@@ -159,6 +159,53 @@ public class ManageRegisteredServicesMultiActionControllerTests {
         assertTrue(content.contains("key2"));
     }
 
+    @Test
+    public void verifyServiceSummariesArePagedAndFiltered() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            final RegexRegisteredService r = new RegexRegisteredService();
+            r.setId(2000 + i);
+            r.setName("application" + i);
+            r.setDescription("description" + i);
+            r.setServiceId("https://app" + i + ".example.org");
+            r.setEvaluationOrder(i);
+            this.servicesManager.save(r);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.controller.getServiceSummaries(response, "DESCRIPTION", "name", false, 0, 2);
+        String content = response.getContentAsString();
+        assertTrue(content.contains("\"total\" : 5"));
+        assertTrue(content.contains("application4"));
+        assertTrue(content.contains("application3"));
+        assertFalse(content.contains("application2"));
+        assertFalse(content.contains("attrRelease"));
+
+        response = new MockHttpServletResponse();
+        this.controller.getServiceSummaries(response, "app1.example", "evalOrder", true, 0, 10);
+        content = response.getContentAsString();
+        assertTrue(content.contains("\"total\" : 1"));
+        assertTrue(content.contains("description1"));
+    }
+
+    @Test
+    public void verifyUpdateEvaluationOrder() {
+        for (int i = 0; i < 3; i++) {
+            final RegexRegisteredService r = new RegexRegisteredService();
+            r.setId(3000 + i);
+            r.setName("name" + i);
+            r.setServiceId("test" + i);
+            r.setEvaluationOrder(i);
+            this.servicesManager.save(r);
+        }
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        this.controller.updateRegisteredServiceEvaluationOrder(response, 3002, 3000, 3001);
+        assertEquals(0, this.servicesManager.findServiceBy(3002).getEvaluationOrder());
+        assertEquals(1, this.servicesManager.findServiceBy(3000).getEvaluationOrder());
+        assertEquals(2, this.servicesManager.findServiceBy(3001).getEvaluationOrder());
+        assertEquals(3002, this.servicesManager.getAllServices().iterator().next().getId());
+    }
+
     private static class CustomRegisteredServiceMapper implements RegisteredServiceMapper {
         private final RegisteredServiceMapper base = new DefaultRegisteredServiceMapper();
 
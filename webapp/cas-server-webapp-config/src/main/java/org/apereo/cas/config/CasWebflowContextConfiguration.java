@@ -1,17 +1,16 @@
 package org.apereo.cas.config;
 
-import com.google.common.base.Throwables;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.webapp.WebflowProperties;
 import org.apereo.cas.web.flow.CasDefaultFlowUrlHandler;
 import org.apereo.cas.web.flow.CasWebflowConfigurer;
 import org.apereo.cas.web.flow.DefaultWebflowConfigurer;
 import org.apereo.cas.web.flow.LogoutConversionService;
+import org.apereo.cas.web.flow.executor.CompactFlowExecutionStateTranscoder;
+import org.apereo.cas.web.flow.executor.SessionStoredFlowExecutionStateTranscoder;
 import org.apereo.spring.webflow.plugin.ClientFlowExecutionRepository;
-import org.apereo.spring.webflow.plugin.EncryptedTranscoder;
 import org.apereo.spring.webflow.plugin.Transcoder;
-import org.cryptacular.bean.CipherBean;
-import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.binding.convert.ConversionService;
@@ -48,9 +47,6 @@ import org.springframework.webflow.mvc.servlet.FlowHandler;
 import org.springframework.webflow.mvc.servlet.FlowHandlerAdapter;
 import org.springframework.webflow.mvc.servlet.FlowHandlerMapping;
 
-import javax.naming.OperationNotSupportedException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -83,7 +79,7 @@ public class CasWebflowContextConfiguration {
 
     @Autowired
     @Qualifier("webflowCipherExecutor")
-    private CipherExecutor webflowCipherExecutor;
+    private CipherExecutor<byte[], byte[]> webflowCipherExecutor;
 
     @Bean
     public ExpressionParser expressionParser() {
@@ -134,38 +130,6 @@ public class CasWebflowContextConfiguration {
         return handler;
     }
 
-    @RefreshScope
-    @Bean
-    public CipherBean loginFlowCipherBean() {
-        try {
-            return new CipherBean() {
-                @Override
-                public byte[] encrypt(final byte[] bytes) {
-                    return (byte[]) CasWebflowContextConfiguration.this.webflowCipherExecutor.encode(bytes);
-                }
-
-                @Override
-                public void encrypt(final InputStream inputStream, final OutputStream outputStream) {
-                    throw new RuntimeException(
-                            new OperationNotSupportedException("Encrypting input stream is not supported"));
-                }
-
-                @Override
-                public byte[] decrypt(final byte[] bytes) {
-                    return (byte[]) CasWebflowContextConfiguration.this.webflowCipherExecutor.decode(bytes);
-                }
-
-                @Override
-                public void decrypt(final InputStream inputStream, final OutputStream outputStream) {
-                    throw new RuntimeException(
-                            new OperationNotSupportedException("Decrypting input stream is not supported"));
-                }
-            };
-        } catch (final Exception e) {
-            throw Throwables.propagate(e);
-        }
-    }
-
     @RefreshScope
     @Bean
     public FlowBuilderServices builder() {
@@ -178,11 +142,11 @@ public class CasWebflowContextConfiguration {
 
     @Bean
     public Transcoder loginFlowStateTranscoder() {
-        try {
-            return new EncryptedTranscoder(loginFlowCipherBean());
-        } catch (final Exception e) {
-            throw new BeanCreationException(e.getMessage(), e);
+        final WebflowProperties.Session session = casProperties.getWebflow().getSession();
+        if (session.isHybrid()) {
+            return new SessionStoredFlowExecutionStateTranscoder(this.webflowCipherExecutor, session.getHybridMaxStates());
         }
+        return new CompactFlowExecutionStateTranscoder(this.webflowCipherExecutor);
     }
 
     @Bean